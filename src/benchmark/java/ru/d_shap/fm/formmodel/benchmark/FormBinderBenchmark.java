@@ -0,0 +1,132 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.benchmark;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.binding.FormBinder;
+import ru.d_shap.fm.formmodel.binding.FormInstance;
+import ru.d_shap.fm.formmodel.document.DocumentWriter;
+
+/**
+ * Benchmarks for {@link FormBinder}.
+ *
+ * @author Dmitry Shapovalov
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormBinderBenchmark {
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    /**
+     * Create new object.
+     */
+    public FormBinderBenchmark() {
+        super();
+    }
+
+    /**
+     * {@link FormBinder#bind(ru.d_shap.fm.formmodel.binding.model.BindingSource, String, String)} benchmark with the binded document validation.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the binded document.
+     */
+    @Benchmark
+    public Document bind(final SyntheticFormsState state) {
+        return state.getFormBinder().bind(state.getBindingSource(), SyntheticFormDefinitions.GROUP, state.getFormId());
+    }
+
+    /**
+     * {@link FormBinder#bind(ru.d_shap.fm.formmodel.binding.model.BindingSource, String, String)} benchmark without the binded document validation.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the binded document.
+     */
+    @Benchmark
+    public Document bindWithoutValidation(final SyntheticFormsState state) {
+        return state.getNotValidatingFormBinder().bind(state.getBindingSource(), SyntheticFormDefinitions.GROUP, state.getFormId());
+    }
+
+    /**
+     * {@link FormBinder#bind(ru.d_shap.fm.formmodel.binding.model.BindingSource, String, String)} and
+     * {@link DocumentWriter#getAsString(org.w3c.dom.Node)} benchmark without the binded document validation.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the string representation of the binded document.
+     */
+    @Benchmark
+    public String bindAndWrite(final SyntheticFormsState state) {
+        Document document = state.getNotValidatingFormBinder().bind(state.getBindingSource(), SyntheticFormDefinitions.GROUP, state.getFormId());
+        return DocumentWriter.newInstance().getAsString(document);
+    }
+
+    /**
+     * {@link FormBinder#bind(ru.d_shap.fm.formmodel.binding.model.BindingSource, String, String, XMLStreamWriter)} benchmark
+     * without the binded document validation.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the string representation of the binded document.
+     *
+     * @throws XMLStreamException if the XML stream writer can not be created.
+     */
+    @Benchmark
+    public String bindStream(final SyntheticFormsState state) throws XMLStreamException {
+        StringWriter writer = new StringWriter();
+        XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+        state.getNotValidatingFormBinder().bind(state.getBindingSource(), SyntheticFormDefinitions.GROUP, state.getFormId(), xmlStreamWriter);
+        return writer.toString();
+    }
+
+    /**
+     * {@link FormBinder#bindFormInstance(ru.d_shap.fm.formmodel.binding.model.BindingSource, String, String)} benchmark
+     * without the binded form instance validation.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the binded form instance.
+     */
+    @Benchmark
+    public FormInstance bindFormInstance(final SyntheticFormsState state) {
+        return state.getNotValidatingFormBinder().bindFormInstance(state.getBindingSource(), SyntheticFormDefinitions.GROUP, state.getFormId());
+    }
+
+}
@@ -0,0 +1,100 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ru.d_shap.fm.formmodel.definition.loader.xml.FormXmlDefinitionsInputStreamLoader;
+import ru.d_shap.fm.formmodel.definition.loader.xml.FormXmlDefinitionsStreamingLoader;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Benchmarks for {@link FormXmlDefinitionsStreamingLoader} compared to {@link FormXmlDefinitionsInputStreamLoader}.
+ *
+ * @author Dmitry Shapovalov
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormXmlDefinitionsStreamingLoaderBenchmark {
+
+    /**
+     * Create new object.
+     */
+    public FormXmlDefinitionsStreamingLoaderBenchmark() {
+        super();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsInputStreamLoader#load()} benchmark.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the loaded form definitions.
+     *
+     * @throws IOException IO exception.
+     */
+    @Benchmark
+    public List<FormDefinition> loadInputStream(final SyntheticFormsState state) throws IOException {
+        List<FormDefinition> formDefinitions = new ArrayList<>();
+        for (File file : state.getDirectory().listFiles()) {
+            try (FormXmlDefinitionsInputStreamLoader formXmlDefinitionsInputStreamLoader = new FormXmlDefinitionsInputStreamLoader(new FileInputStream(file), file.getName())) {
+                formDefinitions.addAll(formXmlDefinitionsInputStreamLoader.load());
+            }
+        }
+        return formDefinitions;
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader#load()} benchmark.
+     *
+     * @param state the benchmark state.
+     *
+     * @return the loaded form definitions.
+     *
+     * @throws IOException IO exception.
+     */
+    @Benchmark
+    public List<FormDefinition> loadStreaming(final SyntheticFormsState state) throws IOException {
+        List<FormDefinition> formDefinitions = new ArrayList<>();
+        for (File file : state.getDirectory().listFiles()) {
+            try (FormXmlDefinitionsStreamingLoader formXmlDefinitionsStreamingLoader = new FormXmlDefinitionsStreamingLoader(new FileInputStream(file), file.getName())) {
+                formDefinitions.addAll(formXmlDefinitionsStreamingLoader.load());
+            }
+        }
+        return formDefinitions;
+    }
+
+}
@@ -0,0 +1,197 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import ru.d_shap.fm.formmodel.OutputResultException;
+
+/**
+ * Generator of the synthetic form definitions.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SyntheticFormDefinitions {
+
+    public static final String GROUP = "benchmark";
+
+    public static final String REFERENCE_GROUP = "benchmark-reference";
+
+    private static final String NAMESPACE = "http://d-shap.ru/schema/form-model/1.0";
+
+    private static final String INDENT = "    ";
+
+    private static final int PERCENT = 100;
+
+    private static final long SEED = 20180101L;
+
+    private final int _formCount;
+
+    private final int _depth;
+
+    private final int _fanOut;
+
+    private final int _formReferenceDensity;
+
+    private final int _optionalMultipleDensity;
+
+    /**
+     * Create new object.
+     *
+     * @param formCount               the number of the generated forms.
+     * @param depth                   the depth of the element tree of every form.
+     * @param fanOut                  the number of the child nodes of every element.
+     * @param formReferenceDensity    the percentage of the child nodes, that are form references.
+     * @param optionalMultipleDensity the percentage of the elements with the optional+ cardinality.
+     */
+    public SyntheticFormDefinitions(final int formCount, final int depth, final int fanOut, final int formReferenceDensity, final int optionalMultipleDensity) {
+        super();
+        _formCount = formCount;
+        _depth = depth;
+        _fanOut = fanOut;
+        _formReferenceDensity = formReferenceDensity;
+        _optionalMultipleDensity = optionalMultipleDensity;
+    }
+
+    /**
+     * Get the number of the generated forms.
+     *
+     * @return the number of the generated forms.
+     */
+    public int getFormCount() {
+        return _formCount;
+    }
+
+    /**
+     * Get the ID of the generated form.
+     *
+     * @param index the index of the generated form.
+     *
+     * @return the ID of the generated form.
+     */
+    public String getFormId(final int index) {
+        return "form" + index;
+    }
+
+    /**
+     * Get the ID of the generated elements at the specified level of the element tree.
+     *
+     * @param level the level of the element tree.
+     *
+     * @return the ID of the generated elements.
+     */
+    public String getElementId(final int level) {
+        return "element" + level;
+    }
+
+    /**
+     * Get the ID of the deepest generated elements.
+     *
+     * @return the ID of the deepest generated elements.
+     */
+    public String getLeafElementId() {
+        return getElementId(_depth);
+    }
+
+    /**
+     * Write all generated forms and all referenced forms to the specified directory.
+     *
+     * @param directory the specified directory.
+     */
+    public void writeTo(final File directory) {
+        for (int i = 0; i < _formCount; i++) {
+            writeTo(new File(directory, getFormId(i) + ".xml"), createFormXml(i));
+        }
+        for (int i = 0; i < _fanOut; i++) {
+            writeTo(new File(directory, getReferenceFormId(i) + ".xml"), createReferenceFormXml(i));
+        }
+    }
+
+    private void writeTo(final File file, final String xml) {
+        try (OutputStream outputStream = Files.newOutputStream(file.toPath()); Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            writer.write(xml);
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    /**
+     * Create the XML representation of the generated form.
+     *
+     * @param index the index of the generated form.
+     *
+     * @return the XML representation of the generated form.
+     */
+    public String createFormXml(final int index) {
+        Random random = new Random(SEED + index);
+        StringBuilder builder = new StringBuilder();
+        builder.append("<?xml version='1.0'?>\n");
+        builder.append("<ns1:form group='").append(GROUP).append("' id='").append(getFormId(index)).append("' xmlns:ns1='").append(NAMESPACE).append("'>\n");
+        appendChildNodes(builder, random, 1, INDENT);
+        builder.append("</ns1:form>\n");
+        return builder.toString();
+    }
+
+    private String getReferenceFormId(final int index) {
+        return "reference" + index;
+    }
+
+    private String createReferenceFormXml(final int index) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("<?xml version='1.0'?>\n");
+        builder.append("<ns1:form group='").append(REFERENCE_GROUP).append("' id='").append(getReferenceFormId(index)).append("' xmlns:ns1='").append(NAMESPACE).append("'>\n");
+        builder.append(INDENT).append("<ns1:element id='reference-element' lookup='reference-lookup-").append(index).append("'>\n");
+        builder.append(INDENT).append(INDENT).append("<ns1:attribute id='reference-attribute' lookup='reference-attribute-lookup' />\n");
+        builder.append(INDENT).append("</ns1:element>\n");
+        builder.append("</ns1:form>\n");
+        return builder.toString();
+    }
+
+    private void appendChildNodes(final StringBuilder builder, final Random random, final int level, final String indent) {
+        for (int i = 0; i < _fanOut; i++) {
+            if (random.nextInt(PERCENT) < _formReferenceDensity) {
+                builder.append(indent).append("<ns1:form-reference group='").append(REFERENCE_GROUP).append("' id='").append(getReferenceFormId(random.nextInt(_fanOut))).append("' />\n");
+            } else {
+                appendElement(builder, random, level, i, indent);
+            }
+        }
+    }
+
+    private void appendElement(final StringBuilder builder, final Random random, final int level, final int index, final String indent) {
+        builder.append(indent).append("<ns1:element id='").append(getElementId(level)).append("' lookup='lookup-").append(level).append('-').append(index).append('\'');
+        if (random.nextInt(PERCENT) < _optionalMultipleDensity) {
+            builder.append(" type='optional+'");
+        }
+        builder.append(">\n");
+        builder.append(indent).append(INDENT).append("<ns1:attribute id='attribute").append(level).append("' lookup='attribute-lookup-").append(level).append("' />\n");
+        if (level < _depth) {
+            appendChildNodes(builder, random, level + 1, indent + INDENT);
+        }
+        builder.append(indent).append("</ns1:element>\n");
+    }
+
+}
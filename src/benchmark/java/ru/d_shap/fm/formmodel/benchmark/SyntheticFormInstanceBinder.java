@@ -0,0 +1,150 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.fm.formmodel.binding.FormInstanceBinder;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * In-memory implementation of the {@link FormInstanceBinder}, that binds every definition without any real source.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SyntheticFormInstanceBinder implements FormInstanceBinder {
+
+    private final int _multiplicity;
+
+    /**
+     * Create new object.
+     *
+     * @param multiplicity the number of the binded elements for the element definitions with the multiple cardinality.
+     */
+    public SyntheticFormInstanceBinder(final int multiplicity) {
+        super();
+        _multiplicity = multiplicity;
+    }
+
+    @Override
+    public void preBind(final BindingSource bindingSource, final FormDefinition formDefinition) {
+        // Ignore
+    }
+
+    @Override
+    public void postBind(final BindingSource bindingSource, final FormDefinition formDefinition, final Document document) {
+        // Ignore
+    }
+
+    @Override
+    public BindedForm bindFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition) {
+        return new SyntheticBindedForm();
+    }
+
+    @Override
+    public List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition) {
+        int count;
+        CardinalityDefinition cardinalityDefinition = elementDefinition.getCardinalityDefinition();
+        if (cardinalityDefinition == CardinalityDefinition.REQUIRED_MULTIPLE || cardinalityDefinition == CardinalityDefinition.OPTIONAL_MULTIPLE) {
+            count = _multiplicity;
+        } else if (cardinalityDefinition == CardinalityDefinition.PROHIBITED) {
+            count = 0;
+        } else {
+            count = 1;
+        }
+        List<BindedElement> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new SyntheticBindedElement());
+        }
+        return result;
+    }
+
+    @Override
+    public BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition) {
+        return new SyntheticBindedAttribute();
+    }
+
+    /**
+     * Synthetic binding source.
+     *
+     * @author Dmitry Shapovalov
+     */
+    public static final class SyntheticBindingSource implements BindingSource {
+
+        /**
+         * Create new object.
+         */
+        public SyntheticBindingSource() {
+            super();
+        }
+
+    }
+
+    /**
+     * Synthetic binded form.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class SyntheticBindedForm implements BindedForm {
+
+        SyntheticBindedForm() {
+            super();
+        }
+
+    }
+
+    /**
+     * Synthetic binded element.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class SyntheticBindedElement implements BindedElement {
+
+        SyntheticBindedElement() {
+            super();
+        }
+
+    }
+
+    /**
+     * Synthetic binded attribute.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class SyntheticBindedAttribute implements BindedAttribute {
+
+        SyntheticBindedAttribute() {
+            super();
+        }
+
+    }
+
+}
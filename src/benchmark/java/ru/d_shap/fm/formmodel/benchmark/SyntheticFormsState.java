@@ -0,0 +1,281 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.OutputResultException;
+import ru.d_shap.fm.formmodel.binding.FormBinder;
+import ru.d_shap.fm.formmodel.binding.ValidationPolicies;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.loader.snapshot.FormDefinitionsSnapshotWriter;
+import ru.d_shap.fm.formmodel.definition.loader.snapshot.FormDefinitionsSourceHash;
+import ru.d_shap.fm.formmodel.definition.loader.xml.FormXmlDefinitionsFileLoader;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitionKey;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.validator.FormDefinitionsValidator;
+import ru.d_shap.fm.formmodel.document.DocumentLookup;
+
+/**
+ * Shared benchmark state with the generated form definitions, the form binder and the binded document.
+ *
+ * @author Dmitry Shapovalov
+ */
+@State(Scope.Benchmark)
+public class SyntheticFormsState {
+
+    @Param("10")
+    private int _formCount;
+
+    @Param({"2", "4"})
+    private int _depth;
+
+    @Param("3")
+    private int _fanOut;
+
+    @Param({"0", "25"})
+    private int _formReferenceDensity;
+
+    @Param("25")
+    private int _optionalMultipleDensity;
+
+    @Param("3")
+    private int _multiplicity;
+
+    private SyntheticFormDefinitions _syntheticFormDefinitions;
+
+    private File _directory;
+
+    private ExecutorService _executorService;
+
+    private List<FormDefinition> _formDefinitionList;
+
+    private Map<FormDefinitionKey, String> _formSources;
+
+    private byte[] _snapshot;
+
+    private FormDefinitionsValidator _formDefinitionsValidator;
+
+    private FormBinder _formBinder;
+
+    private FormBinder _notValidatingFormBinder;
+
+    private BindingSource _bindingSource;
+
+    private Document _document;
+
+    private DocumentLookup _documentLookup;
+
+    /**
+     * Create new object.
+     */
+    public SyntheticFormsState() {
+        super();
+    }
+
+    /**
+     * Generate the form definitions and prepare the shared objects.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        _syntheticFormDefinitions = new SyntheticFormDefinitions(_formCount, _depth, _fanOut, _formReferenceDensity, _optionalMultipleDensity);
+        try {
+            _directory = Files.createTempDirectory("form-model-benchmark").toFile();
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+        _syntheticFormDefinitions.writeTo(_directory);
+        _executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+        _formDefinitionList = new FormXmlDefinitionsFileLoader(_directory).load();
+        _formSources = new HashMap<>();
+        _formDefinitionsValidator = new FormDefinitionsValidator();
+        FormDefinitions formDefinitions = new FormDefinitions();
+        formDefinitions.addFormDefinitions(_formDefinitionList);
+        byte[] sourceHash = FormDefinitionsSourceHash.getSourceHash(new FormXmlDefinitionsFileLoader(_directory).getSourceFiles());
+        ByteArrayOutputStream snapshotOutputStream = new ByteArrayOutputStream();
+        new FormDefinitionsSnapshotWriter().write(formDefinitions, sourceHash, snapshotOutputStream);
+        _snapshot = snapshotOutputStream.toByteArray();
+
+        _formBinder = new FormBinder(formDefinitions, new SyntheticFormInstanceBinder(_multiplicity));
+        _notValidatingFormBinder = _formBinder.addValidationPolicy(ValidationPolicies.never());
+        _bindingSource = new SyntheticFormInstanceBinder.SyntheticBindingSource();
+        _document = _formBinder.bind(_bindingSource, SyntheticFormDefinitions.GROUP, getFormId());
+        _documentLookup = DocumentLookup.getDocumentLookup();
+    }
+
+    /**
+     * Delete the generated form definitions.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        _executorService.shutdown();
+        File[] files = _directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                deleteFile(file);
+            }
+        }
+        deleteFile(_directory);
+    }
+
+    private void deleteFile(final File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    /**
+     * Get the directory with the generated form definitions.
+     *
+     * @return the directory with the generated form definitions.
+     */
+    public File getDirectory() {
+        return _directory;
+    }
+
+    /**
+     * Get the executor to load the form definitions in parallel.
+     *
+     * @return the executor to load the form definitions in parallel.
+     */
+    public ExecutorService getExecutorService() {
+        return _executorService;
+    }
+
+    /**
+     * Get the loaded form definitions.
+     *
+     * @return the loaded form definitions.
+     */
+    public List<FormDefinition> getFormDefinitionList() {
+        return _formDefinitionList;
+    }
+
+    /**
+     * Get the empty form definition sources.
+     *
+     * @return the empty form definition sources.
+     */
+    public Map<FormDefinitionKey, String> getFormSources() {
+        return _formSources;
+    }
+
+    /**
+     * Get the binary snapshot of the form definitions.
+     *
+     * @return the binary snapshot of the form definitions.
+     */
+    public byte[] getSnapshot() {
+        return _snapshot;
+    }
+
+    /**
+     * Get the form definitions validator.
+     *
+     * @return the form definitions validator.
+     */
+    public FormDefinitionsValidator getFormDefinitionsValidator() {
+        return _formDefinitionsValidator;
+    }
+
+    /**
+     * Get the form binder with the default validation policy.
+     *
+     * @return the form binder.
+     */
+    public FormBinder getFormBinder() {
+        return _formBinder;
+    }
+
+    /**
+     * Get the form binder without the validation.
+     *
+     * @return the form binder.
+     */
+    public FormBinder getNotValidatingFormBinder() {
+        return _notValidatingFormBinder;
+    }
+
+    /**
+     * Get the binding source.
+     *
+     * @return the binding source.
+     */
+    public BindingSource getBindingSource() {
+        return _bindingSource;
+    }
+
+    /**
+     * Get the ID of the binded form.
+     *
+     * @return the ID of the binded form.
+     */
+    public String getFormId() {
+        return _syntheticFormDefinitions.getFormId(0);
+    }
+
+    /**
+     * Get the ID of the deepest binded elements.
+     *
+     * @return the ID of the deepest binded elements.
+     */
+    public String getLeafElementId() {
+        return _syntheticFormDefinitions.getLeafElementId();
+    }
+
+    /**
+     * Get the binded document.
+     *
+     * @return the binded document.
+     */
+    public Document getDocument() {
+        return _document;
+    }
+
+    /**
+     * Get the document lookup.
+     *
+     * @return the document lookup.
+     */
+    public DocumentLookup getDocumentLookup() {
+        return _documentLookup;
+    }
+
+}
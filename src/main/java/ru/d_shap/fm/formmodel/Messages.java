@@ -19,6 +19,8 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel;
 
+import java.util.List;
+
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
@@ -27,6 +29,7 @@ import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitionKey;
 import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
 import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
 import ru.d_shap.fm.formmodel.utils.NullValueHelper;
 
@@ -337,6 +340,25 @@ public final class Messages {
             return "[Form definition key is not valid: " + formDefinitionKey + "]";
         }
 
+        /**
+         * Get the error message when the form reference cycle is found.
+         *
+         * @param formDefinitionKeys the form definition keys of the cycle.
+         *
+         * @return the error message.
+         */
+        public static String getFormReferenceCycleIsFoundMessage(final List<FormDefinitionKey> formDefinitionKeys) {
+            StringBuilder result = new StringBuilder("[Form reference cycle is found: ");
+            for (int i = 0; i < formDefinitionKeys.size(); i++) {
+                if (i > 0) {
+                    result.append(" -> ");
+                }
+                result.append(formDefinitionKeys.get(i));
+            }
+            result.append(']');
+            return result.toString();
+        }
+
     }
 
     /**
@@ -462,4 +484,59 @@ public final class Messages {
 
     }
 
+    /**
+     * Helper class to create form definitions snapshot messages.
+     *
+     * @author Dmitry Shapovalov
+     */
+    public static final class Snapshot {
+
+        private Snapshot() {
+            super();
+        }
+
+        /**
+         * Get the error message when the snapshot is not valid.
+         *
+         * @return the error message.
+         */
+        public static String getSnapshotIsNotValidMessage() {
+            return "[Snapshot is not valid]";
+        }
+
+        /**
+         * Get the error message when the snapshot version is not supported.
+         *
+         * @param version the snapshot version.
+         *
+         * @return the error message.
+         */
+        public static String getSnapshotVersionIsNotSupportedMessage(final int version) {
+            return "[Snapshot version is not supported: " + version + "]";
+        }
+
+        /**
+         * Get the error message when the other node definition is not supported by any codec.
+         *
+         * @param otherNodeDefinition the other node definition.
+         *
+         * @return the error message.
+         */
+        public static String getOtherNodeDefinitionIsNotSupportedMessage(final OtherNodeDefinition otherNodeDefinition) {
+            return "[Other node definition is not supported: " + otherNodeDefinition + "]";
+        }
+
+        /**
+         * Get the error message when the other node definition codec is not found.
+         *
+         * @param codecName the codec name.
+         *
+         * @return the error message.
+         */
+        public static String getOtherNodeDefinitionCodecIsNotFoundMessage(final String codecName) {
+            return "[Other node definition codec is not found: " + codecName + "]";
+        }
+
+    }
+
 }
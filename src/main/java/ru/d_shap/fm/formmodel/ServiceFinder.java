@@ -19,20 +19,31 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel;
 
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 
 /**
- * Service finder.
+ * Service finder. The services are found with the context class loader of the current thread. The classes of the found
+ * services are cached for the class loader and the interface, so the service configuration files are read once, and
+ * the subsequent calls create new service instances from the cached classes. The class loaders and the interfaces
+ * are weakly referenced and the found service classes are softly referenced by the cache, so the cache does not
+ * prevent the class loader from being collected after the redeploy.
  *
  * @author Dmitry Shapovalov
  */
 public final class ServiceFinder {
 
+    private static final Map<ClassLoader, Map<Class<?>, Reference<List<Class<?>>>>> SERVICES = new WeakHashMap<>();
+
     private ServiceFinder() {
         super();
     }
@@ -46,7 +57,88 @@ public final class ServiceFinder {
      * @return services with the specified interface.
      */
     public static <T> List<T> find(final Class<T> service) {
-        return AccessController.doPrivileged(new PrivilegedFinder<>(service));
+        ClassLoader classLoader = AccessController.doPrivileged(new PrivilegedClassLoaderGetter());
+        List<Class<?>> serviceClasses = getCachedServiceClasses(classLoader, service);
+        if (serviceClasses == null) {
+            List<T> services = AccessController.doPrivileged(new PrivilegedFinder<>(service, classLoader));
+            serviceClasses = new ArrayList<>(services.size());
+            for (T object : services) {
+                serviceClasses.add(object.getClass());
+            }
+            putCachedServiceClasses(classLoader, service, serviceClasses);
+            return services;
+        } else {
+            return AccessController.doPrivileged(new PrivilegedInstantiator<>(service, serviceClasses));
+        }
+    }
+
+    private static List<Class<?>> getCachedServiceClasses(final ClassLoader classLoader, final Class<?> service) {
+        synchronized (SERVICES) {
+            Map<Class<?>, Reference<List<Class<?>>>> classLoaderServices = SERVICES.get(classLoader);
+            if (classLoaderServices == null) {
+                return null;
+            }
+            Reference<List<Class<?>>> reference = classLoaderServices.get(service);
+            if (reference == null) {
+                return null;
+            }
+            return reference.get();
+        }
+    }
+
+    private static void putCachedServiceClasses(final ClassLoader classLoader, final Class<?> service, final List<Class<?>> serviceClasses) {
+        synchronized (SERVICES) {
+            Map<Class<?>, Reference<List<Class<?>>>> classLoaderServices = SERVICES.get(classLoader);
+            if (classLoaderServices == null) {
+                classLoaderServices = new WeakHashMap<>();
+                SERVICES.put(classLoader, classLoaderServices);
+            }
+            classLoaderServices.put(service, new SoftReference<>(serviceClasses));
+        }
+    }
+
+    /**
+     * Remove all cached service classes, so the services are found again by the subsequent calls.
+     */
+    public static void refresh() {
+        synchronized (SERVICES) {
+            SERVICES.clear();
+        }
+    }
+
+    /**
+     * Remove the cached service classes of the specified class loader, so the services are found again by the subsequent
+     * calls with this class loader as the context class loader.
+     *
+     * @param classLoader the specified class loader.
+     */
+    public static void refresh(final ClassLoader classLoader) {
+        synchronized (SERVICES) {
+            SERVICES.remove(classLoader);
+        }
+    }
+
+    /**
+     * Privileged action to get the context class loader of the current thread.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class PrivilegedClassLoaderGetter implements PrivilegedAction<ClassLoader> {
+
+        PrivilegedClassLoaderGetter() {
+            super();
+        }
+
+        @Override
+        public ClassLoader run() {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                return ClassLoader.getSystemClassLoader();
+            } else {
+                return classLoader;
+            }
+        }
+
     }
 
     /**
@@ -60,14 +152,17 @@ public final class ServiceFinder {
 
         private final Class<T> _service;
 
-        PrivilegedFinder(final Class<T> service) {
+        private final ClassLoader _classLoader;
+
+        PrivilegedFinder(final Class<T> service, final ClassLoader classLoader) {
             super();
             _service = service;
+            _classLoader = classLoader;
         }
 
         @Override
         public List<T> run() {
-            ServiceLoader<T> serviceLoader = ServiceLoader.load(_service);
+            ServiceLoader<T> serviceLoader = ServiceLoader.load(_service, _classLoader);
             List<T> result = new ArrayList<>();
             Iterator<T> iterator = serviceLoader.iterator();
             while (iterator.hasNext()) {
@@ -79,4 +174,39 @@ public final class ServiceFinder {
 
     }
 
+    /**
+     * Privileged action to create new instances of the found service classes.
+     *
+     * @param <T> the generic type of the specified interface.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class PrivilegedInstantiator<T> implements PrivilegedAction<List<T>> {
+
+        private final Class<T> _service;
+
+        private final List<Class<?>> _serviceClasses;
+
+        PrivilegedInstantiator(final Class<T> service, final List<Class<?>> serviceClasses) {
+            super();
+            _service = service;
+            _serviceClasses = serviceClasses;
+        }
+
+        @Override
+        public List<T> run() {
+            List<T> result = new ArrayList<>(_serviceClasses.size());
+            for (Class<?> serviceClass : _serviceClasses) {
+                try {
+                    Object service = serviceClass.getConstructor().newInstance();
+                    result.add(_service.cast(service));
+                } catch (ReflectiveOperationException ex) {
+                    throw new ServiceConfigurationError(_service.getName() + ": Provider " + serviceClass.getName() + " could not be instantiated", ex);
+                }
+            }
+            return result;
+        }
+
+    }
+
 }
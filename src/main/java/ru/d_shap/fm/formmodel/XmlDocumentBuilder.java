@@ -20,6 +20,9 @@
 package ru.d_shap.fm.formmodel;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
@@ -31,13 +34,18 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 /**
- * XML document builder.
+ * XML document builder. The builder is thread-safe: every thread uses its own document builder,
+ * created by the shared document builder factory and reset before each parse.
  *
  * @author Dmitry Shapovalov
  */
 public final class XmlDocumentBuilder {
 
-    private final DocumentBuilder _documentBuilder;
+    private static final Map<XmlDocumentBuilderConfigurator, XmlDocumentBuilder> SHARED_DOCUMENT_BUILDERS = Collections.synchronizedMap(new WeakHashMap<XmlDocumentBuilderConfigurator, XmlDocumentBuilder>());
+
+    private final DocumentBuilderFactory _documentBuilderFactory;
+
+    private final ThreadLocal<DocumentBuilder> _documentBuilders;
 
     /**
      * Create new object.
@@ -54,18 +62,18 @@ public final class XmlDocumentBuilder {
     public XmlDocumentBuilder(final XmlDocumentBuilderConfigurator xmlDocumentBuilderConfigurator) {
         super();
         try {
-            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+            _documentBuilderFactory = DocumentBuilderFactory.newInstance();
             if (xmlDocumentBuilderConfigurator != null) {
-                xmlDocumentBuilderConfigurator.configure(documentBuilderFactory);
+                xmlDocumentBuilderConfigurator.configure(_documentBuilderFactory);
             }
-            documentBuilderFactory.setCoalescing(true);
-            documentBuilderFactory.setIgnoringElementContentWhitespace(true);
-            documentBuilderFactory.setNamespaceAware(true);
-            documentBuilderFactory.setXIncludeAware(true);
-            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            documentBuilderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            _documentBuilder = documentBuilderFactory.newDocumentBuilder();
-            _documentBuilder.setErrorHandler(null);
+            _documentBuilderFactory.setCoalescing(true);
+            _documentBuilderFactory.setIgnoringElementContentWhitespace(true);
+            _documentBuilderFactory.setNamespaceAware(true);
+            _documentBuilderFactory.setXIncludeAware(true);
+            _documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            _documentBuilderFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            _documentBuilders = new ThreadLocal<>();
+            _documentBuilders.set(createDocumentBuilder());
         } catch (ParserConfigurationException ex) {
             throw new XmlDocumentBuilderConfigurationException(ex);
         }
@@ -91,13 +99,41 @@ public final class XmlDocumentBuilder {
         return new XmlDocumentBuilder(xmlDocumentBuilderConfigurator);
     }
 
+    /**
+     * Get the shared XML document builder instance. The shared instance is created once and reused.
+     *
+     * @return the shared XML document builder instance.
+     */
+    public static XmlDocumentBuilder getSharedDocumentBuilder() {
+        return getSharedDocumentBuilder(null);
+    }
+
+    /**
+     * Get the shared XML document builder instance for the configurator. The shared instance is created
+     * once for every configurator and reused while the configurator is reachable.
+     *
+     * @param xmlDocumentBuilderConfigurator configurator for the XML document builder.
+     *
+     * @return the shared XML document builder instance.
+     */
+    public static XmlDocumentBuilder getSharedDocumentBuilder(final XmlDocumentBuilderConfigurator xmlDocumentBuilderConfigurator) {
+        synchronized (SHARED_DOCUMENT_BUILDERS) {
+            XmlDocumentBuilder xmlDocumentBuilder = SHARED_DOCUMENT_BUILDERS.get(xmlDocumentBuilderConfigurator);
+            if (xmlDocumentBuilder == null) {
+                xmlDocumentBuilder = new XmlDocumentBuilder(xmlDocumentBuilderConfigurator);
+                SHARED_DOCUMENT_BUILDERS.put(xmlDocumentBuilderConfigurator, xmlDocumentBuilder);
+            }
+            return xmlDocumentBuilder;
+        }
+    }
+
     /**
      * Create new XML document.
      *
      * @return new XML document.
      */
     public Document newDocument() {
-        return _documentBuilder.newDocument();
+        return getThreadDocumentBuilder().newDocument();
     }
 
     /**
@@ -108,11 +144,35 @@ public final class XmlDocumentBuilder {
      * @return new XML document.
      */
     public Document parse(final InputSource inputSource) {
+        DocumentBuilder documentBuilder = getThreadDocumentBuilder();
+        documentBuilder.reset();
+        documentBuilder.setErrorHandler(null);
         try {
-            return _documentBuilder.parse(inputSource);
+            return documentBuilder.parse(inputSource);
         } catch (IOException | SAXException ex) {
             throw new InputSourceException(ex);
         }
     }
 
+    private DocumentBuilder getThreadDocumentBuilder() {
+        DocumentBuilder documentBuilder = _documentBuilders.get();
+        if (documentBuilder == null) {
+            try {
+                documentBuilder = createDocumentBuilder();
+                _documentBuilders.set(documentBuilder);
+            } catch (ParserConfigurationException ex) {
+                throw new XmlDocumentBuilderConfigurationException(ex);
+            }
+        }
+        return documentBuilder;
+    }
+
+    private DocumentBuilder createDocumentBuilder() throws ParserConfigurationException {
+        synchronized (_documentBuilderFactory) {
+            DocumentBuilder documentBuilder = _documentBuilderFactory.newDocumentBuilder();
+            documentBuilder.setErrorHandler(null);
+            return documentBuilder;
+        }
+    }
+
 }
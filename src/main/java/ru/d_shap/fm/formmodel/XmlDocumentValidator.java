@@ -21,6 +21,8 @@ package ru.d_shap.fm.formmodel;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.Source;
@@ -29,12 +31,13 @@ import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 /**
- * XML document validator.
+ * XML document validator. The validator is thread-safe, every thread uses its own validator created from the shared schema.
  *
  * @author Dmitry Shapovalov
  */
@@ -46,15 +49,21 @@ public final class XmlDocumentValidator {
 
     public static final String FORM_INSTANCE_SCHEMA_PATH = SCHEMA_PARENT_FOLDER + "/form-instance-1_0.xsd";
 
-    private final Validator _validator;
+    private static final ConcurrentMap<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, XmlDocumentValidator> DOCUMENT_VALIDATORS = new ConcurrentHashMap<>();
+
+    private final Schema _schema;
+
+    private final ThreadLocal<Validator> _validators;
 
     /**
-     * Create new object.
+     * Create new object. The compiled schema is cached and shared by all validators with the same schema path.
      *
      * @param schemaPath path to the schema.
      */
     public XmlDocumentValidator(final String schemaPath) {
-        this(XmlDocumentValidator.class.getClassLoader().getResourceAsStream(schemaPath));
+        this(getSchema(schemaPath));
     }
 
     /**
@@ -63,33 +72,73 @@ public final class XmlDocumentValidator {
      * @param inputStream input stream with the schema.
      */
     public XmlDocumentValidator(final InputStream inputStream) {
+        this(createSchema(inputStream));
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param schema the compiled schema.
+     */
+    public XmlDocumentValidator(final Schema schema) {
         super();
+        _schema = schema;
+        _validators = new ThreadLocal<>();
+    }
+
+    static Schema getSchema(final String schemaPath) {
+        Schema schema = SCHEMAS.get(schemaPath);
+        if (schema == null) {
+            InputStream inputStream = XmlDocumentValidator.class.getClassLoader().getResourceAsStream(schemaPath);
+            SCHEMAS.putIfAbsent(schemaPath, createSchemaAndClose(inputStream));
+            schema = SCHEMAS.get(schemaPath);
+        }
+        return schema;
+    }
+
+    static Schema createSchemaAndClose(final InputStream inputStream) {
+        try (InputStream schemaInputStream = inputStream) {
+            return createSchema(schemaInputStream);
+        } catch (IOException ex) {
+            throw new InputSourceException(ex);
+        }
+    }
+
+    private static Schema createSchema(final InputStream inputStream) {
         try {
             SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             Source source = new StreamSource(inputStream);
-            Schema schema = schemaFactory.newSchema(source);
-            _validator = schema.newValidator();
+            return schemaFactory.newSchema(source);
         } catch (SAXException ex) {
             throw new XmlDocumentValidatorConfigurationException(ex);
         }
     }
 
     /**
-     * Get the form-model document validator instance.
+     * Get the shared form-model document validator instance.
      *
-     * @return the form-model document validator instance.
+     * @return the shared form-model document validator instance.
      */
     public static XmlDocumentValidator getFormModelDocumentValidator() {
-        return new XmlDocumentValidator(FORM_MODEL_SCHEMA_PATH);
+        return getDocumentValidator(FORM_MODEL_SCHEMA_PATH);
     }
 
     /**
-     * Get the form-instance document validator instance.
+     * Get the shared form-instance document validator instance.
      *
-     * @return the form-instance document validator instance.
+     * @return the shared form-instance document validator instance.
      */
     public static XmlDocumentValidator getFormInstanceDocumentValidator() {
-        return new XmlDocumentValidator(FORM_INSTANCE_SCHEMA_PATH);
+        return getDocumentValidator(FORM_INSTANCE_SCHEMA_PATH);
+    }
+
+    private static XmlDocumentValidator getDocumentValidator(final String schemaPath) {
+        XmlDocumentValidator documentValidator = DOCUMENT_VALIDATORS.get(schemaPath);
+        if (documentValidator == null) {
+            DOCUMENT_VALIDATORS.putIfAbsent(schemaPath, new XmlDocumentValidator(schemaPath));
+            documentValidator = DOCUMENT_VALIDATORS.get(schemaPath);
+        }
+        return documentValidator;
     }
 
     /**
@@ -112,10 +161,28 @@ public final class XmlDocumentValidator {
      */
     public void validate(final Source source) throws SAXException {
         try {
-            _validator.validate(source);
+            getThreadValidator().validate(source);
         } catch (IOException ex) {
             throw new InputSourceException(ex);
         }
     }
 
+    /**
+     * Create new validator handler to validate the stream of SAX events against the schema.
+     *
+     * @return new validator handler.
+     */
+    public ValidatorHandler newValidatorHandler() {
+        return _schema.newValidatorHandler();
+    }
+
+    private Validator getThreadValidator() {
+        Validator validator = _validators.get();
+        if (validator == null) {
+            validator = _schema.newValidator();
+            _validators.set(validator);
+        }
+        return validator;
+    }
+
 }
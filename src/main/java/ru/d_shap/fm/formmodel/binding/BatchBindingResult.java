@@ -0,0 +1,115 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+
+/**
+ * Result of the batch binding, the binded attributes and the binded elements mapped by the definitions.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class BatchBindingResult {
+
+    private final Map<AttributeDefinition, BindedAttribute> _bindedAttributes;
+
+    private final Map<ElementDefinition, List<BindedElement>> _bindedElements;
+
+    /**
+     * Create new object.
+     */
+    public BatchBindingResult() {
+        super();
+        _bindedAttributes = new IdentityHashMap<>();
+        _bindedElements = new IdentityHashMap<>();
+    }
+
+    /**
+     * Put the binded attribute for the attribute definition. The null binded attribute means, that the attribute is not present.
+     *
+     * @param attributeDefinition the attribute definition.
+     * @param bindedAttribute     the binded attribute.
+     */
+    public void putBindedAttribute(final AttributeDefinition attributeDefinition, final BindedAttribute bindedAttribute) {
+        _bindedAttributes.put(attributeDefinition, bindedAttribute);
+    }
+
+    /**
+     * Put the binded elements for the element definition. The null binded elements mean, that the element is not present.
+     *
+     * @param elementDefinition the element definition.
+     * @param bindedElements    the binded elements.
+     */
+    public void putBindedElements(final ElementDefinition elementDefinition, final List<BindedElement> bindedElements) {
+        _bindedElements.put(elementDefinition, bindedElements);
+    }
+
+    /**
+     * Check if the result contains the binded attribute for the attribute definition.
+     *
+     * @param attributeDefinition the attribute definition.
+     *
+     * @return true if the result contains the binded attribute.
+     */
+    public boolean containsBindedAttribute(final AttributeDefinition attributeDefinition) {
+        return _bindedAttributes.containsKey(attributeDefinition);
+    }
+
+    /**
+     * Get the binded attribute for the attribute definition.
+     *
+     * @param attributeDefinition the attribute definition.
+     *
+     * @return the binded attribute.
+     */
+    public BindedAttribute getBindedAttribute(final AttributeDefinition attributeDefinition) {
+        return _bindedAttributes.get(attributeDefinition);
+    }
+
+    /**
+     * Check if the result contains the binded elements for the element definition.
+     *
+     * @param elementDefinition the element definition.
+     *
+     * @return true if the result contains the binded elements.
+     */
+    public boolean containsBindedElements(final ElementDefinition elementDefinition) {
+        return _bindedElements.containsKey(elementDefinition);
+    }
+
+    /**
+     * Get the binded elements for the element definition.
+     *
+     * @param elementDefinition the element definition.
+     *
+     * @return the binded elements.
+     */
+    public List<BindedElement> getBindedElements(final ElementDefinition elementDefinition) {
+        return _bindedElements.get(elementDefinition);
+    }
+
+}
@@ -0,0 +1,56 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.List;
+
+import org.w3c.dom.Element;
+
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+
+/**
+ * Form instance binder, that binds all sibling attribute definitions and element definitions of the parent
+ * XML element with the single call. The form instance builder calls the batch method before the sibling
+ * definitions are binded, so the binder can not access the XML elements of the previous siblings. The definitions,
+ * that are missing in the result, are binded with the {@link FormInstanceBinder} methods.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface BatchFormInstanceBinder extends FormInstanceBinder {
+
+    /**
+     * Bind the binding source with the sibling attribute definitions and element definitions.
+     *
+     * @param bindingSource        the binding source.
+     * @param lastBindedForm       the last binded form.
+     * @param lastBindedElement    the last binded element.
+     * @param parentElement        the parent XML element.
+     * @param attributeDefinitions the sibling attribute definitions.
+     * @param elementDefinitions   the sibling element definitions.
+     *
+     * @return the binded attributes and the binded elements.
+     */
+    BatchBindingResult bindNodeDefinitions(BindingSource bindingSource, BindedForm lastBindedForm, BindedElement lastBindedElement, Element parentElement, List<AttributeDefinition> attributeDefinitions, List<ElementDefinition> elementDefinitions);
+
+}
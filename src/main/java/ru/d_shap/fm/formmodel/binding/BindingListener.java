@@ -0,0 +1,66 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodePath;
+
+/**
+ * Listener for the form instance binder lookups. The listener is notified before and after the lookup of every
+ * form, element and attribute definition. The node path of the form reference lookup ends with the form reference
+ * definition, and the node definition of the form reference lookup is the referenced form definition.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface BindingListener {
+
+    /**
+     * Callback method is called before the lookup of the node definition.
+     *
+     * @param bindingSource  the binding source.
+     * @param nodeDefinition the form, element or attribute definition.
+     * @param nodePath       the current node path.
+     */
+    void lookupStarted(BindingSource bindingSource, NodeDefinition nodeDefinition, NodePath nodePath);
+
+    /**
+     * Callback method is called after the successful lookup of the node definition.
+     *
+     * @param bindingSource  the binding source.
+     * @param nodeDefinition the form, element or attribute definition.
+     * @param nodePath       the current node path.
+     * @param elapsedTime    the elapsed time of the lookup in nanoseconds.
+     * @param resultCount    the number of the binded objects.
+     */
+    void lookupFinished(BindingSource bindingSource, NodeDefinition nodeDefinition, NodePath nodePath, long elapsedTime, int resultCount);
+
+    /**
+     * Callback method is called if the lookup of the node definition throws an exception. The exception is propagated
+     * to the caller after this method is called.
+     *
+     * @param bindingSource  the binding source.
+     * @param nodeDefinition the form, element or attribute definition.
+     * @param nodePath       the current node path.
+     * @param elapsedTime    the elapsed time of the lookup in nanoseconds.
+     */
+    void lookupFailed(BindingSource bindingSource, NodeDefinition nodeDefinition, NodePath nodePath, long elapsedTime);
+
+}
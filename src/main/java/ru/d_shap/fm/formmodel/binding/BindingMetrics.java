@@ -0,0 +1,516 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodePath;
+
+/**
+ * Binding listener, that aggregates the lookup metrics of every node definition and keeps the slowest lookups.
+ * The elapsed times of the lookups are collected in the histogram with the power of two buckets: the bucket with
+ * the index N contains the lookups with the elapsed time from 2^(N-1) inclusive to 2^N exclusive nanoseconds, the bucket
+ * with the index 0 contains the lookups with the zero elapsed time. The metrics are thread-safe, the lookups of the
+ * different threads update the atomic counters of the node definition and do not wait for each other. The node
+ * definitions are weakly referenced by the metrics, so the metrics of the node definitions, that are replaced by the
+ * reloaded form definitions, are removed after the old node definitions are collected. Only the slowest lookups
+ * keep the node definitions strongly referenced.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class BindingMetrics implements BindingListener {
+
+    public static final int BUCKET_COUNT = Long.SIZE;
+
+    private final int _slowLookupCount;
+
+    private final ConcurrentMap<NodeDefinitionReference, NodeCounters> _nodeCounters;
+
+    private final ReferenceQueue<NodeDefinition> _referenceQueue;
+
+    private final AtomicLong _sequence;
+
+    private final List<SlowLookup> _slowLookups;
+
+    private volatile long _slowLookupThreshold;
+
+    /**
+     * Create new object.
+     *
+     * @param slowLookupCount the number of the slowest lookups to keep.
+     */
+    public BindingMetrics(final int slowLookupCount) {
+        super();
+        if (slowLookupCount < 0) {
+            throw new IllegalArgumentException("Slow lookup count must not be negative: " + slowLookupCount);
+        }
+        _slowLookupCount = slowLookupCount;
+        _nodeCounters = new ConcurrentHashMap<>();
+        _referenceQueue = new ReferenceQueue<>();
+        _sequence = new AtomicLong();
+        _slowLookups = new ArrayList<>();
+        _slowLookupThreshold = getSlowLookupThreshold();
+    }
+
+    @Override
+    public void lookupStarted(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath) {
+        // Ignore
+    }
+
+    @Override
+    public void lookupFinished(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath, final long elapsedTime, final int resultCount) {
+        addLookup(nodeDefinition, nodePath, elapsedTime, resultCount, false);
+    }
+
+    @Override
+    public void lookupFailed(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath, final long elapsedTime) {
+        addLookup(nodeDefinition, nodePath, elapsedTime, 0, true);
+    }
+
+    private void addLookup(final NodeDefinition nodeDefinition, final NodePath nodePath, final long elapsedTime, final int resultCount, final boolean failed) {
+        long validElapsedTime = Math.max(elapsedTime, 0L);
+        removeCollectedNodeCounters();
+        getNodeCounters(nodeDefinition).addLookup(validElapsedTime, resultCount, failed);
+        if (validElapsedTime > _slowLookupThreshold) {
+            String lookup = getLookup(nodeDefinition);
+            if (lookup != null) {
+                addSlowLookup(nodeDefinition, lookup, nodePath, validElapsedTime, failed);
+            }
+        }
+    }
+
+    private void removeCollectedNodeCounters() {
+        Reference<? extends NodeDefinition> reference = _referenceQueue.poll();
+        while (reference != null) {
+            _nodeCounters.remove(reference);
+            reference = _referenceQueue.poll();
+        }
+    }
+
+    private NodeCounters getNodeCounters(final NodeDefinition nodeDefinition) {
+        NodeDefinitionReference key = new NodeDefinitionReference(nodeDefinition, null);
+        NodeCounters nodeCounters = _nodeCounters.get(key);
+        while (nodeCounters == null) {
+            _nodeCounters.putIfAbsent(new NodeDefinitionReference(nodeDefinition, _referenceQueue), new NodeCounters(_sequence.getAndIncrement()));
+            nodeCounters = _nodeCounters.get(key);
+        }
+        return nodeCounters;
+    }
+
+    private static String getLookup(final NodeDefinition nodeDefinition) {
+        if (nodeDefinition instanceof ElementDefinition) {
+            return ((ElementDefinition) nodeDefinition).getLookup();
+        } else if (nodeDefinition instanceof AttributeDefinition) {
+            return ((AttributeDefinition) nodeDefinition).getLookup();
+        } else {
+            return null;
+        }
+    }
+
+    private void addSlowLookup(final NodeDefinition nodeDefinition, final String lookup, final NodePath nodePath, final long elapsedTime, final boolean failed) {
+        synchronized (_slowLookups) {
+            int index = _slowLookups.size();
+            while (index > 0 && _slowLookups.get(index - 1).getElapsedTime() < elapsedTime) {
+                index--;
+            }
+            _slowLookups.add(index, new SlowLookup(nodeDefinition, lookup, nodePath, elapsedTime, failed));
+            if (_slowLookups.size() > _slowLookupCount) {
+                _slowLookups.remove(_slowLookupCount);
+            }
+            _slowLookupThreshold = getSlowLookupThreshold();
+        }
+    }
+
+    private long getSlowLookupThreshold() {
+        if (_slowLookupCount == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (_slowLookups.size() < _slowLookupCount) {
+            return -1L;
+        }
+        return _slowLookups.get(_slowLookupCount - 1).getElapsedTime();
+    }
+
+    /**
+     * Get the histogram bucket index for the specified elapsed time.
+     *
+     * @param elapsedTime the elapsed time in nanoseconds.
+     *
+     * @return the histogram bucket index.
+     */
+    public static int getBucketIndex(final long elapsedTime) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(elapsedTime, 0L));
+    }
+
+    /**
+     * Get the copy of the metrics of every node definition in the order of the first lookup.
+     *
+     * @return the copy of the metrics.
+     */
+    public List<NodeMetrics> getNodeMetrics() {
+        List<NodeMetrics> result = new ArrayList<>(_nodeCounters.size());
+        for (Map.Entry<NodeDefinitionReference, NodeCounters> entry : _nodeCounters.entrySet()) {
+            NodeDefinition nodeDefinition = entry.getKey().get();
+            if (nodeDefinition != null) {
+                result.add(new NodeMetrics(nodeDefinition, entry.getValue()));
+            }
+        }
+        Collections.sort(result, new NodeMetricsComparator());
+        return result;
+    }
+
+    /**
+     * Get the copy of the metrics of the specified node definition.
+     *
+     * @param nodeDefinition the specified node definition.
+     *
+     * @return the copy of the metrics or null if the node definition was not binded.
+     */
+    public NodeMetrics getNodeMetrics(final NodeDefinition nodeDefinition) {
+        NodeCounters nodeCounters = _nodeCounters.get(new NodeDefinitionReference(nodeDefinition, null));
+        if (nodeCounters == null) {
+            return null;
+        } else {
+            return new NodeMetrics(nodeDefinition, nodeCounters);
+        }
+    }
+
+    int getNodeCountersSize() {
+        return _nodeCounters.size();
+    }
+
+    /**
+     * Get the slowest element and attribute lookups, the slowest lookup is the first.
+     *
+     * @return the slowest lookups.
+     */
+    public List<SlowLookup> getSlowLookups() {
+        synchronized (_slowLookups) {
+            return new ArrayList<>(_slowLookups);
+        }
+    }
+
+    /**
+     * Remove all metrics.
+     */
+    public void clear() {
+        _nodeCounters.clear();
+        synchronized (_slowLookups) {
+            _slowLookups.clear();
+            _slowLookupThreshold = getSlowLookupThreshold();
+        }
+    }
+
+    /**
+     * Weak reference to the node definition, that is compared by the identity of the node definition.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class NodeDefinitionReference extends WeakReference<NodeDefinition> {
+
+        private final int _hashCode;
+
+        NodeDefinitionReference(final NodeDefinition nodeDefinition, final ReferenceQueue<NodeDefinition> referenceQueue) {
+            super(nodeDefinition, referenceQueue);
+            _hashCode = System.identityHashCode(nodeDefinition);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof NodeDefinitionReference) {
+                NodeDefinition nodeDefinition = get();
+                return nodeDefinition != null && nodeDefinition == ((NodeDefinitionReference) obj).get();
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return _hashCode;
+        }
+
+    }
+
+    /**
+     * Atomic lookup counters of the node definition.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class NodeCounters {
+
+        private final long _sequence;
+
+        private final AtomicLong _lookupCount;
+
+        private final AtomicLong _failureCount;
+
+        private final AtomicLong _resultCount;
+
+        private final AtomicLong _totalTime;
+
+        private final AtomicLong _maxTime;
+
+        private final AtomicLongArray _histogram;
+
+        NodeCounters(final long sequence) {
+            super();
+            _sequence = sequence;
+            _lookupCount = new AtomicLong();
+            _failureCount = new AtomicLong();
+            _resultCount = new AtomicLong();
+            _totalTime = new AtomicLong();
+            _maxTime = new AtomicLong();
+            _histogram = new AtomicLongArray(BUCKET_COUNT);
+        }
+
+        void addLookup(final long elapsedTime, final int resultCount, final boolean failed) {
+            _lookupCount.incrementAndGet();
+            if (failed) {
+                _failureCount.incrementAndGet();
+            }
+            _resultCount.addAndGet(resultCount);
+            _totalTime.addAndGet(elapsedTime);
+            long maxTime = _maxTime.get();
+            while (elapsedTime > maxTime) {
+                _maxTime.compareAndSet(maxTime, elapsedTime);
+                maxTime = _maxTime.get();
+            }
+            _histogram.incrementAndGet(getBucketIndex(elapsedTime));
+        }
+
+    }
+
+    /**
+     * Comparator to sort the metrics in the order of the first lookup.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class NodeMetricsComparator implements Comparator<NodeMetrics>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        NodeMetricsComparator() {
+            super();
+        }
+
+        @Override
+        public int compare(final NodeMetrics nodeMetrics1, final NodeMetrics nodeMetrics2) {
+            return Long.compare(nodeMetrics1._sequence, nodeMetrics2._sequence);
+        }
+
+    }
+
+    /**
+     * Lookup metrics of the node definition.
+     *
+     * @author Dmitry Shapovalov
+     */
+    public static final class NodeMetrics {
+
+        private final NodeDefinition _nodeDefinition;
+
+        private final long _sequence;
+
+        private final long _lookupCount;
+
+        private final long _failureCount;
+
+        private final long _resultCount;
+
+        private final long _totalTime;
+
+        private final long _maxTime;
+
+        private final long[] _histogram;
+
+        NodeMetrics(final NodeDefinition nodeDefinition, final NodeCounters nodeCounters) {
+            super();
+            _nodeDefinition = nodeDefinition;
+            _sequence = nodeCounters._sequence;
+            _lookupCount = nodeCounters._lookupCount.get();
+            _failureCount = nodeCounters._failureCount.get();
+            _resultCount = nodeCounters._resultCount.get();
+            _totalTime = nodeCounters._totalTime.get();
+            _maxTime = nodeCounters._maxTime.get();
+            _histogram = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                _histogram[i] = nodeCounters._histogram.get(i);
+            }
+        }
+
+        /**
+         * Get the node definition.
+         *
+         * @return the node definition.
+         */
+        public NodeDefinition getNodeDefinition() {
+            return _nodeDefinition;
+        }
+
+        /**
+         * Get the number of the lookups, including the failed lookups.
+         *
+         * @return the number of the lookups.
+         */
+        public long getLookupCount() {
+            return _lookupCount;
+        }
+
+        /**
+         * Get the number of the failed lookups.
+         *
+         * @return the number of the failed lookups.
+         */
+        public long getFailureCount() {
+            return _failureCount;
+        }
+
+        /**
+         * Get the total number of the binded objects.
+         *
+         * @return the total number of the binded objects.
+         */
+        public long getResultCount() {
+            return _resultCount;
+        }
+
+        /**
+         * Get the total elapsed time of the lookups in nanoseconds.
+         *
+         * @return the total elapsed time.
+         */
+        public long getTotalTime() {
+            return _totalTime;
+        }
+
+        /**
+         * Get the maximum elapsed time of the lookup in nanoseconds.
+         *
+         * @return the maximum elapsed time.
+         */
+        public long getMaxTime() {
+            return _maxTime;
+        }
+
+        /**
+         * Get the copy of the elapsed time histogram.
+         *
+         * @return the copy of the elapsed time histogram.
+         */
+        public long[] getHistogram() {
+            return Arrays.copyOf(_histogram, BUCKET_COUNT);
+        }
+
+    }
+
+    /**
+     * Slow lookup of the element or attribute definition.
+     *
+     * @author Dmitry Shapovalov
+     */
+    public static final class SlowLookup {
+
+        private final NodeDefinition _nodeDefinition;
+
+        private final String _lookup;
+
+        private final NodePath _nodePath;
+
+        private final long _elapsedTime;
+
+        private final boolean _failed;
+
+        SlowLookup(final NodeDefinition nodeDefinition, final String lookup, final NodePath nodePath, final long elapsedTime, final boolean failed) {
+            super();
+            _nodeDefinition = nodeDefinition;
+            _lookup = lookup;
+            _nodePath = nodePath;
+            _elapsedTime = elapsedTime;
+            _failed = failed;
+        }
+
+        /**
+         * Get the node definition.
+         *
+         * @return the node definition.
+         */
+        public NodeDefinition getNodeDefinition() {
+            return _nodeDefinition;
+        }
+
+        /**
+         * Get the lookup of the node definition.
+         *
+         * @return the lookup of the node definition.
+         */
+        public String getLookup() {
+            return _lookup;
+        }
+
+        /**
+         * Get the node path.
+         *
+         * @return the node path.
+         */
+        public NodePath getNodePath() {
+            return _nodePath;
+        }
+
+        /**
+         * Get the elapsed time of the lookup in nanoseconds.
+         *
+         * @return the elapsed time.
+         */
+        public long getElapsedTime() {
+            return _elapsedTime;
+        }
+
+        /**
+         * Check if the lookup failed.
+         *
+         * @return true if the lookup failed.
+         */
+        public boolean isFailed() {
+            return _failed;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+/**
+ * Marker for the form instance binder, that can bind the sibling element definitions concurrently. The binder
+ * methods must be thread-safe and must not modify the parent XML element. If the form binder has the executor,
+ * the sibling element definitions of this binder are binded concurrently, see {@link FormBinder#addExecutor(java.util.concurrent.Executor)}.
+ * <p>
+ * The concurrently binded element definition gets the stand-in parent XML element, that belongs to the separate document.
+ * The stand-in parent XML element is the copy of the parent XML element, it contains the XML nodes of the preceding sibling
+ * definitions, except the XML nodes of the preceding concurrently binded element definitions. The ancestor XML elements
+ * are copied without their other child nodes. The non-element sibling definitions are binded by the calling thread in the
+ * form definition order, before the following element definitions are submitted.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface ConcurrentFormInstanceBinder extends FormInstanceBinder {
+
+}
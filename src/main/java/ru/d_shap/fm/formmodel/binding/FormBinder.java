@@ -19,15 +19,27 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.ValidatorHandler;
 
 import org.w3c.dom.Document;
-import org.xml.sax.SAXException;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.helpers.DefaultHandler;
 
 import ru.d_shap.fm.formmodel.ServiceFinder;
 import ru.d_shap.fm.formmodel.XmlDocumentBuilder;
 import ru.d_shap.fm.formmodel.XmlDocumentValidator;
 import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.ConcurrentFormDefinitions;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
 import ru.d_shap.fm.formmodel.document.DocumentProcessor;
@@ -39,21 +51,162 @@ import ru.d_shap.fm.formmodel.document.DocumentProcessor;
  */
 public final class FormBinder {
 
-    private final FormDefinitions _formDefinitions;
+    private final ConcurrentFormDefinitions _formDefinitions;
+
+    private final FormInstanceBinder _formInstanceBinder;
+
+    private final List<OtherNodeInstanceBuilder> _otherNodeInstanceBuilders;
+
+    private final AtomicReference<FormInstanceBuilderImpl> _formInstanceBuilder;
+
+    private final ValidationPolicy _validationPolicy;
 
-    private final FormInstanceBuilderImpl _formInstanceBuilder;
+    private final Executor _executor;
+
+    private final int _lookupMemoSize;
+
+    private final BindingListener _bindingListener;
 
     /**
-     * Create new object.
+     * Create new object. Every binded form instance is validated.
      *
      * @param formDefinitions    container for all form definitions.
      * @param formInstanceBinder form instance binder to bind form definition with the binding source.
      */
     public FormBinder(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder) {
+        this(formDefinitions, formInstanceBinder, ValidationPolicies.always());
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param formDefinitions    container for all form definitions.
+     * @param formInstanceBinder form instance binder to bind form definition with the binding source.
+     * @param validationPolicy   policy to validate the binded form instance.
+     */
+    public FormBinder(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final ValidationPolicy validationPolicy) {
+        this(new ConcurrentFormDefinitions(formDefinitions), formInstanceBinder, validationPolicy);
+    }
+
+    /**
+     * Create new object. Every binded form instance is validated. Every bind uses the latest snapshot of the form definitions.
+     *
+     * @param formDefinitions    thread-safe container for all form definitions.
+     * @param formInstanceBinder form instance binder to bind form definition with the binding source.
+     */
+    public FormBinder(final ConcurrentFormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder) {
+        this(formDefinitions, formInstanceBinder, ValidationPolicies.always());
+    }
+
+    /**
+     * Create new object. Every bind uses the latest snapshot of the form definitions.
+     *
+     * @param formDefinitions    thread-safe container for all form definitions.
+     * @param formInstanceBinder form instance binder to bind form definition with the binding source.
+     * @param validationPolicy   policy to validate the binded form instance.
+     */
+    public FormBinder(final ConcurrentFormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final ValidationPolicy validationPolicy) {
         super();
-        _formDefinitions = formDefinitions.copyOf();
-        List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders = ServiceFinder.find(OtherNodeInstanceBuilder.class);
-        _formInstanceBuilder = new FormInstanceBuilderImpl(_formDefinitions, formInstanceBinder, otherNodeInstanceBuilders);
+        _formDefinitions = formDefinitions;
+        _formInstanceBinder = formInstanceBinder;
+        _otherNodeInstanceBuilders = ServiceFinder.find(OtherNodeInstanceBuilder.class);
+        FormInstanceBuilderImpl formInstanceBuilder = new FormInstanceBuilderImpl(_formDefinitions.getFormDefinitions(), _formInstanceBinder, _otherNodeInstanceBuilders);
+        _formInstanceBuilder = new AtomicReference<>(formInstanceBuilder);
+        _validationPolicy = validationPolicy;
+        _executor = null;
+        _lookupMemoSize = 0;
+        _bindingListener = null;
+    }
+
+    private FormBinder(final FormBinder formBinder, final ValidationPolicy validationPolicy) {
+        super();
+        _formDefinitions = formBinder._formDefinitions;
+        _formInstanceBinder = formBinder._formInstanceBinder;
+        _otherNodeInstanceBuilders = formBinder._otherNodeInstanceBuilders;
+        _formInstanceBuilder = formBinder._formInstanceBuilder;
+        _validationPolicy = validationPolicy;
+        _executor = formBinder._executor;
+        _lookupMemoSize = formBinder._lookupMemoSize;
+        _bindingListener = formBinder._bindingListener;
+    }
+
+    private FormBinder(final FormBinder formBinder, final Executor executor, final int lookupMemoSize, final BindingListener bindingListener) {
+        super();
+        _formDefinitions = formBinder._formDefinitions;
+        _formInstanceBinder = formBinder._formInstanceBinder;
+        _otherNodeInstanceBuilders = formBinder._otherNodeInstanceBuilders;
+        FormInstanceBuilderImpl formInstanceBuilder = new FormInstanceBuilderImpl(_formDefinitions.getFormDefinitions(), _formInstanceBinder, _otherNodeInstanceBuilders, executor, lookupMemoSize, bindingListener);
+        _formInstanceBuilder = new AtomicReference<>(formInstanceBuilder);
+        _validationPolicy = formBinder._validationPolicy;
+        _executor = executor;
+        _lookupMemoSize = lookupMemoSize;
+        _bindingListener = bindingListener;
+    }
+
+    /**
+     * Create new form binder with the specified validation policy. The new form binder shares the form
+     * definitions and the compiled binding plans with this form binder, so it can be created for the single bind.
+     *
+     * @param validationPolicy policy to validate the binded form instance.
+     *
+     * @return new form binder.
+     */
+    public FormBinder addValidationPolicy(final ValidationPolicy validationPolicy) {
+        return new FormBinder(this, validationPolicy);
+    }
+
+    /**
+     * Create new form binder, that binds the sibling element definitions of the form concurrently with the specified
+     * executor. The concurrent binding is used only if the form instance binder implements {@link ConcurrentFormInstanceBinder}
+     * and the DOM document is binded, otherwise the new form binder binds the form sequentially. The XML elements of every
+     * element definition are built in the separate document and imported to the form instance document in the form
+     * definition order, so the binded form instance has the same XML nodes as the sequentially binded form instance.
+     * Unlike the sequential binding, the binder of the element definition does not see the XML nodes of the preceding
+     * concurrently binded element definitions, see {@link ConcurrentFormInstanceBinder}. Only the top
+     * level of the sibling element definitions is binded concurrently, the nested levels are binded sequentially.
+     * The calling thread runs the sibling element definitions, that are not started by the executor yet, itself and waits only
+     * for the running ones. Nevertheless this executor should not be the executor of the {@link #bindAsync(BindingSource, String, Executor)}
+     * or {@link #bindAll(Collection, String, Executor, int)} methods, otherwise the workers of the executor wait for each other.
+     *
+     * @param executor the executor to bind the sibling element definitions.
+     *
+     * @return new form binder.
+     */
+    public FormBinder addExecutor(final Executor executor) {
+        return new FormBinder(this, executor, _lookupMemoSize, _bindingListener);
+    }
+
+    /**
+     * Create new form binder, that memoizes the form instance binder lookups within every bind. The form binding,
+     * the element binding and the attribute binding results are keyed by the last binded form, the last binded element and
+     * the lookup, so the identical lookups are binded only once per bind, for example, the lookups of the form, that is
+     * referenced from several places. The form definition is the lookup for the form binding. The form instance binder
+     * must return the same result for the identical lookups regardless of the parent XML element and the other attributes
+     * of the definition. The least recently used results are removed if the memo exceeds the maximum size.
+     *
+     * @param maxSize the maximum number of the memoized lookup results per bind.
+     *
+     * @return new form binder.
+     */
+    public FormBinder addLookupMemo(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum lookup memo size must be positive: " + maxSize);
+        }
+        return new FormBinder(this, _executor, maxSize, _bindingListener);
+    }
+
+    /**
+     * Create new form binder, that notifies the specified listener about the binding of every form, element and attribute
+     * definition. The listener is notified with the elapsed time of the form instance binder lookup, the number of the
+     * binded objects and the lookup failures. The listener is called from the binding threads, so the listener must be
+     * thread-safe if the form binder is used concurrently. The form binder without the listener does not measure the lookups.
+     *
+     * @param bindingListener the listener to notify.
+     *
+     * @return new form binder.
+     */
+    public FormBinder addBindingListener(final BindingListener bindingListener) {
+        return new FormBinder(this, _executor, _lookupMemoSize, bindingListener);
     }
 
     /**
@@ -65,8 +218,9 @@ public final class FormBinder {
      * @return the binded form instance.
      */
     public Document bind(final BindingSource bindingSource, final String id) {
-        FormDefinition formDefinition = _formDefinitions.getFormDefinition(id);
-        return bind(bindingSource, formDefinition);
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(id);
+        return bind(formInstanceBuilder, bindingSource, formDefinition);
     }
 
     /**
@@ -79,8 +233,9 @@ public final class FormBinder {
      * @return the binding result.
      */
     public Document bind(final BindingSource bindingSource, final String group, final String id) {
-        FormDefinition formDefinition = _formDefinitions.getFormDefinition(group, id);
-        return bind(bindingSource, formDefinition);
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(group, id);
+        return bind(formInstanceBuilder, bindingSource, formDefinition);
     }
 
     /**
@@ -114,27 +269,292 @@ public final class FormBinder {
         return documentProcessor.process(document);
     }
 
-    private Document bind(final BindingSource bindingSource, final FormDefinition formDefinition) {
-        XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getDocumentBuilder();
+    /**
+     * Bind the specified form definition with the specified binding source and write the form instance to the
+     * specified content handler. The form instance is written while it is binded, the document of the form instance
+     * is not created. Only the elements for the single element definitions and the form reference definitions are
+     * deferred until their first child node is written, because the empty elements are not written. If the
+     * validation is required by the {@link ValidationPolicies#always()} or the {@link ValidationPolicies#sampled(int)}
+     * policy, the written events are validated against the form instance schema, and the
+     * {@link ValidationPolicy#validate(Document)} method is not called. If the validation is required by any other
+     * policy, for example, by the {@link ValidationPolicies#async(Executor, ValidationListener)} policy, the written
+     * events are also collected to the form instance node tree, and the document of this tree is passed to the
+     * {@link ValidationPolicy#validate(Document)} method after the binding. The post bind callback gets
+     * null document. If the binding fails, the content handler can get the part of the form instance.
+     *
+     * @param bindingSource  the specified binding source.
+     * @param id             the specified form's ID.
+     * @param contentHandler the specified content handler.
+     */
+    public void bind(final BindingSource bindingSource, final String id, final ContentHandler contentHandler) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(id);
+        bind(formInstanceBuilder, bindingSource, formDefinition, contentHandler);
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source and write the form instance to the
+     * specified content handler. The form instance is written while it is binded, see
+     * {@link #bind(BindingSource, String, ContentHandler)}.
+     *
+     * @param bindingSource  the specified binding source.
+     * @param group          the specified form's group.
+     * @param id             the specified form's ID.
+     * @param contentHandler the specified content handler.
+     */
+    public void bind(final BindingSource bindingSource, final String group, final String id, final ContentHandler contentHandler) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(group, id);
+        bind(formInstanceBuilder, bindingSource, formDefinition, contentHandler);
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source and write the form instance to the
+     * specified XML stream writer. The form instance is written while it is binded, see
+     * {@link #bind(BindingSource, String, ContentHandler)}. The document start and the document end are not
+     * written, so the form instance can be written inside the document, that is already started.
+     *
+     * @param bindingSource   the specified binding source.
+     * @param id              the specified form's ID.
+     * @param xmlStreamWriter the specified XML stream writer.
+     */
+    public void bind(final BindingSource bindingSource, final String id, final XMLStreamWriter xmlStreamWriter) {
+        bind(bindingSource, id, new XmlStreamWriterContentHandler(xmlStreamWriter));
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source and write the form instance to the
+     * specified XML stream writer. The form instance is written while it is binded, see
+     * {@link #bind(BindingSource, String, XMLStreamWriter)}.
+     *
+     * @param bindingSource   the specified binding source.
+     * @param group           the specified form's group.
+     * @param id              the specified form's ID.
+     * @param xmlStreamWriter the specified XML stream writer.
+     */
+    public void bind(final BindingSource bindingSource, final String group, final String id, final XMLStreamWriter xmlStreamWriter) {
+        bind(bindingSource, group, id, new XmlStreamWriterContentHandler(xmlStreamWriter));
+    }
+
+    Document bind(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition) {
+        XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
         Document newDocument = xmlDocumentBuilder.newDocument();
         Document bindedDocument = null;
         try {
-            _formInstanceBuilder.preBind(bindingSource, formDefinition);
-            _formInstanceBuilder.buildFormInstance(bindingSource, newDocument, formDefinition);
+            formInstanceBuilder.preBind(bindingSource, formDefinition);
+            formInstanceBuilder.buildFormInstance(bindingSource, newDocument, formDefinition);
             bindedDocument = newDocument;
-            validate(bindedDocument);
+            if (_validationPolicy.isValidationRequired()) {
+                _validationPolicy.validate(bindedDocument);
+            }
         } finally {
-            _formInstanceBuilder.postBind(bindingSource, formDefinition, bindedDocument);
+            formInstanceBuilder.postBind(bindingSource, formDefinition, bindedDocument);
         }
         return bindedDocument;
     }
 
-    private void validate(final Document document) {
+    private void bind(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition, final ContentHandler contentHandler) {
+        if (!_validationPolicy.isValidationRequired()) {
+            bind(formInstanceBuilder, bindingSource, formDefinition, new FormInstanceEventWriter(contentHandler));
+            return;
+        }
+        if (_validationPolicy instanceof ValidationPolicies.SchemaValidationPolicy) {
+            bind(formInstanceBuilder, bindingSource, formDefinition, createValidatingFormInstanceEventWriter(contentHandler));
+        } else {
+            FormInstanceTreeBuilder formInstanceTreeBuilder = new FormInstanceTreeBuilder(new FormInstanceEventWriter(contentHandler));
+            bind(formInstanceBuilder, bindingSource, formDefinition, formInstanceTreeBuilder);
+            _validationPolicy.validate(formInstanceTreeBuilder.getFormInstance().toDocument());
+        }
+    }
+
+    private void bind(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition, final FormInstanceEventHandler formInstanceEventHandler) {
+        XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
+        Document newDocument = xmlDocumentBuilder.newDocument();
         try {
-            XmlDocumentValidator.getFormInstanceDocumentValidator().validate(document);
-        } catch (SAXException ex) {
-            throw new FormBindingException(ex);
+            formInstanceBuilder.preBind(bindingSource, formDefinition);
+            formInstanceBuilder.buildFormInstance(bindingSource, newDocument, formDefinition, formInstanceEventHandler);
+        } finally {
+            formInstanceBuilder.postBind(bindingSource, formDefinition, null);
+        }
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source and build the form instance node tree.
+     * The form instance node tree is the lightweight alternative to the document of the form instance: the nodes
+     * hold the form definitions, the node definitions and the binded objects directly, and the document is created
+     * only if it is requested with the {@link FormInstance#toDocument()} method. The form instance is built from
+     * the events of the form instance, see {@link #bind(BindingSource, String, ContentHandler)}, so the validation
+     * and the post bind callback are the same as for the streaming bind.
+     *
+     * @param bindingSource the specified binding source.
+     * @param id            the specified form's ID.
+     *
+     * @return the root node of the form instance node tree.
+     */
+    public FormInstance bindFormInstance(final BindingSource bindingSource, final String id) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(id);
+        return bindFormInstance(formInstanceBuilder, bindingSource, formDefinition);
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source and build the form instance node tree,
+     * see {@link #bindFormInstance(BindingSource, String)}.
+     *
+     * @param bindingSource the specified binding source.
+     * @param group         the specified form's group.
+     * @param id            the specified form's ID.
+     *
+     * @return the root node of the form instance node tree.
+     */
+    public FormInstance bindFormInstance(final BindingSource bindingSource, final String group, final String id) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(group, id);
+        return bindFormInstance(formInstanceBuilder, bindingSource, formDefinition);
+    }
+
+    private FormInstance bindFormInstance(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition) {
+        boolean validationRequired = _validationPolicy.isValidationRequired();
+        boolean schemaValidation = _validationPolicy instanceof ValidationPolicies.SchemaValidationPolicy;
+        FormInstanceTreeBuilder formInstanceTreeBuilder;
+        if (validationRequired && schemaValidation) {
+            formInstanceTreeBuilder = new FormInstanceTreeBuilder(createValidatingFormInstanceEventWriter(new DefaultHandler()));
+        } else {
+            formInstanceTreeBuilder = new FormInstanceTreeBuilder(null);
+        }
+        bind(formInstanceBuilder, bindingSource, formDefinition, formInstanceTreeBuilder);
+        FormInstance formInstance = formInstanceTreeBuilder.getFormInstance();
+        if (validationRequired && !schemaValidation) {
+            _validationPolicy.validate(formInstance.toDocument());
+        }
+        return formInstance;
+    }
+
+    private FormInstanceEventWriter createValidatingFormInstanceEventWriter(final ContentHandler contentHandler) {
+        ValidatorHandler validatorHandler = XmlDocumentValidator.getFormInstanceDocumentValidator().newValidatorHandler();
+        return new FormInstanceEventWriter(new ValidatingContentHandler(validatorHandler, contentHandler));
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source asynchronously with the specified executor.
+     * The form definition is resolved before the binding is submitted to the executor. The pre bind and the post bind
+     * callbacks are called for the binding source by the executor thread, the post bind callback is called even if the
+     * binding fails. The form instance binder must be thread-safe, if the executor binds concurrently.
+     *
+     * @param bindingSource the specified binding source.
+     * @param id            the specified form's ID.
+     * @param executor      the executor to bind the binding source.
+     *
+     * @return the future of the binded form instance.
+     */
+    public Future<Document> bindAsync(final BindingSource bindingSource, final String id, final Executor executor) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(id);
+        return bindAsync(formInstanceBuilder, bindingSource, formDefinition, executor);
+    }
+
+    /**
+     * Bind the specified form definition with the specified binding source asynchronously with the specified executor,
+     * see {@link #bindAsync(BindingSource, String, Executor)}.
+     *
+     * @param bindingSource the specified binding source.
+     * @param group         the specified form's group.
+     * @param id            the specified form's ID.
+     * @param executor      the executor to bind the binding source.
+     *
+     * @return the future of the binded form instance.
+     */
+    public Future<Document> bindAsync(final BindingSource bindingSource, final String group, final String id, final Executor executor) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(group, id);
+        return bindAsync(formInstanceBuilder, bindingSource, formDefinition, executor);
+    }
+
+    private Future<Document> bindAsync(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition, final Executor executor) {
+        FutureTask<Document> task = new FutureTask<>(new BindTask(this, formInstanceBuilder, bindingSource, formDefinition));
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Bind the specified form definition with every specified binding source with the specified executor. The binded form
+     * instances are returned by the iterator in the order of the binding sources. At most the specified number of the
+     * binding sources are binded or wait to be consumed at the same time, the next binding source is submitted to the
+     * executor only when the binded form instance is consumed. The form definition is resolved once for all binding sources.
+     * The pre bind and the post bind callbacks are called for every binding source, see
+     * {@link #bindAsync(BindingSource, String, Executor)}. If the binding fails, the exception is thrown when the form
+     * instance of the binding source is consumed, the binding of the other binding sources is not affected.
+     *
+     * @param bindingSources the specified binding sources.
+     * @param id             the specified form's ID.
+     * @param executor       the executor to bind the binding sources.
+     * @param maxInFlight    the maximum number of the binding sources, that are binded or wait to be consumed at the same time.
+     *
+     * @return the iterator over the binded form instances.
+     */
+    public Iterator<Document> bindAll(final Collection<? extends BindingSource> bindingSources, final String id, final Executor executor, final int maxInFlight) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(id);
+        return new FormBinderIterator(this, formInstanceBuilder, formDefinition, bindingSources.iterator(), executor, maxInFlight);
+    }
+
+    /**
+     * Bind the specified form definition with every specified binding source with the specified executor,
+     * see {@link #bindAll(Collection, String, Executor, int)}.
+     *
+     * @param bindingSources the specified binding sources.
+     * @param group          the specified form's group.
+     * @param id             the specified form's ID.
+     * @param executor       the executor to bind the binding sources.
+     * @param maxInFlight    the maximum number of the binding sources, that are binded or wait to be consumed at the same time.
+     *
+     * @return the iterator over the binded form instances.
+     */
+    public Iterator<Document> bindAll(final Collection<? extends BindingSource> bindingSources, final String group, final String id, final Executor executor, final int maxInFlight) {
+        FormInstanceBuilderImpl formInstanceBuilder = getFormInstanceBuilder();
+        FormDefinition formDefinition = formInstanceBuilder.getFormDefinitions().getFormDefinition(group, id);
+        return new FormBinderIterator(this, formInstanceBuilder, formDefinition, bindingSources.iterator(), executor, maxInFlight);
+    }
+
+    private FormInstanceBuilderImpl getFormInstanceBuilder() {
+        FormDefinitions formDefinitions = _formDefinitions.getFormDefinitions();
+        FormInstanceBuilderImpl formInstanceBuilder = _formInstanceBuilder.get();
+        if (formInstanceBuilder.getFormDefinitions() != formDefinitions) {
+            FormInstanceBuilderImpl newFormInstanceBuilder = new FormInstanceBuilderImpl(formDefinitions, _formInstanceBinder, _otherNodeInstanceBuilders, _executor, _lookupMemoSize, _bindingListener);
+            _formInstanceBuilder.compareAndSet(formInstanceBuilder, newFormInstanceBuilder);
+            formInstanceBuilder = newFormInstanceBuilder;
         }
+        return formInstanceBuilder;
+    }
+
+    /**
+     * Task to bind the form definition with the binding source.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class BindTask implements Callable<Document> {
+
+        private final FormBinder _formBinder;
+
+        private final FormInstanceBuilderImpl _formInstanceBuilder;
+
+        private final BindingSource _bindingSource;
+
+        private final FormDefinition _formDefinition;
+
+        BindTask(final FormBinder formBinder, final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final FormDefinition formDefinition) {
+            super();
+            _formBinder = formBinder;
+            _formInstanceBuilder = formInstanceBuilder;
+            _bindingSource = bindingSource;
+            _formDefinition = formDefinition;
+        }
+
+        @Override
+        public Document call() {
+            return _formBinder.bind(_formInstanceBuilder, _bindingSource, _formDefinition);
+        }
+
     }
 
 }
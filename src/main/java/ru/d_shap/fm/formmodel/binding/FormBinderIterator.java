@@ -0,0 +1,120 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.w3c.dom.Document;
+
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Iterator over the binded form instances of the binding sources. The binding sources are binded by the executor,
+ * at most the specified number of the binding sources are binded or wait to be consumed at the same time. The next
+ * binding source is submitted to the executor only when the binded form instance is consumed, so the slow consumer
+ * holds back the binding. The binded form instances are returned in the order of the binding sources.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class FormBinderIterator implements Iterator<Document> {
+
+    private final FormBinder _formBinder;
+
+    private final FormInstanceBuilderImpl _formInstanceBuilder;
+
+    private final FormDefinition _formDefinition;
+
+    private final Iterator<? extends BindingSource> _bindingSources;
+
+    private final Executor _executor;
+
+    private final int _maxInFlight;
+
+    private final Deque<FutureTask<Document>> _tasks;
+
+    FormBinderIterator(final FormBinder formBinder, final FormInstanceBuilderImpl formInstanceBuilder, final FormDefinition formDefinition, final Iterator<? extends BindingSource> bindingSources, final Executor executor, final int maxInFlight) {
+        super();
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum in-flight bind count must be positive: " + maxInFlight);
+        }
+        _formBinder = formBinder;
+        _formInstanceBuilder = formInstanceBuilder;
+        _formDefinition = formDefinition;
+        _bindingSources = bindingSources;
+        _executor = executor;
+        _maxInFlight = maxInFlight;
+        _tasks = new ArrayDeque<>(maxInFlight);
+        submitTasks();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !_tasks.isEmpty();
+    }
+
+    @Override
+    public Document next() {
+        FutureTask<Document> task = _tasks.pollFirst();
+        if (task == null) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return getTaskResult(task);
+        } finally {
+            submitTasks();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private void submitTasks() {
+        while (_tasks.size() < _maxInFlight && _bindingSources.hasNext()) {
+            FutureTask<Document> task = new FutureTask<>(new FormBinder.BindTask(_formBinder, _formInstanceBuilder, _bindingSources.next(), _formDefinition));
+            _executor.execute(task);
+            _tasks.addLast(task);
+        }
+    }
+
+    private Document getTaskResult(final FutureTask<Document> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FormBindingException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+}
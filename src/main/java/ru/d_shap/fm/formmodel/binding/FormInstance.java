@@ -0,0 +1,251 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import ru.d_shap.fm.formmodel.XmlDocumentBuilder;
+import ru.d_shap.fm.formmodel.binding.model.BindedObject;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+
+/**
+ * Immutable node of the binded form instance. The node is the lightweight alternative to the XML element
+ * of the binded document: the form definition, the node definition and the binded object are held by the node
+ * itself instead of the user data of the XML element. The node is either the instance node, that corresponds
+ * to the XML element of the form instance, or the other node, that holds the XML node created by the other
+ * node instance builder. The document is created only if it is requested.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormInstance {
+
+    private static final String[] EMPTY_STRINGS = new String[0];
+
+    private static final Map<String, String> ID_ATTRIBUTE_NAMES = createIdAttributeNames();
+
+    private final String _name;
+
+    private final String[] _attributeNames;
+
+    private final String[] _attributeValues;
+
+    private final FormDefinition _formDefinition;
+
+    private final NodeDefinition _nodeDefinition;
+
+    private final BindedObject _bindedObject;
+
+    private final List<FormInstance> _children;
+
+    private final Node _node;
+
+    FormInstance(final String name, final String[] attributeNames, final String[] attributeValues, final FormDefinition formDefinition, final NodeDefinition nodeDefinition, final BindedObject bindedObject, final List<FormInstance> children) {
+        super();
+        _name = name;
+        _attributeNames = attributeNames;
+        _attributeValues = attributeValues;
+        _formDefinition = formDefinition;
+        _nodeDefinition = nodeDefinition;
+        _bindedObject = bindedObject;
+        if (children.isEmpty()) {
+            _children = Collections.emptyList();
+        } else {
+            _children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+        _node = null;
+    }
+
+    FormInstance(final Node node) {
+        super();
+        _name = node.getNodeName();
+        _attributeNames = EMPTY_STRINGS;
+        _attributeValues = EMPTY_STRINGS;
+        _formDefinition = null;
+        _nodeDefinition = null;
+        _bindedObject = null;
+        _children = Collections.emptyList();
+        _node = node;
+    }
+
+    private static Map<String, String> createIdAttributeNames() {
+        Map<String, String> idAttributeNames = new HashMap<>();
+        idAttributeNames.put(FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.ATTRIBUTE_INSTANCE_ATTRIBUTE_ID);
+        idAttributeNames.put(FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.ELEMENT_INSTANCE_ATTRIBUTE_ID);
+        idAttributeNames.put(FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID);
+        return Collections.unmodifiableMap(idAttributeNames);
+    }
+
+    /**
+     * Get the name of the node. For the instance node this is the local name of the XML element,
+     * for the other node this is the name of the XML node.
+     *
+     * @return the name of the node.
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * Check if this node is the other node, created by the other node instance builder.
+     *
+     * @return true if this node is the other node.
+     */
+    public boolean isOtherNode() {
+        return _node != null;
+    }
+
+    /**
+     * Get the XML node of the other node.
+     *
+     * @return the XML node of the other node or null for the instance node.
+     */
+    public Node getOtherNode() {
+        return _node;
+    }
+
+    /**
+     * Get the names of the attributes of the node.
+     *
+     * @return the names of the attributes.
+     */
+    public List<String> getAttributeNames() {
+        return Collections.unmodifiableList(Arrays.asList(_attributeNames));
+    }
+
+    /**
+     * Get the value of the attribute with the specified name.
+     *
+     * @param name the specified name.
+     *
+     * @return the value of the attribute or null if the attribute is not present.
+     */
+    public String getAttribute(final String name) {
+        for (int i = 0; i < _attributeNames.length; i++) {
+            if (_attributeNames[i].equals(name)) {
+                return _attributeValues[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the form definition of the node.
+     *
+     * @return the form definition or null for the other node.
+     */
+    public FormDefinition getFormDefinition() {
+        return _formDefinition;
+    }
+
+    /**
+     * Get the node definition of the node.
+     *
+     * @return the node definition or null for the other node.
+     */
+    public NodeDefinition getNodeDefinition() {
+        return _nodeDefinition;
+    }
+
+    /**
+     * Get the binded object of the node.
+     *
+     * @return the binded object or null if the binded object is not present.
+     */
+    public BindedObject getBindedObject() {
+        return _bindedObject;
+    }
+
+    /**
+     * Get the child nodes of the node in the document order.
+     *
+     * @return the child nodes.
+     */
+    public List<FormInstance> getChildren() {
+        return _children;
+    }
+
+    /**
+     * Get the descendant attribute, element and single element instance nodes with the specified ID in the document order.
+     * The XML nodes of the other nodes are not looked up.
+     *
+     * @param id the specified ID.
+     *
+     * @return the descendant nodes found.
+     */
+    public List<FormInstance> getFormInstancesWithId(final String id) {
+        List<FormInstance> formInstances = new ArrayList<>();
+        addFormInstancesWithId(_children, id, formInstances);
+        return formInstances;
+    }
+
+    private void addFormInstancesWithId(final List<FormInstance> children, final String id, final List<FormInstance> formInstances) {
+        for (FormInstance child : children) {
+            String idAttributeName = ID_ATTRIBUTE_NAMES.get(child._name);
+            if (idAttributeName != null && !child.isOtherNode() && id.equals(child.getAttribute(idAttributeName))) {
+                formInstances.add(child);
+            }
+            addFormInstancesWithId(child._children, id, formInstances);
+        }
+    }
+
+    /**
+     * Create the document of the form instance with this node as the document element. The created XML elements
+     * have the same user data as the XML elements of the binded document. Every call creates new document.
+     * The other node can be the document element only if it holds the XML element.
+     *
+     * @return the document of the form instance.
+     */
+    public Document toDocument() {
+        XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
+        Document document = xmlDocumentBuilder.newDocument();
+        document.appendChild(createNode(document));
+        return document;
+    }
+
+    private Node createNode(final Document document) {
+        if (_node != null) {
+            return document.importNode(_node, true);
+        }
+        Element element = document.createElementNS(FormInstanceBuilder.NAMESPACE, _name);
+        for (int i = 0; i < _attributeNames.length; i++) {
+            element.setAttribute(_attributeNames[i], _attributeValues[i]);
+        }
+        element.setUserData(FormInstanceBuilder.USER_DATA_FORM_DEFINITION, _formDefinition, null);
+        element.setUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION, _nodeDefinition, null);
+        if (_bindedObject != null) {
+            element.setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, _bindedObject, null);
+        }
+        for (FormInstance child : _children) {
+            element.appendChild(child.createNode(document));
+        }
+        return element;
+    }
+
+}
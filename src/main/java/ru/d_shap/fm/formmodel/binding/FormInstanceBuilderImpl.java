@@ -21,16 +21,23 @@ package ru.d_shap.fm.formmodel.binding;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.XmlDocumentBuilder;
 import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
 import ru.d_shap.fm.formmodel.binding.model.BindedElement;
 import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindedObject;
 import ru.d_shap.fm.formmodel.binding.model.BindingSource;
 import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
 import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
@@ -42,8 +49,7 @@ import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
 import ru.d_shap.fm.formmodel.definition.model.NodePath;
 import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
 import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
-import ru.d_shap.fm.formmodel.utils.EmptyStringHelper;
-import ru.d_shap.fm.formmodel.utils.IdentityHelper;
+import ru.d_shap.fm.formmodel.utils.IdentityCollector;
 
 /**
  * Builder for the form instance.
@@ -52,13 +58,29 @@ import ru.d_shap.fm.formmodel.utils.IdentityHelper;
  */
 final class FormInstanceBuilderImpl implements FormInstanceBuilder {
 
+    private static final ThreadLocal<Boolean> CONCURRENT_BINDING = new ThreadLocal<>();
+
+    private static final ThreadLocal<LookupMemo> LOOKUP_MEMO = new ThreadLocal<>();
+
     private final FormDefinitions _formDefinitions;
 
     private final FormInstanceBinder _formInstanceBinder;
 
     private final List<OtherNodeInstanceBuilder> _otherNodeInstanceBuilders;
 
+    private final NodeBindingPlans _nodeBindingPlans;
+
+    private final Executor _executor;
+
+    private final int _lookupMemoSize;
+
+    private final BindingListener _bindingListener;
+
     FormInstanceBuilderImpl(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders) {
+        this(formDefinitions, formInstanceBinder, otherNodeInstanceBuilders, null, 0, null);
+    }
+
+    FormInstanceBuilderImpl(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders, final Executor executor, final int lookupMemoSize, final BindingListener bindingListener) {
         super();
         _formDefinitions = formDefinitions;
         _formInstanceBinder = formInstanceBinder;
@@ -68,6 +90,18 @@ final class FormInstanceBuilderImpl implements FormInstanceBuilder {
                 _otherNodeInstanceBuilders.add(otherNodeInstanceBuilder);
             }
         }
+        _nodeBindingPlans = new NodeBindingPlans(formDefinitions);
+        if (formInstanceBinder instanceof ConcurrentFormInstanceBinder) {
+            _executor = executor;
+        } else {
+            _executor = null;
+        }
+        _lookupMemoSize = lookupMemoSize;
+        _bindingListener = bindingListener;
+    }
+
+    FormDefinitions getFormDefinitions() {
+        return _formDefinitions;
     }
 
     void preBind(final BindingSource bindingSource, final FormDefinition formDefinition) {
@@ -79,25 +113,54 @@ final class FormInstanceBuilderImpl implements FormInstanceBuilder {
     }
 
     void buildFormInstance(final BindingSource bindingSource, final Document document, final FormDefinition formDefinition) {
-        BindedForm bindedForm = _formInstanceBinder.bindFormDefinition(bindingSource, null, null, null, formDefinition);
+        LOOKUP_MEMO.set(createLookupMemo());
+        try {
+            buildFormInstanceDocument(bindingSource, document, formDefinition);
+        } finally {
+            LOOKUP_MEMO.remove();
+        }
+    }
+
+    void buildFormInstance(final BindingSource bindingSource, final Document document, final FormDefinition formDefinition, final FormInstanceEventHandler formInstanceEventHandler) {
+        LOOKUP_MEMO.set(createLookupMemo());
+        try {
+            streamFormInstance(bindingSource, document, formDefinition, formInstanceEventHandler);
+        } finally {
+            LOOKUP_MEMO.remove();
+        }
+    }
+
+    private LookupMemo createLookupMemo() {
+        if (_lookupMemoSize > 0) {
+            return new LookupMemo(_lookupMemoSize);
+        } else {
+            return null;
+        }
+    }
+
+    private void buildFormInstanceDocument(final BindingSource bindingSource, final Document document, final FormDefinition formDefinition) {
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(formDefinition);
+        NodePath currentNodePath = new NodePath(formDefinition);
+        BindedForm bindedForm = bindFormDefinition(bindingSource, null, null, null, formDefinition, currentNodePath);
         validateBindedForm(bindedForm, formDefinition);
-        Element element = createFormInstanceElement(document, formDefinition, bindedForm);
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedForm);
         document.appendChild(element);
-        NodePath currentNodePath = new NodePath(formDefinition);
-        bindNodeDefinitions(bindingSource, document, bindedForm, null, element, formDefinition.getAllNodeDefinitions(), currentNodePath);
+        bindNodeDefinitions(bindingSource, document, bindedForm, null, element, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
     }
 
-    private Element createFormInstanceElement(final Document document, final FormDefinition formDefinition, final BindedForm bindedForm) {
-        Element element = document.createElementNS(NAMESPACE, FORM_INSTANCE_ELEMENT_NAME);
-        setAttribute(element, FORM_INSTANCE_ATTRIBUTE_GROUP, formDefinition.getGroup());
-        setAttribute(element, FORM_INSTANCE_ATTRIBUTE_ID, formDefinition.getId());
-        for (String otherAttributeName : formDefinition.getOtherAttributeNames()) {
-            setAttribute(element, otherAttributeName, formDefinition.getOtherAttributeValue(otherAttributeName));
-        }
-        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_NODE_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_BINDED_OBJECT, bindedForm);
-        return element;
+    private void streamFormInstance(final BindingSource bindingSource, final Document document, final FormDefinition formDefinition, final FormInstanceEventHandler formInstanceEventHandler) {
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(formDefinition);
+        NodePath currentNodePath = new NodePath(formDefinition);
+        BindedForm bindedForm = bindFormDefinition(bindingSource, null, null, null, formDefinition, currentNodePath);
+        validateBindedForm(bindedForm, formDefinition);
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedForm);
+        document.appendChild(element);
+        formInstanceEventHandler.startDocument();
+        StreamElement streamElement = new StreamElement(null, element, formDefinition, false, false);
+        startStreamElement(streamElement, formInstanceEventHandler);
+        streamNodeDefinitions(bindingSource, document, bindedForm, null, streamElement, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+        endStreamElement(streamElement, formInstanceEventHandler);
+        formInstanceEventHandler.endDocument();
     }
 
     private void validateBindedForm(final BindedForm bindedForm, final FormDefinition formDefinition) {
@@ -108,149 +171,150 @@ final class FormInstanceBuilderImpl implements FormInstanceBuilder {
 
     @Override
     public void buildAttributeInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition, final NodePath nodePath) {
-        BindedAttribute bindedAttribute = _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
-        validateBindedAttribute(bindedAttribute, attributeDefinition, nodePath);
+        FormDefinition formDefinition = (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION);
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(attributeDefinition);
+        buildAttributeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, null);
+    }
+
+    private void buildAttributeInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        AttributeDefinition attributeDefinition = (AttributeDefinition) nodeBindingPlan.getNodeDefinition();
+        BindedAttribute bindedAttribute = bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition, nodePath, batchBindingResult);
+        validateBindedAttribute(bindedAttribute, nodeBindingPlan, nodePath);
         if (bindedAttribute != null) {
-            Element element = createAttributeInstanceElement(document, (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION), attributeDefinition, bindedAttribute);
+            Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedAttribute);
             parentElement.appendChild(element);
             NodePath currentNodePath = new NodePath(nodePath, attributeDefinition);
-            bindNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, element, attributeDefinition.getAllNodeDefinitions(), currentNodePath);
-        }
-    }
-
-    private Element createAttributeInstanceElement(final Document document, final FormDefinition formDefinition, final AttributeDefinition attributeDefinition, final BindedAttribute bindedAttribute) {
-        Element element = document.createElementNS(NAMESPACE, ATTRIBUTE_INSTANCE_ELEMENT_NAME);
-        setAttribute(element, ATTRIBUTE_INSTANCE_ATTRIBUTE_ID, attributeDefinition.getId());
-        for (String otherAttributeName : attributeDefinition.getOtherAttributeNames()) {
-            setAttribute(element, otherAttributeName, attributeDefinition.getOtherAttributeValue(otherAttributeName));
+            bindNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, element, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
         }
-        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_NODE_DEFINITION, attributeDefinition);
-        setUserData(element, USER_DATA_BINDED_OBJECT, bindedAttribute);
-        return element;
     }
 
-    private void validateBindedAttribute(final BindedAttribute bindedAttribute, final AttributeDefinition attributeDefinition, final NodePath nodePath) {
-        if (attributeDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED && bindedAttribute == null) {
+    private void validateBindedAttribute(final BindedAttribute bindedAttribute, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        AttributeDefinition attributeDefinition = (AttributeDefinition) nodeBindingPlan.getNodeDefinition();
+        CardinalityDefinition cardinalityDefinition = nodeBindingPlan.getCardinalityDefinition();
+        if (cardinalityDefinition == CardinalityDefinition.REQUIRED && bindedAttribute == null) {
             throw new FormBindingException(Messages.Binding.getRequiredAttributeIsNotPresentMessage(attributeDefinition), nodePath);
         }
-        if (attributeDefinition.getCardinalityDefinition() == CardinalityDefinition.PROHIBITED && bindedAttribute != null) {
+        if (cardinalityDefinition == CardinalityDefinition.PROHIBITED && bindedAttribute != null) {
             throw new FormBindingException(Messages.Binding.getProhibitedAttributeIsPresentMessage(attributeDefinition), nodePath);
         }
     }
 
     @Override
     public void buildElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition, final NodePath nodePath) {
-        List<BindedElement> bindedElements = _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
-        validateBindedElement(bindedElements, elementDefinition, nodePath);
+        FormDefinition formDefinition = (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION);
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(elementDefinition);
+        buildElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, null);
+    }
+
+    private void buildElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        buildElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, parentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
+    }
+
+    void buildElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final Node parentNode, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        ElementDefinition elementDefinition = (ElementDefinition) nodeBindingPlan.getNodeDefinition();
+        List<BindedElement> bindedElements = bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition, nodePath, batchBindingResult);
+        validateBindedElement(bindedElements, nodeBindingPlan, nodePath);
         if (bindedElements != null) {
+            NodePath currentNodePath = new NodePath(nodePath, elementDefinition);
             for (BindedElement bindedElement : bindedElements) {
-                Element element = createElementInstanceElement(document, (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION), elementDefinition, bindedElement);
-                parentElement.appendChild(element);
-                NodePath currentNodePath = new NodePath(nodePath, elementDefinition);
-                bindNodeDefinitions(bindingSource, document, lastBindedForm, bindedElement, element, elementDefinition.getAllNodeDefinitions(), currentNodePath);
+                Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedElement);
+                parentNode.appendChild(element);
+                bindNodeDefinitions(bindingSource, document, lastBindedForm, bindedElement, element, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
             }
         }
     }
 
-    private Element createElementInstanceElement(final Document document, final FormDefinition formDefinition, final ElementDefinition elementDefinition, final BindedElement bindedElement) {
-        Element element = document.createElementNS(NAMESPACE, ELEMENT_INSTANCE_ELEMENT_NAME);
-        setAttribute(element, ELEMENT_INSTANCE_ATTRIBUTE_ID, elementDefinition.getId());
-        for (String otherAttributeName : elementDefinition.getOtherAttributeNames()) {
-            setAttribute(element, otherAttributeName, elementDefinition.getOtherAttributeValue(otherAttributeName));
-        }
-        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_NODE_DEFINITION, elementDefinition);
-        setUserData(element, USER_DATA_BINDED_OBJECT, bindedElement);
-        return element;
-    }
-
-    private void validateBindedElement(final List<BindedElement> bindedElements, final ElementDefinition elementDefinition, final NodePath nodePath) {
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED && bindedElements == null) {
-            throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED && bindedElements.isEmpty()) {
-            throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED && bindedElements.size() > 1) {
-            throw new FormBindingException(Messages.Binding.getRequiredElementIsPresentMoreThanOnceMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED_MULTIPLE && bindedElements == null) {
-            throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED_MULTIPLE && bindedElements.isEmpty()) {
-            throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.OPTIONAL && bindedElements != null && bindedElements.size() > 1) {
-            throw new FormBindingException(Messages.Binding.getOptionalElementIsPresentMoreThanOnceMessage(elementDefinition), nodePath);
-        }
-        if (elementDefinition.getCardinalityDefinition() == CardinalityDefinition.PROHIBITED && bindedElements != null && !bindedElements.isEmpty()) {
-            throw new FormBindingException(Messages.Binding.getProhibitedElementIsPresentMessage(elementDefinition), nodePath);
+    private void validateBindedElement(final List<BindedElement> bindedElements, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        ElementDefinition elementDefinition = (ElementDefinition) nodeBindingPlan.getNodeDefinition();
+        boolean empty = bindedElements == null || bindedElements.isEmpty();
+        switch (nodeBindingPlan.getCardinalityDefinition()) {
+            case REQUIRED:
+                if (empty) {
+                    throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
+                }
+                if (bindedElements.size() > 1) {
+                    throw new FormBindingException(Messages.Binding.getRequiredElementIsPresentMoreThanOnceMessage(elementDefinition), nodePath);
+                }
+                break;
+            case REQUIRED_MULTIPLE:
+                if (empty) {
+                    throw new FormBindingException(Messages.Binding.getRequiredElementIsNotPresentMessage(elementDefinition), nodePath);
+                }
+                break;
+            case OPTIONAL:
+                if (!empty && bindedElements.size() > 1) {
+                    throw new FormBindingException(Messages.Binding.getOptionalElementIsPresentMoreThanOnceMessage(elementDefinition), nodePath);
+                }
+                break;
+            case PROHIBITED:
+                if (!empty) {
+                    throw new FormBindingException(Messages.Binding.getProhibitedElementIsPresentMessage(elementDefinition), nodePath);
+                }
+                break;
+            default:
+                break;
         }
     }
 
     @Override
     public void buildSingleElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final SingleElementDefinition singleElementDefinition, final NodePath nodePath) {
-        Element element = createSingleElementInstanceElement(document, (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION), singleElementDefinition);
+        FormDefinition formDefinition = (FormDefinition) getElementUserData(parentElement, USER_DATA_FORM_DEFINITION);
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(singleElementDefinition);
+        buildSingleElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath);
+    }
+
+    private void buildSingleElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        SingleElementDefinition singleElementDefinition = (SingleElementDefinition) nodeBindingPlan.getNodeDefinition();
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, null);
         NodePath currentNodePath = new NodePath(nodePath, singleElementDefinition);
-        bindNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, element, singleElementDefinition.getAllNodeDefinitions(), currentNodePath);
-        validateBindedSingleElementDefinition(element, singleElementDefinition, nodePath);
+        bindNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, element, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
+        validateBindedSingleElementDefinition(element, nodeBindingPlan, nodePath);
         if (element.hasChildNodes()) {
             parentElement.appendChild(element);
         }
     }
 
-    private Element createSingleElementInstanceElement(final Document document, final FormDefinition formDefinition, final SingleElementDefinition singleElementDefinition) {
-        Element element = document.createElementNS(NAMESPACE, SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME);
-        setAttribute(element, SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID, singleElementDefinition.getId());
-        for (String otherAttributeName : singleElementDefinition.getOtherAttributeNames()) {
-            setAttribute(element, otherAttributeName, singleElementDefinition.getOtherAttributeValue(otherAttributeName));
-        }
-        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_NODE_DEFINITION, singleElementDefinition);
-        return element;
+    private void validateBindedSingleElementDefinition(final Element element, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        IdentityCollector<NodeDefinition> uniqueNodeDefinitions = new IdentityCollector<>();
+        addUniqueNodeDefinitions(element, uniqueNodeDefinitions, SingleElementDefinition.class);
+        validateBindedSingleElementDefinition(uniqueNodeDefinitions, nodeBindingPlan, nodePath);
     }
 
-    private void validateBindedSingleElementDefinition(final Element element, final SingleElementDefinition singleElementDefinition, final NodePath nodePath) {
-        List<NodeDefinition> uniqueNodeDefinitions = new ArrayList<>();
-        addUniqueNodeDefinitions(element, uniqueNodeDefinitions, SingleElementDefinition.class);
+    private void validateBindedSingleElementDefinition(final IdentityCollector<NodeDefinition> uniqueNodeDefinitions, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        SingleElementDefinition singleElementDefinition = (SingleElementDefinition) nodeBindingPlan.getNodeDefinition();
         if (uniqueNodeDefinitions.size() > 1) {
             throw new FormBindingException(Messages.Binding.getMultipleSingleElementsArePresentMessage(singleElementDefinition), nodePath);
         }
-        if (singleElementDefinition.getCardinalityDefinition() == CardinalityDefinition.REQUIRED && uniqueNodeDefinitions.isEmpty()) {
+        CardinalityDefinition cardinalityDefinition = nodeBindingPlan.getCardinalityDefinition();
+        if (cardinalityDefinition == CardinalityDefinition.REQUIRED && uniqueNodeDefinitions.isEmpty()) {
             throw new FormBindingException(Messages.Binding.getRequiredSingleElementIsNotPresentMessage(singleElementDefinition), nodePath);
         }
-        if (singleElementDefinition.getCardinalityDefinition() == CardinalityDefinition.PROHIBITED && !uniqueNodeDefinitions.isEmpty()) {
+        if (cardinalityDefinition == CardinalityDefinition.PROHIBITED && !uniqueNodeDefinitions.isEmpty()) {
             throw new FormBindingException(Messages.Binding.getProhibitedSingleElementIsPresentMessage(singleElementDefinition), nodePath);
         }
     }
 
     @Override
     public void buildFormReferenceInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormReferenceDefinition formReferenceDefinition, final NodePath nodePath) {
-        FormDefinition formDefinition = _formDefinitions.getFormDefinition(formReferenceDefinition);
-        BindedForm bindedForm = _formInstanceBinder.bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
-        validateBindedForm(bindedForm, formDefinition);
-        Element element = createFormReferenceInstanceElement(document, formDefinition, formReferenceDefinition);
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(formReferenceDefinition);
+        buildFormReferenceInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, nodeBindingPlan, nodePath);
+    }
+
+    private void buildFormReferenceInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath) {
+        FormReferenceDefinition formReferenceDefinition = (FormReferenceDefinition) nodeBindingPlan.getNodeDefinition();
+        FormDefinition formDefinition = nodeBindingPlan.getFormDefinition();
+        NodeBindingPlan formNodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(formDefinition);
         NodePath currentNodePath = new NodePath(nodePath, formReferenceDefinition);
-        bindNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, element, formDefinition.getAllNodeDefinitions(), currentNodePath);
-        bindNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, element, formReferenceDefinition.getAllNodeDefinitions(), currentNodePath);
+        BindedForm bindedForm = bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition, currentNodePath);
+        validateBindedForm(bindedForm, formDefinition);
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, null);
+        bindNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, element, formDefinition, formNodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
+        bindNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, element, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath);
         if (element.hasChildNodes()) {
             parentElement.appendChild(element);
         }
     }
 
-    private Element createFormReferenceInstanceElement(final Document document, final FormDefinition formDefinition, final FormReferenceDefinition formReferenceDefinition) {
-        Element element = document.createElementNS(NAMESPACE, FORM_REFERENCE_INSTANCE_ELEMENT_NAME);
-        setAttribute(element, FORM_REFERENCE_INSTANCE_ATTRIBUTE_GROUP, formReferenceDefinition.getGroup());
-        setAttribute(element, FORM_REFERENCE_INSTANCE_ATTRIBUTE_ID, formReferenceDefinition.getId());
-        for (String otherAttributeName : formReferenceDefinition.getOtherAttributeNames()) {
-            setAttribute(element, otherAttributeName, formReferenceDefinition.getOtherAttributeValue(otherAttributeName));
-        }
-        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
-        setUserData(element, USER_DATA_NODE_DEFINITION, formReferenceDefinition);
-        return element;
-    }
-
     @Override
     public void buildOtherNodeInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final OtherNodeDefinition otherNodeDefinition, final NodePath nodePath) {
         for (OtherNodeInstanceBuilder otherNodeInstanceBuilder : _otherNodeInstanceBuilders) {
@@ -271,22 +335,27 @@ final class FormInstanceBuilderImpl implements FormInstanceBuilder {
         return null;
     }
 
-    private void setAttribute(final Element element, final String attributeName, final String attributeValue) {
-        if (!EmptyStringHelper.isBlank(attributeValue)) {
-            element.setAttribute(attributeName, attributeValue);
+    private Element createInstanceElement(final Document document, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final BindedObject bindedObject) {
+        Element element = document.createElementNS(NAMESPACE, nodeBindingPlan.getElementName());
+        for (int i = 0; i < nodeBindingPlan.getAttributeCount(); i++) {
+            element.setAttribute(nodeBindingPlan.getAttributeName(i), nodeBindingPlan.getAttributeValue(i));
         }
+        setUserData(element, USER_DATA_FORM_DEFINITION, formDefinition);
+        setUserData(element, USER_DATA_NODE_DEFINITION, nodeBindingPlan.getNodeDefinition());
+        if (bindedObject != null) {
+            setUserData(element, USER_DATA_BINDED_OBJECT, bindedObject);
+        }
+        return element;
     }
 
     private void setUserData(final Element element, final String key, final Object data) {
         element.setUserData(key, data, null);
     }
 
-    private void addUniqueNodeDefinitions(final Element element, final List<NodeDefinition> uniqueNodeDefinitions, final Class<? extends NodeDefinition> excludeNodeDefinitionClass) {
+    private void addUniqueNodeDefinitions(final Element element, final IdentityCollector<NodeDefinition> uniqueNodeDefinitions, final Class<? extends NodeDefinition> excludeNodeDefinitionClass) {
         Object object = element.getUserData(USER_DATA_NODE_DEFINITION);
         if (object instanceof NodeDefinition && !excludeNodeDefinitionClass.isInstance(object)) {
-            if (!IdentityHelper.contains(uniqueNodeDefinitions, (NodeDefinition) object)) {
-                uniqueNodeDefinitions.add((NodeDefinition) object);
-            }
+            uniqueNodeDefinitions.add((NodeDefinition) object);
             return;
         }
         NodeList nodeList = element.getChildNodes();
@@ -298,24 +367,581 @@ final class FormInstanceBuilderImpl implements FormInstanceBuilder {
         }
     }
 
-    private void bindNodeDefinitions(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final List<NodeDefinition> nodeDefinitions, final NodePath nodePath) {
-        for (NodeDefinition nodeDefinition : nodeDefinitions) {
-            if (nodeDefinition instanceof AttributeDefinition) {
-                buildAttributeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (AttributeDefinition) nodeDefinition, nodePath);
+    private void bindNodeDefinitions(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final List<NodeBindingPlan> nodeBindingPlans, final NodePath nodePath) {
+        BatchBindingResult batchBindingResult = batchBindNodeDefinitions(bindingSource, lastBindedForm, lastBindedElement, parentElement, nodeBindingPlans);
+        if (isConcurrentBinding(nodeBindingPlans)) {
+            bindNodeDefinitionsConcurrently(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlans, nodePath, batchBindingResult);
+        } else {
+            for (NodeBindingPlan nodeBindingPlan : nodeBindingPlans) {
+                bindNodeDefinition(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
             }
-            if (nodeDefinition instanceof ElementDefinition) {
-                buildElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (ElementDefinition) nodeDefinition, nodePath);
+        }
+    }
+
+    private BatchBindingResult batchBindNodeDefinitions(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final List<NodeBindingPlan> nodeBindingPlans) {
+        if (!(_formInstanceBinder instanceof BatchFormInstanceBinder)) {
+            return null;
+        }
+        List<AttributeDefinition> attributeDefinitions = new ArrayList<>();
+        List<ElementDefinition> elementDefinitions = new ArrayList<>();
+        for (NodeBindingPlan nodeBindingPlan : nodeBindingPlans) {
+            NodeBindingPlan.NodeType nodeType = nodeBindingPlan.getNodeType();
+            if (nodeType == NodeBindingPlan.NodeType.ATTRIBUTE) {
+                attributeDefinitions.add((AttributeDefinition) nodeBindingPlan.getNodeDefinition());
+            } else if (nodeType == NodeBindingPlan.NodeType.ELEMENT) {
+                elementDefinitions.add((ElementDefinition) nodeBindingPlan.getNodeDefinition());
             }
-            if (nodeDefinition instanceof SingleElementDefinition) {
-                buildSingleElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (SingleElementDefinition) nodeDefinition, nodePath);
+        }
+        if (attributeDefinitions.isEmpty() && elementDefinitions.isEmpty()) {
+            return null;
+        }
+        return ((BatchFormInstanceBinder) _formInstanceBinder).bindNodeDefinitions(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinitions, elementDefinitions);
+    }
+
+    private BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        if (_bindingListener == null) {
+            return lookupAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition, batchBindingResult);
+        }
+        NodePath currentNodePath = new NodePath(nodePath, attributeDefinition);
+        _bindingListener.lookupStarted(bindingSource, attributeDefinition, currentNodePath);
+        long startTime = System.nanoTime();
+        boolean finished = false;
+        try {
+            BindedAttribute bindedAttribute = lookupAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition, batchBindingResult);
+            finished = true;
+            _bindingListener.lookupFinished(bindingSource, attributeDefinition, currentNodePath, System.nanoTime() - startTime, getResultCount(bindedAttribute));
+            return bindedAttribute;
+        } finally {
+            if (!finished) {
+                _bindingListener.lookupFailed(bindingSource, attributeDefinition, currentNodePath, System.nanoTime() - startTime);
             }
-            if (nodeDefinition instanceof FormReferenceDefinition) {
-                buildFormReferenceInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (FormReferenceDefinition) nodeDefinition, nodePath);
+        }
+    }
+
+    private List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        if (_bindingListener == null) {
+            return lookupElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition, batchBindingResult);
+        }
+        NodePath currentNodePath = new NodePath(nodePath, elementDefinition);
+        _bindingListener.lookupStarted(bindingSource, elementDefinition, currentNodePath);
+        long startTime = System.nanoTime();
+        boolean finished = false;
+        try {
+            List<BindedElement> bindedElements = lookupElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition, batchBindingResult);
+            finished = true;
+            int resultCount = 0;
+            if (bindedElements != null) {
+                resultCount = bindedElements.size();
             }
-            if (nodeDefinition instanceof OtherNodeDefinition) {
-                buildOtherNodeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (OtherNodeDefinition) nodeDefinition, nodePath);
+            _bindingListener.lookupFinished(bindingSource, elementDefinition, currentNodePath, System.nanoTime() - startTime, resultCount);
+            return bindedElements;
+        } finally {
+            if (!finished) {
+                _bindingListener.lookupFailed(bindingSource, elementDefinition, currentNodePath, System.nanoTime() - startTime);
             }
         }
     }
 
+    private BindedForm bindFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodePath currentNodePath) {
+        if (_bindingListener == null) {
+            return lookupFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+        }
+        _bindingListener.lookupStarted(bindingSource, formDefinition, currentNodePath);
+        long startTime = System.nanoTime();
+        boolean finished = false;
+        try {
+            BindedForm bindedForm = lookupFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+            finished = true;
+            _bindingListener.lookupFinished(bindingSource, formDefinition, currentNodePath, System.nanoTime() - startTime, getResultCount(bindedForm));
+            return bindedForm;
+        } finally {
+            if (!finished) {
+                _bindingListener.lookupFailed(bindingSource, formDefinition, currentNodePath, System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    private int getResultCount(final BindedObject bindedObject) {
+        if (bindedObject == null) {
+            return 0;
+        } else {
+            return 1;
+        }
+    }
+
+    private BindedAttribute lookupAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition, final BatchBindingResult batchBindingResult) {
+        if (batchBindingResult != null && batchBindingResult.containsBindedAttribute(attributeDefinition)) {
+            return batchBindingResult.getBindedAttribute(attributeDefinition);
+        }
+        LookupMemo lookupMemo = LOOKUP_MEMO.get();
+        if (lookupMemo == null) {
+            return _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
+        }
+        LookupMemo.LookupValue lookupValue = lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, lastBindedForm, lastBindedElement, attributeDefinition.getLookup());
+        if (lookupValue != null) {
+            return lookupValue.getBindedAttribute();
+        }
+        BindedAttribute value = _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, lastBindedForm, lastBindedElement, attributeDefinition.getLookup(), new LookupMemo.LookupValue(value));
+        return value;
+    }
+
+    private List<BindedElement> lookupElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition, final BatchBindingResult batchBindingResult) {
+        if (batchBindingResult != null && batchBindingResult.containsBindedElements(elementDefinition)) {
+            return batchBindingResult.getBindedElements(elementDefinition);
+        }
+        LookupMemo lookupMemo = LOOKUP_MEMO.get();
+        if (lookupMemo == null) {
+            return _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+        }
+        LookupMemo.LookupValue lookupValue = lookupMemo.get(LookupMemo.LookupType.ELEMENT, lastBindedForm, lastBindedElement, elementDefinition.getLookup());
+        if (lookupValue != null) {
+            return lookupValue.getBindedElements();
+        }
+        List<BindedElement> value = _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+        lookupMemo.put(LookupMemo.LookupType.ELEMENT, lastBindedForm, lastBindedElement, elementDefinition.getLookup(), new LookupMemo.LookupValue(value));
+        return value;
+    }
+
+    private BindedForm lookupFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition) {
+        LookupMemo lookupMemo = LOOKUP_MEMO.get();
+        if (lookupMemo == null) {
+            return _formInstanceBinder.bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+        }
+        LookupMemo.LookupValue lookupValue = lookupMemo.get(LookupMemo.LookupType.FORM, lastBindedForm, lastBindedElement, formDefinition);
+        if (lookupValue != null) {
+            return lookupValue.getBindedForm();
+        }
+        BindedForm value = _formInstanceBinder.bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+        lookupMemo.put(LookupMemo.LookupType.FORM, lastBindedForm, lastBindedElement, formDefinition, new LookupMemo.LookupValue(value));
+        return value;
+    }
+
+    private boolean isConcurrentBinding(final List<NodeBindingPlan> nodeBindingPlans) {
+        if (_executor == null || CONCURRENT_BINDING.get() != null) {
+            return false;
+        }
+        int elementCount = 0;
+        for (NodeBindingPlan nodeBindingPlan : nodeBindingPlans) {
+            if (nodeBindingPlan.getNodeType() == NodeBindingPlan.NodeType.ELEMENT) {
+                elementCount++;
+            }
+        }
+        return elementCount > 1;
+    }
+
+    private void bindNodeDefinitionsConcurrently(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final List<NodeBindingPlan> nodeBindingPlans, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        int lastElementIndex = getLastElementIndex(nodeBindingPlans);
+        List<FutureTask<DocumentFragment>> tasks = new ArrayList<>();
+        List<List<Node>> bindedNodes = new ArrayList<>();
+        for (int i = 0; i < nodeBindingPlans.size(); i++) {
+            NodeBindingPlan nodeBindingPlan = nodeBindingPlans.get(i);
+            if (nodeBindingPlan.getNodeType() == NodeBindingPlan.NodeType.ELEMENT) {
+                Element standInParentElement = createStandInElement(parentElement);
+                ElementBindTask elementBindTask = new ElementBindTask(this, bindingSource, lastBindedForm, lastBindedElement, standInParentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
+                FutureTask<DocumentFragment> task = new FutureTask<>(elementBindTask);
+                tasks.add(task);
+                bindedNodes.add(null);
+                if (i == lastElementIndex) {
+                    task.run();
+                } else {
+                    _executor.execute(task);
+                }
+            } else {
+                Node lastChildNode = parentElement.getLastChild();
+                bindNodeDefinition(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
+                bindedNodes.add(getNextSiblings(parentElement, lastChildNode));
+            }
+        }
+        List<DocumentFragment> taskResults = getTaskResults(tasks);
+        int taskIndex = 0;
+        for (List<Node> nodes : bindedNodes) {
+            if (nodes == null) {
+                Node childNode = taskResults.get(taskIndex).getFirstChild();
+                while (childNode != null) {
+                    parentElement.appendChild(importInstanceNode(document, childNode));
+                    childNode = childNode.getNextSibling();
+                }
+                taskIndex++;
+            } else {
+                for (Node node : nodes) {
+                    parentElement.appendChild(node);
+                }
+            }
+        }
+    }
+
+    private int getLastElementIndex(final List<NodeBindingPlan> nodeBindingPlans) {
+        int lastElementIndex = -1;
+        for (int i = 0; i < nodeBindingPlans.size(); i++) {
+            if (nodeBindingPlans.get(i).getNodeType() == NodeBindingPlan.NodeType.ELEMENT) {
+                lastElementIndex = i;
+            }
+        }
+        return lastElementIndex;
+    }
+
+    private Element createStandInElement(final Element parentElement) {
+        Document document = XmlDocumentBuilder.getSharedDocumentBuilder().newDocument();
+        Element standInElement = (Element) importInstanceNode(document, parentElement);
+        Node standInNode = standInElement;
+        Node node = parentElement.getParentNode();
+        while (node instanceof Element) {
+            Node standInParentNode = importInstanceElement(document, node);
+            standInParentNode.appendChild(standInNode);
+            standInNode = standInParentNode;
+            node = node.getParentNode();
+        }
+        document.appendChild(standInNode);
+        return standInElement;
+    }
+
+    private List<Node> getNextSiblings(final Element parentElement, final Node node) {
+        List<Node> nodes = new ArrayList<>();
+        Node nextNode;
+        if (node == null) {
+            nextNode = parentElement.getFirstChild();
+        } else {
+            nextNode = node.getNextSibling();
+        }
+        while (nextNode != null) {
+            nodes.add(nextNode);
+            nextNode = nextNode.getNextSibling();
+        }
+        return nodes;
+    }
+
+    private List<DocumentFragment> getTaskResults(final List<FutureTask<DocumentFragment>> tasks) {
+        List<DocumentFragment> taskResults = new ArrayList<>(tasks.size());
+        for (FutureTask<DocumentFragment> task : tasks) {
+            task.run();
+        }
+        ExecutionException failure = null;
+        for (FutureTask<DocumentFragment> task : tasks) {
+            try {
+                taskResults.add(task.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new FormBindingException(ex);
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            Throwable cause = failure.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+        return taskResults;
+    }
+
+    private Node importInstanceNode(final Document document, final Node node) {
+        if (node instanceof Element) {
+            Node importedNode = importInstanceElement(document, node);
+            Node childNode = node.getFirstChild();
+            while (childNode != null) {
+                importedNode.appendChild(importInstanceNode(document, childNode));
+                childNode = childNode.getNextSibling();
+            }
+            return importedNode;
+        } else {
+            return document.importNode(node, true);
+        }
+    }
+
+    private Node importInstanceElement(final Document document, final Node node) {
+        Node importedNode = document.importNode(node, false);
+        copyUserData(node, importedNode, USER_DATA_FORM_DEFINITION);
+        copyUserData(node, importedNode, USER_DATA_NODE_DEFINITION);
+        copyUserData(node, importedNode, USER_DATA_BINDED_OBJECT);
+        return importedNode;
+    }
+
+    private void copyUserData(final Node node, final Node importedNode, final String key) {
+        Object userData = node.getUserData(key);
+        if (userData != null) {
+            importedNode.setUserData(key, userData, null);
+        }
+    }
+
+    private void bindNodeDefinition(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+        NodeBindingPlan.NodeType nodeType = nodeBindingPlan.getNodeType();
+        if (nodeType == NodeBindingPlan.NodeType.ATTRIBUTE) {
+            buildAttributeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
+        } else if (nodeType == NodeBindingPlan.NodeType.ELEMENT) {
+            buildElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath, batchBindingResult);
+        } else if (nodeType == NodeBindingPlan.NodeType.SINGLE_ELEMENT) {
+            buildSingleElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, formDefinition, nodeBindingPlan, nodePath);
+        } else if (nodeType == NodeBindingPlan.NodeType.FORM_REFERENCE) {
+            buildFormReferenceInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, nodeBindingPlan, nodePath);
+        } else {
+            buildOtherNodeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, (OtherNodeDefinition) nodeBindingPlan.getNodeDefinition(), nodePath);
+        }
+    }
+
+    private void streamAttributeInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler, final BatchBindingResult batchBindingResult) {
+        AttributeDefinition attributeDefinition = (AttributeDefinition) nodeBindingPlan.getNodeDefinition();
+        BindedAttribute bindedAttribute = bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentStreamElement.getElement(), attributeDefinition, nodePath, batchBindingResult);
+        validateBindedAttribute(bindedAttribute, nodeBindingPlan, nodePath);
+        if (bindedAttribute != null) {
+            Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedAttribute);
+            StreamElement streamElement = new StreamElement(parentStreamElement, element, attributeDefinition, false, false);
+            startStreamElement(streamElement, formInstanceEventHandler);
+            NodePath currentNodePath = new NodePath(nodePath, attributeDefinition);
+            streamNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, streamElement, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+            endStreamElement(streamElement, formInstanceEventHandler);
+        }
+    }
+
+    private void streamElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler, final BatchBindingResult batchBindingResult) {
+        ElementDefinition elementDefinition = (ElementDefinition) nodeBindingPlan.getNodeDefinition();
+        List<BindedElement> bindedElements = bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentStreamElement.getElement(), elementDefinition, nodePath, batchBindingResult);
+        validateBindedElement(bindedElements, nodeBindingPlan, nodePath);
+        if (bindedElements != null) {
+            NodePath currentNodePath = new NodePath(nodePath, elementDefinition);
+            for (BindedElement bindedElement : bindedElements) {
+                Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, bindedElement);
+                StreamElement streamElement = new StreamElement(parentStreamElement, element, elementDefinition, false, false);
+                startStreamElement(streamElement, formInstanceEventHandler);
+                streamNodeDefinitions(bindingSource, document, lastBindedForm, bindedElement, streamElement, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+                endStreamElement(streamElement, formInstanceEventHandler);
+            }
+        }
+    }
+
+    private void streamSingleElementInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler) {
+        SingleElementDefinition singleElementDefinition = (SingleElementDefinition) nodeBindingPlan.getNodeDefinition();
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, null);
+        StreamElement streamElement = new StreamElement(parentStreamElement, element, singleElementDefinition, true, true);
+        NodePath currentNodePath = new NodePath(nodePath, singleElementDefinition);
+        streamNodeDefinitions(bindingSource, document, lastBindedForm, lastBindedElement, streamElement, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+        validateBindedSingleElementDefinition(streamElement.getUniqueNodeDefinitions(), nodeBindingPlan, nodePath);
+        endStreamElement(streamElement, formInstanceEventHandler);
+    }
+
+    private void streamFormReferenceInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler) {
+        FormReferenceDefinition formReferenceDefinition = (FormReferenceDefinition) nodeBindingPlan.getNodeDefinition();
+        FormDefinition formDefinition = nodeBindingPlan.getFormDefinition();
+        NodeBindingPlan formNodeBindingPlan = _nodeBindingPlans.getNodeBindingPlan(formDefinition);
+        NodePath currentNodePath = new NodePath(nodePath, formReferenceDefinition);
+        BindedForm bindedForm = bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentStreamElement.getElement(), formDefinition, currentNodePath);
+        validateBindedForm(bindedForm, formDefinition);
+        Element element = createInstanceElement(document, formDefinition, nodeBindingPlan, null);
+        StreamElement streamElement = new StreamElement(parentStreamElement, element, formReferenceDefinition, true, false);
+        streamNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, streamElement, formDefinition, formNodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+        streamNodeDefinitions(bindingSource, document, bindedForm, lastBindedElement, streamElement, formDefinition, nodeBindingPlan.getChildNodeBindingPlans(), currentNodePath, formInstanceEventHandler);
+        endStreamElement(streamElement, formInstanceEventHandler);
+    }
+
+    private void streamOtherNodeInstance(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final OtherNodeDefinition otherNodeDefinition, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler) {
+        Element parentElement = parentStreamElement.getElement();
+        for (OtherNodeInstanceBuilder otherNodeInstanceBuilder : _otherNodeInstanceBuilders) {
+            otherNodeInstanceBuilder.buildOtherNodeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentElement, otherNodeDefinition, this, nodePath);
+            Node node = parentElement.getFirstChild();
+            while (node != null) {
+                if (node instanceof Element) {
+                    StreamElement currentStreamElement = parentStreamElement;
+                    while (currentStreamElement.getUniqueNodeDefinitions() != null) {
+                        addUniqueNodeDefinitions((Element) node, currentStreamElement.getUniqueNodeDefinitions(), SingleElementDefinition.class);
+                        currentStreamElement = currentStreamElement.getParent();
+                    }
+                }
+                startStreamElement(parentStreamElement, formInstanceEventHandler);
+                formInstanceEventHandler.writeNode(node);
+                parentElement.removeChild(node);
+                node = parentElement.getFirstChild();
+            }
+        }
+    }
+
+    private void startStreamElement(final StreamElement streamElement, final FormInstanceEventHandler formInstanceEventHandler) {
+        if (streamElement.isStarted()) {
+            return;
+        }
+        StreamElement parentStreamElement = streamElement.getParent();
+        if (parentStreamElement != null) {
+            startStreamElement(parentStreamElement, formInstanceEventHandler);
+            if (!(streamElement.getNodeDefinition() instanceof SingleElementDefinition)) {
+                StreamElement currentStreamElement = parentStreamElement;
+                while (currentStreamElement.getUniqueNodeDefinitions() != null) {
+                    currentStreamElement.getUniqueNodeDefinitions().add(streamElement.getNodeDefinition());
+                    currentStreamElement = currentStreamElement.getParent();
+                }
+            }
+        }
+        formInstanceEventHandler.startElement(streamElement.getElement());
+        streamElement.setStarted();
+    }
+
+    private void endStreamElement(final StreamElement streamElement, final FormInstanceEventHandler formInstanceEventHandler) {
+        if (streamElement.isStarted()) {
+            formInstanceEventHandler.endElement(streamElement.getElement());
+        }
+        StreamElement parentStreamElement = streamElement.getParent();
+        if (parentStreamElement != null && !streamElement.isDeferred()) {
+            parentStreamElement.getElement().removeChild(streamElement.getElement());
+        }
+    }
+
+    private void streamNodeDefinitions(final BindingSource bindingSource, final Document document, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final StreamElement parentStreamElement, final FormDefinition formDefinition, final List<NodeBindingPlan> nodeBindingPlans, final NodePath nodePath, final FormInstanceEventHandler formInstanceEventHandler) {
+        BatchBindingResult batchBindingResult = batchBindNodeDefinitions(bindingSource, lastBindedForm, lastBindedElement, parentStreamElement.getElement(), nodeBindingPlans);
+        for (NodeBindingPlan nodeBindingPlan : nodeBindingPlans) {
+            NodeBindingPlan.NodeType nodeType = nodeBindingPlan.getNodeType();
+            if (nodeType == NodeBindingPlan.NodeType.ATTRIBUTE) {
+                streamAttributeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentStreamElement, formDefinition, nodeBindingPlan, nodePath, formInstanceEventHandler, batchBindingResult);
+            } else if (nodeType == NodeBindingPlan.NodeType.ELEMENT) {
+                streamElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentStreamElement, formDefinition, nodeBindingPlan, nodePath, formInstanceEventHandler, batchBindingResult);
+            } else if (nodeType == NodeBindingPlan.NodeType.SINGLE_ELEMENT) {
+                streamSingleElementInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentStreamElement, formDefinition, nodeBindingPlan, nodePath, formInstanceEventHandler);
+            } else if (nodeType == NodeBindingPlan.NodeType.FORM_REFERENCE) {
+                streamFormReferenceInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentStreamElement, nodeBindingPlan, nodePath, formInstanceEventHandler);
+            } else {
+                streamOtherNodeInstance(bindingSource, document, lastBindedForm, lastBindedElement, parentStreamElement, (OtherNodeDefinition) nodeBindingPlan.getNodeDefinition(), nodePath, formInstanceEventHandler);
+            }
+        }
+    }
+
+    /**
+     * The XML element of the form instance, that is written to the form instance event handler. Only the XML elements
+     * of the current path are kept in the document, so the binder can access the parent XML elements. The deferred
+     * XML element is written only if it has child nodes.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class StreamElement {
+
+        private final StreamElement _parent;
+
+        private final Element _element;
+
+        private final NodeDefinition _nodeDefinition;
+
+        private final boolean _deferred;
+
+        private final IdentityCollector<NodeDefinition> _uniqueNodeDefinitions;
+
+        private boolean _started;
+
+        StreamElement(final StreamElement parent, final Element element, final NodeDefinition nodeDefinition, final boolean deferred, final boolean collectUniqueNodeDefinitions) {
+            super();
+            _parent = parent;
+            _element = element;
+            _nodeDefinition = nodeDefinition;
+            _deferred = deferred;
+            if (collectUniqueNodeDefinitions) {
+                _uniqueNodeDefinitions = new IdentityCollector<>();
+            } else {
+                _uniqueNodeDefinitions = null;
+            }
+            _started = false;
+            if (parent != null && !deferred) {
+                parent._element.appendChild(element);
+            }
+        }
+
+        StreamElement getParent() {
+            return _parent;
+        }
+
+        Element getElement() {
+            return _element;
+        }
+
+        NodeDefinition getNodeDefinition() {
+            return _nodeDefinition;
+        }
+
+        boolean isDeferred() {
+            return _deferred;
+        }
+
+        IdentityCollector<NodeDefinition> getUniqueNodeDefinitions() {
+            return _uniqueNodeDefinitions;
+        }
+
+        boolean isStarted() {
+            return _started;
+        }
+
+        void setStarted() {
+            _started = true;
+        }
+
+    }
+
+    /**
+     * Task to bind the XML elements of the element definition concurrently with the sibling element definitions. The XML elements are created
+     * in the document fragment of the separate document and imported to the form instance document by the calling thread. The child nodes
+     * of these XML elements are bound by the task's thread.
+     * The task's thread never accesses the form instance document. The binder gets the stand-in parent XML element, that is the copy
+     * of the parent XML element created by the calling thread before the task is submitted. The stand-in contains the XML nodes of the
+     * preceding sibling definitions, that are not bound concurrently, and the copies of the ancestor XML elements without their other
+     * child nodes.
+     * The last task and the tasks, that are not started by the executor yet, are run by the calling thread, so the calling
+     * thread waits only for the tasks, that are already running.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class ElementBindTask implements Callable<DocumentFragment> {
+
+        private final FormInstanceBuilderImpl _formInstanceBuilder;
+
+        private final BindingSource _bindingSource;
+
+        private final BindedForm _lastBindedForm;
+
+        private final BindedElement _lastBindedElement;
+
+        private final Element _parentElement;
+
+        private final FormDefinition _formDefinition;
+
+        private final NodeBindingPlan _nodeBindingPlan;
+
+        private final NodePath _nodePath;
+
+        private final BatchBindingResult _batchBindingResult;
+
+        private final LookupMemo _lookupMemo;
+
+        ElementBindTask(final FormInstanceBuilderImpl formInstanceBuilder, final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition, final NodeBindingPlan nodeBindingPlan, final NodePath nodePath, final BatchBindingResult batchBindingResult) {
+            super();
+            _formInstanceBuilder = formInstanceBuilder;
+            _bindingSource = bindingSource;
+            _lastBindedForm = lastBindedForm;
+            _lastBindedElement = lastBindedElement;
+            _parentElement = parentElement;
+            _formDefinition = formDefinition;
+            _nodeBindingPlan = nodeBindingPlan;
+            _nodePath = nodePath;
+            _batchBindingResult = batchBindingResult;
+            _lookupMemo = LOOKUP_MEMO.get();
+        }
+
+        @Override
+        public DocumentFragment call() {
+            Document document = _parentElement.getOwnerDocument();
+            DocumentFragment documentFragment = document.createDocumentFragment();
+            LookupMemo lookupMemo = LOOKUP_MEMO.get();
+            CONCURRENT_BINDING.set(Boolean.TRUE);
+            LOOKUP_MEMO.set(_lookupMemo);
+            try {
+                _formInstanceBuilder.buildElementInstance(_bindingSource, document, _lastBindedForm, _lastBindedElement, _parentElement, documentFragment, _formDefinition, _nodeBindingPlan, _nodePath, _batchBindingResult);
+                return documentFragment;
+            } finally {
+                CONCURRENT_BINDING.remove();
+                if (lookupMemo == null) {
+                    LOOKUP_MEMO.remove();
+                } else {
+                    LOOKUP_MEMO.set(lookupMemo);
+                }
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,63 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Handler for the events of the form instance, that are produced while the form instance is binded.
+ *
+ * @author Dmitry Shapovalov
+ */
+interface FormInstanceEventHandler {
+
+    /**
+     * Start the form instance.
+     */
+    void startDocument();
+
+    /**
+     * End the form instance.
+     */
+    void endDocument();
+
+    /**
+     * Start the XML element of the form instance.
+     *
+     * @param element the XML element.
+     */
+    void startElement(Element element);
+
+    /**
+     * End the XML element of the form instance.
+     *
+     * @param element the XML element.
+     */
+    void endElement(Element element);
+
+    /**
+     * Write the XML node of the form instance with all child nodes.
+     *
+     * @param node the XML node.
+     */
+    void writeNode(Node node);
+
+}
@@ -0,0 +1,181 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.Enumeration;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.NamespaceSupport;
+
+import ru.d_shap.fm.formmodel.OutputResultException;
+import ru.d_shap.fm.formmodel.utils.NullValueHelper;
+
+/**
+ * Writer for the events of the form instance. The XML elements are written to the content handler as
+ * the SAX events, the namespace declarations are generated from the namespaces of the XML elements.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class FormInstanceEventWriter implements FormInstanceEventHandler {
+
+    private static final String ATTRIBUTE_TYPE = "CDATA";
+
+    private final ContentHandler _contentHandler;
+
+    private final LexicalHandler _lexicalHandler;
+
+    private final NamespaceSupport _namespaceSupport;
+
+    FormInstanceEventWriter(final ContentHandler contentHandler) {
+        super();
+        _contentHandler = contentHandler;
+        if (contentHandler instanceof LexicalHandler) {
+            _lexicalHandler = (LexicalHandler) contentHandler;
+        } else {
+            _lexicalHandler = null;
+        }
+        _namespaceSupport = new NamespaceSupport();
+    }
+
+    @Override
+    public void startDocument() {
+        try {
+            _namespaceSupport.reset();
+            _contentHandler.startDocument();
+        } catch (SAXException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    @Override
+    public void endDocument() {
+        try {
+            _contentHandler.endDocument();
+        } catch (SAXException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    @Override
+    public void startElement(final Element element) {
+        try {
+            _namespaceSupport.pushContext();
+            String namespaceUri = NullValueHelper.getValue(element.getNamespaceURI());
+            declarePrefix(NullValueHelper.getValue(element.getPrefix()), namespaceUri);
+            AttributesImpl attributes = new AttributesImpl();
+            NamedNodeMap namedNodeMap = element.getAttributes();
+            for (int i = 0; i < namedNodeMap.getLength(); i++) {
+                Attr attr = (Attr) namedNodeMap.item(i);
+                if (!isNamespaceDeclaration(attr)) {
+                    String attributeNamespaceUri = NullValueHelper.getValue(attr.getNamespaceURI());
+                    if (!"".equals(attributeNamespaceUri)) {
+                        declarePrefix(NullValueHelper.getValue(attr.getPrefix()), attributeNamespaceUri);
+                    }
+                    attributes.addAttribute(attributeNamespaceUri, getLocalName(attr), attr.getName(), ATTRIBUTE_TYPE, attr.getValue());
+                }
+            }
+            _contentHandler.startElement(namespaceUri, getLocalName(element), element.getTagName(), attributes);
+        } catch (SAXException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private void declarePrefix(final String prefix, final String namespaceUri) throws SAXException {
+        String declaredNamespaceUri = NullValueHelper.getValue(_namespaceSupport.getURI(prefix));
+        if (!declaredNamespaceUri.equals(namespaceUri)) {
+            _namespaceSupport.declarePrefix(prefix, namespaceUri);
+            _contentHandler.startPrefixMapping(prefix, namespaceUri);
+        }
+    }
+
+    private boolean isNamespaceDeclaration(final Attr attr) {
+        String name = attr.getName();
+        return XMLConstants.XMLNS_ATTRIBUTE.equals(name) || name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":");
+    }
+
+    @Override
+    public void endElement(final Element element) {
+        try {
+            _contentHandler.endElement(NullValueHelper.getValue(element.getNamespaceURI()), getLocalName(element), element.getTagName());
+            Enumeration<?> prefixes = _namespaceSupport.getDeclaredPrefixes();
+            while (prefixes.hasMoreElements()) {
+                _contentHandler.endPrefixMapping((String) prefixes.nextElement());
+            }
+            _namespaceSupport.popContext();
+        } catch (SAXException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    @Override
+    public void writeNode(final Node node) {
+        try {
+            switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    startElement((Element) node);
+                    Node childNode = node.getFirstChild();
+                    while (childNode != null) {
+                        writeNode(childNode);
+                        childNode = childNode.getNextSibling();
+                    }
+                    endElement((Element) node);
+                    break;
+                case Node.TEXT_NODE:
+                case Node.CDATA_SECTION_NODE:
+                    char[] text = node.getNodeValue().toCharArray();
+                    _contentHandler.characters(text, 0, text.length);
+                    break;
+                case Node.COMMENT_NODE:
+                    if (_lexicalHandler != null) {
+                        char[] comment = node.getNodeValue().toCharArray();
+                        _lexicalHandler.comment(comment, 0, comment.length);
+                    }
+                    break;
+                case Node.PROCESSING_INSTRUCTION_NODE:
+                    _contentHandler.processingInstruction(((ProcessingInstruction) node).getTarget(), ((ProcessingInstruction) node).getData());
+                    break;
+                default:
+                    break;
+            }
+        } catch (SAXException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private String getLocalName(final Node node) {
+        String localName = node.getLocalName();
+        if (localName == null) {
+            return node.getNodeName();
+        } else {
+            return localName;
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import ru.d_shap.fm.formmodel.XmlDocumentBuilder;
+import ru.d_shap.fm.formmodel.binding.model.BindedObject;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+
+/**
+ * Builder of the form instance node tree from the events of the form instance. The instance XML elements
+ * are converted to the form instance nodes, all other XML nodes are copied to the separate document, so the
+ * form instance node tree does not hold the binded document with the user data of all XML elements.
+ * The events can be also passed to the next form instance event handler, for example, to validate them.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class FormInstanceTreeBuilder implements FormInstanceEventHandler {
+
+    private final FormInstanceEventHandler _formInstanceEventHandler;
+
+    private final List<List<FormInstance>> _childrenStack;
+
+    private Document _otherNodeDocument;
+
+    private FormInstance _formInstance;
+
+    FormInstanceTreeBuilder(final FormInstanceEventHandler formInstanceEventHandler) {
+        super();
+        _formInstanceEventHandler = formInstanceEventHandler;
+        _childrenStack = new ArrayList<>();
+        _otherNodeDocument = null;
+        _formInstance = null;
+    }
+
+    FormInstance getFormInstance() {
+        return _formInstance;
+    }
+
+    @Override
+    public void startDocument() {
+        if (_formInstanceEventHandler != null) {
+            _formInstanceEventHandler.startDocument();
+        }
+        _childrenStack.clear();
+        _formInstance = null;
+    }
+
+    @Override
+    public void endDocument() {
+        if (_formInstanceEventHandler != null) {
+            _formInstanceEventHandler.endDocument();
+        }
+    }
+
+    @Override
+    public void startElement(final Element element) {
+        if (_formInstanceEventHandler != null) {
+            _formInstanceEventHandler.startElement(element);
+        }
+        _childrenStack.add(new ArrayList<FormInstance>());
+    }
+
+    @Override
+    public void endElement(final Element element) {
+        if (_formInstanceEventHandler != null) {
+            _formInstanceEventHandler.endElement(element);
+        }
+        List<FormInstance> children = _childrenStack.remove(_childrenStack.size() - 1);
+        FormInstance formInstance = createFormInstance(element, children);
+        if (_childrenStack.isEmpty()) {
+            _formInstance = formInstance;
+        } else {
+            _childrenStack.get(_childrenStack.size() - 1).add(formInstance);
+        }
+    }
+
+    @Override
+    public void writeNode(final Node node) {
+        if (_formInstanceEventHandler != null) {
+            _formInstanceEventHandler.writeNode(node);
+        }
+        _childrenStack.get(_childrenStack.size() - 1).add(convertNode(node));
+    }
+
+    private FormInstance convertNode(final Node node) {
+        if (node instanceof Element && isInstanceElement((Element) node)) {
+            List<FormInstance> children = new ArrayList<>();
+            Node childNode = node.getFirstChild();
+            while (childNode != null) {
+                children.add(convertNode(childNode));
+                childNode = childNode.getNextSibling();
+            }
+            return createFormInstance((Element) node, children);
+        } else {
+            if (_otherNodeDocument == null) {
+                _otherNodeDocument = XmlDocumentBuilder.getSharedDocumentBuilder().newDocument();
+            }
+            return new FormInstance(_otherNodeDocument.importNode(node, true));
+        }
+    }
+
+    private boolean isInstanceElement(final Element element) {
+        return FormInstanceBuilder.NAMESPACE.equals(element.getNamespaceURI()) && element.getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION) instanceof NodeDefinition;
+    }
+
+    private FormInstance createFormInstance(final Element element, final List<FormInstance> children) {
+        List<String> attributeNames = new ArrayList<>();
+        List<String> attributeValues = new ArrayList<>();
+        NamedNodeMap namedNodeMap = element.getAttributes();
+        for (int i = 0; i < namedNodeMap.getLength(); i++) {
+            Attr attr = (Attr) namedNodeMap.item(i);
+            if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                attributeNames.add(attr.getName());
+                attributeValues.add(attr.getValue());
+            }
+        }
+        FormDefinition formDefinition = (FormDefinition) element.getUserData(FormInstanceBuilder.USER_DATA_FORM_DEFINITION);
+        NodeDefinition nodeDefinition = (NodeDefinition) element.getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION);
+        BindedObject bindedObject = (BindedObject) element.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT);
+        return new FormInstance(element.getLocalName(), attributeNames.toArray(new String[0]), attributeValues.toArray(new String[0]), formDefinition, nodeDefinition, bindedObject, children);
+    }
+
+}
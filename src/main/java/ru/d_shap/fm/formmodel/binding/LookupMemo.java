@@ -0,0 +1,184 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+
+/**
+ * Memo for the results of the form instance binder lookups within the single bind. The results are keyed by the
+ * lookup type, the last binded form, the last binded element and the lookup. The least recently used results are
+ * removed if the memo exceeds the maximum size. The memo is thread-safe.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class LookupMemo {
+
+    private final int _maxSize;
+
+    private final Map<LookupKey, LookupValue> _values;
+
+    LookupMemo(final int maxSize) {
+        super();
+        _maxSize = maxSize;
+        _values = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    LookupValue get(final LookupType lookupType, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Object lookup) {
+        LookupKey lookupKey = new LookupKey(lookupType, lastBindedForm, lastBindedElement, lookup);
+        synchronized (_values) {
+            return _values.get(lookupKey);
+        }
+    }
+
+    void put(final LookupType lookupType, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Object lookup, final LookupValue lookupValue) {
+        LookupKey lookupKey = new LookupKey(lookupType, lastBindedForm, lastBindedElement, lookup);
+        synchronized (_values) {
+            _values.put(lookupKey, lookupValue);
+            if (_values.size() > _maxSize) {
+                Iterator<LookupKey> iterator = _values.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    int size() {
+        synchronized (_values) {
+            return _values.size();
+        }
+    }
+
+    /**
+     * Lookup type.
+     *
+     * @author Dmitry Shapovalov
+     */
+    enum LookupType {
+
+        FORM,
+
+        ELEMENT,
+
+        ATTRIBUTE
+
+    }
+
+    /**
+     * Lookup key, the binded objects are compared by the identity.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class LookupKey {
+
+        private final LookupType _lookupType;
+
+        private final BindedForm _lastBindedForm;
+
+        private final BindedElement _lastBindedElement;
+
+        private final Object _lookup;
+
+        LookupKey(final LookupType lookupType, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Object lookup) {
+            super();
+            _lookupType = lookupType;
+            _lastBindedForm = lastBindedForm;
+            _lastBindedElement = lastBindedElement;
+            _lookup = lookup;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LookupKey)) {
+                return false;
+            }
+            LookupKey other = (LookupKey) obj;
+            return _lookupType == other._lookupType && _lastBindedForm == other._lastBindedForm && _lastBindedElement == other._lastBindedElement && _lookup.equals(other._lookup);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = _lookupType.hashCode();
+            result = result * 31 + System.identityHashCode(_lastBindedForm);
+            result = result * 31 + System.identityHashCode(_lastBindedElement);
+            result = result * 31 + _lookup.hashCode();
+            return result;
+        }
+
+    }
+
+    /**
+     * Lookup value, the result of the form instance binder lookup.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class LookupValue {
+
+        private final BindedForm _bindedForm;
+
+        private final List<BindedElement> _bindedElements;
+
+        private final BindedAttribute _bindedAttribute;
+
+        LookupValue(final BindedForm bindedForm) {
+            super();
+            _bindedForm = bindedForm;
+            _bindedElements = null;
+            _bindedAttribute = null;
+        }
+
+        LookupValue(final List<BindedElement> bindedElements) {
+            super();
+            _bindedForm = null;
+            _bindedElements = bindedElements;
+            _bindedAttribute = null;
+        }
+
+        LookupValue(final BindedAttribute bindedAttribute) {
+            super();
+            _bindedForm = null;
+            _bindedElements = null;
+            _bindedAttribute = bindedAttribute;
+        }
+
+        BindedForm getBindedForm() {
+            return _bindedForm;
+        }
+
+        List<BindedElement> getBindedElements() {
+            return _bindedElements;
+        }
+
+        BindedAttribute getBindedAttribute() {
+            return _bindedAttribute;
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+import ru.d_shap.fm.formmodel.utils.EmptyStringHelper;
+
+/**
+ * Immutable binding plan of the node definition. The plan is compiled once for the node definition and holds
+ * everything the form instance builder needs: the node type, the instance element name, the non-blank
+ * instance element attributes, the cardinality, the resolved form definition and the plans of the child nodes.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class NodeBindingPlan {
+
+    private final NodeDefinition _nodeDefinition;
+
+    private final NodeType _nodeType;
+
+    private final CardinalityDefinition _cardinalityDefinition;
+
+    private final FormDefinition _formDefinition;
+
+    private final String _elementName;
+
+    private final List<String> _attributeNames;
+
+    private final List<String> _attributeValues;
+
+    private final List<NodeBindingPlan> _childNodeBindingPlans;
+
+    NodeBindingPlan(final FormDefinition formDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        this(formDefinition, NodeType.FORM, null, formDefinition, childNodeBindingPlans);
+        addAttribute(FormInstanceBuilder.FORM_INSTANCE_ATTRIBUTE_GROUP, formDefinition.getGroup());
+        addAttribute(FormInstanceBuilder.FORM_INSTANCE_ATTRIBUTE_ID, formDefinition.getId());
+        for (String otherAttributeName : formDefinition.getOtherAttributeNames()) {
+            addAttribute(otherAttributeName, formDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    NodeBindingPlan(final AttributeDefinition attributeDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        this(attributeDefinition, NodeType.ATTRIBUTE, attributeDefinition.getCardinalityDefinition(), null, childNodeBindingPlans);
+        addAttribute(FormInstanceBuilder.ATTRIBUTE_INSTANCE_ATTRIBUTE_ID, attributeDefinition.getId());
+        for (String otherAttributeName : attributeDefinition.getOtherAttributeNames()) {
+            addAttribute(otherAttributeName, attributeDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    NodeBindingPlan(final ElementDefinition elementDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        this(elementDefinition, NodeType.ELEMENT, elementDefinition.getCardinalityDefinition(), null, childNodeBindingPlans);
+        addAttribute(FormInstanceBuilder.ELEMENT_INSTANCE_ATTRIBUTE_ID, elementDefinition.getId());
+        for (String otherAttributeName : elementDefinition.getOtherAttributeNames()) {
+            addAttribute(otherAttributeName, elementDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    NodeBindingPlan(final SingleElementDefinition singleElementDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        this(singleElementDefinition, NodeType.SINGLE_ELEMENT, singleElementDefinition.getCardinalityDefinition(), null, childNodeBindingPlans);
+        addAttribute(FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID, singleElementDefinition.getId());
+        for (String otherAttributeName : singleElementDefinition.getOtherAttributeNames()) {
+            addAttribute(otherAttributeName, singleElementDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    NodeBindingPlan(final FormReferenceDefinition formReferenceDefinition, final FormDefinition formDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        this(formReferenceDefinition, NodeType.FORM_REFERENCE, null, formDefinition, childNodeBindingPlans);
+        addAttribute(FormInstanceBuilder.FORM_REFERENCE_INSTANCE_ATTRIBUTE_GROUP, formReferenceDefinition.getGroup());
+        addAttribute(FormInstanceBuilder.FORM_REFERENCE_INSTANCE_ATTRIBUTE_ID, formReferenceDefinition.getId());
+        for (String otherAttributeName : formReferenceDefinition.getOtherAttributeNames()) {
+            addAttribute(otherAttributeName, formReferenceDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    NodeBindingPlan(final OtherNodeDefinition otherNodeDefinition) {
+        this(otherNodeDefinition, NodeType.OTHER_NODE, null, null, Collections.<NodeBindingPlan>emptyList());
+    }
+
+    private NodeBindingPlan(final NodeDefinition nodeDefinition, final NodeType nodeType, final CardinalityDefinition cardinalityDefinition, final FormDefinition formDefinition, final List<NodeBindingPlan> childNodeBindingPlans) {
+        super();
+        _nodeDefinition = nodeDefinition;
+        _nodeType = nodeType;
+        _cardinalityDefinition = cardinalityDefinition;
+        _formDefinition = formDefinition;
+        _elementName = nodeType.getElementName();
+        _attributeNames = new ArrayList<>();
+        _attributeValues = new ArrayList<>();
+        _childNodeBindingPlans = Collections.unmodifiableList(new ArrayList<>(childNodeBindingPlans));
+    }
+
+    private void addAttribute(final String attributeName, final String attributeValue) {
+        if (!EmptyStringHelper.isBlank(attributeValue)) {
+            _attributeNames.add(attributeName);
+            _attributeValues.add(attributeValue);
+        }
+    }
+
+    NodeDefinition getNodeDefinition() {
+        return _nodeDefinition;
+    }
+
+    NodeType getNodeType() {
+        return _nodeType;
+    }
+
+    CardinalityDefinition getCardinalityDefinition() {
+        return _cardinalityDefinition;
+    }
+
+    FormDefinition getFormDefinition() {
+        return _formDefinition;
+    }
+
+    String getElementName() {
+        return _elementName;
+    }
+
+    int getAttributeCount() {
+        return _attributeNames.size();
+    }
+
+    String getAttributeName(final int index) {
+        return _attributeNames.get(index);
+    }
+
+    String getAttributeValue(final int index) {
+        return _attributeValues.get(index);
+    }
+
+    List<NodeBindingPlan> getChildNodeBindingPlans() {
+        return _childNodeBindingPlans;
+    }
+
+    /**
+     * Type of the node definition.
+     *
+     * @author Dmitry Shapovalov
+     */
+    enum NodeType {
+
+        FORM(FormInstanceBuilder.FORM_INSTANCE_ELEMENT_NAME),
+
+        ATTRIBUTE(FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME),
+
+        ELEMENT(FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME),
+
+        SINGLE_ELEMENT(FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME),
+
+        FORM_REFERENCE(FormInstanceBuilder.FORM_REFERENCE_INSTANCE_ELEMENT_NAME),
+
+        OTHER_NODE(null);
+
+        private final String _elementName;
+
+        NodeType(final String elementName) {
+            _elementName = elementName;
+        }
+
+        String getElementName() {
+            return _elementName;
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Thread-safe container for the compiled binding plans. The binding plan of the node definition is compiled
+ * on first request together with the plans of all child nodes and is reused afterwards. The child nodes
+ * of the referenced form are not compiled into the form reference plan, so the plans are compiled once
+ * for every node definition.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class NodeBindingPlans {
+
+    private final FormDefinitions _formDefinitions;
+
+    private final ConcurrentMap<NodeDefinition, NodeBindingPlan> _nodeBindingPlans;
+
+    NodeBindingPlans(final FormDefinitions formDefinitions) {
+        super();
+        _formDefinitions = formDefinitions;
+        _nodeBindingPlans = new ConcurrentHashMap<>();
+    }
+
+    NodeBindingPlan getNodeBindingPlan(final NodeDefinition nodeDefinition) {
+        NodeBindingPlan nodeBindingPlan = _nodeBindingPlans.get(nodeDefinition);
+        if (nodeBindingPlan == null) {
+            _nodeBindingPlans.putIfAbsent(nodeDefinition, createNodeBindingPlan(nodeDefinition));
+            nodeBindingPlan = _nodeBindingPlans.get(nodeDefinition);
+        }
+        return nodeBindingPlan;
+    }
+
+    private NodeBindingPlan createNodeBindingPlan(final NodeDefinition nodeDefinition) {
+        if (nodeDefinition instanceof FormDefinition) {
+            FormDefinition formDefinition = (FormDefinition) nodeDefinition;
+            return new NodeBindingPlan(formDefinition, getChildNodeBindingPlans(formDefinition.getAllNodeDefinitions()));
+        }
+        if (nodeDefinition instanceof AttributeDefinition) {
+            AttributeDefinition attributeDefinition = (AttributeDefinition) nodeDefinition;
+            return new NodeBindingPlan(attributeDefinition, getChildNodeBindingPlans(attributeDefinition.getAllNodeDefinitions()));
+        }
+        if (nodeDefinition instanceof ElementDefinition) {
+            ElementDefinition elementDefinition = (ElementDefinition) nodeDefinition;
+            return new NodeBindingPlan(elementDefinition, getChildNodeBindingPlans(elementDefinition.getAllNodeDefinitions()));
+        }
+        if (nodeDefinition instanceof SingleElementDefinition) {
+            SingleElementDefinition singleElementDefinition = (SingleElementDefinition) nodeDefinition;
+            return new NodeBindingPlan(singleElementDefinition, getChildNodeBindingPlans(singleElementDefinition.getAllNodeDefinitions()));
+        }
+        FormReferenceDefinition formReferenceDefinition = (FormReferenceDefinition) nodeDefinition;
+        FormDefinition formDefinition = _formDefinitions.getFormDefinition(formReferenceDefinition);
+        return new NodeBindingPlan(formReferenceDefinition, formDefinition, getChildNodeBindingPlans(formReferenceDefinition.getAllNodeDefinitions()));
+    }
+
+    private List<NodeBindingPlan> getChildNodeBindingPlans(final List<NodeDefinition> nodeDefinitions) {
+        List<NodeBindingPlan> childNodeBindingPlans = new ArrayList<>(nodeDefinitions.size());
+        for (NodeDefinition nodeDefinition : nodeDefinitions) {
+            if (nodeDefinition instanceof OtherNodeDefinition) {
+                childNodeBindingPlans.add(new NodeBindingPlan((OtherNodeDefinition) nodeDefinition));
+            } else {
+                childNodeBindingPlans.add(getNodeBindingPlan(nodeDefinition));
+            }
+        }
+        return childNodeBindingPlans;
+    }
+
+}
@@ -0,0 +1,210 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import javax.xml.validation.ValidatorHandler;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+
+/**
+ * Content handler to validate the SAX events before they are passed to the target content handler.
+ * The validation error is thrown as the {@link FormBindingException}.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class ValidatingContentHandler implements ContentHandler, LexicalHandler {
+
+    private final ValidatorHandler _validatorHandler;
+
+    private final ContentHandler _contentHandler;
+
+    private final LexicalHandler _lexicalHandler;
+
+    ValidatingContentHandler(final ValidatorHandler validatorHandler, final ContentHandler contentHandler) {
+        super();
+        _validatorHandler = validatorHandler;
+        _contentHandler = contentHandler;
+        if (contentHandler instanceof LexicalHandler) {
+            _lexicalHandler = (LexicalHandler) contentHandler;
+        } else {
+            _lexicalHandler = null;
+        }
+    }
+
+    @Override
+    public void setDocumentLocator(final Locator locator) {
+        _validatorHandler.setDocumentLocator(locator);
+        _contentHandler.setDocumentLocator(locator);
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        try {
+            _validatorHandler.startDocument();
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.startDocument();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        try {
+            _validatorHandler.endDocument();
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.endDocument();
+    }
+
+    @Override
+    public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+        try {
+            _validatorHandler.startPrefixMapping(prefix, uri);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.startPrefixMapping(prefix, uri);
+    }
+
+    @Override
+    public void endPrefixMapping(final String prefix) throws SAXException {
+        try {
+            _validatorHandler.endPrefixMapping(prefix);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.endPrefixMapping(prefix);
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName, final Attributes atts) throws SAXException {
+        try {
+            _validatorHandler.startElement(uri, localName, qName, atts);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.startElement(uri, localName, qName, atts);
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+        try {
+            _validatorHandler.endElement(uri, localName, qName);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.endElement(uri, localName, qName);
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) throws SAXException {
+        try {
+            _validatorHandler.characters(ch, start, length);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.characters(ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(final char[] ch, final int start, final int length) throws SAXException {
+        try {
+            _validatorHandler.ignorableWhitespace(ch, start, length);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.ignorableWhitespace(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(final String target, final String data) throws SAXException {
+        try {
+            _validatorHandler.processingInstruction(target, data);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.processingInstruction(target, data);
+    }
+
+    @Override
+    public void skippedEntity(final String name) throws SAXException {
+        try {
+            _validatorHandler.skippedEntity(name);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+        _contentHandler.skippedEntity(name);
+    }
+
+    @Override
+    public void startDTD(final String name, final String publicId, final String systemId) throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.startDTD(name, publicId, systemId);
+        }
+    }
+
+    @Override
+    public void endDTD() throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.endDTD();
+        }
+    }
+
+    @Override
+    public void startEntity(final String name) throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.startEntity(name);
+        }
+    }
+
+    @Override
+    public void endEntity(final String name) throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.endEntity(name);
+        }
+    }
+
+    @Override
+    public void startCDATA() throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.startCDATA();
+        }
+    }
+
+    @Override
+    public void endCDATA() throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.endCDATA();
+        }
+    }
+
+    @Override
+    public void comment(final char[] ch, final int start, final int length) throws SAXException {
+        if (_lexicalHandler != null) {
+            _lexicalHandler.comment(ch, start, length);
+        }
+    }
+
+}
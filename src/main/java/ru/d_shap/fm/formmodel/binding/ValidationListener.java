@@ -0,0 +1,46 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import org.w3c.dom.Document;
+
+/**
+ * Listener for the results of the asynchronous validation of the binded form instance.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface ValidationListener {
+
+    /**
+     * Callback method is called if the binded form instance is valid.
+     *
+     * @param document the validated copy of the binded form instance.
+     */
+    void validationSucceeded(Document document);
+
+    /**
+     * Callback method is called if the binded form instance is not valid.
+     *
+     * @param document  the validated copy of the binded form instance.
+     * @param exception the validation exception.
+     */
+    void validationFailed(Document document, FormBindingException exception);
+
+}
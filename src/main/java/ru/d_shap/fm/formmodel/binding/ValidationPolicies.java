@@ -0,0 +1,244 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import ru.d_shap.fm.formmodel.XmlDocumentValidator;
+
+/**
+ * Factory for the validation policies of the binded form instance.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ValidationPolicies {
+
+    private static final ValidationPolicy ALWAYS_VALIDATION_POLICY = new AlwaysValidationPolicy();
+
+    private static final ValidationPolicy NEVER_VALIDATION_POLICY = new NeverValidationPolicy();
+
+    private ValidationPolicies() {
+        super();
+    }
+
+    /**
+     * Get the policy to validate every binded form instance.
+     *
+     * @return the validation policy.
+     */
+    public static ValidationPolicy always() {
+        return ALWAYS_VALIDATION_POLICY;
+    }
+
+    /**
+     * Get the policy to skip the validation of the binded form instance.
+     *
+     * @return the validation policy.
+     */
+    public static ValidationPolicy never() {
+        return NEVER_VALIDATION_POLICY;
+    }
+
+    /**
+     * Get the policy to validate every N-th binded form instance, starting with the first one.
+     *
+     * @param rate the sampling rate, one of N binded form instances is validated.
+     *
+     * @return the validation policy.
+     */
+    public static ValidationPolicy sampled(final int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("Sampling rate must be positive: " + rate);
+        }
+        return new SampledValidationPolicy(rate);
+    }
+
+    /**
+     * Get the policy to validate every binded form instance asynchronously. The deep copy of the binded
+     * form instance is validated with the executor, so the binded form instance can be used and modified
+     * after the binding. The results of the validation are reported to the listener.
+     *
+     * @param executor           the executor to validate the binded form instances.
+     * @param validationListener the listener for the validation results.
+     *
+     * @return the validation policy.
+     */
+    public static ValidationPolicy async(final Executor executor, final ValidationListener validationListener) {
+        return new AsyncValidationPolicy(executor, validationListener);
+    }
+
+    static void validateDocument(final Document document) {
+        try {
+            XmlDocumentValidator.getFormInstanceDocumentValidator().validate(document);
+        } catch (SAXException ex) {
+            throw new FormBindingException(ex);
+        }
+    }
+
+    /**
+     * Policy to validate the binded form instance synchronously against the form instance schema. The streamed
+     * form instance is validated while it is written, the {@link #validate(Document)} method is not called.
+     *
+     * @author Dmitry Shapovalov
+     */
+    interface SchemaValidationPolicy extends ValidationPolicy {
+
+    }
+
+    /**
+     * Policy to validate every binded form instance.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class AlwaysValidationPolicy implements SchemaValidationPolicy {
+
+        AlwaysValidationPolicy() {
+            super();
+        }
+
+        @Override
+        public boolean isValidationRequired() {
+            return true;
+        }
+
+        @Override
+        public void validate(final Document document) {
+            validateDocument(document);
+        }
+
+    }
+
+    /**
+     * Policy to skip the validation of the binded form instance.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class NeverValidationPolicy implements ValidationPolicy {
+
+        NeverValidationPolicy() {
+            super();
+        }
+
+        @Override
+        public boolean isValidationRequired() {
+            return false;
+        }
+
+        @Override
+        public void validate(final Document document) {
+            // Ignore
+        }
+
+    }
+
+    /**
+     * Policy to validate every N-th binded form instance.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class SampledValidationPolicy implements SchemaValidationPolicy {
+
+        private final int _rate;
+
+        private final AtomicLong _counter;
+
+        SampledValidationPolicy(final int rate) {
+            super();
+            _rate = rate;
+            _counter = new AtomicLong();
+        }
+
+        @Override
+        public boolean isValidationRequired() {
+            return _counter.getAndIncrement() % _rate == 0;
+        }
+
+        @Override
+        public void validate(final Document document) {
+            validateDocument(document);
+        }
+
+    }
+
+    /**
+     * Policy to validate every binded form instance asynchronously.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class AsyncValidationPolicy implements ValidationPolicy {
+
+        private final Executor _executor;
+
+        private final ValidationListener _validationListener;
+
+        AsyncValidationPolicy(final Executor executor, final ValidationListener validationListener) {
+            super();
+            _executor = executor;
+            _validationListener = validationListener;
+        }
+
+        @Override
+        public boolean isValidationRequired() {
+            return true;
+        }
+
+        @Override
+        public void validate(final Document document) {
+            Document documentCopy = (Document) document.cloneNode(true);
+            _executor.execute(new ValidationTask(documentCopy, _validationListener));
+        }
+
+    }
+
+    /**
+     * Task to validate the binded form instance and to report the validation result.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class ValidationTask implements Runnable {
+
+        private final Document _document;
+
+        private final ValidationListener _validationListener;
+
+        ValidationTask(final Document document, final ValidationListener validationListener) {
+            super();
+            _document = document;
+            _validationListener = validationListener;
+        }
+
+        @Override
+        public void run() {
+            try {
+                validateDocument(_document);
+            } catch (FormBindingException ex) {
+                _validationListener.validationFailed(_document, ex);
+                return;
+            }
+            _validationListener.validationSucceeded(_document);
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import org.w3c.dom.Document;
+
+/**
+ * Policy to validate the binded form instance against the form instance schema.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface ValidationPolicy {
+
+    /**
+     * Check if the binded form instance should be validated. The method is called once for every bind.
+     *
+     * @return true if the binded form instance should be validated.
+     */
+    boolean isValidationRequired();
+
+    /**
+     * Validate the binded form instance. The method is called only if the validation is required.
+     *
+     * @param document the binded form instance.
+     */
+    void validate(Document document);
+
+}
@@ -0,0 +1,193 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+
+/**
+ * Content handler to write the SAX events to the XML stream writer. The document start and the document end
+ * are not written, so the events can be written inside the document, that is already started.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class XmlStreamWriterContentHandler implements ContentHandler, LexicalHandler {
+
+    private final XMLStreamWriter _xmlStreamWriter;
+
+    private final List<String> _prefixMappings;
+
+    XmlStreamWriterContentHandler(final XMLStreamWriter xmlStreamWriter) {
+        super();
+        _xmlStreamWriter = xmlStreamWriter;
+        _prefixMappings = new ArrayList<>();
+    }
+
+    @Override
+    public void setDocumentLocator(final Locator locator) {
+        // Ignore
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        try {
+            _xmlStreamWriter.flush();
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+    @Override
+    public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+        _prefixMappings.add(prefix);
+        _prefixMappings.add(uri);
+    }
+
+    @Override
+    public void endPrefixMapping(final String prefix) throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName, final Attributes atts) throws SAXException {
+        try {
+            _xmlStreamWriter.writeStartElement(getPrefix(qName), localName, uri);
+            for (int i = 0; i < atts.getLength(); i++) {
+                if ("".equals(atts.getURI(i))) {
+                    _xmlStreamWriter.writeAttribute(atts.getLocalName(i), atts.getValue(i));
+                } else {
+                    _xmlStreamWriter.writeAttribute(getPrefix(atts.getQName(i)), atts.getURI(i), atts.getLocalName(i), atts.getValue(i));
+                }
+            }
+            for (int i = 0; i < _prefixMappings.size(); i += 2) {
+                String prefix = _prefixMappings.get(i);
+                String namespaceUri = _prefixMappings.get(i + 1);
+                if ("".equals(prefix)) {
+                    _xmlStreamWriter.writeDefaultNamespace(namespaceUri);
+                } else {
+                    _xmlStreamWriter.writeNamespace(prefix, namespaceUri);
+                }
+            }
+            _prefixMappings.clear();
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+    private String getPrefix(final String qName) {
+        int idx = qName.indexOf(':');
+        if (idx < 0) {
+            return "";
+        } else {
+            return qName.substring(0, idx);
+        }
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+        try {
+            _xmlStreamWriter.writeEndElement();
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) throws SAXException {
+        try {
+            _xmlStreamWriter.writeCharacters(ch, start, length);
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(final char[] ch, final int start, final int length) throws SAXException {
+        characters(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(final String target, final String data) throws SAXException {
+        try {
+            _xmlStreamWriter.writeProcessingInstruction(target, data);
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+    @Override
+    public void skippedEntity(final String name) throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void startDTD(final String name, final String publicId, final String systemId) throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void endDTD() throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void startEntity(final String name) throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void endEntity(final String name) throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void startCDATA() throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void endCDATA() throws SAXException {
+        // Ignore
+    }
+
+    @Override
+    public void comment(final char[] ch, final int start, final int length) throws SAXException {
+        try {
+            _xmlStreamWriter.writeComment(new String(ch, start, length));
+        } catch (XMLStreamException ex) {
+            throw new SAXException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.StringReader;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import ru.d_shap.fm.formmodel.XmlDocumentBuilder;
+import ru.d_shap.fm.formmodel.definition.loader.xml.DefaultOtherNodeXmlDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.document.DocumentWriter;
+
+/**
+ * Codec for the {@link DefaultOtherNodeXmlDefinition}. The XML element is stored as the XML string.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class DefaultOtherNodeXmlDefinitionCodec implements OtherNodeDefinitionCodec {
+
+    private static final String NAME = DefaultOtherNodeXmlDefinition.class.getName();
+
+    DefaultOtherNodeXmlDefinitionCodec() {
+        super();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isSupported(final OtherNodeDefinition otherNodeDefinition) {
+        return otherNodeDefinition instanceof DefaultOtherNodeXmlDefinition;
+    }
+
+    @Override
+    public void write(final OtherNodeDefinition otherNodeDefinition, final SnapshotOutput snapshotOutput) {
+        DefaultOtherNodeXmlDefinition defaultOtherNodeXmlDefinition = (DefaultOtherNodeXmlDefinition) otherNodeDefinition;
+        String xml = DocumentWriter.newInstance().getAsString(defaultOtherNodeXmlDefinition.getElement());
+        snapshotOutput.writeString(xml);
+    }
+
+    @Override
+    public OtherNodeDefinition read(final SnapshotInput snapshotInput) {
+        String xml = snapshotInput.readString();
+        Document document = XmlDocumentBuilder.getSharedDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        return new DefaultOtherNodeXmlDefinition(document.getDocumentElement());
+    }
+
+}
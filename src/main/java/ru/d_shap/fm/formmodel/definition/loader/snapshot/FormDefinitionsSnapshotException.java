@@ -0,0 +1,61 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import ru.d_shap.fm.formmodel.FormModelException;
+
+/**
+ * Exception is thrown when the form definitions snapshot can not be written or read.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotException extends FormModelException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create new object.
+     *
+     * @param message exception message.
+     */
+    public FormDefinitionsSnapshotException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param message   exception message.
+     * @param throwable cause exception.
+     */
+    public FormDefinitionsSnapshotException(final String message, final Throwable throwable) {
+        super(message, throwable);
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param throwable cause exception.
+     */
+    public FormDefinitionsSnapshotException(final Throwable throwable) {
+        super(throwable);
+    }
+
+}
@@ -0,0 +1,161 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.definition.loader.FormDefinitionsLoader;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * Loader for the form definitions from the binary snapshot. The snapshot file is memory-mapped.
+ * <p>
+ * The snapshot should be used only if the source hash of the snapshot matches the hash of the current sources,
+ * for example:
+ * </p>
+ * <pre>
+ * FormXmlDefinitionsFileLoader fileLoader = new FormXmlDefinitionsFileLoader(directory);
+ * byte[] sourceHash = FormDefinitionsSourceHash.getSourceHash(fileLoader.getSourceFiles());
+ * FormDefinitions formDefinitions = new FormDefinitions();
+ * if (snapshotFile.isFile() &amp;&amp; new FormDefinitionsSnapshotLoader(snapshotFile).isSourceHashMatches(sourceHash)) {
+ *     new FormDefinitionsSnapshotLoader(snapshotFile).loadValidated(formDefinitions);
+ * } else {
+ *     fileLoader.load(formDefinitions);
+ *     new FormDefinitionsSnapshotWriter().write(formDefinitions, sourceHash, snapshotFile);
+ * }
+ * </pre>
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotLoader extends FormDefinitionsLoader {
+
+    private final List<OtherNodeDefinitionCodec> _otherNodeDefinitionCodecs;
+
+    private final ByteBuffer _byteBuffer;
+
+    private final byte[] _sourceHash;
+
+    private final int _bodyPosition;
+
+    /**
+     * Create new object.
+     *
+     * @param file the snapshot file.
+     */
+    public FormDefinitionsSnapshotLoader(final File file) {
+        this(mapFile(file));
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param byteBuffer the buffer with the snapshot.
+     */
+    public FormDefinitionsSnapshotLoader(final ByteBuffer byteBuffer) {
+        super();
+        _otherNodeDefinitionCodecs = SnapshotFormat.getOtherNodeDefinitionCodecs();
+        _byteBuffer = byteBuffer.duplicate();
+        try {
+            SnapshotInput snapshotInput = new SnapshotInput(_otherNodeDefinitionCodecs, _byteBuffer);
+            int magic = snapshotInput.readMagic();
+            if (magic != SnapshotFormat.MAGIC) {
+                throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage());
+            }
+            int version = snapshotInput.readVarInt();
+            if (version != SnapshotFormat.VERSION) {
+                throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotVersionIsNotSupportedMessage(version));
+            }
+            _sourceHash = snapshotInput.readBytes();
+            _bodyPosition = _byteBuffer.position();
+        } catch (BufferUnderflowException ex) {
+            throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage(), ex);
+        }
+    }
+
+    private static ByteBuffer mapFile(final File file) {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        } catch (IOException | InvalidPathException ex) {
+            throw new InputSourceException(ex);
+        }
+    }
+
+    /**
+     * Get the hash of the form definitions sources, the snapshot was created from.
+     *
+     * @return the hash of the form definitions sources.
+     */
+    public byte[] getSourceHash() {
+        return _sourceHash.clone();
+    }
+
+    /**
+     * Check if the hash of the form definitions sources, the snapshot was created from, matches the specified hash.
+     *
+     * @param sourceHash the specified hash.
+     *
+     * @return true if the hash matches the specified hash.
+     */
+    public boolean isSourceHashMatches(final byte[] sourceHash) {
+        return MessageDigest.isEqual(_sourceHash, sourceHash);
+    }
+
+    @Override
+    public List<FormDefinition> load() {
+        ByteBuffer byteBuffer = _byteBuffer.duplicate();
+        byteBuffer.position(_bodyPosition);
+        try {
+            SnapshotInput snapshotInput = new SnapshotInput(_otherNodeDefinitionCodecs, byteBuffer);
+            snapshotInput.readStringTable();
+            int count = snapshotInput.readLength();
+            List<FormDefinition> formDefinitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                formDefinitions.add(snapshotInput.readFormDefinition());
+            }
+            return formDefinitions;
+        } catch (BufferUnderflowException ex) {
+            throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage(), ex);
+        }
+    }
+
+    /**
+     * Load the form definitions and add them to the specified form definitions container without the validation.
+     * The form definitions of the snapshot were validated, when the snapshot was written.
+     *
+     * @param formDefinitions the specified form definitions container.
+     */
+    public void loadValidated(final FormDefinitions formDefinitions) {
+        List<FormDefinition> loadedFormDefinitions = load();
+        formDefinitions.addValidatedFormDefinitions(loadedFormDefinitions);
+    }
+
+}
@@ -0,0 +1,97 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import ru.d_shap.fm.formmodel.OutputResultException;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * Writer for the binary snapshot of the validated form definitions.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotWriter {
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final List<OtherNodeDefinitionCodec> _otherNodeDefinitionCodecs;
+
+    /**
+     * Create new object.
+     */
+    public FormDefinitionsSnapshotWriter() {
+        super();
+        _otherNodeDefinitionCodecs = SnapshotFormat.getOtherNodeDefinitionCodecs();
+    }
+
+    /**
+     * Write the snapshot of the form definitions to the output stream.
+     *
+     * @param formDefinitions the validated form definitions.
+     * @param sourceHash      the hash of the form definitions sources.
+     * @param outputStream    the output stream.
+     */
+    public void write(final FormDefinitions formDefinitions, final byte[] sourceHash, final OutputStream outputStream) {
+        SnapshotOutput snapshotOutput = new SnapshotOutput(_otherNodeDefinitionCodecs);
+        List<FormDefinition> formDefinitionList = formDefinitions.getFormDefinitions();
+        snapshotOutput.writeVarInt(formDefinitionList.size());
+        for (FormDefinition formDefinition : formDefinitionList) {
+            snapshotOutput.writeFormDefinition(formDefinition);
+        }
+        try {
+            snapshotOutput.writeTo(sourceHash, outputStream);
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    /**
+     * Write the snapshot of the form definitions to the file. The snapshot is written to the temporary file first,
+     * then the temporary file replaces the target file, so the readers never see the partially written snapshot.
+     *
+     * @param formDefinitions the validated form definitions.
+     * @param sourceHash      the hash of the form definitions sources.
+     * @param file            the snapshot file.
+     */
+    public void write(final FormDefinitions formDefinitions, final byte[] sourceHash, final File file) {
+        try {
+            File absoluteFile = file.getAbsoluteFile();
+            File tempFile = File.createTempFile(absoluteFile.getName(), TEMP_FILE_SUFFIX, absoluteFile.getParentFile());
+            Path tempPath = tempFile.toPath();
+            try (OutputStream outputStream = Files.newOutputStream(tempPath)) {
+                write(formDefinitions, sourceHash, outputStream);
+            }
+            Files.move(tempPath, absoluteFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | InvalidPathException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+}
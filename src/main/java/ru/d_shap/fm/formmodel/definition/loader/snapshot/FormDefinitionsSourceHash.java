@@ -0,0 +1,127 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import ru.d_shap.fm.formmodel.InputSourceException;
+
+/**
+ * Helper class to compute the hash of the form definitions sources. The source hash depends on the path and the content
+ * of every source file and on the order of the source files, the content hash depends on the file content only.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSourceHash {
+
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private FormDefinitionsSourceHash() {
+        super();
+    }
+
+    /**
+     * Compute the hash of the source files with the default algorithm.
+     *
+     * @param files the source files.
+     *
+     * @return the hash of the source files.
+     */
+    public static byte[] getSourceHash(final List<File> files) {
+        return getSourceHash(files, DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * Compute the hash of the source files with the specified algorithm.
+     *
+     * @param files     the source files.
+     * @param algorithm the message digest algorithm.
+     *
+     * @return the hash of the source files.
+     */
+    public static byte[] getSourceHash(final List<File> files, final String algorithm) {
+        MessageDigest messageDigest = getMessageDigest(algorithm);
+        MessageDigest contentMessageDigest = getMessageDigest(algorithm);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (File file : files) {
+            messageDigest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(getContentHash(file, contentMessageDigest, buffer));
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * Compute the hash of the source file content with the default algorithm.
+     *
+     * @param file the source file.
+     *
+     * @return the hash of the source file content.
+     */
+    public static byte[] getContentHash(final File file) {
+        return getContentHash(file, DEFAULT_ALGORITHM);
+    }
+
+    /**
+     * Compute the hash of the source file content with the specified algorithm.
+     *
+     * @param file      the source file.
+     * @param algorithm the message digest algorithm.
+     *
+     * @return the hash of the source file content.
+     */
+    public static byte[] getContentHash(final File file, final String algorithm) {
+        MessageDigest messageDigest = getMessageDigest(algorithm);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        return getContentHash(file, messageDigest, buffer);
+    }
+
+    private static byte[] getContentHash(final File file, final MessageDigest messageDigest, final byte[] buffer) {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            int read = inputStream.read(buffer);
+            while (read >= 0) {
+                messageDigest.update(buffer, 0, read);
+                read = inputStream.read(buffer);
+            }
+        } catch (IOException | InvalidPathException ex) {
+            throw new InputSourceException(ex);
+        }
+        return messageDigest.digest();
+    }
+
+    private static MessageDigest getMessageDigest(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new FormDefinitionsSnapshotException(ex);
+        }
+    }
+
+}
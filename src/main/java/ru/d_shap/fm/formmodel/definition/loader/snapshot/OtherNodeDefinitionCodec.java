@@ -0,0 +1,65 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+
+/**
+ * Codec to write the other node definition to the form definitions snapshot and to read it back.
+ * The codec is found with the {@link ru.d_shap.fm.formmodel.ServiceFinder}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public interface OtherNodeDefinitionCodec {
+
+    /**
+     * Get the unique name of the codec. The name is stored in the snapshot to find the codec to read the other node definition.
+     *
+     * @return the unique name of the codec.
+     */
+    String getName();
+
+    /**
+     * Check if the other node definition can be written with this codec.
+     *
+     * @param otherNodeDefinition the other node definition.
+     *
+     * @return true if the other node definition can be written with this codec.
+     */
+    boolean isSupported(OtherNodeDefinition otherNodeDefinition);
+
+    /**
+     * Write the other node definition to the snapshot.
+     *
+     * @param otherNodeDefinition the other node definition.
+     * @param snapshotOutput      the snapshot output.
+     */
+    void write(OtherNodeDefinition otherNodeDefinition, SnapshotOutput snapshotOutput);
+
+    /**
+     * Read the other node definition from the snapshot.
+     *
+     * @param snapshotInput the snapshot input.
+     *
+     * @return the other node definition.
+     */
+    OtherNodeDefinition read(SnapshotInput snapshotInput);
+
+}
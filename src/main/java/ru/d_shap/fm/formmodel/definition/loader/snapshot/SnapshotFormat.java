@@ -0,0 +1,65 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ru.d_shap.fm.formmodel.ServiceFinder;
+
+/**
+ * Constants of the form definitions snapshot format.
+ * <p>
+ * The snapshot consists of the magic number, the format version, the source hash, the string table and the form definitions.
+ * All numbers except the magic number are varint-encoded. Every string is stored in the string table once and is referred
+ * by its index in the string table, the zero index is the null string. Every node definition starts with its type tag.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x464D5353;
+
+    static final int VERSION = 1;
+
+    static final int NULL_TAG = 0;
+
+    static final int ATTRIBUTE_DEFINITION_TAG = 1;
+
+    static final int ELEMENT_DEFINITION_TAG = 2;
+
+    static final int SINGLE_ELEMENT_DEFINITION_TAG = 3;
+
+    static final int FORM_REFERENCE_DEFINITION_TAG = 4;
+
+    static final int OTHER_NODE_DEFINITION_TAG = 5;
+
+    private SnapshotFormat() {
+        super();
+    }
+
+    static List<OtherNodeDefinitionCodec> getOtherNodeDefinitionCodecs() {
+        List<OtherNodeDefinitionCodec> otherNodeDefinitionCodecs = new ArrayList<>(ServiceFinder.find(OtherNodeDefinitionCodec.class));
+        otherNodeDefinitionCodecs.add(new DefaultOtherNodeXmlDefinitionCodec());
+        return otherNodeDefinitionCodecs;
+    }
+
+}
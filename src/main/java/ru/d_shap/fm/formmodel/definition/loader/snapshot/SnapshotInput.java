@@ -0,0 +1,237 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Input to read the form definitions snapshot.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SnapshotInput {
+
+    private final Map<String, OtherNodeDefinitionCodec> _otherNodeDefinitionCodecs;
+
+    private final ByteBuffer _byteBuffer;
+
+    private String[] _strings;
+
+    SnapshotInput(final List<OtherNodeDefinitionCodec> otherNodeDefinitionCodecs, final ByteBuffer byteBuffer) {
+        super();
+        _otherNodeDefinitionCodecs = new HashMap<>();
+        for (OtherNodeDefinitionCodec otherNodeDefinitionCodec : otherNodeDefinitionCodecs) {
+            if (!_otherNodeDefinitionCodecs.containsKey(otherNodeDefinitionCodec.getName())) {
+                _otherNodeDefinitionCodecs.put(otherNodeDefinitionCodec.getName(), otherNodeDefinitionCodec);
+            }
+        }
+        _byteBuffer = byteBuffer;
+        _strings = new String[0];
+    }
+
+    /**
+     * Read the varint-encoded value.
+     *
+     * @return the value.
+     */
+    public int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int currentByte;
+        do {
+            currentByte = _byteBuffer.get();
+            value |= (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read the boolean value.
+     *
+     * @return the value.
+     */
+    public boolean readBoolean() {
+        return _byteBuffer.get() != 0;
+    }
+
+    /**
+     * Read the string.
+     *
+     * @return the string, can be null.
+     */
+    public String readString() {
+        int index = readVarInt();
+        if (index == 0) {
+            return null;
+        }
+        if (index < 0 || index > _strings.length) {
+            throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage());
+        }
+        return _strings[index - 1];
+    }
+
+    /**
+     * Read the node definition, for example, the child node definition of the other node definition.
+     *
+     * @return the node definition, can be null.
+     */
+    public NodeDefinition readNodeDefinition() {
+        int tag = readVarInt();
+        switch (tag) {
+            case SnapshotFormat.NULL_TAG:
+                return null;
+            case SnapshotFormat.ATTRIBUTE_DEFINITION_TAG:
+                return readAttributeDefinition();
+            case SnapshotFormat.ELEMENT_DEFINITION_TAG:
+                return readElementDefinition();
+            case SnapshotFormat.SINGLE_ELEMENT_DEFINITION_TAG:
+                return readSingleElementDefinition();
+            case SnapshotFormat.FORM_REFERENCE_DEFINITION_TAG:
+                return readFormReferenceDefinition();
+            case SnapshotFormat.OTHER_NODE_DEFINITION_TAG:
+                return readOtherNodeDefinition();
+            default:
+                throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage());
+        }
+    }
+
+    FormDefinition readFormDefinition() {
+        String group = readString();
+        String id = readString();
+        String source = readString();
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions();
+        Map<String, String> otherAttributes = readOtherAttributes();
+        return new FormDefinition(group, id, nodeDefinitions, otherAttributes, source);
+    }
+
+    private AttributeDefinition readAttributeDefinition() {
+        String id = readString();
+        String lookup = readString();
+        CardinalityDefinition cardinalityDefinition = readCardinalityDefinition();
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions();
+        Map<String, String> otherAttributes = readOtherAttributes();
+        return new AttributeDefinition(id, lookup, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private ElementDefinition readElementDefinition() {
+        String id = readString();
+        String lookup = readString();
+        CardinalityDefinition cardinalityDefinition = readCardinalityDefinition();
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions();
+        Map<String, String> otherAttributes = readOtherAttributes();
+        return new ElementDefinition(id, lookup, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private SingleElementDefinition readSingleElementDefinition() {
+        String id = readString();
+        CardinalityDefinition cardinalityDefinition = readCardinalityDefinition();
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions();
+        Map<String, String> otherAttributes = readOtherAttributes();
+        return new SingleElementDefinition(id, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private FormReferenceDefinition readFormReferenceDefinition() {
+        String group = readString();
+        String id = readString();
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions();
+        Map<String, String> otherAttributes = readOtherAttributes();
+        return new FormReferenceDefinition(group, id, nodeDefinitions, otherAttributes);
+    }
+
+    private OtherNodeDefinition readOtherNodeDefinition() {
+        String codecName = readString();
+        OtherNodeDefinitionCodec otherNodeDefinitionCodec = _otherNodeDefinitionCodecs.get(codecName);
+        if (otherNodeDefinitionCodec == null) {
+            throw new FormDefinitionsSnapshotException(Messages.Snapshot.getOtherNodeDefinitionCodecIsNotFoundMessage(codecName));
+        }
+        return otherNodeDefinitionCodec.read(this);
+    }
+
+    private CardinalityDefinition readCardinalityDefinition() {
+        String cardinality = readString();
+        return CardinalityDefinition.getCardinalityDefinition(cardinality);
+    }
+
+    private List<NodeDefinition> readNodeDefinitions() {
+        int count = readLength();
+        List<NodeDefinition> nodeDefinitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nodeDefinitions.add(readNodeDefinition());
+        }
+        return nodeDefinitions;
+    }
+
+    private Map<String, String> readOtherAttributes() {
+        int count = readLength();
+        Map<String, String> otherAttributes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = readString();
+            String value = readString();
+            otherAttributes.put(name, value);
+        }
+        return otherAttributes;
+    }
+
+    int readMagic() {
+        return _byteBuffer.getInt();
+    }
+
+    void readStringTable() {
+        int stringCount = readLength();
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            byte[] bytes = readBytes();
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        _strings = strings;
+    }
+
+    int readLength() {
+        int length = readVarInt();
+        if (length < 0 || length > _byteBuffer.remaining()) {
+            throw new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage());
+        }
+        return length;
+    }
+
+    byte[] readBytes() {
+        int length = readLength();
+        byte[] bytes = new byte[length];
+        _byteBuffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,245 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Output to write the form definitions snapshot. The strings are collected to the string table,
+ * the string table is written before the form definitions.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SnapshotOutput {
+
+    private final List<OtherNodeDefinitionCodec> _otherNodeDefinitionCodecs;
+
+    private final ByteArrayOutputStream _outputStream;
+
+    private final Map<String, Integer> _stringIndexes;
+
+    private final List<String> _strings;
+
+    SnapshotOutput(final List<OtherNodeDefinitionCodec> otherNodeDefinitionCodecs) {
+        super();
+        _otherNodeDefinitionCodecs = otherNodeDefinitionCodecs;
+        _outputStream = new ByteArrayOutputStream();
+        _stringIndexes = new HashMap<>();
+        _strings = new ArrayList<>();
+    }
+
+    /**
+     * Write the varint-encoded value.
+     *
+     * @param value the value.
+     */
+    public void writeVarInt(final int value) {
+        writeVarInt(_outputStream, value);
+    }
+
+    private static void writeVarInt(final ByteArrayOutputStream outputStream, final int value) {
+        int currentValue = value;
+        while ((currentValue & ~0x7F) != 0) {
+            outputStream.write(currentValue & 0x7F | 0x80);
+            currentValue >>>= 7;
+        }
+        outputStream.write(currentValue);
+    }
+
+    /**
+     * Write the boolean value.
+     *
+     * @param value the value.
+     */
+    public void writeBoolean(final boolean value) {
+        if (value) {
+            _outputStream.write(1);
+        } else {
+            _outputStream.write(0);
+        }
+    }
+
+    /**
+     * Write the string. The string is stored in the string table, the index of the string is written.
+     *
+     * @param value the string, can be null.
+     */
+    public void writeString(final String value) {
+        if (value == null) {
+            writeVarInt(0);
+        } else {
+            Integer index = _stringIndexes.get(value);
+            if (index == null) {
+                _strings.add(value);
+                index = _strings.size();
+                _stringIndexes.put(value, index);
+            }
+            writeVarInt(index);
+        }
+    }
+
+    /**
+     * Write the node definition, for example, the child node definition of the other node definition.
+     *
+     * @param nodeDefinition the node definition, can be null.
+     */
+    public void writeNodeDefinition(final NodeDefinition nodeDefinition) {
+        if (nodeDefinition == null) {
+            writeVarInt(SnapshotFormat.NULL_TAG);
+        } else if (nodeDefinition instanceof AttributeDefinition) {
+            writeAttributeDefinition((AttributeDefinition) nodeDefinition);
+        } else if (nodeDefinition instanceof ElementDefinition) {
+            writeElementDefinition((ElementDefinition) nodeDefinition);
+        } else if (nodeDefinition instanceof SingleElementDefinition) {
+            writeSingleElementDefinition((SingleElementDefinition) nodeDefinition);
+        } else if (nodeDefinition instanceof FormReferenceDefinition) {
+            writeFormReferenceDefinition((FormReferenceDefinition) nodeDefinition);
+        } else {
+            writeOtherNodeDefinition((OtherNodeDefinition) nodeDefinition);
+        }
+    }
+
+    void writeFormDefinition(final FormDefinition formDefinition) {
+        writeString(formDefinition.getGroup());
+        writeString(formDefinition.getId());
+        writeString(formDefinition.getSource());
+        writeNodeDefinitions(formDefinition.getAllNodeDefinitions());
+        Set<String> otherAttributeNames = formDefinition.getOtherAttributeNames();
+        writeVarInt(otherAttributeNames.size());
+        for (String otherAttributeName : otherAttributeNames) {
+            writeString(otherAttributeName);
+            writeString(formDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    private void writeAttributeDefinition(final AttributeDefinition attributeDefinition) {
+        writeVarInt(SnapshotFormat.ATTRIBUTE_DEFINITION_TAG);
+        writeString(attributeDefinition.getId());
+        writeString(attributeDefinition.getLookup());
+        writeCardinalityDefinition(attributeDefinition.getCardinalityDefinition());
+        writeNodeDefinitions(attributeDefinition.getAllNodeDefinitions());
+        Set<String> otherAttributeNames = attributeDefinition.getOtherAttributeNames();
+        writeVarInt(otherAttributeNames.size());
+        for (String otherAttributeName : otherAttributeNames) {
+            writeString(otherAttributeName);
+            writeString(attributeDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    private void writeElementDefinition(final ElementDefinition elementDefinition) {
+        writeVarInt(SnapshotFormat.ELEMENT_DEFINITION_TAG);
+        writeString(elementDefinition.getId());
+        writeString(elementDefinition.getLookup());
+        writeCardinalityDefinition(elementDefinition.getCardinalityDefinition());
+        writeNodeDefinitions(elementDefinition.getAllNodeDefinitions());
+        Set<String> otherAttributeNames = elementDefinition.getOtherAttributeNames();
+        writeVarInt(otherAttributeNames.size());
+        for (String otherAttributeName : otherAttributeNames) {
+            writeString(otherAttributeName);
+            writeString(elementDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    private void writeSingleElementDefinition(final SingleElementDefinition singleElementDefinition) {
+        writeVarInt(SnapshotFormat.SINGLE_ELEMENT_DEFINITION_TAG);
+        writeString(singleElementDefinition.getId());
+        writeCardinalityDefinition(singleElementDefinition.getCardinalityDefinition());
+        writeNodeDefinitions(singleElementDefinition.getAllNodeDefinitions());
+        Set<String> otherAttributeNames = singleElementDefinition.getOtherAttributeNames();
+        writeVarInt(otherAttributeNames.size());
+        for (String otherAttributeName : otherAttributeNames) {
+            writeString(otherAttributeName);
+            writeString(singleElementDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    private void writeFormReferenceDefinition(final FormReferenceDefinition formReferenceDefinition) {
+        writeVarInt(SnapshotFormat.FORM_REFERENCE_DEFINITION_TAG);
+        writeString(formReferenceDefinition.getGroup());
+        writeString(formReferenceDefinition.getId());
+        writeNodeDefinitions(formReferenceDefinition.getAllNodeDefinitions());
+        Set<String> otherAttributeNames = formReferenceDefinition.getOtherAttributeNames();
+        writeVarInt(otherAttributeNames.size());
+        for (String otherAttributeName : otherAttributeNames) {
+            writeString(otherAttributeName);
+            writeString(formReferenceDefinition.getOtherAttributeValue(otherAttributeName));
+        }
+    }
+
+    private void writeOtherNodeDefinition(final OtherNodeDefinition otherNodeDefinition) {
+        for (OtherNodeDefinitionCodec otherNodeDefinitionCodec : _otherNodeDefinitionCodecs) {
+            if (otherNodeDefinitionCodec.isSupported(otherNodeDefinition)) {
+                writeVarInt(SnapshotFormat.OTHER_NODE_DEFINITION_TAG);
+                writeString(otherNodeDefinitionCodec.getName());
+                otherNodeDefinitionCodec.write(otherNodeDefinition, this);
+                return;
+            }
+        }
+        throw new FormDefinitionsSnapshotException(Messages.Snapshot.getOtherNodeDefinitionIsNotSupportedMessage(otherNodeDefinition));
+    }
+
+    private void writeCardinalityDefinition(final CardinalityDefinition cardinalityDefinition) {
+        writeString(cardinalityDefinition.getCardinality());
+    }
+
+    private void writeNodeDefinitions(final List<NodeDefinition> nodeDefinitions) {
+        writeVarInt(nodeDefinitions.size());
+        for (NodeDefinition nodeDefinition : nodeDefinitions) {
+            writeNodeDefinition(nodeDefinition);
+        }
+    }
+
+    void writeTo(final byte[] sourceHash, final OutputStream outputStream) throws IOException {
+        ByteArrayOutputStream headerOutputStream = new ByteArrayOutputStream();
+        byte[] magic = ByteBuffer.allocate(4).putInt(SnapshotFormat.MAGIC).array();
+        headerOutputStream.write(magic, 0, magic.length);
+        writeVarInt(headerOutputStream, SnapshotFormat.VERSION);
+        writeVarInt(headerOutputStream, sourceHash.length);
+        headerOutputStream.write(sourceHash, 0, sourceHash.length);
+        writeVarInt(headerOutputStream, _strings.size());
+        for (String string : _strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(headerOutputStream, bytes.length);
+            headerOutputStream.write(bytes, 0, bytes.length);
+        }
+        headerOutputStream.writeTo(outputStream);
+        _outputStream.writeTo(outputStream);
+    }
+
+}
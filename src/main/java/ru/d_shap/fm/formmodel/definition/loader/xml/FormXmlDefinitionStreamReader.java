@@ -0,0 +1,358 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.xml;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.ValidatorHandler;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodePath;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Reader for the form definition from the XML stream. The form definition is created in one pass,
+ * every stream event is validated against the schema by the validator handler before it is processed.
+ * Only the other node subtrees are materialized to the XML elements to be processed with the other node builders.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class FormXmlDefinitionStreamReader {
+
+    private static final String CDATA_TYPE = "CDATA";
+
+    private final FormXmlDefinitionsLoader _formXmlDefinitionsLoader;
+
+    private final XMLStreamReader _xmlStreamReader;
+
+    private final ValidatorHandler _validatorHandler;
+
+    private Document _document;
+
+    FormXmlDefinitionStreamReader(final FormXmlDefinitionsLoader formXmlDefinitionsLoader, final XMLStreamReader xmlStreamReader) {
+        super();
+        _formXmlDefinitionsLoader = formXmlDefinitionsLoader;
+        _xmlStreamReader = xmlStreamReader;
+        _validatorHandler = formXmlDefinitionsLoader.newValidatorHandler();
+        _document = null;
+    }
+
+    List<FormDefinition> read(final String source) throws XMLStreamException, SAXException {
+        List<FormDefinition> formDefinitions = new ArrayList<>();
+        _xmlStreamReader.nextTag();
+        if (isFormModelElement(FormXmlDefinitionBuilder.FORM_DEFINITION_ELEMENT_NAME)) {
+            _validatorHandler.startDocument();
+            FormDefinition formDefinition = readFormDefinition(source);
+            _validatorHandler.endDocument();
+            formDefinitions.add(formDefinition);
+        }
+        while (_xmlStreamReader.hasNext()) {
+            _xmlStreamReader.next();
+        }
+        return formDefinitions;
+    }
+
+    private boolean isFormModelElement(final String localName) {
+        return FormXmlDefinitionBuilder.NAMESPACE.equals(_xmlStreamReader.getNamespaceURI()) && localName.equals(_xmlStreamReader.getLocalName());
+    }
+
+    private FormDefinition readFormDefinition(final String source) throws XMLStreamException, SAXException {
+        StreamElement streamElement = startElement();
+        String group = streamElement.getAttributeValue(FormXmlDefinitionBuilder.FORM_DEFINITION_ATTRIBUTE_GROUP);
+        String id = streamElement.getAttributeValue(FormXmlDefinitionBuilder.FORM_DEFINITION_ATTRIBUTE_ID);
+        NodePath currentNodePath = new NodePath(Messages.Representation.getFormDefinitionRepresentation(source, group, id));
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions(streamElement, currentNodePath);
+        Map<String, String> otherAttributes = streamElement.getOtherAttributes();
+        return new FormDefinition(group, id, nodeDefinitions, otherAttributes, source);
+    }
+
+    private AttributeDefinition readAttributeDefinition(final StreamElement streamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        String id = streamElement.getAttributeValue(FormXmlDefinitionBuilder.ATTRIBUTE_DEFINITION_ATTRIBUTE_ID);
+        String lookup = streamElement.getAttributeValue(FormXmlDefinitionBuilder.ATTRIBUTE_DEFINITION_ATTRIBUTE_LOOKUP);
+        CardinalityDefinition cardinalityDefinition = streamElement.getCardinalityDefinition(FormXmlDefinitionBuilder.ATTRIBUTE_DEFINITION_ATTRIBUTE_TYPE, CardinalityDefinition.REQUIRED);
+        NodePath currentNodePath = new NodePath(nodePath, Messages.Representation.getAttributeDefinitionRepresentation(id));
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions(streamElement, currentNodePath);
+        Map<String, String> otherAttributes = streamElement.getOtherAttributes();
+        return new AttributeDefinition(id, lookup, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private ElementDefinition readElementDefinition(final StreamElement parentStreamElement, final StreamElement streamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        String id = streamElement.getAttributeValue(FormXmlDefinitionBuilder.ELEMENT_DEFINITION_ATTRIBUTE_ID);
+        String lookup = streamElement.getAttributeValue(FormXmlDefinitionBuilder.ELEMENT_DEFINITION_ATTRIBUTE_LOOKUP);
+        CardinalityDefinition defaultCardinalityDefinition = getElementDefinitionCardinality(parentStreamElement);
+        CardinalityDefinition cardinalityDefinition = streamElement.getCardinalityDefinition(FormXmlDefinitionBuilder.ELEMENT_DEFINITION_ATTRIBUTE_TYPE, defaultCardinalityDefinition);
+        NodePath currentNodePath = new NodePath(nodePath, Messages.Representation.getElementDefinitionRepresentation(id));
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions(streamElement, currentNodePath);
+        Map<String, String> otherAttributes = streamElement.getOtherAttributes();
+        return new ElementDefinition(id, lookup, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private SingleElementDefinition readSingleElementDefinition(final StreamElement parentStreamElement, final StreamElement streamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        String id = streamElement.getAttributeValue(FormXmlDefinitionBuilder.SINGLE_ELEMENT_DEFINITION_ATTRIBUTE_ID);
+        CardinalityDefinition defaultCardinalityDefinition = getElementDefinitionCardinality(parentStreamElement);
+        CardinalityDefinition cardinalityDefinition = streamElement.getCardinalityDefinition(FormXmlDefinitionBuilder.SINGLE_ELEMENT_DEFINITION_ATTRIBUTE_TYPE, defaultCardinalityDefinition);
+        NodePath currentNodePath = new NodePath(nodePath, Messages.Representation.getSingleElementDefinitionRepresentation(id));
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions(streamElement, currentNodePath);
+        Map<String, String> otherAttributes = streamElement.getOtherAttributes();
+        return new SingleElementDefinition(id, cardinalityDefinition, nodeDefinitions, otherAttributes);
+    }
+
+    private CardinalityDefinition getElementDefinitionCardinality(final StreamElement parentStreamElement) {
+        if (FormXmlDefinitionBuilder.SINGLE_ELEMENT_DEFINITION_ELEMENT_NAME.equals(parentStreamElement.getLocalName())) {
+            return CardinalityDefinition.OPTIONAL;
+        } else {
+            return CardinalityDefinition.REQUIRED;
+        }
+    }
+
+    private FormReferenceDefinition readFormReferenceDefinition(final StreamElement streamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        String group = streamElement.getAttributeValue(FormXmlDefinitionBuilder.FORM_REFERENCE_DEFINITION_ATTRIBUTE_GROUP);
+        String id = streamElement.getAttributeValue(FormXmlDefinitionBuilder.FORM_REFERENCE_DEFINITION_ATTRIBUTE_ID);
+        NodePath currentNodePath = new NodePath(nodePath, Messages.Representation.getFormReferenceDefinitionRepresentation(group, id));
+        List<NodeDefinition> nodeDefinitions = readNodeDefinitions(streamElement, currentNodePath);
+        Map<String, String> otherAttributes = streamElement.getOtherAttributes();
+        return new FormReferenceDefinition(group, id, nodeDefinitions, otherAttributes);
+    }
+
+    private OtherNodeDefinition readOtherNodeDefinition(final StreamElement parentStreamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        if (_document == null) {
+            _document = _formXmlDefinitionsLoader.newDocument();
+        }
+        Element parentElement = parentStreamElement.createElement(_document);
+        Element element = readOtherElement();
+        parentElement.appendChild(element);
+        _formXmlDefinitionsLoader.validateOtherNode(element);
+        return _formXmlDefinitionsLoader.getFormXmlDefinitionBuilder().createOtherNodeDefinition(parentElement, element, nodePath);
+    }
+
+    private Element readOtherElement() throws XMLStreamException, SAXException {
+        StreamElement streamElement = startElement();
+        Element element = streamElement.createElement(_document);
+        int eventType = _xmlStreamReader.next();
+        while (eventType != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                element.appendChild(readOtherElement());
+            } else if (eventType == XMLStreamConstants.COMMENT) {
+                element.appendChild(_document.createComment(_xmlStreamReader.getText()));
+            } else if (eventType == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+                element.appendChild(_document.createProcessingInstruction(_xmlStreamReader.getPITarget(), _xmlStreamReader.getPIData()));
+            } else {
+                characters();
+                element.appendChild(_document.createTextNode(_xmlStreamReader.getText()));
+            }
+            eventType = _xmlStreamReader.next();
+        }
+        streamElement.endElement(_validatorHandler);
+        return element;
+    }
+
+    private List<NodeDefinition> readNodeDefinitions(final StreamElement streamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        List<NodeDefinition> nodeDefinitions = new ArrayList<>();
+        int eventType = _xmlStreamReader.next();
+        while (eventType != XMLStreamConstants.END_ELEMENT) {
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                NodeDefinition nodeDefinition = readNodeDefinition(streamElement, nodePath);
+                nodeDefinitions.add(nodeDefinition);
+            } else if (eventType == XMLStreamConstants.CHARACTERS) {
+                characters();
+            }
+            eventType = _xmlStreamReader.next();
+        }
+        streamElement.endElement(_validatorHandler);
+        return nodeDefinitions;
+    }
+
+    private NodeDefinition readNodeDefinition(final StreamElement parentStreamElement, final NodePath nodePath) throws XMLStreamException, SAXException {
+        if (FormXmlDefinitionBuilder.NAMESPACE.equals(_xmlStreamReader.getNamespaceURI())) {
+            StreamElement streamElement = startElement();
+            String localName = streamElement.getLocalName();
+            if (FormXmlDefinitionBuilder.ATTRIBUTE_DEFINITION_ELEMENT_NAME.equals(localName)) {
+                return readAttributeDefinition(streamElement, nodePath);
+            }
+            if (FormXmlDefinitionBuilder.ELEMENT_DEFINITION_ELEMENT_NAME.equals(localName)) {
+                return readElementDefinition(parentStreamElement, streamElement, nodePath);
+            }
+            if (FormXmlDefinitionBuilder.SINGLE_ELEMENT_DEFINITION_ELEMENT_NAME.equals(localName)) {
+                return readSingleElementDefinition(parentStreamElement, streamElement, nodePath);
+            }
+            return readFormReferenceDefinition(streamElement, nodePath);
+        } else {
+            return readOtherNodeDefinition(parentStreamElement, nodePath);
+        }
+    }
+
+    private StreamElement startElement() throws SAXException {
+        StreamElement streamElement = new StreamElement(_xmlStreamReader);
+        streamElement.startElement(_validatorHandler);
+        return streamElement;
+    }
+
+    private void characters() throws SAXException {
+        char[] characters = _xmlStreamReader.getTextCharacters();
+        _validatorHandler.characters(characters, _xmlStreamReader.getTextStart(), _xmlStreamReader.getTextLength());
+    }
+
+    private static String getValue(final String value) {
+        if (value == null) {
+            return "";
+        } else {
+            return value;
+        }
+    }
+
+    private static String getQualifiedName(final String prefix, final String localName) {
+        if ("".equals(prefix)) {
+            return localName;
+        } else {
+            return prefix + ":" + localName;
+        }
+    }
+
+    /**
+     * The start element of the XML stream with the attributes and the namespace declarations.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class StreamElement {
+
+        private final String _namespaceURI;
+
+        private final String _localName;
+
+        private final String _qName;
+
+        private final AttributesImpl _attributes;
+
+        private final List<String> _prefixes;
+
+        private final List<String> _namespaceURIs;
+
+        StreamElement(final XMLStreamReader xmlStreamReader) {
+            super();
+            _namespaceURI = getValue(xmlStreamReader.getNamespaceURI());
+            _localName = xmlStreamReader.getLocalName();
+            _qName = getQualifiedName(getValue(xmlStreamReader.getPrefix()), _localName);
+            _attributes = new AttributesImpl();
+            for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+                String localName = xmlStreamReader.getAttributeLocalName(i);
+                String qName = getQualifiedName(getValue(xmlStreamReader.getAttributePrefix(i)), localName);
+                _attributes.addAttribute(getValue(xmlStreamReader.getAttributeNamespace(i)), localName, qName, CDATA_TYPE, xmlStreamReader.getAttributeValue(i));
+            }
+            _prefixes = new ArrayList<>();
+            _namespaceURIs = new ArrayList<>();
+            for (int i = 0; i < xmlStreamReader.getNamespaceCount(); i++) {
+                _prefixes.add(getValue(xmlStreamReader.getNamespacePrefix(i)));
+                _namespaceURIs.add(getValue(xmlStreamReader.getNamespaceURI(i)));
+            }
+        }
+
+        String getLocalName() {
+            return _localName;
+        }
+
+        String getAttributeValue(final String attributeName) {
+            return _attributes.getValue("", attributeName);
+        }
+
+        CardinalityDefinition getCardinalityDefinition(final String attributeName, final CardinalityDefinition defaultCardinalityDefinition) {
+            String attributeValue = getAttributeValue(attributeName);
+            if (attributeValue == null) {
+                return defaultCardinalityDefinition;
+            } else {
+                return CardinalityDefinition.getCardinalityDefinition(attributeValue);
+            }
+        }
+
+        Map<String, String> getOtherAttributes() {
+            Map<String, String> otherAttributes = new HashMap<>();
+            for (int i = 0; i < _attributes.getLength(); i++) {
+                String attributeName;
+                if ("".equals(_attributes.getURI(i))) {
+                    attributeName = _attributes.getQName(i);
+                } else {
+                    attributeName = "{" + _attributes.getURI(i) + "}" + _attributes.getLocalName(i);
+                }
+                otherAttributes.put(attributeName, _attributes.getValue(i));
+            }
+            return otherAttributes;
+        }
+
+        void startElement(final ValidatorHandler validatorHandler) throws SAXException {
+            for (int i = 0; i < _prefixes.size(); i++) {
+                validatorHandler.startPrefixMapping(_prefixes.get(i), _namespaceURIs.get(i));
+            }
+            validatorHandler.startElement(_namespaceURI, _localName, _qName, _attributes);
+        }
+
+        void endElement(final ValidatorHandler validatorHandler) throws SAXException {
+            validatorHandler.endElement(_namespaceURI, _localName, _qName);
+            for (String prefix : _prefixes) {
+                validatorHandler.endPrefixMapping(prefix);
+            }
+        }
+
+        Element createElement(final Document document) {
+            Element element = document.createElementNS(getNullableValue(_namespaceURI), _qName);
+            for (int i = 0; i < _prefixes.size(); i++) {
+                String prefix = _prefixes.get(i);
+                String qName;
+                if ("".equals(prefix)) {
+                    qName = XMLConstants.XMLNS_ATTRIBUTE;
+                } else {
+                    qName = XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+                }
+                element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, qName, _namespaceURIs.get(i));
+            }
+            for (int i = 0; i < _attributes.getLength(); i++) {
+                element.setAttributeNS(getNullableValue(_attributes.getURI(i)), _attributes.getQName(i), _attributes.getValue(i));
+            }
+            return element;
+        }
+
+        private String getNullableValue(final String value) {
+            if ("".equals(value)) {
+                return null;
+            } else {
+                return value;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,373 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.xml;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import ru.d_shap.fm.formmodel.FormModelException;
+import ru.d_shap.fm.formmodel.definition.loader.snapshot.FormDefinitionsSourceHash;
+import ru.d_shap.fm.formmodel.definition.model.ConcurrentFormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Watcher for the source directory of the form definitions, XML implementation. The watcher tracks the content hash
+ * of every source file, loads only the changed, added and removed files and publishes the result atomically
+ * to the form definitions container. Only the form definitions of the changed files and the form definitions,
+ * that reference the removed form definitions, are validated again.
+ * <p>
+ * The changes are detected with the {@link WatchService}. If the source is not a directory or the source directory
+ * can not be watched, the source is polled with the specified interval. The directory tree is registered with
+ * the watch service on start, after that only the created directories are registered. The whole directory tree
+ * is registered again only if the watch events are lost.
+ * </p>
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormXmlDefinitionsDirectoryWatcher implements Closeable {
+
+    public static final long DEFAULT_POLL_INTERVAL = 1000L;
+
+    private static final long MODIFICATION_TIME_RESOLUTION = 2000L;
+
+    private final FormXmlDefinitionsFileLoader _formXmlDefinitionsFileLoader;
+
+    private final ConcurrentFormDefinitions _concurrentFormDefinitions;
+
+    private final long _pollInterval;
+
+    private final Object _lock;
+
+    private final Map<String, FileState> _fileStates;
+
+    private volatile WatchService _watchService;
+
+    private boolean _started;
+
+    private volatile boolean _polling;
+
+    private volatile boolean _closed;
+
+    private volatile boolean _stopped;
+
+    private volatile FormModelException _lastException;
+
+    /**
+     * Create new object.
+     *
+     * @param formXmlDefinitionsFileLoader loader for the source directory.
+     * @param concurrentFormDefinitions    container to publish the form definitions.
+     */
+    public FormXmlDefinitionsDirectoryWatcher(final FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader, final ConcurrentFormDefinitions concurrentFormDefinitions) {
+        this(formXmlDefinitionsFileLoader, concurrentFormDefinitions, DEFAULT_POLL_INTERVAL);
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param formXmlDefinitionsFileLoader loader for the source directory.
+     * @param concurrentFormDefinitions    container to publish the form definitions.
+     * @param pollInterval                 the poll interval in milliseconds.
+     */
+    public FormXmlDefinitionsDirectoryWatcher(final FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader, final ConcurrentFormDefinitions concurrentFormDefinitions, final long pollInterval) {
+        super();
+        _formXmlDefinitionsFileLoader = formXmlDefinitionsFileLoader;
+        _concurrentFormDefinitions = concurrentFormDefinitions;
+        _pollInterval = pollInterval;
+        _lock = new Object();
+        _fileStates = new HashMap<>();
+        _watchService = null;
+        _started = false;
+        _polling = false;
+        _closed = false;
+        _stopped = false;
+        _lastException = null;
+    }
+
+    /**
+     * Load the changed, added and removed source files and publish the result. The first call loads all source files.
+     *
+     * @return true if the new form definitions are published.
+     */
+    public boolean refresh() {
+        synchronized (_lock) {
+            Map<String, FileState> fileStates = new HashMap<>();
+            Map<String, List<FormDefinition>> sourceFormDefinitions = new HashMap<>();
+            for (File file : _formXmlDefinitionsFileLoader.getSourceFiles()) {
+                if (!file.isFile()) {
+                    continue;
+                }
+                String source = file.getAbsolutePath();
+                FileState oldFileState = _fileStates.get(source);
+                FileState newFileState = getFileState(file, oldFileState);
+                fileStates.put(source, newFileState);
+                if (oldFileState == null || !oldFileState.isContentEquals(newFileState)) {
+                    sourceFormDefinitions.put(source, _formXmlDefinitionsFileLoader.processFile(file));
+                }
+            }
+            for (String source : _fileStates.keySet()) {
+                if (!fileStates.containsKey(source)) {
+                    sourceFormDefinitions.put(source, new ArrayList<FormDefinition>());
+                }
+            }
+            if (sourceFormDefinitions.isEmpty()) {
+                _fileStates.putAll(fileStates);
+                return false;
+            } else {
+                _concurrentFormDefinitions.replaceFormDefinitions(sourceFormDefinitions);
+                _fileStates.clear();
+                _fileStates.putAll(fileStates);
+                return true;
+            }
+        }
+    }
+
+    private FileState getFileState(final File file, final FileState fileState) {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (fileState != null && fileState.isStatEquals(lastModified, length)) {
+            return fileState;
+        }
+        long checkTime = System.currentTimeMillis();
+        byte[] contentHash = FormDefinitionsSourceHash.getContentHash(file);
+        return new FileState(lastModified, length, checkTime, contentHash);
+    }
+
+    /**
+     * Start to watch the source directory with the specified executor. The executor runs the watch loop until
+     * this watcher is closed. The errors of the background refresh do not stop the watch loop, the last error
+     * is available with {@link #getLastException()}.
+     *
+     * @param executor the executor to run the watch loop.
+     */
+    public void start(final Executor executor) {
+        synchronized (_lock) {
+            if (_closed) {
+                throw new IllegalStateException("Watcher is closed");
+            }
+            if (_started) {
+                throw new IllegalStateException("Watcher is already started");
+            }
+            _started = true;
+            if (_formXmlDefinitionsFileLoader.getFile().isDirectory()) {
+                try {
+                    _watchService = FileSystems.getDefault().newWatchService();
+                    registerDirectories(_formXmlDefinitionsFileLoader.getFile().toPath());
+                } catch (IOException | InvalidPathException ex) {
+                    _polling = true;
+                }
+            } else {
+                _polling = true;
+            }
+        }
+        executor.execute(new WatchTask(this));
+    }
+
+    private void registerDirectories(final Path path) throws IOException {
+        DirectoryRegistrar directoryRegistrar = new DirectoryRegistrar(_watchService);
+        Files.walkFileTree(path, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, directoryRegistrar);
+    }
+
+    boolean isPolling() {
+        return _polling;
+    }
+
+    /**
+     * Get the error of the last background refresh.
+     *
+     * @return the error of the last background refresh or null if the last background refresh succeeded.
+     */
+    public FormModelException getLastException() {
+        return _lastException;
+    }
+
+    void watch() {
+        while (!_stopped) {
+            if (waitForChanges()) {
+                refreshInBackground();
+            }
+        }
+    }
+
+    private boolean waitForChanges() {
+        try {
+            if (_polling) {
+                Thread.sleep(_pollInterval);
+                _stopped = _closed;
+                return !_stopped;
+            }
+            WatchKey watchKey = _watchService.poll(_pollInterval, TimeUnit.MILLISECONDS);
+            if (watchKey == null) {
+                return false;
+            }
+            while (watchKey != null) {
+                processEvents(watchKey);
+                watchKey = _watchService.poll();
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            _stopped = true;
+            return false;
+        } catch (ClosedWatchServiceException ex) {
+            _stopped = true;
+            return false;
+        }
+    }
+
+    void processEvents(final WatchKey watchKey) {
+        Path path = _formXmlDefinitionsFileLoader.getFile().toPath();
+        try {
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    registerDirectories(path);
+                } else if (watchEvent.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    Path createdPath = ((Path) watchKey.watchable()).resolve((Path) watchEvent.context());
+                    if (Files.isDirectory(createdPath)) {
+                        registerDirectories(createdPath);
+                    }
+                }
+            }
+            if (!watchKey.reset() && !Files.isDirectory(path)) {
+                _polling = true;
+            }
+        } catch (IOException ex) {
+            _polling = true;
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+            _lastException = null;
+        } catch (FormModelException ex) {
+            _lastException = ex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (_lock) {
+            _closed = true;
+            if (_watchService != null) {
+                _watchService.close();
+            }
+        }
+    }
+
+    /**
+     * The state of the source file.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class FileState {
+
+        private final long _lastModified;
+
+        private final long _length;
+
+        private final long _checkTime;
+
+        private final byte[] _contentHash;
+
+        FileState(final long lastModified, final long length, final long checkTime, final byte[] contentHash) {
+            super();
+            _lastModified = lastModified;
+            _length = length;
+            _checkTime = checkTime;
+            _contentHash = contentHash;
+        }
+
+        boolean isStatEquals(final long lastModified, final long length) {
+            return _lastModified == lastModified && _length == length && lastModified + MODIFICATION_TIME_RESOLUTION < _checkTime;
+        }
+
+        boolean isContentEquals(final FileState fileState) {
+            return Arrays.equals(_contentHash, fileState._contentHash);
+        }
+
+    }
+
+    /**
+     * Task to run the watch loop.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class WatchTask implements Runnable {
+
+        private final FormXmlDefinitionsDirectoryWatcher _formXmlDefinitionsDirectoryWatcher;
+
+        WatchTask(final FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher) {
+            super();
+            _formXmlDefinitionsDirectoryWatcher = formXmlDefinitionsDirectoryWatcher;
+        }
+
+        @Override
+        public void run() {
+            _formXmlDefinitionsDirectoryWatcher.watch();
+        }
+
+    }
+
+    /**
+     * File visitor to register the directories of the directory tree with the watch service.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class DirectoryRegistrar extends SimpleFileVisitor<Path> {
+
+        private final WatchService _watchService;
+
+        DirectoryRegistrar(final WatchService watchService) {
+            super();
+            _watchService = watchService;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+            dir.register(_watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            return FileVisitResult.CONTINUE;
+        }
+
+    }
+
+}
@@ -23,11 +23,22 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import ru.d_shap.fm.formmodel.InputSourceException;
 import ru.d_shap.fm.formmodel.XmlDocumentBuilderConfigurator;
@@ -46,6 +57,8 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
 
     private final FileFilter _fileFilter;
 
+    private final Executor _executor;
+
     /**
      * Create new object.
      *
@@ -55,6 +68,7 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super();
         _file = file;
         _fileFilter = getFileFilter(null);
+        _executor = null;
     }
 
     /**
@@ -67,6 +81,7 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super();
         _file = file;
         _fileFilter = getFileFilter(fileFilter);
+        _executor = null;
     }
 
     /**
@@ -79,6 +94,7 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super(xmlDocumentBuilderConfigurator);
         _file = file;
         _fileFilter = getFileFilter(null);
+        _executor = null;
     }
 
     /**
@@ -92,6 +108,7 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super(xmlDocumentBuilderConfigurator);
         _file = file;
         _fileFilter = getFileFilter(fileFilter);
+        _executor = null;
     }
 
     /**
@@ -104,6 +121,7 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super(formXmlDefinitionsLoader);
         _file = file;
         _fileFilter = getFileFilter(null);
+        _executor = null;
     }
 
     /**
@@ -117,6 +135,14 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         super(formXmlDefinitionsLoader);
         _file = file;
         _fileFilter = getFileFilter(fileFilter);
+        _executor = null;
+    }
+
+    private FormXmlDefinitionsFileLoader(final FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader, final Executor executor) {
+        super(formXmlDefinitionsFileLoader);
+        _file = formXmlDefinitionsFileLoader._file;
+        _fileFilter = formXmlDefinitionsFileLoader._fileFilter;
+        _executor = executor;
     }
 
     private FileFilter getFileFilter(final FileFilter fileFilter) {
@@ -127,11 +153,34 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         }
     }
 
+    File getFile() {
+        return _file;
+    }
+
+    /**
+     * Create new loader, that loads the files of the source directory in parallel with the specified executor.
+     * The directory tree is walked first, then every file is parsed, validated and built by the executor,
+     * and the form definitions are merged in the path order of the files. The new loader shares the XML
+     * document builder, the XML document validator and the form definition builders with this loader,
+     * so the other node XML definition builders must be thread-safe.
+     *
+     * @param executor the executor to load the files.
+     *
+     * @return new loader.
+     */
+    public FormXmlDefinitionsFileLoader addExecutor(final Executor executor) {
+        return new FormXmlDefinitionsFileLoader(this, executor);
+    }
+
     @Override
     public List<FormDefinition> load() {
         List<FormDefinition> formDefinitions = new ArrayList<>();
         if (_file.isDirectory()) {
-            processDirectory(_file, _fileFilter, formDefinitions);
+            if (_executor == null) {
+                processDirectory(_file, _fileFilter, formDefinitions);
+            } else {
+                processDirectory(_file, _fileFilter, _executor, formDefinitions);
+            }
         } else {
             if (_fileFilter.accept(_file)) {
                 processFile(_file, formDefinitions);
@@ -140,6 +189,27 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         return formDefinitions;
     }
 
+    /**
+     * Get the source files of this loader in the path order. These are the files, that are loaded
+     * by this loader, for example, to compute the hash of the sources.
+     *
+     * @return the source files.
+     */
+    public List<File> getSourceFiles() {
+        List<File> files = new ArrayList<>();
+        if (_file.isDirectory()) {
+            List<Path> paths = getFilePaths(_file, _fileFilter);
+            for (Path path : paths) {
+                files.add(path.toFile());
+            }
+        } else {
+            if (_fileFilter.accept(_file)) {
+                files.add(_file);
+            }
+        }
+        return files;
+    }
+
     private void processDirectory(final File file, final FileFilter fileFilter, final List<FormDefinition> formDefinitions) {
         File[] childFiles = file.listFiles(fileFilter);
         if (childFiles != null) {
@@ -153,6 +223,53 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         }
     }
 
+    private void processDirectory(final File file, final FileFilter fileFilter, final Executor executor, final List<FormDefinition> formDefinitions) {
+        List<Path> paths = getFilePaths(file, fileFilter);
+        List<FutureTask<List<FormDefinition>>> tasks = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            FutureTask<List<FormDefinition>> task = new FutureTask<>(new FileLoadTask(this, path.toFile()));
+            tasks.add(task);
+            executor.execute(task);
+        }
+        for (FutureTask<List<FormDefinition>> task : tasks) {
+            formDefinitions.addAll(getTaskResult(task));
+        }
+    }
+
+    private List<Path> getFilePaths(final File file, final FileFilter fileFilter) {
+        try {
+            Path path = file.toPath();
+            FilePathCollector filePathCollector = new FilePathCollector(path, fileFilter);
+            Files.walkFileTree(path, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, filePathCollector);
+            List<Path> paths = filePathCollector.getPaths();
+            Collections.sort(paths);
+            return paths;
+        } catch (IOException | InvalidPathException ex) {
+            throw new InputSourceException(ex);
+        }
+    }
+
+    private List<FormDefinition> getTaskResult(final FutureTask<List<FormDefinition>> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InputSourceException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (RuntimeException) cause;
+        }
+    }
+
+    List<FormDefinition> processFile(final File file) {
+        List<FormDefinition> formDefinitions = new ArrayList<>();
+        processFile(file, formDefinitions);
+        return formDefinitions;
+    }
+
     private void processFile(final File file, final List<FormDefinition> formDefinitions) {
         try {
             String source = file.getAbsolutePath();
@@ -165,6 +282,73 @@ public final class FormXmlDefinitionsFileLoader extends FormXmlDefinitionsLoader
         }
     }
 
+    /**
+     * Task to load the form definitions from the file.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class FileLoadTask implements Callable<List<FormDefinition>> {
+
+        private final FormXmlDefinitionsFileLoader _formXmlDefinitionsFileLoader;
+
+        private final File _file;
+
+        FileLoadTask(final FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader, final File file) {
+            super();
+            _formXmlDefinitionsFileLoader = formXmlDefinitionsFileLoader;
+            _file = file;
+        }
+
+        @Override
+        public List<FormDefinition> call() {
+            return _formXmlDefinitionsFileLoader.processFile(_file);
+        }
+
+    }
+
+    /**
+     * File visitor to collect the accepted files of the directory tree.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class FilePathCollector extends SimpleFileVisitor<Path> {
+
+        private final Path _rootPath;
+
+        private final FileFilter _fileFilter;
+
+        private final List<Path> _paths;
+
+        FilePathCollector(final Path rootPath, final FileFilter fileFilter) {
+            super();
+            _rootPath = rootPath;
+            _fileFilter = fileFilter;
+            _paths = new ArrayList<>();
+        }
+
+        List<Path> getPaths() {
+            return _paths;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+            if (_rootPath.equals(dir) || _fileFilter.accept(dir.toFile())) {
+                return FileVisitResult.CONTINUE;
+            } else {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+            if (_fileFilter.accept(file.toFile())) {
+                _paths.add(file);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+    }
+
     /**
      * Default file filter.
      *
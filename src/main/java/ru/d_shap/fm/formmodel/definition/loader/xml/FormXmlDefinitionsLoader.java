@@ -21,6 +21,8 @@ package ru.d_shap.fm.formmodel.definition.loader.xml;
 
 import java.util.List;
 
+import javax.xml.validation.ValidatorHandler;
+
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
@@ -53,7 +55,7 @@ public abstract class FormXmlDefinitionsLoader extends FormDefinitionsLoader {
      */
     protected FormXmlDefinitionsLoader() {
         super();
-        _xmlDocumentBuilder = XmlDocumentBuilder.getDocumentBuilder(null);
+        _xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
         _xmlDocumentValidator = XmlDocumentValidator.getFormModelDocumentValidator();
         _otherNodeXmlDefinitionBuilders = ServiceFinder.find(OtherNodeXmlDefinitionBuilder.class);
         _formXmlDefinitionBuilder = new FormXmlDefinitionBuilderImpl(_otherNodeXmlDefinitionBuilders);
@@ -66,7 +68,7 @@ public abstract class FormXmlDefinitionsLoader extends FormDefinitionsLoader {
      */
     protected FormXmlDefinitionsLoader(final XmlDocumentBuilderConfigurator xmlDocumentBuilderConfigurator) {
         super();
-        _xmlDocumentBuilder = XmlDocumentBuilder.getDocumentBuilder(xmlDocumentBuilderConfigurator);
+        _xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator);
         _xmlDocumentValidator = XmlDocumentValidator.getFormModelDocumentValidator();
         _otherNodeXmlDefinitionBuilders = ServiceFinder.find(OtherNodeXmlDefinitionBuilder.class);
         _formXmlDefinitionBuilder = new FormXmlDefinitionBuilderImpl(_otherNodeXmlDefinitionBuilders);
@@ -96,6 +98,24 @@ public abstract class FormXmlDefinitionsLoader extends FormDefinitionsLoader {
         return _xmlDocumentBuilder.parse(inputSource);
     }
 
+    /**
+     * Create new XML document.
+     *
+     * @return new XML document.
+     */
+    protected final Document newDocument() {
+        return _xmlDocumentBuilder.newDocument();
+    }
+
+    /**
+     * Create new validator handler to validate the stream of SAX events against the schema.
+     *
+     * @return new validator handler.
+     */
+    protected final ValidatorHandler newValidatorHandler() {
+        return _xmlDocumentValidator.newValidatorHandler();
+    }
+
     /**
      * Validate the XML node against the schema.
      *
@@ -112,6 +132,21 @@ public abstract class FormXmlDefinitionsLoader extends FormDefinitionsLoader {
         }
     }
 
+    /**
+     * Validate the XML node with the other node builders only, without the schema validation.
+     *
+     * @param node the XML node to validate.
+     */
+    protected final void validateOtherNode(final Node node) {
+        try {
+            for (OtherNodeXmlDefinitionBuilder otherNodeXmlDefinitionBuilder : _otherNodeXmlDefinitionBuilders) {
+                otherNodeXmlDefinitionBuilder.validate(node);
+            }
+        } catch (SAXException ex) {
+            throw new FormDefinitionValidationException(ex);
+        }
+    }
+
     /**
      * Get the builder for the form definition.
      *
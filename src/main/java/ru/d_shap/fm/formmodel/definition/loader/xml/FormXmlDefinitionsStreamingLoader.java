@@ -0,0 +1,129 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.xml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.xml.sax.SAXException;
+
+import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.XmlDocumentBuilderConfigurator;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Streaming input stream loader for the form definitions, XML implementation. The form definitions are created
+ * directly from the XML stream in one pass, the XML document is not created. The stream is validated against
+ * the schema while it is read. Only the other node subtrees are created as the XML elements, so the other node
+ * builders validate and process these subtrees only.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormXmlDefinitionsStreamingLoader extends FormXmlDefinitionsLoader implements Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final InputStream _inputStream;
+
+    private final String _source;
+
+    /**
+     * Create new object.
+     *
+     * @param inputStream the source input stream.
+     * @param source      the form's source.
+     */
+    public FormXmlDefinitionsStreamingLoader(final InputStream inputStream, final String source) {
+        super();
+        _inputStream = inputStream;
+        _source = source;
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param xmlDocumentBuilderConfigurator configurator for the XML document builder.
+     * @param inputStream                    the source input stream.
+     * @param source                         the form's source.
+     */
+    public FormXmlDefinitionsStreamingLoader(final XmlDocumentBuilderConfigurator xmlDocumentBuilderConfigurator, final InputStream inputStream, final String source) {
+        super(xmlDocumentBuilderConfigurator);
+        _inputStream = inputStream;
+        _source = source;
+    }
+
+    /**
+     * Create new object.
+     *
+     * @param formXmlDefinitionsLoader loader for the form definitions.
+     * @param inputStream              the source input stream.
+     * @param source                   the form's source.
+     */
+    public FormXmlDefinitionsStreamingLoader(final FormXmlDefinitionsLoader formXmlDefinitionsLoader, final InputStream inputStream, final String source) {
+        super(formXmlDefinitionsLoader);
+        _inputStream = inputStream;
+        _source = source;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+
+    @Override
+    public List<FormDefinition> load() {
+        try {
+            XMLStreamReader xmlStreamReader = createXmlStreamReader();
+            try {
+                FormXmlDefinitionStreamReader formXmlDefinitionStreamReader = new FormXmlDefinitionStreamReader(this, xmlStreamReader);
+                return formXmlDefinitionStreamReader.read(_source);
+            } finally {
+                xmlStreamReader.close();
+            }
+        } catch (XMLStreamException ex) {
+            throw new InputSourceException(ex);
+        } catch (SAXException ex) {
+            throw new FormDefinitionValidationException(ex);
+        }
+    }
+
+    private XMLStreamReader createXmlStreamReader() throws XMLStreamException {
+        synchronized (XML_INPUT_FACTORY) {
+            return XML_INPUT_FACTORY.createXMLStreamReader(_inputStream);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        _inputStream.close();
+    }
+
+}
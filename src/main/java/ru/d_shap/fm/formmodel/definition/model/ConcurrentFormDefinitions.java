@@ -0,0 +1,159 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe container for all form definitions. The form definitions are published as the unmodifiable
+ * snapshots. Every modification creates and atomically publishes the new snapshot with the new version,
+ * so the readers obtain the latest snapshot without locking and are not affected by the concurrent modifications.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ConcurrentFormDefinitions {
+
+    private final Object _lock;
+
+    private final AtomicReference<Snapshot> _snapshot;
+
+    /**
+     * Create new object.
+     */
+    public ConcurrentFormDefinitions() {
+        this(new FormDefinitions());
+    }
+
+    /**
+     * Create new object with the copy of the specified form definitions.
+     *
+     * @param formDefinitions the specified form definitions.
+     */
+    public ConcurrentFormDefinitions(final FormDefinitions formDefinitions) {
+        super();
+        _lock = new Object();
+        _snapshot = new AtomicReference<>(new Snapshot(0L, formDefinitions.unmodifiableCopyOf()));
+    }
+
+    /**
+     * Get the latest unmodifiable snapshot of the form definitions.
+     *
+     * @return the latest unmodifiable snapshot of the form definitions.
+     */
+    public FormDefinitions getFormDefinitions() {
+        return _snapshot.get().getFormDefinitions();
+    }
+
+    /**
+     * Get the version of the latest snapshot of the form definitions.
+     *
+     * @return the version of the latest snapshot of the form definitions.
+     */
+    public long getVersion() {
+        return _snapshot.get().getVersion();
+    }
+
+    /**
+     * Add the specified form definitions and publish the new snapshot.
+     *
+     * @param formDefinitions the specified form definitions.
+     */
+    public void addFormDefinitions(final List<FormDefinition> formDefinitions) {
+        synchronized (_lock) {
+            FormDefinitions newFormDefinitions = getFormDefinitions().copyOf();
+            newFormDefinitions.addFormDefinitions(formDefinitions);
+            publish(newFormDefinitions);
+        }
+    }
+
+    /**
+     * Replace all form definitions of the specified source with the specified form definitions and publish
+     * the new snapshot. The form definitions of other sources, that reference the removed form definitions,
+     * are validated again, so the new snapshot is published only if it is still consistent.
+     *
+     * @param source          the specified source.
+     * @param formDefinitions the specified form definitions.
+     */
+    public void replaceFormDefinitions(final String source, final List<FormDefinition> formDefinitions) {
+        replaceFormDefinitions(Collections.singletonMap(source, formDefinitions));
+    }
+
+    /**
+     * Replace all form definitions of the specified sources and publish the new snapshot. The empty list of
+     * the form definitions removes the source. The form definitions of other sources, that reference the removed
+     * form definitions, are validated again, so the new snapshot is published only if it is still consistent.
+     *
+     * @param sourceFormDefinitions the new form definitions of the specified sources.
+     */
+    public void replaceFormDefinitions(final Map<String, List<FormDefinition>> sourceFormDefinitions) {
+        synchronized (_lock) {
+            FormDefinitions newFormDefinitions = getFormDefinitions().copyOf();
+            newFormDefinitions.replaceFormDefinitions(sourceFormDefinitions);
+            publish(newFormDefinitions);
+        }
+    }
+
+    /**
+     * Remove all form definitions of the specified source and publish the new snapshot. The form definitions
+     * of other sources, that reference the removed form definitions, are validated again, so the new snapshot
+     * is published only if it is still consistent.
+     *
+     * @param source the specified source.
+     */
+    public void removeFormDefinitions(final String source) {
+        replaceFormDefinitions(source, Collections.<FormDefinition>emptyList());
+    }
+
+    private void publish(final FormDefinitions formDefinitions) {
+        long version = _snapshot.get().getVersion() + 1;
+        _snapshot.set(new Snapshot(version, formDefinitions.unmodifiableCopyOf()));
+    }
+
+    /**
+     * The published snapshot of the form definitions.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class Snapshot {
+
+        private final long _version;
+
+        private final FormDefinitions _formDefinitions;
+
+        Snapshot(final long version, final FormDefinitions formDefinitions) {
+            super();
+            _version = version;
+            _formDefinitions = formDefinitions;
+        }
+
+        long getVersion() {
+            return _version;
+        }
+
+        FormDefinitions getFormDefinitions() {
+            return _formDefinitions;
+        }
+
+    }
+
+}
@@ -43,27 +43,98 @@ public final class FormDefinitions {
 
     private final Map<FormDefinitionKey, FormDefinition> _formDefinitions;
 
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _referencedFormDefinitionKeys;
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _dependentFormDefinitionKeys;
+
+    private final boolean _modifiable;
+
+    private FormReferenceGraph _formReferenceGraph;
+
     /**
      * Create new object.
      */
     public FormDefinitions() {
+        this(true);
+    }
+
+    private FormDefinitions(final boolean modifiable) {
         super();
         _formDefinitionsValidator = new FormDefinitionsValidator();
         _formSources = new HashMap<>();
         _formDefinitions = new HashMap<>();
+        _referencedFormDefinitionKeys = new HashMap<>();
+        _dependentFormDefinitionKeys = new HashMap<>();
+        _modifiable = modifiable;
+        _formReferenceGraph = null;
     }
 
     /**
-     * Add the specified form definitions to this container.
+     * Add the specified form definitions to this container. Only the specified form definitions are validated,
+     * so the form definitions can be added in many small batches. The form definitions, that create the cycle
+     * of the form references, are not valid.
      *
      * @param formDefinitions the specified form definitions.
      */
     public void addFormDefinitions(final List<FormDefinition> formDefinitions) {
-        _formDefinitionsValidator.validate(_formSources, formDefinitions);
+        checkModifiable();
+        Map<FormDefinitionKey, Set<FormDefinitionKey>> newReferencedFormDefinitionKeys = _formDefinitionsValidator.validateAndGetReferencedFormDefinitionKeys(_formSources, formDefinitions);
+        putFormDefinitions(formDefinitions, newReferencedFormDefinitionKeys);
+    }
+
+    /**
+     * Add the specified form definitions to this container without the full validation. Only the uniqueness of the
+     * form definitions and the cycles of the form references are checked. Only the form definitions, that were
+     * validated before, should be added this way, for example, the form definitions restored from the snapshot.
+     *
+     * @param formDefinitions the specified form definitions.
+     */
+    public void addValidatedFormDefinitions(final List<FormDefinition> formDefinitions) {
+        checkModifiable();
+        Map<FormDefinitionKey, Set<FormDefinitionKey>> newReferencedFormDefinitionKeys = _formDefinitionsValidator.getReferencedFormDefinitionKeys(_formSources, formDefinitions);
+        putFormDefinitions(formDefinitions, newReferencedFormDefinitionKeys);
+    }
+
+    private void putFormDefinitions(final List<FormDefinition> formDefinitions, final Map<FormDefinitionKey, Set<FormDefinitionKey>> newReferencedFormDefinitionKeys) {
+        FormReferenceSorter formReferenceSorter = new FormReferenceSorter(_referencedFormDefinitionKeys, newReferencedFormDefinitionKeys);
+        for (FormDefinitionKey formDefinitionKey : newReferencedFormDefinitionKeys.keySet()) {
+            formReferenceSorter.sort(formDefinitionKey);
+        }
         for (FormDefinition formDefinition : formDefinitions) {
             FormDefinitionKey formDefinitionKey = new FormDefinitionKey(formDefinition);
-            _formSources.put(formDefinitionKey, formDefinition.getSource());
-            _formDefinitions.put(formDefinitionKey, formDefinition);
+            putFormDefinition(formDefinitionKey, formDefinition, newReferencedFormDefinitionKeys.get(formDefinitionKey));
+        }
+    }
+
+    private void putFormDefinition(final FormDefinitionKey formDefinitionKey, final FormDefinition formDefinition, final Set<FormDefinitionKey> referencedFormDefinitionKeys) {
+        _formSources.put(formDefinitionKey, formDefinition.getSource());
+        _formDefinitions.put(formDefinitionKey, formDefinition);
+        _referencedFormDefinitionKeys.put(formDefinitionKey, referencedFormDefinitionKeys);
+        _formReferenceGraph = null;
+        for (FormDefinitionKey referencedFormDefinitionKey : referencedFormDefinitionKeys) {
+            Set<FormDefinitionKey> dependentFormDefinitionKeys = _dependentFormDefinitionKeys.get(referencedFormDefinitionKey);
+            if (dependentFormDefinitionKeys == null) {
+                dependentFormDefinitionKeys = new HashSet<>();
+                _dependentFormDefinitionKeys.put(referencedFormDefinitionKey, dependentFormDefinitionKeys);
+            }
+            dependentFormDefinitionKeys.add(formDefinitionKey);
+        }
+    }
+
+    private void removeFormDefinition(final FormDefinitionKey formDefinitionKey) {
+        _formSources.remove(formDefinitionKey);
+        _formDefinitions.remove(formDefinitionKey);
+        removeDependentFormDefinitionKey(formDefinitionKey);
+        _formReferenceGraph = null;
+    }
+
+    private void removeDependentFormDefinitionKey(final FormDefinitionKey formDefinitionKey) {
+        for (FormDefinitionKey referencedFormDefinitionKey : _referencedFormDefinitionKeys.remove(formDefinitionKey)) {
+            Set<FormDefinitionKey> dependentFormDefinitionKeys = _dependentFormDefinitionKeys.get(referencedFormDefinitionKey);
+            dependentFormDefinitionKeys.remove(formDefinitionKey);
+            if (dependentFormDefinitionKeys.isEmpty()) {
+                _dependentFormDefinitionKeys.remove(referencedFormDefinitionKey);
+            }
         }
     }
 
@@ -73,12 +144,96 @@ public final class FormDefinitions {
      * @return the copy of the form definitions container.
      */
     public FormDefinitions copyOf() {
-        FormDefinitions formDefinitions = new FormDefinitions();
+        return createCopy(true);
+    }
+
+    /**
+     * Create the unmodifiable copy of the form definitions container.
+     *
+     * @return the unmodifiable copy of the form definitions container.
+     */
+    public FormDefinitions unmodifiableCopyOf() {
+        return createCopy(false);
+    }
+
+    private FormDefinitions createCopy(final boolean modifiable) {
+        FormDefinitions formDefinitions = new FormDefinitions(modifiable);
         formDefinitions._formSources.putAll(_formSources);
         formDefinitions._formDefinitions.putAll(_formDefinitions);
+        formDefinitions._referencedFormDefinitionKeys.putAll(_referencedFormDefinitionKeys);
+        for (Map.Entry<FormDefinitionKey, Set<FormDefinitionKey>> entry : _dependentFormDefinitionKeys.entrySet()) {
+            formDefinitions._dependentFormDefinitionKeys.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        formDefinitions._formReferenceGraph = _formReferenceGraph;
         return formDefinitions;
     }
 
+    /**
+     * Check if the form definitions can be added to this container.
+     *
+     * @return true if the form definitions can be added to this container.
+     */
+    public boolean isModifiable() {
+        return _modifiable;
+    }
+
+    void removeFormDefinitions(final String source) {
+        checkModifiable();
+        List<FormDefinitionKey> formDefinitionKeys = new ArrayList<>();
+        for (Map.Entry<FormDefinitionKey, String> entry : _formSources.entrySet()) {
+            if (entry.getValue().equals(source)) {
+                formDefinitionKeys.add(entry.getKey());
+            }
+        }
+        for (FormDefinitionKey formDefinitionKey : formDefinitionKeys) {
+            removeFormDefinition(formDefinitionKey);
+        }
+    }
+
+    void replaceFormDefinitions(final Map<String, List<FormDefinition>> sourceFormDefinitions) {
+        checkModifiable();
+        Set<FormDefinitionKey> removedFormDefinitionKeys = new HashSet<>();
+        for (Map.Entry<FormDefinitionKey, String> entry : _formSources.entrySet()) {
+            if (sourceFormDefinitions.containsKey(entry.getValue())) {
+                removedFormDefinitionKeys.add(entry.getKey());
+            }
+        }
+        for (FormDefinitionKey formDefinitionKey : removedFormDefinitionKeys) {
+            removeFormDefinition(formDefinitionKey);
+        }
+
+        List<FormDefinition> formDefinitions = new ArrayList<>();
+        for (List<FormDefinition> sourceFormDefinitionList : sourceFormDefinitions.values()) {
+            formDefinitions.addAll(sourceFormDefinitionList);
+        }
+        addFormDefinitions(formDefinitions);
+
+        Set<FormDefinitionKey> affectedFormDefinitionKeys = new HashSet<>();
+        List<FormDefinition> affectedFormDefinitions = new ArrayList<>();
+        for (FormDefinitionKey removedFormDefinitionKey : removedFormDefinitionKeys) {
+            Set<FormDefinitionKey> dependentFormDefinitionKeys = _dependentFormDefinitionKeys.get(removedFormDefinitionKey);
+            if (dependentFormDefinitionKeys != null) {
+                for (FormDefinitionKey dependentFormDefinitionKey : dependentFormDefinitionKeys) {
+                    FormDefinition formDefinition = _formDefinitions.get(dependentFormDefinitionKey);
+                    if (!sourceFormDefinitions.containsKey(formDefinition.getSource()) && affectedFormDefinitionKeys.add(dependentFormDefinitionKey)) {
+                        affectedFormDefinitions.add(formDefinition);
+                    }
+                }
+            }
+        }
+        if (!affectedFormDefinitions.isEmpty()) {
+            Map<FormDefinitionKey, String> unaffectedFormSources = new HashMap<>(_formSources);
+            unaffectedFormSources.keySet().removeAll(affectedFormDefinitionKeys);
+            _formDefinitionsValidator.validate(unaffectedFormSources, affectedFormDefinitions);
+        }
+    }
+
+    private void checkModifiable() {
+        if (!_modifiable) {
+            throw new UnsupportedOperationException("Form definitions container is unmodifiable");
+        }
+    }
+
     /**
      * Get the form definition for the specified form's ID.
      *
@@ -125,6 +280,21 @@ public final class FormDefinitions {
         }
     }
 
+    /**
+     * Get the graph of the form references between the form definitions of this container. The graph is created
+     * when it is requested the first time after the modification of this container.
+     *
+     * @return the graph of the form references.
+     */
+    public FormReferenceGraph getFormReferenceGraph() {
+        FormReferenceGraph formReferenceGraph = _formReferenceGraph;
+        if (formReferenceGraph == null) {
+            formReferenceGraph = new FormReferenceGraph(_referencedFormDefinitionKeys);
+            _formReferenceGraph = formReferenceGraph;
+        }
+        return formReferenceGraph;
+    }
+
     /**
      * Get all form definition groups.
      *
@@ -0,0 +1,145 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ru.d_shap.fm.formmodel.definition.FormDefinitionNotFoundException;
+
+/**
+ * Graph of the form references between the form definitions. The graph is immutable, the topological order,
+ * the reachable form definitions and the maximum depth of the form references are precomputed for every
+ * form definition, when the graph is created. The form references to the form definitions, that are not
+ * contained in the graph, are skipped.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormReferenceGraph {
+
+    private final List<FormDefinitionKey> _topologicalOrder;
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _referencedFormDefinitionKeys;
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _reachableFormDefinitionKeys;
+
+    private final Map<FormDefinitionKey, Integer> _maxDepths;
+
+    FormReferenceGraph(final Map<FormDefinitionKey, Set<FormDefinitionKey>> referencedFormDefinitionKeys) {
+        super();
+        FormReferenceSorter formReferenceSorter = new FormReferenceSorter(referencedFormDefinitionKeys, new HashMap<FormDefinitionKey, Set<FormDefinitionKey>>());
+        for (FormDefinitionKey formDefinitionKey : referencedFormDefinitionKeys.keySet()) {
+            formReferenceSorter.sort(formDefinitionKey);
+        }
+        _topologicalOrder = Collections.unmodifiableList(new ArrayList<>(formReferenceSorter.getSortedFormDefinitionKeys()));
+        _referencedFormDefinitionKeys = new HashMap<>();
+        _reachableFormDefinitionKeys = new HashMap<>();
+        _maxDepths = new HashMap<>();
+        for (FormDefinitionKey formDefinitionKey : _topologicalOrder) {
+            Set<FormDefinitionKey> formReferencedFormDefinitionKeys = new HashSet<>();
+            Set<FormDefinitionKey> formReachableFormDefinitionKeys = new HashSet<>();
+            int maxDepth = 0;
+            for (FormDefinitionKey referencedFormDefinitionKey : referencedFormDefinitionKeys.get(formDefinitionKey)) {
+                Integer referencedMaxDepth = _maxDepths.get(referencedFormDefinitionKey);
+                if (referencedMaxDepth != null) {
+                    formReferencedFormDefinitionKeys.add(referencedFormDefinitionKey);
+                    formReachableFormDefinitionKeys.add(referencedFormDefinitionKey);
+                    formReachableFormDefinitionKeys.addAll(_reachableFormDefinitionKeys.get(referencedFormDefinitionKey));
+                    maxDepth = Math.max(maxDepth, referencedMaxDepth + 1);
+                }
+            }
+            _referencedFormDefinitionKeys.put(formDefinitionKey, Collections.unmodifiableSet(formReferencedFormDefinitionKeys));
+            _reachableFormDefinitionKeys.put(formDefinitionKey, Collections.unmodifiableSet(formReachableFormDefinitionKeys));
+            _maxDepths.put(formDefinitionKey, maxDepth);
+        }
+    }
+
+    /**
+     * Get the keys of all form definitions in the topological order. The referenced form definitions
+     * precede the referencing form definitions.
+     *
+     * @return the keys of all form definitions in the topological order.
+     */
+    public List<FormDefinitionKey> getTopologicalOrder() {
+        return _topologicalOrder;
+    }
+
+    /**
+     * Get the keys of the form definitions, that are directly referenced by the specified form definition.
+     *
+     * @param formDefinitionKey the key of the specified form definition.
+     *
+     * @return the keys of the directly referenced form definitions.
+     */
+    public Set<FormDefinitionKey> getReferencedFormDefinitionKeys(final FormDefinitionKey formDefinitionKey) {
+        return getValue(_referencedFormDefinitionKeys, formDefinitionKey);
+    }
+
+    /**
+     * Get the keys of the form definitions, that are directly or transitively referenced by the specified
+     * form definition. These are all form definitions, that can be bound within the specified form definition.
+     *
+     * @param formDefinitionKey the key of the specified form definition.
+     *
+     * @return the keys of the reachable form definitions.
+     */
+    public Set<FormDefinitionKey> getReachableFormDefinitionKeys(final FormDefinitionKey formDefinitionKey) {
+        return getValue(_reachableFormDefinitionKeys, formDefinitionKey);
+    }
+
+    /**
+     * Check if the form definition is directly or transitively referenced by the specified form definition.
+     *
+     * @param formDefinitionKey          the key of the specified form definition.
+     * @param reachableFormDefinitionKey the key of the form definition to check.
+     *
+     * @return true if the form definition is directly or transitively referenced by the specified form definition.
+     */
+    public boolean isReachable(final FormDefinitionKey formDefinitionKey, final FormDefinitionKey reachableFormDefinitionKey) {
+        return getValue(_reachableFormDefinitionKeys, formDefinitionKey).contains(reachableFormDefinitionKey);
+    }
+
+    /**
+     * Get the maximum depth of the form references of the specified form definition. The form definition
+     * without the form references has the depth 0.
+     *
+     * @param formDefinitionKey the key of the specified form definition.
+     *
+     * @return the maximum depth of the form references.
+     */
+    public int getMaxDepth(final FormDefinitionKey formDefinitionKey) {
+        return getValue(_maxDepths, formDefinitionKey);
+    }
+
+    private <T> T getValue(final Map<FormDefinitionKey, T> map, final FormDefinitionKey formDefinitionKey) {
+        T value = map.get(formDefinitionKey);
+        if (value == null) {
+            throw new FormDefinitionNotFoundException(formDefinitionKey);
+        } else {
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ru.d_shap.fm.formmodel.Messages;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
+
+/**
+ * Topological sorter for the form definitions, that are linked by the form references. The referenced form definitions
+ * are sorted before the referencing form definitions. The form references to the unknown form definitions are skipped.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class FormReferenceSorter {
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _referencedFormDefinitionKeys;
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _newReferencedFormDefinitionKeys;
+
+    private final Map<FormDefinitionKey, Boolean> _visitedFormDefinitionKeys;
+
+    private final List<FormDefinitionKey> _path;
+
+    private final List<FormDefinitionKey> _sortedFormDefinitionKeys;
+
+    FormReferenceSorter(final Map<FormDefinitionKey, Set<FormDefinitionKey>> referencedFormDefinitionKeys, final Map<FormDefinitionKey, Set<FormDefinitionKey>> newReferencedFormDefinitionKeys) {
+        super();
+        _referencedFormDefinitionKeys = referencedFormDefinitionKeys;
+        _newReferencedFormDefinitionKeys = newReferencedFormDefinitionKeys;
+        _visitedFormDefinitionKeys = new HashMap<>();
+        _path = new ArrayList<>();
+        _sortedFormDefinitionKeys = new ArrayList<>();
+    }
+
+    void sort(final FormDefinitionKey formDefinitionKey) {
+        Boolean sorted = _visitedFormDefinitionKeys.get(formDefinitionKey);
+        if (sorted == null) {
+            Set<FormDefinitionKey> referencedFormDefinitionKeys = getReferencedFormDefinitionKeys(formDefinitionKey);
+            if (referencedFormDefinitionKeys != null) {
+                _visitedFormDefinitionKeys.put(formDefinitionKey, Boolean.FALSE);
+                _path.add(formDefinitionKey);
+                for (FormDefinitionKey referencedFormDefinitionKey : referencedFormDefinitionKeys) {
+                    sort(referencedFormDefinitionKey);
+                }
+                _path.remove(_path.size() - 1);
+                _visitedFormDefinitionKeys.put(formDefinitionKey, Boolean.TRUE);
+                _sortedFormDefinitionKeys.add(formDefinitionKey);
+            }
+        } else if (!sorted) {
+            List<FormDefinitionKey> cycleFormDefinitionKeys = new ArrayList<>(_path.subList(_path.indexOf(formDefinitionKey), _path.size()));
+            cycleFormDefinitionKeys.add(formDefinitionKey);
+            throw new FormDefinitionValidationException(Messages.Validation.getFormReferenceCycleIsFoundMessage(cycleFormDefinitionKeys));
+        }
+    }
+
+    private Set<FormDefinitionKey> getReferencedFormDefinitionKeys(final FormDefinitionKey formDefinitionKey) {
+        Set<FormDefinitionKey> referencedFormDefinitionKeys = _newReferencedFormDefinitionKeys.get(formDefinitionKey);
+        if (referencedFormDefinitionKeys == null) {
+            referencedFormDefinitionKeys = _referencedFormDefinitionKeys.get(formDefinitionKey);
+        }
+        return referencedFormDefinitionKeys;
+    }
+
+    List<FormDefinitionKey> getSortedFormDefinitionKeys() {
+        return _sortedFormDefinitionKeys;
+    }
+
+}
@@ -19,26 +19,30 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.definition.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import ru.d_shap.fm.formmodel.Messages;
 
 /**
- * Path of the nodes within the form.
+ * Path of the nodes within the form. The child node path shares the entries of the parent node path,
+ * so creating the child node path does not depend on the depth of the path.
  *
  * @author Dmitry Shapovalov
  */
 public final class NodePath {
 
-    private final List<NodePathEntry> _nodePathEntries;
+    private final NodePath _parentNodePath;
+
+    private final NodePathEntry _nodePathEntry;
+
+    private final int _size;
 
     /**
      * Create new object.
      */
     public NodePath() {
         super();
-        _nodePathEntries = new ArrayList<>();
+        _parentNodePath = null;
+        _nodePathEntry = null;
+        _size = 0;
     }
 
     /**
@@ -47,9 +51,10 @@ public final class NodePath {
      * @param representation the string representation of the node definition.
      */
     public NodePath(final String representation) {
-        this();
-        NodePathEntry nodePathEntry = new NodePathEntry(representation);
-        _nodePathEntries.add(nodePathEntry);
+        super();
+        _parentNodePath = null;
+        _nodePathEntry = new NodePathEntry(representation);
+        _size = 1;
     }
 
     /**
@@ -58,9 +63,10 @@ public final class NodePath {
      * @param nodeDefinition the node definition.
      */
     public NodePath(final NodeDefinition nodeDefinition) {
-        this();
-        NodePathEntry nodePathEntry = new NodePathEntry(nodeDefinition);
-        _nodePathEntries.add(nodePathEntry);
+        super();
+        _parentNodePath = null;
+        _nodePathEntry = new NodePathEntry(nodeDefinition);
+        _size = 1;
     }
 
     /**
@@ -70,10 +76,10 @@ public final class NodePath {
      * @param representation the string representation of the node definition.
      */
     public NodePath(final NodePath nodePath, final String representation) {
-        this();
-        _nodePathEntries.addAll(nodePath._nodePathEntries);
-        NodePathEntry nodePathEntry = new NodePathEntry(representation);
-        _nodePathEntries.add(nodePathEntry);
+        super();
+        _parentNodePath = nodePath;
+        _nodePathEntry = new NodePathEntry(representation);
+        _size = nodePath._size + 1;
     }
 
     /**
@@ -83,20 +89,30 @@ public final class NodePath {
      * @param nodeDefinition the node definition.
      */
     public NodePath(final NodePath nodePath, final NodeDefinition nodeDefinition) {
-        this();
-        _nodePathEntries.addAll(nodePath._nodePathEntries);
-        NodePathEntry nodePathEntry = new NodePathEntry(nodeDefinition);
-        _nodePathEntries.add(nodePathEntry);
+        super();
+        _parentNodePath = nodePath;
+        _nodePathEntry = new NodePathEntry(nodeDefinition);
+        _size = nodePath._size + 1;
     }
 
     @Override
     public String toString() {
+        NodePathEntry[] nodePathEntries = new NodePathEntry[_size];
+        int index = _size;
+        NodePath currentNodePath = this;
+        while (currentNodePath != null) {
+            if (currentNodePath._nodePathEntry != null) {
+                index--;
+                nodePathEntries[index] = currentNodePath._nodePathEntry;
+            }
+            currentNodePath = currentNodePath._parentNodePath;
+        }
         StringBuilder result = new StringBuilder();
-        for (int i = 0; i < _nodePathEntries.size(); i++) {
+        for (int i = 0; i < nodePathEntries.length; i++) {
             if (i > 0) {
                 result.append(Messages.SEPARATOR);
             }
-            result.append(_nodePathEntries.get(i));
+            result.append(nodePathEntries[i]);
         }
         return result.toString();
     }
@@ -28,21 +28,21 @@ import ru.d_shap.fm.formmodel.utils.NullValueHelper;
  */
 final class NodePathEntry {
 
-    private final String _representation;
+    private final Object _value;
 
     NodePathEntry(final String representation) {
         super();
-        _representation = NullValueHelper.getValue(representation);
+        _value = representation;
     }
 
     NodePathEntry(final NodeDefinition nodeDefinition) {
         super();
-        _representation = NullValueHelper.getValue(nodeDefinition);
+        _value = nodeDefinition;
     }
 
     @Override
     public String toString() {
-        return _representation;
+        return NullValueHelper.getValue(_value);
     }
 
 }
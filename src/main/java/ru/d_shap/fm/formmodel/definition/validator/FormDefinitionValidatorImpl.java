@@ -20,8 +20,10 @@
 package ru.d_shap.fm.formmodel.definition.validator;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import ru.d_shap.fm.formmodel.Messages;
@@ -76,14 +78,30 @@ final class FormDefinitionValidatorImpl implements FormDefinitionValidator {
 
     private static final CardinalityDefinition[] SINGLE_ELEMENT_WITHIN_SINGLE_ELEMENT_CARDINALITY = {CardinalityDefinition.OPTIONAL};
 
-    private final Set<FormDefinitionKey> _allFormDefinitionKeys;
+    private final Set<FormDefinitionKey> _formDefinitionKeys;
+
+    private final Set<FormDefinitionKey> _newFormDefinitionKeys;
 
     private final List<OtherNodeDefinitionValidator> _otherNodeDefinitionValidators;
 
-    FormDefinitionValidatorImpl(final Set<FormDefinitionKey> allFormDefinitionKeys, final List<OtherNodeDefinitionValidator> otherNodeDefinitionValidators) {
+    private final boolean _validating;
+
+    private final Map<FormDefinitionKey, Set<FormDefinitionKey>> _referencedFormDefinitionKeys;
+
+    private Set<FormDefinitionKey> _currentReferencedFormDefinitionKeys;
+
+    FormDefinitionValidatorImpl(final Set<FormDefinitionKey> formDefinitionKeys, final Set<FormDefinitionKey> newFormDefinitionKeys, final List<OtherNodeDefinitionValidator> otherNodeDefinitionValidators) {
+        this(formDefinitionKeys, newFormDefinitionKeys, otherNodeDefinitionValidators, true);
+    }
+
+    FormDefinitionValidatorImpl(final Set<FormDefinitionKey> formDefinitionKeys, final Set<FormDefinitionKey> newFormDefinitionKeys, final List<OtherNodeDefinitionValidator> otherNodeDefinitionValidators, final boolean validating) {
         super();
-        _allFormDefinitionKeys = new HashSet<>(allFormDefinitionKeys);
+        _formDefinitionKeys = formDefinitionKeys;
+        _newFormDefinitionKeys = newFormDefinitionKeys;
         _otherNodeDefinitionValidators = new ArrayList<>(otherNodeDefinitionValidators);
+        _validating = validating;
+        _referencedFormDefinitionKeys = new HashMap<>();
+        _currentReferencedFormDefinitionKeys = new HashSet<>();
     }
 
     @Override
@@ -114,20 +132,23 @@ final class FormDefinitionValidatorImpl implements FormDefinitionValidator {
 
     @Override
     public void validateSource(final String source, final NodePath nodePath) {
-        if (isBlankString(source)) {
+        if (_validating && isBlankString(source)) {
             throw new FormDefinitionValidationException(Messages.Validation.getSourceIsEmptyMessage(), nodePath);
         }
     }
 
     @Override
     public void validateGroup(final String group, final NodePath nodePath) {
-        if (!isEmptyString(group) && !isStringHasValidCharacters(group)) {
+        if (_validating && !isEmptyString(group) && !isStringHasValidCharacters(group)) {
             throw new FormDefinitionValidationException(Messages.Validation.getGroupIsNotValidMessage(group), nodePath);
         }
     }
 
     @Override
     public void validateId(final String id, final boolean emptyIsValid, final NodePath nodePath) {
+        if (!_validating) {
+            return;
+        }
         if (emptyIsValid) {
             if (!isEmptyString(id) && !isStringHasValidCharacters(id)) {
                 throw new FormDefinitionValidationException(Messages.Validation.getIdIsNotValidMessage(id), nodePath);
@@ -144,13 +165,16 @@ final class FormDefinitionValidatorImpl implements FormDefinitionValidator {
 
     @Override
     public void validateLookup(final String lookup, final NodePath nodePath) {
-        if (isBlankString(lookup)) {
+        if (_validating && isBlankString(lookup)) {
             throw new FormDefinitionValidationException(Messages.Validation.getLookupIsEmptyMessage(), nodePath);
         }
     }
 
     @Override
     public void validateCardinalityDefinition(final CardinalityDefinition cardinalityDefinition, final CardinalityDefinition[] validCardinalityDefinitions, final NodePath nodePath) {
+        if (!_validating) {
+            return;
+        }
         if (cardinalityDefinition == null) {
             throw new FormDefinitionValidationException(Messages.Validation.getCardinalityDefinitionIsEmptyMessage(), nodePath);
         }
@@ -168,13 +192,20 @@ final class FormDefinitionValidatorImpl implements FormDefinitionValidator {
 
     @Override
     public void validateFormDefinitionKey(final FormDefinitionKey formDefinitionKey, final NodePath nodePath) {
-        if (!_allFormDefinitionKeys.contains(formDefinitionKey)) {
+        if (_validating && !_formDefinitionKeys.contains(formDefinitionKey) && !_newFormDefinitionKeys.contains(formDefinitionKey)) {
             throw new FormDefinitionValidationException(Messages.Validation.getFormDefinitionKeyIsNotValidMessage(formDefinitionKey), nodePath);
         }
+        _currentReferencedFormDefinitionKeys.add(formDefinitionKey);
+    }
+
+    Map<FormDefinitionKey, Set<FormDefinitionKey>> getReferencedFormDefinitionKeys() {
+        return _referencedFormDefinitionKeys;
     }
 
     void validateFormDefinition(final FormDefinition formDefinition) {
         NodePath currentNodePath = new NodePath(formDefinition);
+        _currentReferencedFormDefinitionKeys = new HashSet<>();
+        _referencedFormDefinitionKeys.put(new FormDefinitionKey(formDefinition), _currentReferencedFormDefinitionKeys);
 
         validateSource(formDefinition.getSource(), currentNodePath);
         validateGroup(formDefinition.getGroup(), currentNodePath);
@@ -317,7 +348,17 @@ final class FormDefinitionValidatorImpl implements FormDefinitionValidator {
     @Override
     public void validateOtherNodeDefinition(final NodeDefinition parentNodeDefinition, final OtherNodeDefinition otherNodeDefinition, final NodePath nodePath) {
         for (OtherNodeDefinitionValidator otherNodeDefinitionValidator : _otherNodeDefinitionValidators) {
+            delegateOtherNodeDefinition(otherNodeDefinitionValidator, parentNodeDefinition, otherNodeDefinition, nodePath);
+        }
+    }
+
+    private void delegateOtherNodeDefinition(final OtherNodeDefinitionValidator otherNodeDefinitionValidator, final NodeDefinition parentNodeDefinition, final OtherNodeDefinition otherNodeDefinition, final NodePath nodePath) {
+        try {
             otherNodeDefinitionValidator.validate(parentNodeDefinition, otherNodeDefinition, this, nodePath);
+        } catch (FormDefinitionValidationException ex) {
+            if (_validating) {
+                throw ex;
+            }
         }
     }
 
@@ -22,6 +22,7 @@ package ru.d_shap.fm.formmodel.definition.validator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import ru.d_shap.fm.formmodel.Messages;
 import ru.d_shap.fm.formmodel.ServiceFinder;
@@ -47,28 +48,74 @@ public final class FormDefinitionsValidator {
     }
 
     /**
-     * Validate the specified form definitions.
+     * Validate the specified form definitions. Only the specified form definitions are validated, the currently
+     * validated form definition sources are used as is to check the uniqueness of the form definitions and to resolve
+     * the form references, so the cost of the validation does not depend on the number of the currently validated
+     * form definitions.
      *
      * @param formSources     currently validated form definition sources.
      * @param formDefinitions the specified form definitions.
      */
     public void validate(final Map<FormDefinitionKey, String> formSources, final List<FormDefinition> formDefinitions) {
-        Map<FormDefinitionKey, String> allFormSources = new HashMap<>(formSources);
+        validateAndGetReferencedFormDefinitionKeys(formSources, formDefinitions);
+    }
+
+    /**
+     * Validate the specified form definitions and get the form definition keys referenced by them, see
+     * {@link #validate(Map, List)}. The form references of every specified form definition are collected during
+     * the validation, including the form references of the other node definitions.
+     *
+     * @param formSources     currently validated form definition sources.
+     * @param formDefinitions the specified form definitions.
+     *
+     * @return the form definition keys referenced by every specified form definition.
+     */
+    public Map<FormDefinitionKey, Set<FormDefinitionKey>> validateAndGetReferencedFormDefinitionKeys(final Map<FormDefinitionKey, String> formSources, final List<FormDefinition> formDefinitions) {
+        Map<FormDefinitionKey, String> newFormSources = validateUniqueness(formSources, formDefinitions);
+        FormDefinitionValidatorImpl formDefinitionValidator = new FormDefinitionValidatorImpl(formSources.keySet(), newFormSources.keySet(), _otherNodeDefinitionValidators);
+        return traverseFormDefinitions(formDefinitionValidator, formDefinitions);
+    }
+
+    /**
+     * Get the form definition keys referenced by the specified form definitions. Only the uniqueness of the specified
+     * form definitions is validated. The form definitions are traversed the same way as they are validated, so the form
+     * references of the other node definitions are collected too.
+     *
+     * @param formSources     currently validated form definition sources.
+     * @param formDefinitions the specified form definitions.
+     *
+     * @return the form definition keys referenced by every specified form definition.
+     */
+    public Map<FormDefinitionKey, Set<FormDefinitionKey>> getReferencedFormDefinitionKeys(final Map<FormDefinitionKey, String> formSources, final List<FormDefinition> formDefinitions) {
+        Map<FormDefinitionKey, String> newFormSources = validateUniqueness(formSources, formDefinitions);
+        FormDefinitionValidatorImpl formDefinitionValidator = new FormDefinitionValidatorImpl(formSources.keySet(), newFormSources.keySet(), _otherNodeDefinitionValidators, false);
+        return traverseFormDefinitions(formDefinitionValidator, formDefinitions);
+    }
+
+    private Map<FormDefinitionKey, String> validateUniqueness(final Map<FormDefinitionKey, String> formSources, final List<FormDefinition> formDefinitions) {
+        Map<FormDefinitionKey, String> newFormSources = new HashMap<>();
         for (FormDefinition formDefinition : formDefinitions) {
             FormDefinitionKey formDefinitionKey = new FormDefinitionKey(formDefinition);
-            if (allFormSources.containsKey(formDefinitionKey)) {
-                String source1 = allFormSources.get(formDefinitionKey);
+            if (formSources.containsKey(formDefinitionKey)) {
+                String source1 = formSources.get(formDefinitionKey);
                 String source2 = formDefinition.getSource();
                 throw new FormDefinitionValidationException(Messages.Validation.getFormDefinitionIsNotUniqueMessage(formDefinitionKey, source1, source2));
-            } else {
-                allFormSources.put(formDefinitionKey, formDefinition.getSource());
             }
+            if (newFormSources.containsKey(formDefinitionKey)) {
+                String source1 = newFormSources.get(formDefinitionKey);
+                String source2 = formDefinition.getSource();
+                throw new FormDefinitionValidationException(Messages.Validation.getFormDefinitionIsNotUniqueMessage(formDefinitionKey, source1, source2));
+            }
+            newFormSources.put(formDefinitionKey, formDefinition.getSource());
         }
+        return newFormSources;
+    }
 
-        FormDefinitionValidatorImpl formDefinitionValidator = new FormDefinitionValidatorImpl(allFormSources.keySet(), _otherNodeDefinitionValidators);
+    private Map<FormDefinitionKey, Set<FormDefinitionKey>> traverseFormDefinitions(final FormDefinitionValidatorImpl formDefinitionValidator, final List<FormDefinition> formDefinitions) {
         for (FormDefinition formDefinition : formDefinitions) {
             formDefinitionValidator.validateFormDefinition(formDefinition);
         }
+        return formDefinitionValidator.getReferencedFormDefinitionKeys();
     }
 
 }
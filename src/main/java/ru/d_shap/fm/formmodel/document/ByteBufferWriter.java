@@ -0,0 +1,142 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.document;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+/**
+ * Writer, that encodes the characters directly to the byte buffer. If the channel is specified, the byte buffer
+ * is written to the channel every time it is full. If the byte buffer is growable, the new byte buffer with the double
+ * capacity is allocated every time it is full. Otherwise the characters, that do not fit the byte buffer, cause
+ * the exception.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class ByteBufferWriter extends Writer {
+
+    private static final int CHAR_BUFFER_SIZE = 1024;
+
+    private final CharsetEncoder _charsetEncoder;
+
+    private ByteBuffer _byteBuffer;
+
+    private final WritableByteChannel _channel;
+
+    private final boolean _growable;
+
+    private final CharBuffer _charBuffer;
+
+    ByteBufferWriter(final CharsetEncoder charsetEncoder, final ByteBuffer byteBuffer, final WritableByteChannel channel) {
+        super();
+        _charsetEncoder = charsetEncoder;
+        _byteBuffer = byteBuffer;
+        _channel = channel;
+        _growable = false;
+        _charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    }
+
+    ByteBufferWriter(final CharsetEncoder charsetEncoder, final int capacity) {
+        super();
+        _charsetEncoder = charsetEncoder;
+        _byteBuffer = ByteBuffer.allocate(capacity);
+        _channel = null;
+        _growable = true;
+        _charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    }
+
+    ByteBuffer getByteBuffer() {
+        return _byteBuffer;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        int offset = off;
+        int end = off + len;
+        while (offset < end) {
+            int length = Math.min(end - offset, _charBuffer.remaining());
+            _charBuffer.put(cbuf, offset, length);
+            offset += length;
+            _charBuffer.flip();
+            encode(false);
+            _charBuffer.compact();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (_channel != null) {
+            writeToChannel();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Ignore
+    }
+
+    void finish() throws IOException {
+        _charBuffer.flip();
+        encode(true);
+        _charBuffer.clear();
+        CoderResult coderResult = _charsetEncoder.flush(_byteBuffer);
+        while (coderResult.isOverflow()) {
+            drainByteBuffer();
+            coderResult = _charsetEncoder.flush(_byteBuffer);
+        }
+        flush();
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+        CoderResult coderResult = _charsetEncoder.encode(_charBuffer, _byteBuffer, endOfInput);
+        while (coderResult.isOverflow()) {
+            drainByteBuffer();
+            coderResult = _charsetEncoder.encode(_charBuffer, _byteBuffer, endOfInput);
+        }
+    }
+
+    private void drainByteBuffer() throws IOException {
+        if (_growable) {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(_byteBuffer.capacity() * 2);
+            _byteBuffer.flip();
+            byteBuffer.put(_byteBuffer);
+            _byteBuffer = byteBuffer;
+        } else if (_channel == null) {
+            throw new IOException(new BufferOverflowException());
+        } else {
+            writeToChannel();
+        }
+    }
+
+    private void writeToChannel() throws IOException {
+        _byteBuffer.flip();
+        while (_byteBuffer.hasRemaining()) {
+            _channel.write(_byteBuffer);
+        }
+        _byteBuffer.clear();
+    }
+
+}
@@ -0,0 +1,291 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import ru.d_shap.fm.formmodel.binding.FormInstanceBuilder;
+import ru.d_shap.fm.formmodel.binding.model.BindedObject;
+
+/**
+ * Index of the attribute, element and single element instances of the binded document. The index maps
+ * the instance IDs and the instance attribute values to the instance elements and their binded objects in document order.
+ * The index is the snapshot of the document: it is built when it is added to the document and it is not updated
+ * on the document modification. The caller adds the index before the lookups and removes it after the lookups or
+ * before the document is modified. Only the elements of the form instance namespace are indexed.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class DocumentIndex {
+
+    public static final String USER_DATA_DOCUMENT_INDEX = DocumentIndex.class.getName() + "_DOCUMENT_INDEX__";
+
+    private static final Map<String, String> ID_ATTRIBUTE_NAMES = createIdAttributeNames();
+
+    private final Map<String, List<IndexedElement>> _elementsWithId;
+
+    private final Map<String, Map<String, List<IndexedElement>>> _elementsWithAttribute;
+
+    private DocumentIndex() {
+        super();
+        _elementsWithId = new HashMap<>();
+        _elementsWithAttribute = new HashMap<>();
+    }
+
+    private static Map<String, String> createIdAttributeNames() {
+        Map<String, String> idAttributeNames = new HashMap<>();
+        idAttributeNames.put(FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.ATTRIBUTE_INSTANCE_ATTRIBUTE_ID);
+        idAttributeNames.put(FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.ELEMENT_INSTANCE_ATTRIBUTE_ID);
+        idAttributeNames.put(FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME, FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID);
+        return Collections.unmodifiableMap(idAttributeNames);
+    }
+
+    /**
+     * Build the new index of the specified document and add it to the document. The previously added index is replaced.
+     *
+     * @param document the specified document.
+     *
+     * @return the new index.
+     */
+    public static DocumentIndex addDocumentIndex(final Document document) {
+        DocumentIndex documentIndex = new DocumentIndex();
+        Element documentElement = document.getDocumentElement();
+        if (documentElement != null) {
+            documentIndex.indexElement(documentElement);
+        }
+        document.setUserData(USER_DATA_DOCUMENT_INDEX, documentIndex, null);
+        return documentIndex;
+    }
+
+    /**
+     * Remove the index from the specified document.
+     *
+     * @param document the specified document.
+     */
+    public static void removeDocumentIndex(final Document document) {
+        document.setUserData(USER_DATA_DOCUMENT_INDEX, null, null);
+    }
+
+    /**
+     * Get the index of the document of the specified node.
+     *
+     * @param node the specified node.
+     *
+     * @return the index or null, if the document has no index.
+     */
+    public static DocumentIndex getDocumentIndex(final Node node) {
+        Document document;
+        if (node instanceof Document) {
+            document = (Document) node;
+        } else {
+            document = node.getOwnerDocument();
+        }
+        return (DocumentIndex) document.getUserData(USER_DATA_DOCUMENT_INDEX);
+    }
+
+    /**
+     * Get the indexed XML elements with the specified ID, that are the descendants of the specified node.
+     *
+     * @param node the specified node.
+     * @param id   the specified ID.
+     *
+     * @return the XML elements in document order.
+     */
+    public List<Element> getElementsWithId(final Node node, final String id) {
+        return getElements(node, getIndexedElements(_elementsWithId, id));
+    }
+
+    /**
+     * Get the binded objects of the indexed XML elements with the specified ID, that are the descendants of the specified node.
+     *
+     * @param node the specified node.
+     * @param id   the specified ID.
+     *
+     * @return the binded objects in document order.
+     */
+    public List<BindedObject> getBindedObjectsWithId(final Node node, final String id) {
+        return getBindedObjects(node, getIndexedElements(_elementsWithId, id));
+    }
+
+    /**
+     * Get the indexed XML elements with the specified attribute value for the specified attribute name, that are
+     * the descendants of the specified node.
+     *
+     * @param node           the specified node.
+     * @param attributeName  the specified attribute name.
+     * @param attributeValue the specified attribute value.
+     *
+     * @return the XML elements in document order.
+     */
+    public List<Element> getElementsWithAttribute(final Node node, final String attributeName, final String attributeValue) {
+        return getElements(node, getIndexedElementsWithAttribute(attributeName, attributeValue));
+    }
+
+    /**
+     * Get the binded objects of the indexed XML elements with the specified attribute value for the specified attribute name,
+     * that are the descendants of the specified node.
+     *
+     * @param node           the specified node.
+     * @param attributeName  the specified attribute name.
+     * @param attributeValue the specified attribute value.
+     *
+     * @return the binded objects in document order.
+     */
+    public List<BindedObject> getBindedObjectsWithAttribute(final Node node, final String attributeName, final String attributeValue) {
+        return getBindedObjects(node, getIndexedElementsWithAttribute(attributeName, attributeValue));
+    }
+
+    private List<IndexedElement> getIndexedElementsWithAttribute(final String attributeName, final String attributeValue) {
+        Map<String, List<IndexedElement>> elementsWithAttributeValue = _elementsWithAttribute.get(attributeName);
+        if (elementsWithAttributeValue == null) {
+            return Collections.emptyList();
+        } else {
+            return getIndexedElements(elementsWithAttributeValue, attributeValue);
+        }
+    }
+
+    private List<IndexedElement> getIndexedElements(final Map<String, List<IndexedElement>> indexedElements, final String key) {
+        List<IndexedElement> keyIndexedElements = indexedElements.get(key);
+        if (keyIndexedElements == null) {
+            return Collections.emptyList();
+        } else {
+            return keyIndexedElements;
+        }
+    }
+
+    private List<Element> getElements(final Node node, final List<IndexedElement> indexedElements) {
+        List<Element> result = new ArrayList<>();
+        for (IndexedElement indexedElement : indexedElements) {
+            if (isDescendant(node, indexedElement._element)) {
+                result.add(indexedElement._element);
+            }
+        }
+        return result;
+    }
+
+    private List<BindedObject> getBindedObjects(final Node node, final List<IndexedElement> indexedElements) {
+        List<BindedObject> result = new ArrayList<>();
+        for (IndexedElement indexedElement : indexedElements) {
+            if (indexedElement._bindedObject != null && isDescendant(node, indexedElement._element)) {
+                result.add(indexedElement._bindedObject);
+            }
+        }
+        return result;
+    }
+
+    private boolean isDescendant(final Node node, final Element element) {
+        Node parentNode = element.getParentNode();
+        while (parentNode != null) {
+            if (parentNode == node) {
+                return true;
+            }
+            parentNode = parentNode.getParentNode();
+        }
+        return false;
+    }
+
+    private void indexElement(final Element element) {
+        String idAttributeName = getIdAttributeName(element);
+        if (idAttributeName != null) {
+            IndexedElement indexedElement = new IndexedElement(element);
+            if (element.hasAttribute(idAttributeName)) {
+                addIndexedElement(_elementsWithId, element.getAttribute(idAttributeName), indexedElement);
+            }
+            indexAttributes(element, indexedElement);
+        }
+        NodeList nodeList = element.getChildNodes();
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node node = nodeList.item(i);
+            if (node instanceof Element) {
+                indexElement((Element) node);
+            }
+        }
+    }
+
+    private String getIdAttributeName(final Element element) {
+        if (FormInstanceBuilder.NAMESPACE.equals(element.getNamespaceURI())) {
+            return ID_ATTRIBUTE_NAMES.get(element.getLocalName());
+        } else {
+            return null;
+        }
+    }
+
+    private void indexAttributes(final Element element, final IndexedElement indexedElement) {
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attr = (Attr) attributes.item(i);
+            if (!XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                Map<String, List<IndexedElement>> elementsWithAttributeValue = _elementsWithAttribute.get(attr.getName());
+                if (elementsWithAttributeValue == null) {
+                    elementsWithAttributeValue = new HashMap<>();
+                    _elementsWithAttribute.put(attr.getName(), elementsWithAttributeValue);
+                }
+                addIndexedElement(elementsWithAttributeValue, attr.getValue(), indexedElement);
+            }
+        }
+    }
+
+    private void addIndexedElement(final Map<String, List<IndexedElement>> indexedElements, final String key, final IndexedElement indexedElement) {
+        List<IndexedElement> keyIndexedElements = indexedElements.get(key);
+        if (keyIndexedElements == null) {
+            keyIndexedElements = new ArrayList<>();
+            indexedElements.put(key, keyIndexedElements);
+        }
+        keyIndexedElements.add(indexedElement);
+    }
+
+    /**
+     * Indexed XML element with its binded object.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class IndexedElement {
+
+        private final Element _element;
+
+        private final BindedObject _bindedObject;
+
+        IndexedElement(final Element element) {
+            super();
+            _element = element;
+            Object bindedObject = element.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT);
+            if (bindedObject instanceof BindedObject) {
+                _bindedObject = (BindedObject) bindedObject;
+            } else {
+                _bindedObject = null;
+            }
+        }
+
+    }
+
+}
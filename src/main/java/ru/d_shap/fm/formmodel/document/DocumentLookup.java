@@ -20,13 +20,18 @@
 package ru.d_shap.fm.formmodel.document;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import javax.xml.namespace.QName;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import javax.xml.xpath.XPathVariableResolver;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -36,24 +41,65 @@ import ru.d_shap.fm.formmodel.binding.FormInstanceBuilder;
 import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
 import ru.d_shap.fm.formmodel.binding.model.BindedElement;
 import ru.d_shap.fm.formmodel.binding.model.BindedObject;
-import ru.d_shap.fm.formmodel.utils.IdentityHelper;
+import ru.d_shap.fm.formmodel.utils.IdentityCollector;
+import ru.d_shap.fm.formmodel.utils.LruCache;
 
 /**
- * Document lookup helper class.
+ * Document lookup helper class. The XPath objects and the compiled XPath expressions are cached per thread
+ * and shared by all instances, so the lookups of the different threads do not wait for each other.
+ * The lookups by ID and by attribute use the {@link DocumentIndex} if the caller added one to the document.
  *
  * @author Dmitry Shapovalov
  */
 public final class DocumentLookup {
 
-    private final XPath _xPath;
+    static final int XPATH_EXPRESSION_CACHE_SIZE = 256;
+
+    private static final int PARAMETERIZED_XPATH_EXPRESSION_CACHE_SIZE = 2;
+
+    private static final QName VARIABLE_ID = new QName("id");
+
+    private static final QName VARIABLE_ATTRIBUTE_NAME = new QName("attributeName");
+
+    private static final QName VARIABLE_ATTRIBUTE_VALUE = new QName("attributeValue");
+
+    private static final String ELEMENTS_WITH_ID_LOOKUP = createElementsWithIdLookup();
+
+    private static final String ELEMENTS_WITH_ATTRIBUTE_LOOKUP = createElementsWithAttributeLookup();
+
+    private static final ThreadLocal<XPathContext> XPATH_CONTEXTS = new ThreadLocal<>();
 
     /**
      * Create new object.
      */
     public DocumentLookup() {
         super();
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        _xPath = xPathFactory.newXPath();
+    }
+
+    private static String createElementsWithIdLookup() {
+        String namespaceCondition = "namespace-uri() = '" + FormInstanceBuilder.NAMESPACE + "'";
+        String attributeCondition = "local-name() = '" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ATTRIBUTE_ID + " = $" + VARIABLE_ID.getLocalPart();
+        String elementCondition = "local-name() = '" + FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.ELEMENT_INSTANCE_ATTRIBUTE_ID + " = $" + VARIABLE_ID.getLocalPart();
+        String singleElementCondition = "local-name() = '" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID + " = $" + VARIABLE_ID.getLocalPart();
+        return ".//*[" + namespaceCondition + " and (" + attributeCondition + " or " + elementCondition + " or " + singleElementCondition + ")]";
+    }
+
+    private static String createElementsWithAttributeLookup() {
+        String namespaceCondition = "namespace-uri() = '" + FormInstanceBuilder.NAMESPACE + "'";
+        String attributeCondition = "local-name() = '" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME + "'";
+        String elementCondition = "local-name() = '" + FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME + "'";
+        String singleElementCondition = "local-name() = '" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME + "'";
+        String lookupCondition = "@*[name() = $" + VARIABLE_ATTRIBUTE_NAME.getLocalPart() + "] = $" + VARIABLE_ATTRIBUTE_VALUE.getLocalPart();
+        return ".//*[" + namespaceCondition + " and (" + attributeCondition + " or " + elementCondition + " or " + singleElementCondition + ") and " + lookupCondition + "]";
+    }
+
+    private static XPathContext getXPathContext() {
+        XPathContext xPathContext = XPATH_CONTEXTS.get();
+        if (xPathContext == null) {
+            xPathContext = new XPathContext();
+            XPATH_CONTEXTS.set(xPathContext);
+        }
+        return xPathContext;
     }
 
     /**
@@ -65,6 +111,10 @@ public final class DocumentLookup {
         return new DocumentLookup();
     }
 
+    static XPathExpression getXPathExpression(final String lookup) throws XPathExpressionException {
+        return getXPathContext().getXPathExpression(lookup, false);
+    }
+
     /**
      * Perform lookup and return the XML elements found.
      *
@@ -74,9 +124,21 @@ public final class DocumentLookup {
      * @return the XML elements found.
      */
     public List<Element> getElements(final Node node, final String lookup) {
+        Map<QName, Object> variables = Collections.emptyMap();
+        return getElements(node, lookup, false, variables);
+    }
+
+    private List<Element> getElements(final Node node, final String lookup, final boolean parameterized, final Map<QName, Object> variables) {
         try {
-            XPathExpression xPathExpression = _xPath.compile(lookup);
-            NodeList nodeList = (NodeList) xPathExpression.evaluate(node, XPathConstants.NODESET);
+            XPathContext xPathContext = getXPathContext();
+            XPathExpression xPathExpression = xPathContext.getXPathExpression(lookup, parameterized);
+            NodeList nodeList;
+            xPathContext.setVariables(variables);
+            try {
+                nodeList = (NodeList) xPathExpression.evaluate(node, XPathConstants.NODESET);
+            } finally {
+                xPathContext.clearVariables();
+            }
             List<Element> elements = new ArrayList<>();
             for (int i = 0; i < nodeList.getLength(); i++) {
                 Node item = nodeList.item(i);
@@ -99,12 +161,13 @@ public final class DocumentLookup {
      * @return the XML elements found.
      */
     public List<Element> getElementsWithId(final Node node, final String id) {
-        String namespaceCondition = "namespace-uri() = '" + FormInstanceBuilder.NAMESPACE + "'";
-        String attributeCondition = "local-name() = '" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ATTRIBUTE_ID + " = '" + id + "'";
-        String elementCondition = "local-name() = '" + FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.ELEMENT_INSTANCE_ATTRIBUTE_ID + " = '" + id + "'";
-        String singleElementCondition = "local-name() = '" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME + "' and @" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ATTRIBUTE_ID + " = '" + id + "'";
-        String lookup = ".//*[" + namespaceCondition + " and (" + attributeCondition + " or " + elementCondition + " or " + singleElementCondition + ")]";
-        return getElements(node, lookup);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(node);
+        if (documentIndex != null) {
+            return documentIndex.getElementsWithId(node, id);
+        }
+        Map<QName, Object> variables = new HashMap<>();
+        variables.put(VARIABLE_ID, id);
+        return getElements(node, ELEMENTS_WITH_ID_LOOKUP, true, variables);
     }
 
     /**
@@ -117,13 +180,14 @@ public final class DocumentLookup {
      * @return the XML elements found.
      */
     public List<Element> getElementsWithAttribute(final Node node, final String attributeName, final String attributeValue) {
-        String namespaceCondition = "namespace-uri() = '" + FormInstanceBuilder.NAMESPACE + "'";
-        String attributeCondition = "local-name() = '" + FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME + "'";
-        String elementCondition = "local-name() = '" + FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME + "'";
-        String singleElementCondition = "local-name() = '" + FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME + "'";
-        String lookupCondition = "@" + attributeName + " = '" + attributeValue + "'";
-        String lookup = ".//*[" + namespaceCondition + " and (" + attributeCondition + " or " + elementCondition + " or " + singleElementCondition + ") and " + lookupCondition + "]";
-        return getElements(node, lookup);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(node);
+        if (documentIndex != null) {
+            return documentIndex.getElementsWithAttribute(node, attributeName, attributeValue);
+        }
+        Map<QName, Object> variables = new HashMap<>();
+        variables.put(VARIABLE_ATTRIBUTE_NAME, attributeName);
+        variables.put(VARIABLE_ATTRIBUTE_VALUE, attributeValue);
+        return getElements(node, ELEMENTS_WITH_ATTRIBUTE_LOOKUP, true, variables);
     }
 
     /**
@@ -147,21 +211,18 @@ public final class DocumentLookup {
      * @return the binded objects.
      */
     public <T extends BindedObject> List<T> getBindedObjects(final List<Element> elements, final Class<T> clazz) {
-        List<T> bindedObjects = new ArrayList<>();
+        IdentityCollector<T> bindedObjects = new IdentityCollector<>();
         for (Element element : elements) {
             getBindedObjects(element, bindedObjects, clazz);
         }
-        return bindedObjects;
+        return bindedObjects.toList();
     }
 
-    private <T extends BindedObject> void getBindedObjects(final Element element, final List<T> bindedObjects, final Class<T> bindedObjectClass) {
+    private <T extends BindedObject> void getBindedObjects(final Element element, final IdentityCollector<T> bindedObjects, final Class<T> bindedObjectClass) {
         Object bindedObject = element.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT);
         if (bindedObject != null) {
             if (bindedObjectClass.isInstance(bindedObject)) {
-                T castedBindedObject = bindedObjectClass.cast(bindedObject);
-                if (!IdentityHelper.contains(bindedObjects, castedBindedObject)) {
-                    bindedObjects.add(castedBindedObject);
-                }
+                bindedObjects.add(bindedObjectClass.cast(bindedObject));
             }
             return;
         }
@@ -222,4 +283,84 @@ public final class DocumentLookup {
         return getBindedObjects(elements, clazz);
     }
 
+    /**
+     * XPath objects and compiled XPath expressions of the thread.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class XPathContext {
+
+        private final XPath _xPath;
+
+        private final XPath _parameterizedXPath;
+
+        private final VariableResolver _variableResolver;
+
+        private final LruCache<String, XPathExpression> _xPathExpressions;
+
+        private final LruCache<String, XPathExpression> _parameterizedXPathExpressions;
+
+        XPathContext() {
+            super();
+            XPathFactory xPathFactory = XPathFactory.newInstance();
+            _xPath = xPathFactory.newXPath();
+            _parameterizedXPath = xPathFactory.newXPath();
+            _variableResolver = new VariableResolver();
+            _parameterizedXPath.setXPathVariableResolver(_variableResolver);
+            _xPathExpressions = new LruCache<>(XPATH_EXPRESSION_CACHE_SIZE);
+            _parameterizedXPathExpressions = new LruCache<>(PARAMETERIZED_XPATH_EXPRESSION_CACHE_SIZE);
+        }
+
+        XPathExpression getXPathExpression(final String lookup, final boolean parameterized) throws XPathExpressionException {
+            if (parameterized) {
+                return getXPathExpression(_parameterizedXPath, _parameterizedXPathExpressions, lookup);
+            } else {
+                return getXPathExpression(_xPath, _xPathExpressions, lookup);
+            }
+        }
+
+        private XPathExpression getXPathExpression(final XPath xPath, final LruCache<String, XPathExpression> xPathExpressions, final String lookup) throws XPathExpressionException {
+            XPathExpression xPathExpression = xPathExpressions.get(lookup);
+            if (xPathExpression == null) {
+                xPathExpression = xPath.compile(lookup);
+                xPathExpression = xPathExpressions.putIfAbsent(lookup, xPathExpression);
+            }
+            return xPathExpression;
+        }
+
+        void setVariables(final Map<QName, Object> variables) {
+            _variableResolver.setVariables(variables);
+        }
+
+        void clearVariables() {
+            _variableResolver.setVariables(null);
+        }
+
+    }
+
+    /**
+     * XPath variable resolver, that resolves the variables of the current lookup.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class VariableResolver implements XPathVariableResolver {
+
+        private Map<QName, Object> _variables;
+
+        VariableResolver() {
+            super();
+            _variables = null;
+        }
+
+        void setVariables(final Map<QName, Object> variables) {
+            _variables = variables;
+        }
+
+        @Override
+        public Object resolveVariable(final QName variableName) {
+            return _variables.get(variableName);
+        }
+
+    }
+
 }
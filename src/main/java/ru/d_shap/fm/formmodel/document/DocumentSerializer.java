@@ -0,0 +1,520 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.document;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Serializer, that writes the XML node to the writer without the transformer. The serializer walks the DOM tree
+ * and writes the escaped characters to the reusable buffer of the current thread. The namespace declarations are
+ * added for the namespaces, that are not declared in the serialized subtree. The namespace attributes without
+ * the prefix and the namespace attributes, which prefix is bound to the other namespace, are written with the prefix,
+ * that is already bound to the attribute's namespace, or with the generated prefix. The characters, that can not be encoded
+ * with the specified encoding, and the supplementary characters are written as the character references.
+ *
+ * @author Dmitry Shapovalov
+ */
+final class DocumentSerializer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<>();
+
+    private static final String XMLNS_PREFIX = XMLConstants.XMLNS_ATTRIBUTE + ":";
+
+    private static final String GENERATED_PREFIX = "ns";
+
+    private final Writer _writer;
+
+    private final CharsetEncoder _charsetEncoder;
+
+    private final char[] _buffer;
+
+    private int _position;
+
+    private NamespaceScope _namespaceScope;
+
+    DocumentSerializer(final Writer writer, final String encoding) {
+        super();
+        _writer = writer;
+        _charsetEncoder = getCharsetEncoder(encoding);
+        _buffer = getBuffer();
+        _position = 0;
+        _namespaceScope = null;
+    }
+
+    private static CharsetEncoder getCharsetEncoder(final String encoding) {
+        Charset charset = StandardCharsets.UTF_8;
+        try {
+            if (encoding != null && Charset.isSupported(encoding)) {
+                charset = Charset.forName(encoding);
+            }
+        } catch (IllegalArgumentException ex) {
+            charset = StandardCharsets.UTF_8;
+        }
+        if (charset.name().startsWith("UTF-")) {
+            return null;
+        } else {
+            return charset.newEncoder();
+        }
+    }
+
+    private static char[] getBuffer() {
+        char[] buffer = BUFFERS.get();
+        if (buffer == null) {
+            buffer = new char[BUFFER_SIZE];
+            BUFFERS.set(buffer);
+        }
+        return buffer;
+    }
+
+    static int getEstimatedLength(final Node node) {
+        int length = 0;
+        switch (node.getNodeType()) {
+            case Node.DOCUMENT_NODE:
+            case Node.DOCUMENT_FRAGMENT_NODE:
+            case Node.ENTITY_REFERENCE_NODE:
+                length += getEstimatedChildNodesLength(node);
+                break;
+            case Node.ELEMENT_NODE:
+                length += getEstimatedElementLength((Element) node);
+                break;
+            case Node.TEXT_NODE:
+                length += getEstimatedEscapedLength(node.getNodeValue());
+                break;
+            case Node.CDATA_SECTION_NODE:
+            case Node.COMMENT_NODE:
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                length += node.getNodeName().length() + node.getNodeValue().length() + 12;
+                break;
+            default:
+                break;
+        }
+        return length;
+    }
+
+    private static int getEstimatedChildNodesLength(final Node node) {
+        int length = 0;
+        NodeList childNodes = node.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            length += getEstimatedLength(childNodes.item(i));
+        }
+        return length;
+    }
+
+    private static int getEstimatedElementLength(final Element element) {
+        int length = element.getNodeName().length() * 2 + 5;
+        String namespaceUri = element.getNamespaceURI();
+        if (namespaceUri != null) {
+            length += namespaceUri.length() + element.getNodeName().length() + 10;
+        }
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Node attribute = attributes.item(i);
+            length += attribute.getNodeName().length() + getEstimatedEscapedLength(attribute.getNodeValue()) + 4;
+        }
+        length += getEstimatedChildNodesLength(element);
+        return length;
+    }
+
+    private static int getEstimatedEscapedLength(final String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '&':
+                case '\r':
+                case '\n':
+                case '\t':
+                    length += 4;
+                    break;
+                case '<':
+                case '>':
+                    length += 3;
+                    break;
+                case '"':
+                    length += 5;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return length;
+    }
+
+    void serialize(final Node node, final String xmlDeclaration) throws IOException {
+        if (xmlDeclaration != null) {
+            write(xmlDeclaration);
+        }
+        writeNode(node);
+        flush();
+    }
+
+    private void writeNode(final Node node) throws IOException {
+        switch (node.getNodeType()) {
+            case Node.DOCUMENT_NODE:
+            case Node.DOCUMENT_FRAGMENT_NODE:
+            case Node.ENTITY_REFERENCE_NODE:
+                writeChildNodes(node);
+                break;
+            case Node.ELEMENT_NODE:
+                writeElement((Element) node);
+                break;
+            case Node.TEXT_NODE:
+                writeEscaped(node.getNodeValue(), false);
+                break;
+            case Node.CDATA_SECTION_NODE:
+                writeCDataSection(node.getNodeValue());
+                break;
+            case Node.COMMENT_NODE:
+                writeComment(node.getNodeValue());
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                writeProcessingInstruction(node.getNodeName(), node.getNodeValue());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeChildNodes(final Node node) throws IOException {
+        NodeList childNodes = node.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            writeNode(childNodes.item(i));
+        }
+    }
+
+    private void writeElement(final Element element) throws IOException {
+        NamespaceScope parentNamespaceScope = _namespaceScope;
+        NamedNodeMap attributes = element.getAttributes();
+        write('<');
+        write(element.getNodeName());
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (isNamespaceDeclaration(attribute)) {
+                _namespaceScope = new NamespaceScope(_namespaceScope, getDeclaredPrefix(attribute), attribute.getValue());
+                writeAttribute(attribute.getNodeName(), attribute.getValue());
+            }
+        }
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (!isNamespaceDeclaration(attribute)) {
+                writeElementAttribute(element, attribute);
+            }
+        }
+        if (element.getLocalName() != null) {
+            declareNamespace(element.getPrefix(), element.getNamespaceURI());
+        }
+        if (element.hasChildNodes()) {
+            write('>');
+            writeChildNodes(element);
+            write("</");
+            write(element.getNodeName());
+            write('>');
+        } else {
+            write("/>");
+        }
+        _namespaceScope = parentNamespaceScope;
+    }
+
+    private boolean isNamespaceDeclaration(final Attr attribute) {
+        String name = attribute.getNodeName();
+        return XMLConstants.XMLNS_ATTRIBUTE.equals(name) || name.startsWith(XMLNS_PREFIX);
+    }
+
+    private String getDeclaredPrefix(final Attr attribute) {
+        String name = attribute.getNodeName();
+        if (XMLConstants.XMLNS_ATTRIBUTE.equals(name)) {
+            return XMLConstants.DEFAULT_NS_PREFIX;
+        } else {
+            return name.substring(XMLNS_PREFIX.length());
+        }
+    }
+
+    private void writeElementAttribute(final Element element, final Attr attribute) throws IOException {
+        String namespaceUri = attribute.getNamespaceURI();
+        if (namespaceUri == null) {
+            writeAttribute(attribute.getNodeName(), attribute.getValue());
+        } else {
+            String prefix = getAttributePrefix(element, attribute.getPrefix(), namespaceUri);
+            declareNamespace(prefix, namespaceUri);
+            writeAttribute(prefix + ":" + attribute.getLocalName(), attribute.getValue());
+        }
+    }
+
+    private String getAttributePrefix(final Element element, final String prefix, final String namespaceUri) {
+        if (prefix != null && isPrefixAvailable(element, prefix, namespaceUri)) {
+            return prefix;
+        }
+        if (XMLConstants.XML_NS_URI.equals(namespaceUri)) {
+            return XMLConstants.XML_NS_PREFIX;
+        }
+        String elementPrefix = getValue(element.getPrefix());
+        if (!elementPrefix.isEmpty() && namespaceUri.equals(element.getNamespaceURI())) {
+            return elementPrefix;
+        }
+        NamespaceScope namespaceScope = _namespaceScope;
+        while (namespaceScope != null) {
+            if (namespaceScope._namespaceUri.equals(namespaceUri) && !namespaceScope._prefix.isEmpty() && isPrefixAvailable(element, namespaceScope._prefix, namespaceUri)) {
+                return namespaceScope._prefix;
+            }
+            namespaceScope = namespaceScope._parent;
+        }
+        int index = 0;
+        String generatedPrefix = GENERATED_PREFIX + index;
+        while (!isPrefixAvailable(element, generatedPrefix, namespaceUri)) {
+            index++;
+            generatedPrefix = GENERATED_PREFIX + index;
+        }
+        return generatedPrefix;
+    }
+
+    private boolean isPrefixAvailable(final Element element, final String prefix, final String namespaceUri) {
+        String boundNamespaceUri = getNamespaceUri(prefix);
+        if (boundNamespaceUri != null && !boundNamespaceUri.equals(namespaceUri)) {
+            return false;
+        }
+        if (element.getLocalName() == null || !prefix.equals(element.getPrefix())) {
+            return true;
+        }
+        return namespaceUri.equals(element.getNamespaceURI());
+    }
+
+    private void declareNamespace(final String prefix, final String namespaceUri) throws IOException {
+        String validPrefix = getValue(prefix);
+        String validNamespaceUri = getValue(namespaceUri);
+        if (validNamespaceUri.equals(getNamespaceUri(validPrefix))) {
+            return;
+        }
+        _namespaceScope = new NamespaceScope(_namespaceScope, validPrefix, validNamespaceUri);
+        if (validPrefix.isEmpty()) {
+            writeAttribute(XMLConstants.XMLNS_ATTRIBUTE, validNamespaceUri);
+        } else {
+            writeAttribute(XMLNS_PREFIX + validPrefix, validNamespaceUri);
+        }
+    }
+
+    private String getValue(final String value) {
+        if (value == null) {
+            return "";
+        } else {
+            return value;
+        }
+    }
+
+    private String getNamespaceUri(final String prefix) {
+        if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+            return XMLConstants.XML_NS_URI;
+        }
+        NamespaceScope namespaceScope = _namespaceScope;
+        while (namespaceScope != null) {
+            if (namespaceScope._prefix.equals(prefix)) {
+                return namespaceScope._namespaceUri;
+            }
+            namespaceScope = namespaceScope._parent;
+        }
+        if (prefix.isEmpty()) {
+            return XMLConstants.NULL_NS_URI;
+        } else {
+            return null;
+        }
+    }
+
+    private void writeAttribute(final String name, final String value) throws IOException {
+        write(' ');
+        write(name);
+        write("=\"");
+        writeEscaped(value, true);
+        write('"');
+    }
+
+    private void writeEscaped(final String value, final boolean attribute) throws IOException {
+        int index = 0;
+        while (index < value.length()) {
+            char ch = value.charAt(index);
+            switch (ch) {
+                case '&':
+                    write("&amp;");
+                    break;
+                case '<':
+                    write("&lt;");
+                    break;
+                case '>':
+                    write("&gt;");
+                    break;
+                case '\r':
+                    write("&#13;");
+                    break;
+                case '"':
+                    writeEscaped(ch, "&quot;", attribute);
+                    break;
+                case '\n':
+                    writeEscaped(ch, "&#10;", attribute);
+                    break;
+                case '\t':
+                    writeEscaped(ch, "&#9;", attribute);
+                    break;
+                default:
+                    index = writeCharacter(value, index);
+                    break;
+            }
+            index++;
+        }
+    }
+
+    private void writeEscaped(final char ch, final String escaped, final boolean attribute) throws IOException {
+        if (attribute) {
+            write(escaped);
+        } else {
+            write(ch);
+        }
+    }
+
+    private int writeCharacter(final String value, final int index) throws IOException {
+        char ch = value.charAt(index);
+        if (Character.isHighSurrogate(ch) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            writeCharacterReference(Character.toCodePoint(ch, value.charAt(index + 1)));
+            return index + 1;
+        }
+        if (isEncodable(ch)) {
+            write(ch);
+        } else {
+            writeCharacterReference(ch);
+        }
+        return index;
+    }
+
+    private boolean isEncodable(final char ch) {
+        return ch < 0x80 || _charsetEncoder == null || _charsetEncoder.canEncode(ch);
+    }
+
+    private void writeCharacterReference(final int codePoint) throws IOException {
+        write("&#");
+        write(Integer.toString(codePoint));
+        write(';');
+    }
+
+    private void writeCDataSection(final String value) throws IOException {
+        write("<![CDATA[");
+        int index = 0;
+        while (index < value.length()) {
+            char ch = value.charAt(index);
+            if (value.startsWith("]]>", index)) {
+                write("]]]]><![CDATA[>");
+                index += 2;
+            } else if (isEncodable(ch)) {
+                write(ch);
+            } else {
+                write("]]>");
+                index = writeCharacter(value, index);
+                write("<![CDATA[");
+            }
+            index++;
+        }
+        write("]]>");
+    }
+
+    private void writeComment(final String value) throws IOException {
+        write("<!--");
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            write(ch);
+            if (ch == '-' && (i + 1 == value.length() || value.charAt(i + 1) == '-')) {
+                write(' ');
+            }
+        }
+        write("-->");
+    }
+
+    private void writeProcessingInstruction(final String target, final String data) throws IOException {
+        write("<?");
+        write(target);
+        if (!data.isEmpty()) {
+            write(' ');
+            write(data);
+        }
+        write("?>");
+    }
+
+    private void write(final String value) throws IOException {
+        int offset = 0;
+        while (offset < value.length()) {
+            if (_position == _buffer.length) {
+                flushBuffer();
+            }
+            int length = Math.min(value.length() - offset, _buffer.length - _position);
+            value.getChars(offset, offset + length, _buffer, _position);
+            _position += length;
+            offset += length;
+        }
+    }
+
+    private void write(final char ch) throws IOException {
+        if (_position == _buffer.length) {
+            flushBuffer();
+        }
+        _buffer[_position] = ch;
+        _position++;
+    }
+
+    private void flushBuffer() throws IOException {
+        _writer.write(_buffer, 0, _position);
+        _position = 0;
+    }
+
+    private void flush() throws IOException {
+        flushBuffer();
+        _writer.flush();
+    }
+
+    /**
+     * Namespace declaration in the scope of the serialized element.
+     *
+     * @author Dmitry Shapovalov
+     */
+    static final class NamespaceScope {
+
+        private final NamespaceScope _parent;
+
+        private final String _prefix;
+
+        private final String _namespaceUri;
+
+        NamespaceScope(final NamespaceScope parent, final String prefix, final String namespaceUri) {
+            super();
+            _parent = parent;
+            _prefix = prefix;
+            _namespaceUri = namespaceUri;
+        }
+
+    }
+
+}
@@ -24,6 +24,13 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.ErrorListener;
@@ -39,12 +46,20 @@ import org.w3c.dom.Node;
 import ru.d_shap.fm.formmodel.OutputResultException;
 
 /**
- * Document writer helper class.
+ * Document writer helper class. Every thread reuses the transformers created for the same output properties.
  *
  * @author Dmitry Shapovalov
  */
 public final class DocumentWriter {
 
+    private static final String DEFAULT_ENCODING = "UTF-8";
+
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<Map<String, Transformer>> TRANSFORMERS = new ThreadLocal<>();
+
+    private static final ThreadLocal<ByteBuffer> CHANNEL_BUFFERS = new ThreadLocal<>();
+
     private boolean _xmlDeclaration;
 
     private String _encoding;
@@ -53,12 +68,15 @@ public final class DocumentWriter {
 
     private boolean _indent;
 
+    private boolean _directSerialization;
+
     private DocumentWriter() {
         super();
         _xmlDeclaration = false;
         _encoding = null;
         _standalone = false;
         _indent = false;
+        _directSerialization = false;
     }
 
     private DocumentWriter(final DocumentWriter documentWriter) {
@@ -67,6 +85,7 @@ public final class DocumentWriter {
         _encoding = documentWriter._encoding;
         _standalone = documentWriter._standalone;
         _indent = documentWriter._indent;
+        _directSerialization = documentWriter._directSerialization;
     }
 
     /**
@@ -124,6 +143,20 @@ public final class DocumentWriter {
         return documentWriter;
     }
 
+    /**
+     * Create new document writer, that writes the XML node without the transformer. The DOM tree is walked
+     * and the escaped characters are written to the reusable buffer and then to the writer. The namespace declarations
+     * are added for the namespaces, that are not declared in the written subtree. The document type declaration
+     * is not written. The document writer with the indentation always uses the transformer.
+     *
+     * @return document writer for the next invocation.
+     */
+    public DocumentWriter addDirectSerialization() {
+        DocumentWriter documentWriter = new DocumentWriter(this);
+        documentWriter._directSerialization = true;
+        return documentWriter;
+    }
+
     /**
      * Write the XML node to the specified writer.
      *
@@ -131,32 +164,10 @@ public final class DocumentWriter {
      * @param writer the specified writer
      */
     public void writeTo(final Node node, final Writer writer) {
-        try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
-            transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            Transformer transformer = transformerFactory.newTransformer();
-            transformer.setErrorListener(new SkipErrorListener());
-
-            if (!_xmlDeclaration) {
-                transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-            }
-            if (_encoding != null) {
-                transformer.setOutputProperty(OutputKeys.ENCODING, _encoding);
-            }
-            if (_standalone) {
-                transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
-            } else {
-                transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
-            }
-            if (_indent) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            }
-
-            transformer.transform(new DOMSource(node), new StreamResult(writer));
-        } catch (TransformerException ex) {
-            throw new OutputResultException(ex);
+        if (_directSerialization && !_indent) {
+            serialize(node, writer);
+        } else {
+            transform(node, writer);
         }
     }
 
@@ -175,6 +186,144 @@ public final class DocumentWriter {
         }
     }
 
+    /**
+     * Write the XML node to the specified channel. The XML node is encoded with the encoding of this document writer
+     * or with UTF-8 if the encoding is not specified. The characters are encoded to the direct byte buffer, that is reused
+     * by the current thread, and the byte buffer is written to the channel every time it is full. The channel must
+     * be in the blocking mode.
+     *
+     * @param node    the XML node.
+     * @param channel the specified channel.
+     */
+    public void writeTo(final Node node, final WritableByteChannel channel) {
+        ByteBuffer byteBuffer = CHANNEL_BUFFERS.get();
+        if (byteBuffer == null) {
+            byteBuffer = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+            CHANNEL_BUFFERS.set(byteBuffer);
+        }
+        byteBuffer.clear();
+        ByteBufferWriter byteBufferWriter = new ByteBufferWriter(createCharsetEncoder(), byteBuffer, channel);
+        encode(node, byteBufferWriter);
+    }
+
+    /**
+     * Write the XML node to the specified byte buffer starting from the current position of the byte buffer. The XML node
+     * is encoded with the encoding of this document writer or with UTF-8 if the encoding is not specified. If the XML node
+     * does not fit the remaining bytes of the byte buffer, then the exception is thrown and the position of the byte buffer
+     * is not changed.
+     *
+     * @param node       the XML node.
+     * @param byteBuffer the specified byte buffer.
+     */
+    public void writeTo(final Node node, final ByteBuffer byteBuffer) {
+        int position = byteBuffer.position();
+        boolean finished = false;
+        try {
+            ByteBufferWriter byteBufferWriter = new ByteBufferWriter(createCharsetEncoder(), byteBuffer, null);
+            encode(node, byteBufferWriter);
+            finished = true;
+        } finally {
+            if (!finished) {
+                byteBuffer.position(position);
+            }
+        }
+    }
+
+    private CharsetEncoder createCharsetEncoder() {
+        String encoding = _encoding;
+        if (encoding == null) {
+            encoding = DEFAULT_ENCODING;
+        }
+        try {
+            CharsetEncoder charsetEncoder = Charset.forName(encoding).newEncoder();
+            charsetEncoder.onMalformedInput(CodingErrorAction.REPLACE);
+            charsetEncoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return charsetEncoder;
+        } catch (IllegalArgumentException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private void encode(final Node node, final ByteBufferWriter byteBufferWriter) {
+        writeTo(node, byteBufferWriter);
+        try {
+            byteBufferWriter.finish();
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private void serialize(final Node node, final Writer writer) {
+        try {
+            DocumentSerializer documentSerializer = new DocumentSerializer(writer, _encoding);
+            documentSerializer.serialize(node, getXmlDeclaration());
+        } catch (IOException ex) {
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private String getXmlDeclaration() {
+        if (!_xmlDeclaration) {
+            return null;
+        }
+        String encoding = _encoding;
+        if (encoding == null) {
+            encoding = DEFAULT_ENCODING;
+        }
+        String standalone;
+        if (_standalone) {
+            standalone = "yes";
+        } else {
+            standalone = "no";
+        }
+        return "<?xml version=\"1.0\" encoding=\"" + encoding + "\" standalone=\"" + standalone + "\"?>";
+    }
+
+    private void transform(final Node node, final Writer writer) {
+        Map<String, Transformer> transformers = TRANSFORMERS.get();
+        if (transformers == null) {
+            transformers = new HashMap<>();
+            TRANSFORMERS.set(transformers);
+        }
+        String transformerKey = _xmlDeclaration + "|" + _encoding + "|" + _standalone + "|" + _indent;
+        try {
+            Transformer transformer = transformers.get(transformerKey);
+            if (transformer == null) {
+                transformer = createTransformer();
+                transformers.put(transformerKey, transformer);
+            }
+            transformer.transform(new DOMSource(node), new StreamResult(writer));
+        } catch (TransformerException ex) {
+            transformers.remove(transformerKey);
+            throw new OutputResultException(ex);
+        }
+    }
+
+    private Transformer createTransformer() throws TransformerException {
+        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+        transformerFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        Transformer transformer = transformerFactory.newTransformer();
+        transformer.setErrorListener(new SkipErrorListener());
+
+        if (!_xmlDeclaration) {
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        }
+        if (_encoding != null) {
+            transformer.setOutputProperty(OutputKeys.ENCODING, _encoding);
+        }
+        if (_standalone) {
+            transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+        } else {
+            transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
+        }
+        if (_indent) {
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        }
+        return transformer;
+    }
+
     /**
      * Get the string representation of the XML node.
      *
@@ -188,6 +337,30 @@ public final class DocumentWriter {
         return writer.toString();
     }
 
+    /**
+     * Get the encoded representation of the XML node. The XML node is encoded with the encoding of this document writer
+     * or with UTF-8 if the encoding is not specified. The size of the XML node is estimated before the encoding, so the byte
+     * buffer is allocated once in most cases.
+     *
+     * @param node the XML node.
+     *
+     * @return the byte buffer with the encoded representation of the XML node, ready to be read.
+     */
+    public ByteBuffer getAsByteBuffer(final Node node) {
+        CharsetEncoder charsetEncoder = createCharsetEncoder();
+        int estimatedLength = DocumentSerializer.getEstimatedLength(node);
+        String xmlDeclaration = getXmlDeclaration();
+        if (xmlDeclaration != null) {
+            estimatedLength += xmlDeclaration.length();
+        }
+        int capacity = (int) (estimatedLength * charsetEncoder.averageBytesPerChar()) + 1;
+        ByteBufferWriter byteBufferWriter = new ByteBufferWriter(charsetEncoder, capacity);
+        encode(node, byteBufferWriter);
+        ByteBuffer byteBuffer = byteBufferWriter.getByteBuffer();
+        byteBuffer.flip();
+        return byteBuffer;
+    }
+
     /**
      * Error listener to prevent write to System error stream.
      *
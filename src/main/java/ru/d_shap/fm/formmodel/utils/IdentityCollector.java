@@ -0,0 +1,104 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collector of the unique items, that preserves the insertion order. Use item identity, NOT equals.
+ *
+ * @param <T> the generic type of the items.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class IdentityCollector<T> {
+
+    private final List<T> _items;
+
+    private final Set<T> _identities;
+
+    /**
+     * Create new object.
+     */
+    public IdentityCollector() {
+        super();
+        _items = new ArrayList<>();
+        _identities = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+    }
+
+    /**
+     * Add the specified item if the collector does not contain it yet.
+     *
+     * @param item the specified item.
+     *
+     * @return true if the item was added.
+     */
+    public boolean add(final T item) {
+        if (_identities.add(item)) {
+            _items.add(item);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the collector contains the specified item.
+     *
+     * @param item the specified item.
+     *
+     * @return true if the collector contains the specified item.
+     */
+    public boolean contains(final T item) {
+        return _identities.contains(item);
+    }
+
+    /**
+     * Get the number of the collected items.
+     *
+     * @return the number of the collected items.
+     */
+    public int size() {
+        return _items.size();
+    }
+
+    /**
+     * Check if the collector has no items.
+     *
+     * @return true if the collector has no items.
+     */
+    public boolean isEmpty() {
+        return _items.isEmpty();
+    }
+
+    /**
+     * Get the new list with the collected items in the insertion order.
+     *
+     * @return the new list with the collected items.
+     */
+    public List<T> toList() {
+        return new ArrayList<>(_items);
+    }
+
+}
@@ -0,0 +1,131 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe bounded cache, that evicts the least recently used entry when the maximum size is exceeded.
+ *
+ * @param <K> the generic type of the keys.
+ * @param <V> the generic type of the values.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class LruCache<K, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int _maximumSize;
+
+    private final Map<K, V> _entries;
+
+    /**
+     * Create new object.
+     *
+     * @param maximumSize the maximum number of the cached entries.
+     */
+    public LruCache(final int maximumSize) {
+        super();
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        _maximumSize = maximumSize;
+        _entries = createEntries(maximumSize);
+    }
+
+    private static <K, V> Map<K, V> createEntries(final int maximumSize) {
+        return new LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > maximumSize;
+            }
+
+        };
+    }
+
+    /**
+     * Get the maximum number of the cached entries.
+     *
+     * @return the maximum number of the cached entries.
+     */
+    public int getMaximumSize() {
+        return _maximumSize;
+    }
+
+    /**
+     * Get the current number of the cached entries.
+     *
+     * @return the current number of the cached entries.
+     */
+    public int size() {
+        synchronized (_entries) {
+            return _entries.size();
+        }
+    }
+
+    /**
+     * Get the cached value for the specified key and mark the entry as recently used.
+     *
+     * @param key the specified key.
+     *
+     * @return the cached value or null if the value is not cached.
+     */
+    public V get(final K key) {
+        synchronized (_entries) {
+            return _entries.get(key);
+        }
+    }
+
+    /**
+     * Cache the specified value if no value is cached for the specified key.
+     *
+     * @param key   the specified key.
+     * @param value the specified value.
+     *
+     * @return the cached value, the previously cached value or the specified value.
+     */
+    public V putIfAbsent(final K key, final V value) {
+        synchronized (_entries) {
+            V cachedValue = _entries.get(key);
+            if (cachedValue == null) {
+                _entries.put(key, value);
+                cachedValue = value;
+            }
+            return cachedValue;
+        }
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    public void clear() {
+        synchronized (_entries) {
+            _entries.clear();
+        }
+    }
+
+}
@@ -19,6 +19,9 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import org.junit.Test;
 import org.w3c.dom.Document;
 
@@ -28,6 +31,7 @@ import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
 import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitionKey;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
 import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
 
 /**
@@ -342,6 +346,16 @@ public final class MessagesTest extends BaseFormModelTest {
         Assertions.assertThat(Messages.Validation.getFormDefinitionKeyIsNotValidMessage(new FormDefinitionKey("group", "id"))).isEqualTo("[Form definition key is not valid: @group:id]");
     }
 
+    /**
+     * {@link Messages} class test.
+     */
+    @Test
+    public void getFormReferenceCycleIsFoundMessageTest() {
+        Assertions.assertThat(Messages.Validation.getFormReferenceCycleIsFoundMessage(new ArrayList<FormDefinitionKey>())).isEqualTo("[Form reference cycle is found: ]");
+        Assertions.assertThat(Messages.Validation.getFormReferenceCycleIsFoundMessage(Arrays.asList(new FormDefinitionKey("id"), new FormDefinitionKey("id")))).isEqualTo("[Form reference cycle is found: @:id -> @:id]");
+        Assertions.assertThat(Messages.Validation.getFormReferenceCycleIsFoundMessage(Arrays.asList(new FormDefinitionKey("group", "id1"), new FormDefinitionKey("id2"), new FormDefinitionKey("group", "id1")))).isEqualTo("[Form reference cycle is found: @group:id1 -> @:id2 -> @group:id1]");
+    }
+
     /**
      * {@link Messages} class test.
      */
@@ -468,4 +482,39 @@ public final class MessagesTest extends BaseFormModelTest {
         Assertions.assertThat(Messages.Binding.getProhibitedSingleElementIsPresentMessage(new SingleElementDefinition("id", CardinalityDefinition.REQUIRED, createNodeDefinitions(), createOtherAttributes()))).isEqualTo("[Prohibited single element is present: single-element[@id]]");
     }
 
+    /**
+     * {@link Messages} class test.
+     */
+    @Test
+    public void getSnapshotIsNotValidMessageTest() {
+        Assertions.assertThat(Messages.Snapshot.getSnapshotIsNotValidMessage()).isEqualTo("[Snapshot is not valid]");
+    }
+
+    /**
+     * {@link Messages} class test.
+     */
+    @Test
+    public void getSnapshotVersionIsNotSupportedMessageTest() {
+        Assertions.assertThat(Messages.Snapshot.getSnapshotVersionIsNotSupportedMessage(0)).isEqualTo("[Snapshot version is not supported: 0]");
+        Assertions.assertThat(Messages.Snapshot.getSnapshotVersionIsNotSupportedMessage(2)).isEqualTo("[Snapshot version is not supported: 2]");
+    }
+
+    /**
+     * {@link Messages} class test.
+     */
+    @Test
+    public void getOtherNodeDefinitionIsNotSupportedMessageTest() {
+        Assertions.assertThat(Messages.Snapshot.getOtherNodeDefinitionIsNotSupportedMessage(null)).isEqualTo("[Other node definition is not supported: null]");
+        Assertions.assertThat(Messages.Snapshot.getOtherNodeDefinitionIsNotSupportedMessage(new OtherNodeDefinitionImpl("repr", true))).isEqualTo("[Other node definition is not supported: repr]");
+    }
+
+    /**
+     * {@link Messages} class test.
+     */
+    @Test
+    public void getOtherNodeDefinitionCodecIsNotFoundMessageTest() {
+        Assertions.assertThat(Messages.Snapshot.getOtherNodeDefinitionCodecIsNotFoundMessage(null)).isEqualTo("[Other node definition codec is not found: null]");
+        Assertions.assertThat(Messages.Snapshot.getOtherNodeDefinitionCodecIsNotFoundMessage("codec")).isEqualTo("[Other node definition codec is not found: codec]");
+    }
+
 }
@@ -19,7 +19,13 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.ServiceConfigurationError;
 
 import org.junit.Test;
 
@@ -57,6 +63,113 @@ public final class ServiceFinderTest extends BaseFormModelTest {
         Assertions.assertThat(services.get(0)).isInstanceOf(ServiceImplementation.class);
     }
 
+    /**
+     * {@link ServiceFinder} class test.
+     */
+    @Test
+    public void findCachedServiceTest() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            CountingClassLoader classLoader = new CountingClassLoader(contextClassLoader);
+            Thread.currentThread().setContextClassLoader(classLoader);
+            List<ServiceInterface> services1 = ServiceFinder.find(ServiceInterface.class);
+            services1.clear();
+            List<ServiceInterface> services2 = ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(services2).hasSize(1);
+            Assertions.assertThat(services2.get(0)).isInstanceOf(ServiceImplementation.class);
+            List<ServiceInterface> services3 = ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(services3).hasSize(1);
+            Assertions.assertThat(services3.get(0)).isInstanceOf(ServiceImplementation.class);
+            Assertions.assertThat(services3.get(0)).isNotSameAs(services2.get(0));
+            Assertions.assertThat(classLoader.getResourcesCount()).isEqualTo(1);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * {@link ServiceFinder} class test.
+     */
+    @Test
+    public void findCachedServiceFailTest() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(new CountingClassLoader(contextClassLoader));
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class)).hasSize(1);
+            System.setProperty(ServiceImplementation.class.getName(), "true");
+            try {
+                ServiceFinder.find(ServiceInterface.class);
+                Assertions.fail("ServiceFinder test fail");
+            } catch (ServiceConfigurationError ex) {
+                Assertions.assertThat(ex).messageContains(ServiceImplementation.class.getName());
+                Assertions.assertThat(ex).hasCause(InvocationTargetException.class);
+            }
+        } finally {
+            System.getProperties().remove(ServiceImplementation.class.getName());
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * {@link ServiceFinder} class test.
+     */
+    @Test
+    public void findContextClassLoaderServiceTest() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            CountingClassLoader classLoader1 = new CountingClassLoader(contextClassLoader);
+            Thread.currentThread().setContextClassLoader(classLoader1);
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class)).hasSize(1);
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class)).hasSize(1);
+            Assertions.assertThat(classLoader1.getResourcesCount()).isEqualTo(1);
+
+            CountingClassLoader classLoader2 = new CountingClassLoader(contextClassLoader);
+            Thread.currentThread().setContextClassLoader(classLoader2);
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class)).hasSize(1);
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class)).hasSize(1);
+            Assertions.assertThat(classLoader1.getResourcesCount()).isEqualTo(1);
+            Assertions.assertThat(classLoader2.getResourcesCount()).isEqualTo(1);
+
+            Thread.currentThread().setContextClassLoader(null);
+            List<ServiceInterface> services = ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(services).hasSize(1);
+            Assertions.assertThat(ServiceFinder.find(ServiceInterface.class).get(0)).isNotSameAs(services.get(0));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * {@link ServiceFinder} class test.
+     */
+    @Test
+    public void refreshTest() {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            CountingClassLoader classLoader = new CountingClassLoader(contextClassLoader);
+            Thread.currentThread().setContextClassLoader(classLoader);
+            ServiceFinder.find(ServiceInterface.class);
+            ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(classLoader.getResourcesCount()).isEqualTo(1);
+
+            ServiceFinder.refresh();
+            ServiceFinder.find(ServiceInterface.class);
+            ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(classLoader.getResourcesCount()).isEqualTo(2);
+
+            ServiceFinder.refresh(new URLClassLoader(new URL[0]));
+            ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(classLoader.getResourcesCount()).isEqualTo(2);
+
+            ServiceFinder.refresh(classLoader);
+            ServiceFinder.find(ServiceInterface.class);
+            ServiceFinder.find(ServiceInterface.class);
+            Assertions.assertThat(classLoader.getResourcesCount()).isEqualTo(3);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
     /**
      * {@link ServiceFinder} class test.
      */
@@ -66,4 +179,30 @@ public final class ServiceFinderTest extends BaseFormModelTest {
         Assertions.assertThat(services).isEmpty();
     }
 
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class CountingClassLoader extends URLClassLoader {
+
+        private int _resourcesCount;
+
+        CountingClassLoader(final ClassLoader parent) {
+            super(new URL[0], parent);
+            _resourcesCount = 0;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            _resourcesCount++;
+            return super.getResources(name);
+        }
+
+        int getResourcesCount() {
+            return _resourcesCount;
+        }
+
+    }
+
 }
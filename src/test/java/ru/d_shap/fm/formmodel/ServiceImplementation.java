@@ -27,10 +27,13 @@ package ru.d_shap.fm.formmodel;
 public final class ServiceImplementation implements ServiceInterface {
 
     /**
-     * Create new object.
+     * Create new object. The creation fails if the system property with the name of this class is set to true.
      */
     public ServiceImplementation() {
         super();
+        if (Boolean.getBoolean(ServiceImplementation.class.getName())) {
+            throw new IllegalStateException("Service creation failed");
+        }
     }
 
 }
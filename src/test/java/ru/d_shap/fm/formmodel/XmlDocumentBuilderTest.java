@@ -25,8 +25,13 @@ import java.io.InputStream;
 import java.io.PrintStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.validation.SchemaFactory;
 
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -91,6 +96,106 @@ public final class XmlDocumentBuilderTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link XmlDocumentBuilder} class test.
+     */
+    @Test
+    public void getSharedDocumentBuilderTest() {
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder()).isNotNull();
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder()).isSameAs(XmlDocumentBuilder.getSharedDocumentBuilder());
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder(null)).isSameAs(XmlDocumentBuilder.getSharedDocumentBuilder());
+
+        XmlDocumentBuilderConfigurator xmlDocumentBuilderConfigurator = new XmlDocumentBuilderConfiguratorImpl();
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator)).isNotNull();
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator)).isSameAs(XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator));
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator)).isNotSameAs(XmlDocumentBuilder.getSharedDocumentBuilder());
+        Assertions.assertThat(XmlDocumentBuilder.getSharedDocumentBuilder(new XmlDocumentBuilderConfiguratorImpl())).isNotSameAs(XmlDocumentBuilder.getSharedDocumentBuilder(xmlDocumentBuilderConfigurator));
+
+        try {
+            XmlDocumentBuilder.getSharedDocumentBuilder(new ErrorXmlDocumentBuilderConfiguratorImpl());
+            Assertions.fail("XmlDocumentBuilder test fail");
+        } catch (XmlDocumentBuilderConfigurationException ex) {
+            Assertions.assertThat(ex).hasCause(ParserConfigurationException.class);
+        }
+    }
+
+    /**
+     * {@link XmlDocumentBuilder} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void sharedDocumentBuilderThreadTest() throws Exception {
+        final XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
+        final String xml = "<?xml version='1.0'?>\n<document><element>value</element></document>";
+        Assertions.assertThat(xmlDocumentBuilder.parse(new InputSource(new StringReader(xml))).getDocumentElement().getTextContent()).isEqualTo("value");
+
+        final List<Document> documents = new ArrayList<>();
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                Document document = xmlDocumentBuilder.parse(new InputSource(new StringReader(xml)));
+                documents.add(document);
+                documents.add(xmlDocumentBuilder.newDocument());
+            }
+
+        };
+        thread.start();
+        thread.join();
+        Assertions.assertThat(documents).hasSize(2);
+        Assertions.assertThat(documents.get(0).getDocumentElement().getTextContent()).isEqualTo("value");
+        Assertions.assertThat(documents.get(1)).isNotNull();
+    }
+
+    /**
+     * {@link XmlDocumentBuilder} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void threadDocumentBuilderFailTest() throws Exception {
+        SchemaLanguageXmlDocumentBuilderConfiguratorImpl xmlDocumentBuilderConfigurator = new SchemaLanguageXmlDocumentBuilderConfiguratorImpl();
+        final XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getDocumentBuilder(xmlDocumentBuilderConfigurator);
+        xmlDocumentBuilderConfigurator.getDocumentBuilderFactory().setSchema(SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema());
+        Assertions.assertThat(xmlDocumentBuilder.newDocument()).isNotNull();
+
+        final List<RuntimeException> exceptions = new ArrayList<>();
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    xmlDocumentBuilder.newDocument();
+                } catch (XmlDocumentBuilderConfigurationException ex) {
+                    exceptions.add(ex);
+                }
+            }
+
+        };
+        thread.start();
+        thread.join();
+        Assertions.assertThat(exceptions).hasSize(1);
+        Assertions.assertThat(exceptions.get(0)).hasCause(ParserConfigurationException.class);
+    }
+
+    /**
+     * {@link XmlDocumentBuilder} class test.
+     */
+    @Test
+    public void resetAfterFailTest() {
+        XmlDocumentBuilder xmlDocumentBuilder = XmlDocumentBuilder.getSharedDocumentBuilder();
+        try {
+            String xml = "<?xml version='1.0'?>\n<document><element>value</element>";
+            xmlDocumentBuilder.parse(new InputSource(new StringReader(xml)));
+            Assertions.fail("XmlDocumentBuilder test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        String xml = "<?xml version='1.0'?>\n<document><element>value</element></document>";
+        Assertions.assertThat(xmlDocumentBuilder.parse(new InputSource(new StringReader(xml))).getDocumentElement().getTextContent()).isEqualTo("value");
+    }
+
     /**
      * {@link XmlDocumentBuilder} class test.
      */
@@ -200,4 +305,29 @@ public final class XmlDocumentBuilderTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * Configurator, that sets the schema language attribute and keeps the configured factory.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class SchemaLanguageXmlDocumentBuilderConfiguratorImpl implements XmlDocumentBuilderConfigurator {
+
+        private DocumentBuilderFactory _documentBuilderFactory;
+
+        SchemaLanguageXmlDocumentBuilderConfiguratorImpl() {
+            super();
+        }
+
+        DocumentBuilderFactory getDocumentBuilderFactory() {
+            return _documentBuilderFactory;
+        }
+
+        @Override
+        public void configure(final DocumentBuilderFactory documentBuilderFactory) {
+            _documentBuilderFactory = documentBuilderFactory;
+            _documentBuilderFactory.setAttribute("http://java.sun.com/xml/jaxp/properties/schemaLanguage", XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        }
+
+    }
+
 }
@@ -23,11 +23,17 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
 
 import org.junit.Test;
+import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 import ru.d_shap.assertions.Assertions;
 import ru.d_shap.assertions.mock.IsCloseable;
@@ -79,13 +85,77 @@ public final class XmlDocumentValidatorTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link XmlDocumentValidator} class test.
+     */
+    @Test
+    public void getSchemaTest() {
+        Schema formModelSchema = XmlDocumentValidator.getSchema(XmlDocumentValidator.FORM_MODEL_SCHEMA_PATH);
+        Assertions.assertThat(formModelSchema).isNotNull();
+        Assertions.assertThat(XmlDocumentValidator.getSchema(XmlDocumentValidator.FORM_MODEL_SCHEMA_PATH)).isSameAs(formModelSchema);
+
+        Schema formInstanceSchema = XmlDocumentValidator.getSchema(XmlDocumentValidator.FORM_INSTANCE_SCHEMA_PATH);
+        Assertions.assertThat(formInstanceSchema).isNotNull();
+        Assertions.assertThat(XmlDocumentValidator.getSchema(XmlDocumentValidator.FORM_INSTANCE_SCHEMA_PATH)).isSameAs(formInstanceSchema);
+        Assertions.assertThat(formInstanceSchema).isNotSameAs(formModelSchema);
+
+        try {
+            XmlDocumentValidator.getSchema("wrong/schema/path.xsd");
+            Assertions.fail("XmlDocumentValidator test fail");
+        } catch (XmlDocumentValidatorConfigurationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+    }
+
+    /**
+     * {@link XmlDocumentValidator} class test.
+     */
+    @Test
+    public void createSchemaAndCloseTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>";
+        xml += "<xs:element name='element' type='xs:string' />";
+        xml += "</xs:schema>";
+        InputStream inputStream = DataHelper.createInputStreamBuilder().setContent(xml.getBytes()).buildInputStream();
+        Assertions.assertThat(XmlDocumentValidator.createSchemaAndClose(inputStream)).isNotNull();
+        Assertions.assertThat(((IsCloseable) inputStream).isClosed()).isTrue();
+
+        try {
+            InputStream closeFailInputStream = new RepeatedCloseFailInputStream(xml.getBytes());
+            XmlDocumentValidator.createSchemaAndClose(closeFailInputStream);
+            Assertions.fail("XmlDocumentValidator test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+        }
+    }
+
+    /**
+     * {@link XmlDocumentValidator} class test.
+     */
+    @Test
+    public void createWithSchemaTest() {
+        Schema schema = XmlDocumentValidator.getSchema(XmlDocumentValidator.FORM_MODEL_SCHEMA_PATH);
+        XmlDocumentValidator xmlDocumentValidator = new XmlDocumentValidator(schema);
+        Assertions.assertThat(xmlDocumentValidator).isNotNull();
+        Assertions.assertThat(new XmlDocumentValidator(schema)).isNotSameAs(xmlDocumentValidator);
+
+        String validXml = "<?xml version='1.0'?>\n";
+        validXml += "<fm:form xmlns:fm='http://d-shap.ru/schema/form-model/1.0'>";
+        validXml += "</fm:form>";
+        try {
+            xmlDocumentValidator.validate(parse(validXml));
+        } catch (SAXException ex) {
+            Assertions.fail("XmlDocumentValidator test fail");
+        }
+    }
+
     /**
      * {@link XmlDocumentValidator} class test.
      */
     @Test
     public void getFormModelDocumentValidatorTest() {
         Assertions.assertThat(XmlDocumentValidator.getFormModelDocumentValidator()).isNotNull();
-        Assertions.assertThat(XmlDocumentValidator.getFormModelDocumentValidator()).isNotSameAs(XmlDocumentValidator.getFormModelDocumentValidator());
+        Assertions.assertThat(XmlDocumentValidator.getFormModelDocumentValidator()).isSameAs(XmlDocumentValidator.getFormModelDocumentValidator());
     }
 
     /**
@@ -94,7 +164,8 @@ public final class XmlDocumentValidatorTest extends BaseFormModelTest {
     @Test
     public void getFormInstanceDocumentValidatorTest() {
         Assertions.assertThat(XmlDocumentValidator.getFormInstanceDocumentValidator()).isNotNull();
-        Assertions.assertThat(XmlDocumentValidator.getFormInstanceDocumentValidator()).isNotSameAs(XmlDocumentValidator.getFormInstanceDocumentValidator());
+        Assertions.assertThat(XmlDocumentValidator.getFormInstanceDocumentValidator()).isSameAs(XmlDocumentValidator.getFormInstanceDocumentValidator());
+        Assertions.assertThat(XmlDocumentValidator.getFormInstanceDocumentValidator()).isNotSameAs(XmlDocumentValidator.getFormModelDocumentValidator());
     }
 
     /**
@@ -172,6 +243,71 @@ public final class XmlDocumentValidatorTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link XmlDocumentValidator} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void newValidatorHandlerTest() throws Exception {
+        XmlDocumentValidator xmlDocumentValidator = XmlDocumentValidator.getFormModelDocumentValidator();
+        ValidatorHandler validatorHandler1 = xmlDocumentValidator.newValidatorHandler();
+        Assertions.assertThat(validatorHandler1).isNotNull();
+        Assertions.assertThat(validatorHandler1).isNotSameAs(xmlDocumentValidator.newValidatorHandler());
+        validatorHandler1.startDocument();
+        validatorHandler1.startElement("http://d-shap.ru/schema/form-model/1.0", "form", "fm:form", new AttributesImpl());
+        validatorHandler1.endElement("http://d-shap.ru/schema/form-model/1.0", "form", "fm:form");
+        validatorHandler1.endDocument();
+
+        try {
+            ValidatorHandler validatorHandler2 = xmlDocumentValidator.newValidatorHandler();
+            validatorHandler2.startDocument();
+            validatorHandler2.startElement("http://d-shap.ru/schema/form-model/1.0", "formS", "fm:formS", new AttributesImpl());
+            Assertions.fail("XmlDocumentValidator test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+    }
+
+    /**
+     * {@link XmlDocumentValidator} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void validateThreadTest() throws Exception {
+        String validXml = "<?xml version='1.0'?>\n";
+        validXml += "<fm:form xmlns:fm='http://d-shap.ru/schema/form-model/1.0'>";
+        validXml += "</fm:form>";
+        String invalidXml = "<?xml version='1.0'?>\n";
+        invalidXml += "<fm:formS xmlns:fm='http://d-shap.ru/schema/form-model/1.0'>";
+        invalidXml += "</fm:formS>";
+        final XmlDocumentValidator xmlDocumentValidator = XmlDocumentValidator.getFormModelDocumentValidator();
+        final Document validDocument = parse(validXml);
+        final Document invalidDocument = parse(invalidXml);
+        xmlDocumentValidator.validate(validDocument);
+
+        final List<String> results = new ArrayList<>();
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    xmlDocumentValidator.validate(validDocument);
+                    results.add("valid");
+                    xmlDocumentValidator.validate(invalidDocument);
+                    results.add("valid");
+                } catch (SAXException ex) {
+                    results.add("invalid");
+                }
+            }
+
+        };
+        thread.start();
+        thread.join();
+        Assertions.assertThat(results).containsExactlyInOrder("valid", "invalid");
+    }
+
     /**
      * {@link XmlDocumentValidator} class test.
      */
@@ -187,4 +323,28 @@ public final class XmlDocumentValidatorTest extends BaseFormModelTest {
         Assertions.assertThat(((IsCloseable) inputStream).isClosed()).isTrue();
     }
 
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class RepeatedCloseFailInputStream extends ByteArrayInputStream {
+
+        private boolean _closed;
+
+        RepeatedCloseFailInputStream(final byte[] buf) {
+            super(buf);
+            _closed = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (_closed) {
+                throw new IOException("CLOSE ERROR!");
+            }
+            _closed = true;
+        }
+
+    }
+
 }
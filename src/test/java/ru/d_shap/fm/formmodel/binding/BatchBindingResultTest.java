@@ -0,0 +1,112 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttributeImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * Tests for {@link BatchBindingResult}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class BatchBindingResultTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public BatchBindingResultTest() {
+        super();
+    }
+
+    /**
+     * {@link BatchBindingResult} class test.
+     */
+    @Test
+    public void bindedAttributeTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id' lookup='lookup'>";
+        xml += "<ns1:attribute id='id1' lookup='lookup'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:attribute id='id2' lookup='lookup'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:attribute id='id3' lookup='lookup'>";
+        xml += "</ns1:attribute>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        List<AttributeDefinition> attributeDefinitions = formDefinitions.getFormDefinition("id").getElementDefinitions().get(0).getAttributeDefinitions();
+        BatchBindingResult batchBindingResult = new BatchBindingResult();
+        BindedAttribute bindedAttribute = new BindedAttributeImpl("repr");
+        batchBindingResult.putBindedAttribute(attributeDefinitions.get(0), bindedAttribute);
+        batchBindingResult.putBindedAttribute(attributeDefinitions.get(1), null);
+
+        Assertions.assertThat(batchBindingResult.containsBindedAttribute(attributeDefinitions.get(0))).isTrue();
+        Assertions.assertThat(batchBindingResult.getBindedAttribute(attributeDefinitions.get(0))).isSameAs(bindedAttribute);
+        Assertions.assertThat(batchBindingResult.containsBindedAttribute(attributeDefinitions.get(1))).isTrue();
+        Assertions.assertThat(batchBindingResult.getBindedAttribute(attributeDefinitions.get(1))).isNull();
+        Assertions.assertThat(batchBindingResult.containsBindedAttribute(attributeDefinitions.get(2))).isFalse();
+        Assertions.assertThat(batchBindingResult.getBindedAttribute(attributeDefinitions.get(2))).isNull();
+    }
+
+    /**
+     * {@link BatchBindingResult} class test.
+     */
+    @Test
+    public void bindedElementsTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id2' lookup='lookup'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id3' lookup='lookup'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        List<ElementDefinition> elementDefinitions = formDefinitions.getFormDefinition("id").getElementDefinitions();
+        BatchBindingResult batchBindingResult = new BatchBindingResult();
+        List<BindedElement> bindedElements = new ArrayList<>();
+        bindedElements.add(new BindedElementImpl("repr", 0));
+        batchBindingResult.putBindedElements(elementDefinitions.get(0), bindedElements);
+        batchBindingResult.putBindedElements(elementDefinitions.get(1), null);
+
+        Assertions.assertThat(batchBindingResult.containsBindedElements(elementDefinitions.get(0))).isTrue();
+        Assertions.assertThat(batchBindingResult.getBindedElements(elementDefinitions.get(0))).isSameAs(bindedElements);
+        Assertions.assertThat(batchBindingResult.containsBindedElements(elementDefinitions.get(1))).isTrue();
+        Assertions.assertThat(batchBindingResult.getBindedElements(elementDefinitions.get(1))).isNull();
+        Assertions.assertThat(batchBindingResult.containsBindedElements(elementDefinitions.get(2))).isFalse();
+        Assertions.assertThat(batchBindingResult.getBindedElements(elementDefinitions.get(2))).isNull();
+    }
+
+}
@@ -0,0 +1,124 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.List;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Implementation of the {@link BatchFormInstanceBinder}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class BatchFormInstanceBinderImpl implements BatchFormInstanceBinder {
+
+    private static final String ATTRIBUTE_BATCH = "batch";
+
+    private final FormInstanceBinderImpl _formInstanceBinder;
+
+    private int _batchCallCount;
+
+    private int _singleCallCount;
+
+    /**
+     * Create new object.
+     */
+    public BatchFormInstanceBinderImpl() {
+        super();
+        _formInstanceBinder = new FormInstanceBinderImpl();
+        _batchCallCount = 0;
+        _singleCallCount = 0;
+    }
+
+    /**
+     * Get the number of the batch method calls.
+     *
+     * @return the number of the batch method calls.
+     */
+    public int getBatchCallCount() {
+        return _batchCallCount;
+    }
+
+    /**
+     * Get the number of the single element definition and attribute definition method calls.
+     *
+     * @return the number of the single method calls.
+     */
+    public int getSingleCallCount() {
+        return _singleCallCount;
+    }
+
+    @Override
+    public void preBind(final BindingSource bindingSource, final FormDefinition formDefinition) {
+        _formInstanceBinder.preBind(bindingSource, formDefinition);
+    }
+
+    @Override
+    public void postBind(final BindingSource bindingSource, final FormDefinition formDefinition, final Document document) {
+        _formInstanceBinder.postBind(bindingSource, formDefinition, document);
+    }
+
+    @Override
+    public BindedForm bindFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition) {
+        return _formInstanceBinder.bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+    }
+
+    @Override
+    public List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition) {
+        _singleCallCount++;
+        return _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+    }
+
+    @Override
+    public BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition) {
+        _singleCallCount++;
+        return _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
+    }
+
+    @Override
+    public BatchBindingResult bindNodeDefinitions(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final List<AttributeDefinition> attributeDefinitions, final List<ElementDefinition> elementDefinitions) {
+        _batchCallCount++;
+        BatchBindingResult batchBindingResult = new BatchBindingResult();
+        for (AttributeDefinition attributeDefinition : attributeDefinitions) {
+            if (!"false".equals(attributeDefinition.getOtherAttributeValue(ATTRIBUTE_BATCH))) {
+                BindedAttribute bindedAttribute = _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
+                batchBindingResult.putBindedAttribute(attributeDefinition, bindedAttribute);
+            }
+        }
+        for (ElementDefinition elementDefinition : elementDefinitions) {
+            if (!"false".equals(elementDefinition.getOtherAttributeValue(ATTRIBUTE_BATCH))) {
+                List<BindedElement> bindedElements = _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+                batchBindingResult.putBindedElements(elementDefinition, bindedElements);
+            }
+        }
+        return batchBindingResult;
+    }
+
+}
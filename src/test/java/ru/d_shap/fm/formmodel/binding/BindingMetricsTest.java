@@ -0,0 +1,239 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindingSourceImpl;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodePath;
+
+/**
+ * Tests for {@link BindingMetrics}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class BindingMetricsTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public BindingMetricsTest() {
+        super();
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void newObjectTest() {
+        Assertions.assertThat(new BindingMetrics(0).getNodeMetrics()).isEmpty();
+        Assertions.assertThat(new BindingMetrics(0).getSlowLookups()).isEmpty();
+
+        try {
+            new BindingMetrics(-1);
+            Assertions.fail("BindingMetrics test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Slow lookup count must not be negative: -1");
+        }
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void getBucketIndexTest() {
+        Assertions.assertThat(BindingMetrics.getBucketIndex(-1L)).isEqualTo(0);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(0L)).isEqualTo(0);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(1L)).isEqualTo(1);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(2L)).isEqualTo(2);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(3L)).isEqualTo(2);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(4L)).isEqualTo(3);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(1023L)).isEqualTo(10);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(1024L)).isEqualTo(11);
+        Assertions.assertThat(BindingMetrics.getBucketIndex(Long.MAX_VALUE)).isEqualTo(BindingMetrics.BUCKET_COUNT - 1);
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void getNodeMetricsTest() {
+        FormDefinition formDefinition = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        ElementDefinition elementDefinition = new ElementDefinition("id", "element lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        AttributeDefinition attributeDefinition = new AttributeDefinition("id", "attribute lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        NodePath formNodePath = new NodePath(formDefinition);
+        NodePath elementNodePath = new NodePath(formNodePath, elementDefinition);
+        NodePath attributeNodePath = new NodePath(elementNodePath, attributeDefinition);
+
+        BindingMetrics bindingMetrics = new BindingMetrics(10);
+        bindingMetrics.lookupStarted(new BindingSourceImpl("repr"), formDefinition, formNodePath);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), formDefinition, formNodePath, 5L, 1);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition, elementNodePath, 100L, 3);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition, elementNodePath, 20L, 2);
+        bindingMetrics.lookupFailed(new BindingSourceImpl("repr"), elementDefinition, elementNodePath, 300L);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), attributeDefinition, attributeNodePath, 0L, 0);
+
+        List<BindingMetrics.NodeMetrics> nodeMetrics = bindingMetrics.getNodeMetrics();
+        Assertions.assertThat(nodeMetrics).hasSize(3);
+        Assertions.assertThat(nodeMetrics.get(0).getNodeDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(nodeMetrics.get(1).getNodeDefinition()).isSameAs(elementDefinition);
+        Assertions.assertThat(nodeMetrics.get(2).getNodeDefinition()).isSameAs(attributeDefinition);
+
+        BindingMetrics.NodeMetrics elementNodeMetrics = bindingMetrics.getNodeMetrics(elementDefinition);
+        Assertions.assertThat(elementNodeMetrics.getNodeDefinition()).isSameAs(elementDefinition);
+        Assertions.assertThat(elementNodeMetrics.getLookupCount()).isEqualTo(3L);
+        Assertions.assertThat(elementNodeMetrics.getFailureCount()).isEqualTo(1L);
+        Assertions.assertThat(elementNodeMetrics.getResultCount()).isEqualTo(5L);
+        Assertions.assertThat(elementNodeMetrics.getTotalTime()).isEqualTo(420L);
+        Assertions.assertThat(elementNodeMetrics.getMaxTime()).isEqualTo(300L);
+        long[] histogram = elementNodeMetrics.getHistogram();
+        Assertions.assertThat(histogram.length).isEqualTo(BindingMetrics.BUCKET_COUNT);
+        Assertions.assertThat(histogram[BindingMetrics.getBucketIndex(20L)]).isEqualTo(1L);
+        Assertions.assertThat(histogram[BindingMetrics.getBucketIndex(100L)]).isEqualTo(1L);
+        Assertions.assertThat(histogram[BindingMetrics.getBucketIndex(300L)]).isEqualTo(1L);
+        histogram[0] = 100L;
+        Assertions.assertThat(elementNodeMetrics.getHistogram()[0]).isEqualTo(0L);
+
+        BindingMetrics.NodeMetrics attributeNodeMetrics = bindingMetrics.getNodeMetrics(attributeDefinition);
+        Assertions.assertThat(attributeNodeMetrics.getLookupCount()).isEqualTo(1L);
+        Assertions.assertThat(attributeNodeMetrics.getFailureCount()).isEqualTo(0L);
+        Assertions.assertThat(attributeNodeMetrics.getResultCount()).isEqualTo(0L);
+        Assertions.assertThat(attributeNodeMetrics.getTotalTime()).isEqualTo(0L);
+        Assertions.assertThat(attributeNodeMetrics.getMaxTime()).isEqualTo(0L);
+        Assertions.assertThat(attributeNodeMetrics.getHistogram()[0]).isEqualTo(1L);
+
+        Assertions.assertThat(bindingMetrics.getNodeMetrics(new ElementDefinition("id", "element lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes()))).isNull();
+
+        bindingMetrics.clear();
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).isEmpty();
+        Assertions.assertThat(bindingMetrics.getSlowLookups()).isEmpty();
+        Assertions.assertThat(bindingMetrics.getNodeMetrics(elementDefinition)).isNull();
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void getSlowLookupsTest() {
+        FormDefinition formDefinition = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        ElementDefinition elementDefinition1 = new ElementDefinition("id1", "lookup1", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        ElementDefinition elementDefinition2 = new ElementDefinition("id2", "lookup2", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        AttributeDefinition attributeDefinition = new AttributeDefinition("id3", "lookup3", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        NodePath formNodePath = new NodePath(formDefinition);
+        NodePath elementNodePath1 = new NodePath(formNodePath, elementDefinition1);
+        NodePath elementNodePath2 = new NodePath(formNodePath, elementDefinition2);
+        NodePath attributeNodePath = new NodePath(elementNodePath1, attributeDefinition);
+
+        BindingMetrics bindingMetrics = new BindingMetrics(3);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), formDefinition, formNodePath, 1000L, 1);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition1, elementNodePath1, 10L, 1);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition2, elementNodePath2, 50L, 1);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), attributeDefinition, attributeNodePath, 30L, 1);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), attributeDefinition, attributeNodePath, 5L, 1);
+        bindingMetrics.lookupFailed(new BindingSourceImpl("repr"), elementDefinition1, elementNodePath1, 50L);
+
+        List<BindingMetrics.SlowLookup> slowLookups = bindingMetrics.getSlowLookups();
+        Assertions.assertThat(slowLookups).hasSize(3);
+        Assertions.assertThat(slowLookups.get(0).getNodeDefinition()).isSameAs(elementDefinition2);
+        Assertions.assertThat(slowLookups.get(0).getLookup()).isEqualTo("lookup2");
+        Assertions.assertThat(slowLookups.get(0).getNodePath()).isSameAs(elementNodePath2);
+        Assertions.assertThat(slowLookups.get(0).getElapsedTime()).isEqualTo(50L);
+        Assertions.assertThat(slowLookups.get(0).isFailed()).isFalse();
+        Assertions.assertThat(slowLookups.get(1).getNodeDefinition()).isSameAs(elementDefinition1);
+        Assertions.assertThat(slowLookups.get(1).getLookup()).isEqualTo("lookup1");
+        Assertions.assertThat(slowLookups.get(1).getElapsedTime()).isEqualTo(50L);
+        Assertions.assertThat(slowLookups.get(1).isFailed()).isTrue();
+        Assertions.assertThat(slowLookups.get(2).getNodeDefinition()).isSameAs(attributeDefinition);
+        Assertions.assertThat(slowLookups.get(2).getLookup()).isEqualTo("lookup3");
+        Assertions.assertThat(slowLookups.get(2).getNodePath().toString()).isEqualTo("{source}form[@group:id]/element[@id1]/attribute[@id3]");
+        Assertions.assertThat(slowLookups.get(2).getElapsedTime()).isEqualTo(30L);
+
+        BindingMetrics emptyBindingMetrics = new BindingMetrics(0);
+        emptyBindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition1, elementNodePath1, 10L, 1);
+        Assertions.assertThat(emptyBindingMetrics.getSlowLookups()).isEmpty();
+        Assertions.assertThat(emptyBindingMetrics.getNodeMetrics()).hasSize(1);
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void removeCollectedNodeMetricsTest() throws Exception {
+        BindingMetrics bindingMetrics = new BindingMetrics(0);
+        addElementLookup(bindingMetrics);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).hasSize(1);
+        for (int i = 0; i < 100 && !bindingMetrics.getNodeMetrics().isEmpty(); i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).isEmpty();
+
+        FormDefinition formDefinition = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        NodePath formNodePath = new NodePath(formDefinition);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), formDefinition, formNodePath, 5L, 1);
+        for (int i = 0; i < 100 && bindingMetrics.getNodeCountersSize() != 1; i++) {
+            System.gc();
+            Thread.sleep(10L);
+            bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), formDefinition, formNodePath, 5L, 1);
+        }
+        Assertions.assertThat(bindingMetrics.getNodeCountersSize()).isEqualTo(1);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).hasSize(1);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics().get(0).getNodeDefinition()).isSameAs(formDefinition);
+    }
+
+    /**
+     * {@link BindingMetrics} class test.
+     */
+    @Test
+    public void nodeDefinitionReferenceTest() {
+        FormDefinition formDefinition1 = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        BindingMetrics.NodeDefinitionReference reference1 = new BindingMetrics.NodeDefinitionReference(formDefinition1, null);
+        BindingMetrics.NodeDefinitionReference reference2 = new BindingMetrics.NodeDefinitionReference(formDefinition1, null);
+        BindingMetrics.NodeDefinitionReference reference3 = new BindingMetrics.NodeDefinitionReference(formDefinition2, null);
+        Assertions.assertThat(reference1.equals(reference1)).isTrue();
+        Assertions.assertThat(reference1.equals(reference2)).isTrue();
+        Assertions.assertThat(reference1.hashCode()).isEqualTo(reference2.hashCode());
+        Assertions.assertThat(reference1.equals(reference3)).isFalse();
+        Assertions.assertThat(reference1.equals(formDefinition1)).isFalse();
+        Assertions.assertThat(reference1.equals(null)).isFalse();
+
+        reference2.clear();
+        Assertions.assertThat(reference2.equals(reference2)).isTrue();
+        Assertions.assertThat(reference2.equals(reference1)).isFalse();
+        Assertions.assertThat(reference1.equals(reference2)).isFalse();
+    }
+
+    private void addElementLookup(final BindingMetrics bindingMetrics) {
+        FormDefinition formDefinition = new FormDefinition("group", "id", createNodeDefinitions(), createOtherAttributes(), "source");
+        ElementDefinition elementDefinition = new ElementDefinition("id", "element lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(), createOtherAttributes());
+        NodePath elementNodePath = new NodePath(new NodePath(formDefinition), elementDefinition);
+        bindingMetrics.lookupFinished(new BindingSourceImpl("repr"), elementDefinition, elementNodePath, 10L, 1);
+    }
+
+}
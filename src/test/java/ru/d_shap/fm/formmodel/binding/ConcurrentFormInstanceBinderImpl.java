@@ -0,0 +1,194 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Implementation of the {@link ConcurrentFormInstanceBinder}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ConcurrentFormInstanceBinderImpl implements ConcurrentFormInstanceBinder {
+
+    private static final String ATTRIBUTE_ERROR = "error";
+
+    private static final String ATTRIBUTE_BLOCK = "block";
+
+    private static final String ATTRIBUTE_INTERRUPT = "interrupt";
+
+    private final FormInstanceBinderImpl _formInstanceBinder;
+
+    private final Set<String> _threadNames;
+
+    private final AtomicInteger _bindCallCount;
+
+    private final Map<String, List<String>> _parentChildNodes;
+
+    private volatile CountDownLatch _blockedLatch;
+
+    private volatile CountDownLatch _releasedLatch;
+
+    /**
+     * Create new object.
+     */
+    public ConcurrentFormInstanceBinderImpl() {
+        super();
+        _formInstanceBinder = new FormInstanceBinderImpl();
+        _threadNames = Collections.synchronizedSet(new HashSet<String>());
+        _bindCallCount = new AtomicInteger();
+        _parentChildNodes = Collections.synchronizedMap(new HashMap<String, List<String>>());
+        _blockedLatch = null;
+        _releasedLatch = null;
+    }
+
+    /**
+     * Get the names of the threads, that binded the element definitions.
+     *
+     * @return the names of the threads.
+     */
+    public Set<String> getThreadNames() {
+        return _threadNames;
+    }
+
+    /**
+     * Get the number of the form definition, element definition and attribute definition method calls.
+     *
+     * @return the number of the method calls.
+     */
+    public int getBindCallCount() {
+        return _bindCallCount.get();
+    }
+
+    /**
+     * Get the child nodes of the parent XML element, that the element definition binding got. Every child node is
+     * represented with the node name and the id attribute value.
+     *
+     * @param id the element definition ID.
+     *
+     * @return the child nodes of the parent XML element.
+     */
+    public List<String> getParentChildNodes(final String id) {
+        return _parentChildNodes.get(id);
+    }
+
+    /**
+     * Block the binding of the element definitions with the block attribute until the released latch is count down.
+     *
+     * @param blockedLatch  the latch to count down, when the binding is blocked.
+     * @param releasedLatch the latch to wait for.
+     */
+    public void setBlockLatches(final CountDownLatch blockedLatch, final CountDownLatch releasedLatch) {
+        _blockedLatch = blockedLatch;
+        _releasedLatch = releasedLatch;
+    }
+
+    @Override
+    public void preBind(final BindingSource bindingSource, final FormDefinition formDefinition) {
+        // Ignore
+    }
+
+    @Override
+    public void postBind(final BindingSource bindingSource, final FormDefinition formDefinition, final Document document) {
+        // Ignore
+    }
+
+    @Override
+    public BindedForm bindFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition) {
+        _bindCallCount.incrementAndGet();
+        String error = formDefinition.getOtherAttributeValue(ATTRIBUTE_ERROR);
+        if (error != null) {
+            throw new AssertionError(error);
+        }
+        return _formInstanceBinder.bindFormDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, formDefinition);
+    }
+
+    @Override
+    public List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition) {
+        _bindCallCount.incrementAndGet();
+        _threadNames.add(Thread.currentThread().getName());
+        _parentChildNodes.put(elementDefinition.getId(), getChildNodes(parentElement));
+        String error = elementDefinition.getOtherAttributeValue(ATTRIBUTE_ERROR);
+        if (error != null) {
+            throw new AssertionError(error);
+        }
+        if (elementDefinition.getOtherAttributeValue(ATTRIBUTE_BLOCK) != null) {
+            block();
+        }
+        if (elementDefinition.getOtherAttributeValue(ATTRIBUTE_INTERRUPT) != null) {
+            Thread.currentThread().interrupt();
+        }
+        return _formInstanceBinder.bindElementDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, elementDefinition);
+    }
+
+    @Override
+    public BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition) {
+        _bindCallCount.incrementAndGet();
+        String error = attributeDefinition.getOtherAttributeValue(ATTRIBUTE_ERROR);
+        if (error != null) {
+            throw new AssertionError(error);
+        }
+        return _formInstanceBinder.bindAttributeDefinition(bindingSource, lastBindedForm, lastBindedElement, parentElement, attributeDefinition);
+    }
+
+    private List<String> getChildNodes(final Element parentElement) {
+        List<String> childNodes = new ArrayList<>();
+        Node childNode = parentElement.getFirstChild();
+        while (childNode != null) {
+            if (childNode instanceof Element) {
+                childNodes.add(childNode.getNodeName() + ":" + ((Element) childNode).getAttribute("id"));
+            } else {
+                childNodes.add(childNode.getNodeName());
+            }
+            childNode = childNode.getNextSibling();
+        }
+        return childNodes;
+    }
+
+    private void block() {
+        _blockedLatch.countDown();
+        try {
+            _releasedLatch.await();
+        } catch (InterruptedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindedFormImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
+import ru.d_shap.fm.formmodel.binding.model.BindingSourceImpl;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * Tests for {@link FormBinderIterator}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormBinderIteratorTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormBinderIteratorTest() {
+        super();
+    }
+
+    /**
+     * {@link FormBinderIterator} class test.
+     */
+    @Test
+    public void iterateTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+        List<BindingSource> bindingSources = createBindingSources("source1", "source2", "source3");
+        DeferredExecutor executor = new DeferredExecutor();
+
+        Iterator<Document> iterator = formBinder.bindAll(bindingSources, "id", executor, 2);
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(2);
+        Assertions.assertThat(iterator.hasNext()).isTrue();
+        executor.runAll();
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source1");
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(1);
+        Assertions.assertThat(iterator.hasNext()).isTrue();
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source2");
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(1);
+        Assertions.assertThat(iterator.hasNext()).isTrue();
+        executor.runAll();
+        Document document = iterator.next();
+        Assertions.assertThat(getRepresentation(document)).isEqualTo("source3");
+        Assertions.assertThat(formInstanceBinder.getDocument()).isSameAs(document);
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+        Assertions.assertThat(iterator.hasNext()).isFalse();
+        try {
+            iterator.next();
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (NoSuchElementException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+
+        Iterator<Document> emptyIterator = formBinder.bindAll(new ArrayList<BindingSource>(), "id", executor, 2);
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(0);
+        Assertions.assertThat(emptyIterator.hasNext()).isFalse();
+    }
+
+    /**
+     * {@link FormBinderIterator} class test.
+     */
+    @Test
+    public void maxInFlightTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        List<BindingSource> bindingSources = createBindingSources("source1", "source2", "source3");
+        DeferredExecutor executor = new DeferredExecutor();
+
+        Iterator<Document> iterator = formBinder.bindAll(bindingSources, "id", executor, 5);
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(3);
+        executor.runAll();
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source1");
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source2");
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source3");
+        Assertions.assertThat(iterator.hasNext()).isFalse();
+
+        try {
+            formBinder.bindAll(bindingSources, "id", executor, 0);
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Maximum in-flight bind count must be positive: 0");
+        }
+        try {
+            formBinder.bindAll(bindingSources, "id", executor, -1);
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Maximum in-flight bind count must be positive: -1");
+        }
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(0);
+    }
+
+    /**
+     * {@link FormBinderIterator} class test.
+     */
+    @Test
+    public void bindFailTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+        List<BindingSource> bindingSources = createBindingSources(null, "source2");
+        DeferredExecutor executor = new DeferredExecutor();
+
+        Iterator<Document> iterator = formBinder.bindAll(bindingSources, "id", executor, 2);
+        executor.runAll();
+        try {
+            iterator.next();
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form is not present: {source}form[@:id]]");
+        }
+        Assertions.assertThat(getRepresentation(iterator.next())).isEqualTo("source2");
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+
+        FormBinder errorFormBinder = new FormBinder(formDefinitions, new ErrorFormInstanceBinder());
+        Iterator<Document> errorIterator = errorFormBinder.bindAll(bindingSources, "id", executor, 2);
+        executor.runAll();
+        try {
+            errorIterator.next();
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (AssertionError ex) {
+            Assertions.assertThat(ex).hasMessage("Bind error");
+        }
+    }
+
+    /**
+     * {@link FormBinderIterator} class test.
+     */
+    @Test
+    public void interruptedTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        List<BindingSource> bindingSources = createBindingSources("source1", "source2");
+        DeferredExecutor executor = new DeferredExecutor();
+
+        Iterator<Document> iterator = formBinder.bindAll(bindingSources, "id", executor, 1);
+        try {
+            Thread.currentThread().interrupt();
+            iterator.next();
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(InterruptedException.class);
+            Assertions.assertThat(Thread.interrupted()).isTrue();
+        }
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(2);
+    }
+
+    /**
+     * {@link FormBinderIterator} class test.
+     */
+    @Test
+    public void removeTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        Iterator<Document> iterator = formBinder.bindAll(createBindingSources("source1"), "id", new DeferredExecutor(), 1);
+        try {
+            iterator.remove();
+            Assertions.fail("FormBinderIterator test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+    }
+
+    private FormDefinitions createFormDefinitions() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='el-id' lookup='lookup'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        return createFormDefinitionsFromXml(xml);
+    }
+
+    private List<BindingSource> createBindingSources(final String... representations) {
+        List<BindingSource> bindingSources = new ArrayList<>();
+        for (String representation : Arrays.asList(representations)) {
+            bindingSources.add(new BindingSourceImpl(representation));
+        }
+        return bindingSources;
+    }
+
+    private String getRepresentation(final Document document) {
+        Element element = document.getDocumentElement();
+        return ((BindedFormImpl) element.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT)).getRepresentation();
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DeferredExecutor implements Executor {
+
+        private final List<Runnable> _tasks;
+
+        DeferredExecutor() {
+            super();
+            _tasks = new ArrayList<>();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            _tasks.add(command);
+        }
+
+        int getTaskCount() {
+            return _tasks.size();
+        }
+
+        void runAll() {
+            for (Runnable task : _tasks) {
+                task.run();
+            }
+            _tasks.clear();
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ErrorFormInstanceBinder implements FormInstanceBinder {
+
+        ErrorFormInstanceBinder() {
+            super();
+        }
+
+        @Override
+        public void preBind(final BindingSource bindingSource, final FormDefinition formDefinition) {
+            // Ignore
+        }
+
+        @Override
+        public void postBind(final BindingSource bindingSource, final FormDefinition formDefinition, final Document document) {
+            // Ignore
+        }
+
+        @Override
+        public BindedForm bindFormDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final FormDefinition formDefinition) {
+            throw new AssertionError("Bind error");
+        }
+
+        @Override
+        public List<BindedElement> bindElementDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final ElementDefinition elementDefinition) {
+            return null;
+        }
+
+        @Override
+        public BindedAttribute bindAttributeDefinition(final BindingSource bindingSource, final BindedForm lastBindedForm, final BindedElement lastBindedElement, final Element parentElement, final AttributeDefinition attributeDefinition) {
+            return null;
+        }
+
+    }
+
+}
@@ -19,7 +19,23 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
 
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -27,8 +43,10 @@ import org.xml.sax.SAXException;
 
 import ru.d_shap.assertions.Assertions;
 import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
 import ru.d_shap.fm.formmodel.binding.model.BindingSourceImpl;
 import ru.d_shap.fm.formmodel.definition.FormDefinitionNotFoundException;
+import ru.d_shap.fm.formmodel.definition.model.ConcurrentFormDefinitions;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
 import ru.d_shap.fm.formmodel.document.DocumentWriter;
 
@@ -242,6 +260,374 @@ public final class FormBinderTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindContentHandlerTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='el-id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+
+        StringWriter writer1 = new StringWriter();
+        formBinder.bind(new BindingSourceImpl("source"), "group", "id", createTransformerHandler(writer1));
+        Assertions.assertThat(writer1.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" group=\"group\" id=\"id\"><element count=\"2\" id=\"el-id\" repr=\"repr1\"/><element count=\"2\" id=\"el-id\" repr=\"repr1\"/></form>");
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+        Assertions.assertThat(formInstanceBinder.getDocument()).isNull();
+
+        StringWriter writer2 = new StringWriter();
+        formBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(writer2));
+        Assertions.assertThat(writer2.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><element id=\"el-id\"/></form>");
+
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "wrong group", "id", createTransformerHandler(new StringWriter()));
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @wrong group:id]");
+        }
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "wrong id", createTransformerHandler(new StringWriter()));
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong id]");
+        }
+        try {
+            formBinder.bind(new BindingSourceImpl(null), "id", createTransformerHandler(new StringWriter()));
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form is not present: {source}form[@:id]]");
+        }
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindXmlStreamWriterTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='el-id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+
+        StringWriter writer1 = new StringWriter();
+        XMLStreamWriter xmlStreamWriter1 = XMLOutputFactory.newInstance().createXMLStreamWriter(writer1);
+        formBinder.bind(new BindingSourceImpl("source"), "group", "id", xmlStreamWriter1);
+        Assertions.assertThat(writer1.toString()).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"el-id\" repr=\"repr1\"></element><element count=\"2\" id=\"el-id\" repr=\"repr1\"></element></form>");
+
+        StringWriter writer2 = new StringWriter();
+        XMLStreamWriter xmlStreamWriter2 = XMLOutputFactory.newInstance().createXMLStreamWriter(writer2);
+        xmlStreamWriter2.writeStartElement("forms");
+        formBinder.bind(new BindingSourceImpl("source"), "id", xmlStreamWriter2);
+        formBinder.bind(new BindingSourceImpl("source"), "id", xmlStreamWriter2);
+        xmlStreamWriter2.writeEndElement();
+        xmlStreamWriter2.flush();
+        Assertions.assertThat(writer2.toString()).isEqualTo("<forms><form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element id=\"el-id\"></element></form><form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element id=\"el-id\"></element></form></forms>");
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindStreamValidationPolicyTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='insertInvalidElement' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(new StringWriter()));
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+
+        FormBinder neverFormBinder = formBinder.addValidationPolicy(ValidationPolicies.never());
+        StringWriter writer = new StringWriter();
+        neverFormBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(writer));
+        Assertions.assertThat(writer.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><otherNode repr=\"insertInvalidElement\"/></form>");
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindStreamSampledValidationPolicyTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='insertInvalidElement' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl(), ValidationPolicies.sampled(2));
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(new StringWriter()));
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        StringWriter writer = new StringWriter();
+        formBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(writer));
+        Assertions.assertThat(writer.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><otherNode repr=\"insertInvalidElement\"/></form>");
+        try {
+            formBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        Assertions.assertThat(formBinder.bindFormInstance(new BindingSourceImpl("source"), "id")).isNotNull();
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindStreamAsyncValidationPolicyTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='insertInvalidElement' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        JoinedThreadExecutor executor = new JoinedThreadExecutor();
+        ValidationListenerImpl validationListener = new ValidationListenerImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl(), ValidationPolicies.async(executor, validationListener));
+
+        StringWriter writer = new StringWriter();
+        formBinder.bind(new BindingSourceImpl("source"), "id", createTransformerHandler(writer));
+        Assertions.assertThat(writer.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><otherNode repr=\"insertInvalidElement\"/></form>");
+        Assertions.assertThat(executor.getThreadName()).isNotNull();
+        Assertions.assertThat(validationListener._validDocuments).isEmpty();
+        Assertions.assertThat(validationListener._invalidDocuments).hasSize(1);
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(validationListener._invalidDocuments.get(0))).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><otherNode repr=\"insertInvalidElement\"/></form>");
+        Assertions.assertThat(validationListener._exceptions.get(0)).hasCause(SAXException.class);
+
+        FormInstance formInstance = formBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(formInstance.getChildren()).hasSize(1);
+        Assertions.assertThat(validationListener._invalidDocuments).hasSize(2);
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(validationListener._invalidDocuments.get(1))).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><otherNode repr=\"insertInvalidElement\"/></form>");
+
+        String validXml = "<?xml version='1.0'?>\n";
+        validXml += "<ns1:form id='valid' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        validXml += "<ns1:element id='el-id' lookup='lookup'>";
+        validXml += "</ns1:element>";
+        validXml += "</ns1:form>";
+        FormDefinitions validFormDefinitions = createFormDefinitionsFromXml(validXml);
+        FormBinder validFormBinder = new FormBinder(validFormDefinitions, new FormInstanceBinderImpl(), ValidationPolicies.async(executor, validationListener));
+        validFormBinder.bind(new BindingSourceImpl("source"), "valid", createTransformerHandler(new StringWriter()));
+        validFormBinder.bindFormInstance(new BindingSourceImpl("source"), "valid");
+        Assertions.assertThat(validationListener._validDocuments).hasSize(2);
+        Assertions.assertThat(validationListener._invalidDocuments).hasSize(2);
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindFormInstanceTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='el-id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+
+        FormInstance formInstance1 = formBinder.bindFormInstance(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(formInstance1.toDocument())).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"el-id\" repr=\"repr1\"/><element count=\"2\" id=\"el-id\" repr=\"repr1\"/></form>");
+        Assertions.assertThat(formInstance1.getFormDefinition()).isSameAs(formDefinitions.getFormDefinition("group", "id"));
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+        Assertions.assertThat(formInstanceBinder.getDocument()).isNull();
+
+        FormInstance formInstance2 = formBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(formInstance2.toDocument())).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element id=\"el-id\"/></form>");
+        Assertions.assertThat(formInstance2.getFormDefinition()).isSameAs(formDefinitions.getFormDefinition("id"));
+
+        try {
+            formBinder.bindFormInstance(new BindingSourceImpl("source"), "wrong group", "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @wrong group:id]");
+        }
+        try {
+            formBinder.bindFormInstance(new BindingSourceImpl("source"), "wrong id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong id]");
+        }
+        try {
+            formBinder.bindFormInstance(new BindingSourceImpl(null), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form is not present: {source}form[@:id]]");
+        }
+        Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindFormInstanceValidationPolicyTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='insertInvalidElement' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        try {
+            formBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+
+        FormBinder neverFormBinder = formBinder.addValidationPolicy(ValidationPolicies.never());
+        FormInstance formInstance = neverFormBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(formInstance.getChildren()).hasSize(1);
+        Assertions.assertThat(formInstance.getChildren().get(0).getName()).isEqualTo("otherNode");
+        Assertions.assertThat(formInstance.getChildren().get(0).isOtherNode()).isFalse();
+        Assertions.assertThat(formInstance.getChildren().get(0).getAttribute("repr")).isEqualTo("insertInvalidElement");
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindAsyncTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='el-id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<Document> future1 = formBinder.bindAsync(new BindingSourceImpl("source"), "group", "id", executorService);
+            Document document1 = future1.get();
+            Assertions.assertThat(DocumentWriter.newInstance().getAsString(document1)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"el-id\" repr=\"repr1\"/><element count=\"2\" id=\"el-id\" repr=\"repr1\"/></form>");
+            Assertions.assertThat(formInstanceBinder.getDocument()).isSameAs(document1);
+
+            Future<Document> future2 = formBinder.bindAsync(new BindingSourceImpl("source"), "id", executorService);
+            Document document2 = future2.get();
+            Assertions.assertThat(DocumentWriter.newInstance().getAsString(document2)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element id=\"el-id\"/></form>");
+            Assertions.assertThat(formInstanceBinder.getDocument()).isSameAs(document2);
+
+            try {
+                formBinder.bindAsync(new BindingSourceImpl("source"), "wrong group", "id", executorService);
+                Assertions.fail("FormBinder test fail");
+            } catch (FormDefinitionNotFoundException ex) {
+                Assertions.assertThat(ex).hasMessage("[Form definition was not found: @wrong group:id]");
+            }
+            try {
+                formBinder.bindAsync(new BindingSourceImpl("source"), "wrong id", executorService);
+                Assertions.fail("FormBinder test fail");
+            } catch (FormDefinitionNotFoundException ex) {
+                Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong id]");
+            }
+            try {
+                formBinder.bindAsync(new BindingSourceImpl(null), "id", executorService).get();
+                Assertions.fail("FormBinder test fail");
+            } catch (ExecutionException ex) {
+                Assertions.assertThat(ex).hasCause(FormBindingException.class);
+                Assertions.assertThat(ex).toCause().hasMessage("[Form is not present: {source}form[@:id]]");
+            }
+            Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindAllTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='el-id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        FormInstanceBinderImpl formInstanceBinder = new FormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+        List<BindingSource> bindingSources = new ArrayList<>();
+        bindingSources.add(new BindingSourceImpl("source1"));
+        bindingSources.add(new BindingSourceImpl("source2"));
+        bindingSources.add(new BindingSourceImpl("source3"));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Iterator<Document> iterator1 = formBinder.bindAll(bindingSources, "group", "id", executorService, 2);
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertThat(iterator1.hasNext()).isTrue();
+                Assertions.assertThat(DocumentWriter.newInstance().getAsString(iterator1.next())).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"el-id\" repr=\"repr1\"/><element count=\"2\" id=\"el-id\" repr=\"repr1\"/></form>");
+            }
+            Assertions.assertThat(iterator1.hasNext()).isFalse();
+
+            Iterator<Document> iterator2 = formBinder.bindAll(bindingSources, "id", executorService, 1);
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertThat(iterator2.hasNext()).isTrue();
+                Assertions.assertThat(DocumentWriter.newInstance().getAsString(iterator2.next())).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element id=\"el-id\"/></form>");
+            }
+            Assertions.assertThat(iterator2.hasNext()).isFalse();
+
+            try {
+                formBinder.bindAll(bindingSources, "wrong group", "id", executorService, 1);
+                Assertions.fail("FormBinder test fail");
+            } catch (FormDefinitionNotFoundException ex) {
+                Assertions.assertThat(ex).hasMessage("[Form definition was not found: @wrong group:id]");
+            }
+            try {
+                formBinder.bindAll(bindingSources, "wrong id", executorService, 1);
+                Assertions.fail("FormBinder test fail");
+            } catch (FormDefinitionNotFoundException ex) {
+                Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong id]");
+            }
+            Assertions.assertThat(formInstanceBinder.getBindingSource()).isNull();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     /**
      * {@link FormBinder} class test.
      */
@@ -285,4 +671,306 @@ public final class FormBinderTest extends BaseFormModelTest {
         Assertions.assertThat(formInstanceBinder2.getDocument()).isNull();
     }
 
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void addValidationPolicyTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='insertInvalidElement' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+
+        FormBinder neverFormBinder = formBinder.addValidationPolicy(ValidationPolicies.never());
+        Assertions.assertThat(neverFormBinder).isNotSameAs(formBinder);
+        Document document = neverFormBinder.bind(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><otherNode repr=\"insertInvalidElement\"/></form>");
+
+        FormBinder sampledFormBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl(), ValidationPolicies.sampled(2));
+        try {
+            sampledFormBinder.bind(new BindingSourceImpl("source"), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        Assertions.assertThat(sampledFormBinder.bind(new BindingSourceImpl("source"), "id")).isNotNull();
+        try {
+            sampledFormBinder.bind(new BindingSourceImpl("source"), "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void addExecutorTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='eid1' lookup='lookup' repr='repr1' count='1'>";
+        xml1 += "</ns1:element>";
+        xml1 += "<ns1:element id='eid2' lookup='lookup' type='optional+' repr='repr2' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='eid3' lookup='lookup' repr='repr3' count='1'>";
+        xml2 += "</ns1:element>";
+        xml2 += "<ns1:element id='eid4' lookup='lookup' repr='repr4' count='1'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        concurrentFormDefinitions.addFormDefinitions(createFormDefinitionsFromXml(xml1).getFormDefinitions());
+        ConcurrentFormInstanceBinderImpl formInstanceBinder = new ConcurrentFormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(concurrentFormDefinitions, formInstanceBinder);
+        JoinedThreadExecutor executor = new JoinedThreadExecutor();
+        Document document1 = formBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document1)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid1\" repr=\"repr1\"/><element count=\"2\" id=\"eid2\" repr=\"repr2\"/><element count=\"2\" id=\"eid2\" repr=\"repr2\"/></form>");
+        Assertions.assertThat(formInstanceBinder.getThreadNames()).containsExactly(Thread.currentThread().getName());
+
+        formInstanceBinder.getThreadNames().clear();
+        FormBinder concurrentFormBinder = formBinder.addExecutor(executor).addValidationPolicy(ValidationPolicies.always());
+        Assertions.assertThat(concurrentFormBinder).isNotSameAs(formBinder);
+        Document document2 = concurrentFormBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document2)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid1\" repr=\"repr1\"/><element count=\"2\" id=\"eid2\" repr=\"repr2\"/><element count=\"2\" id=\"eid2\" repr=\"repr2\"/></form>");
+        Assertions.assertThat(formInstanceBinder.getThreadNames()).containsExactly(executor.getThreadName(), Thread.currentThread().getName());
+
+        formInstanceBinder.getThreadNames().clear();
+        concurrentFormDefinitions.replaceFormDefinitions("source", createFormDefinitionsFromXml(xml2).getFormDefinitions());
+        Document document3 = concurrentFormBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document3)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid3\" repr=\"repr3\"/><element count=\"1\" id=\"eid4\" repr=\"repr4\"/></form>");
+        Assertions.assertThat(formInstanceBinder.getThreadNames()).containsExactly(executor.getThreadName(), Thread.currentThread().getName());
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void addBindingListenerTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id' lookup='lookup' repr='repr' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        BindingMetrics bindingMetrics = new BindingMetrics(10);
+        FormBinder listenerFormBinder = formBinder.addBindingListener(bindingMetrics).addLookupMemo(10).addValidationPolicy(ValidationPolicies.never());
+        Assertions.assertThat(listenerFormBinder).isNotSameAs(formBinder);
+
+        formBinder.bind(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).isEmpty();
+
+        Document document = listenerFormBinder.bind(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"id\" repr=\"repr\"/></form>");
+        Assertions.assertThat(bindingMetrics.getNodeMetrics()).hasSize(2);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics().get(0).getNodeDefinition()).isSameAs(formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(bindingMetrics.getNodeMetrics().get(0).getResultCount()).isEqualTo(1L);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics().get(1).getLookupCount()).isEqualTo(1L);
+        Assertions.assertThat(bindingMetrics.getNodeMetrics().get(1).getResultCount()).isEqualTo(1L);
+        Assertions.assertThat(bindingMetrics.getSlowLookups()).hasSize(1);
+        Assertions.assertThat(bindingMetrics.getSlowLookups().get(0).getLookup()).isEqualTo("lookup");
+        Assertions.assertThat(bindingMetrics.getSlowLookups().get(0).getNodePath().toString()).isEqualTo("{source}form[@:id]/element[@id]");
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void addLookupMemoTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='header' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id' lookup='header' repr='repr' count='1'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:form-reference id='header'>";
+        xml2 += "</ns1:form-reference>";
+        xml2 += "<ns1:form-reference id='header'>";
+        xml2 += "</ns1:form-reference>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+        ConcurrentFormInstanceBinderImpl formInstanceBinder = new ConcurrentFormInstanceBinderImpl();
+        FormBinder formBinder = new FormBinder(formDefinitions, formInstanceBinder);
+        Document document1 = formBinder.bind(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document1)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><form-reference id=\"header\"><element count=\"1\" id=\"id\" repr=\"repr\"/></form-reference><form-reference id=\"header\"><element count=\"1\" id=\"id\" repr=\"repr\"/></form-reference></form>");
+        Assertions.assertThat(formInstanceBinder.getBindCallCount()).isEqualTo(5);
+
+        FormBinder memoFormBinder = formBinder.addLookupMemo(10).addValidationPolicy(ValidationPolicies.always());
+        Assertions.assertThat(memoFormBinder).isNotSameAs(formBinder);
+        Document document2 = memoFormBinder.bind(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document2)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><form-reference id=\"header\"><element count=\"1\" id=\"id\" repr=\"repr\"/></form-reference><form-reference id=\"header\"><element count=\"1\" id=\"id\" repr=\"repr\"/></form-reference></form>");
+        Assertions.assertThat(formInstanceBinder.getBindCallCount()).isEqualTo(8);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Document document3 = memoFormBinder.addExecutor(executorService).bind(new BindingSourceImpl("source"), "id");
+            Assertions.assertThat(DocumentWriter.newInstance().getAsString(document3)).isEqualTo(DocumentWriter.newInstance().getAsString(document2));
+            Assertions.assertThat(formInstanceBinder.getBindCallCount()).isEqualTo(11);
+        } finally {
+            executorService.shutdown();
+        }
+
+        try {
+            formBinder.addLookupMemo(0);
+            Assertions.fail("FormBinder test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Maximum lookup memo size must be positive: 0");
+        }
+        try {
+            formBinder.addLookupMemo(-1);
+            Assertions.fail("FormBinder test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Maximum lookup memo size must be positive: -1");
+        }
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindConcurrentFormDefinitionsTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='eid1' lookup='lookup' repr='repr1' count='1'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='eid2' lookup='lookup' repr='repr2' count='1'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        FormBinder formBinder = new FormBinder(concurrentFormDefinitions, new FormInstanceBinderImpl());
+        FormBinder neverFormBinder = formBinder.addValidationPolicy(ValidationPolicies.never());
+
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "group", "id");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @group:id]");
+        }
+
+        concurrentFormDefinitions.addFormDefinitions(createFormDefinitionsFromXml(xml1).getFormDefinitions());
+        Document document11 = formBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document11)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid1\" repr=\"repr1\"/></form>");
+        Document document12 = neverFormBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document12)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid1\" repr=\"repr1\"/></form>");
+
+        concurrentFormDefinitions.replaceFormDefinitions("source", createFormDefinitionsFromXml(xml2).getFormDefinitions());
+        Document document21 = formBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document21)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid2\" repr=\"repr2\"/></form>");
+        Document document22 = neverFormBinder.bind(new BindingSourceImpl("source"), "group", "id");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document22)).isEqualTo("<form group=\"group\" id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"1\" id=\"eid2\" repr=\"repr2\"/></form>");
+    }
+
+    /**
+     * {@link FormBinder} class test.
+     */
+    @Test
+    public void bindFormDefinitionsCopyTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id2' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        formDefinitions.addFormDefinitions(createFormDefinitionsFromXml(xml2).getFormDefinitions());
+
+        Assertions.assertThat(formBinder.bind(new BindingSourceImpl("source"), "id1")).isNotNull();
+        try {
+            formBinder.bind(new BindingSourceImpl("source"), "id2");
+            Assertions.fail("FormBinder test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:id2]");
+        }
+    }
+
+    private TransformerHandler createTransformerHandler(final StringWriter writer) throws Exception {
+        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler();
+        transformerHandler.getTransformer().setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformerHandler.setResult(new StreamResult(writer));
+        return transformerHandler;
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class JoinedThreadExecutor implements Executor {
+
+        private String _threadName;
+
+        JoinedThreadExecutor() {
+            super();
+            _threadName = null;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            Thread thread = new Thread(command);
+            _threadName = thread.getName();
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+
+        String getThreadName() {
+            return _threadName;
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ValidationListenerImpl implements ValidationListener {
+
+        private final List<Document> _validDocuments;
+
+        private final List<Document> _invalidDocuments;
+
+        private final List<FormBindingException> _exceptions;
+
+        ValidationListenerImpl() {
+            super();
+            _validDocuments = new ArrayList<>();
+            _invalidDocuments = new ArrayList<>();
+            _exceptions = new ArrayList<>();
+        }
+
+        @Override
+        public void validationSucceeded(final Document document) {
+            _validDocuments.add(document);
+        }
+
+        @Override
+        public void validationFailed(final Document document, final FormBindingException exception) {
+            _invalidDocuments.add(document);
+            _exceptions.add(exception);
+        }
+
+    }
+
 }
@@ -19,7 +19,20 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.binding;
 
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
 
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -31,8 +44,12 @@ import ru.d_shap.fm.formmodel.ServiceFinder;
 import ru.d_shap.fm.formmodel.binding.model.BindedAttributeImpl;
 import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
 import ru.d_shap.fm.formmodel.binding.model.BindedFormImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindingSource;
 import ru.d_shap.fm.formmodel.binding.model.BindingSourceImpl;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodePath;
 import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
 import ru.d_shap.fm.formmodel.document.DocumentWriter;
 
@@ -2726,7 +2743,7 @@ public final class FormInstanceBuilderImplTest extends BaseFormModelTest {
     /**
      * {@link FormInstanceBuilderImpl} class test.
      */
-    @Test(expected = StackOverflowError.class)
+    @Test
     public void buildFormReferenceInstanceSelfReferenceFailTest() {
         String xml = "<?xml version='1.0'?>\n";
         xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
@@ -2735,10 +2752,12 @@ public final class FormInstanceBuilderImplTest extends BaseFormModelTest {
         xml += "</ns1:form-reference>";
         xml += "</ns1:element>";
         xml += "</ns1:form>";
-        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
-        FormInstanceBuilderImpl formInstanceBuilder = createBinder(formDefinitions);
-        Document document = newDocument();
-        formInstanceBuilder.buildFormInstance(new BindingSourceImpl("repr"), document, formDefinitions.getFormDefinition("id"));
+        try {
+            createFormDefinitionsFromXml(xml);
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form reference cycle is found: @:id -> @:id]");
+        }
     }
 
     /**
@@ -3038,46 +3057,1060 @@ public final class FormInstanceBuilderImplTest extends BaseFormModelTest {
      * {@link FormInstanceBuilderImpl} class test.
      */
     @Test
-    public void getElementUserDataTest() {
+    public void buildFormInstanceStreamTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr' count='3'>";
+        xml1 += "<ns1:attribute id='id' lookup='lookup'>";
+        xml1 += "</ns1:attribute>";
+        xml1 += "<ns1:element id='id' lookup='lookup' type='optional+' repr='repr' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:element>";
+        xml1 += "<ns1:element id='id2' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions1, "repr", "group", "id"))).isEqualTo(getFormInstance(formDefinitions1, "repr", "group", "id"));
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions1, "repr", "group", "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" group=\"group\" id=\"id\"><element count=\"3\" id=\"id1\" repr=\"repr\"><attribute id=\"id\"/><element count=\"2\" id=\"id\" repr=\"repr\"/><element count=\"2\" id=\"id\" repr=\"repr\"/></element><element count=\"3\" id=\"id1\" repr=\"repr\"><attribute id=\"id\"/><element count=\"2\" id=\"id\" repr=\"repr\"/><element count=\"2\" id=\"id\" repr=\"repr\"/></element><element count=\"3\" id=\"id1\" repr=\"repr\"><attribute id=\"id\"/><element count=\"2\" id=\"id\" repr=\"repr\"/><element count=\"2\" id=\"id\" repr=\"repr\"/></element></form>");
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceStreamTest() throws Exception {
         String xml1 = "<?xml version='1.0'?>\n";
         xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id1' lookup='lookup'>";
+        xml1 += "<ns1:attribute id='id' lookup='lookup' type='optional' repr='repr' count='-1'>";
+        xml1 += "</ns1:attribute>";
+        xml1 += "</ns1:element>";
+        xml1 += "<ns1:element id='id2' lookup='lookup' type='optional' repr='repr' count='-1'>";
+        xml1 += "</ns1:element>";
         xml1 += "</ns1:form>";
         FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
-        FormInstanceBuilderImpl formInstanceBuilder1 = createBinder(formDefinitions1);
-        Document document1 = newDocument();
-        formInstanceBuilder1.buildFormInstance(new BindingSourceImpl("source repr"), document1, formDefinitions1.getFormDefinition("id"));
-        Element element1 = document1.getDocumentElement();
-        Assertions.assertThat(formInstanceBuilder1.getElementUserData(element1, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions1.getFormDefinition("id"));
-        Assertions.assertThat(formInstanceBuilder1.getElementUserData(element1, "wrong key")).isNull();
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions1, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><element id=\"id1\"/></form>");
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions1, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions1, "repr", null, "id"));
+
+        try {
+            String xml2 = "<?xml version='1.0'?>\n";
+            xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml2 += "<ns1:element id='id' lookup='lookup' type='required' repr='repr' count='2'>";
+            xml2 += "</ns1:element>";
+            xml2 += "</ns1:form>";
+            FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
+            getStreamedFormInstance(formDefinitions2, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Required element is present more than once: element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml3 = "<?xml version='1.0'?>\n";
+            xml3 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml3 += "<ns1:element id='id' lookup='lookup'>";
+            xml3 += "<ns1:attribute id='id' lookup='lookup' type='required' repr='repr' count='0'>";
+            xml3 += "</ns1:attribute>";
+            xml3 += "</ns1:element>";
+            xml3 += "</ns1:form>";
+            FormDefinitions formDefinitions3 = createFormDefinitionsFromXml(xml3);
+            getStreamedFormInstance(formDefinitions3, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Required attribute is not present: attribute[@id]], {source}form[@:id]/element[@id]");
+        }
+
+        try {
+            String xml4 = "<?xml version='1.0'?>\n";
+            xml4 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml4 += "<ns1:element id='id' lookup='lookup'>";
+            xml4 += "</ns1:element>";
+            xml4 += "</ns1:form>";
+            FormDefinitions formDefinitions4 = createFormDefinitionsFromXml(xml4);
+            getStreamedFormInstance(formDefinitions4, null, null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form is not present: {source}form[@:id]]");
+        }
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildSingleElementInstanceStreamTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:single-element id='id'>";
+        xml1 += "<ns1:element id='id1' lookup='lookup'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:single-element>";
+        xml1 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions1, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions1, "repr", null, "id"));
 
         String xml2 = "<?xml version='1.0'?>\n";
         xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
-        xml2 += "<ns1:element id='id' lookup='lookup'>";
+        xml2 += "<ns1:single-element id='id' type='optional'>";
+        xml2 += "<ns1:element id='id1' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:single-element>";
+        xml2 += "<ns1:element id='id2' lookup='lookup'>";
         xml2 += "</ns1:element>";
         xml2 += "</ns1:form>";
         FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
-        FormInstanceBuilderImpl formInstanceBuilder2 = createBinder(formDefinitions2);
-        Document document2 = newDocument();
-        formInstanceBuilder2.buildFormInstance(new BindingSourceImpl("source repr"), document2, formDefinitions2.getFormDefinition("id"));
-        Element element21 = document2.getDocumentElement();
-        Element element22 = (Element) element21.getFirstChild();
-        Object userData = new Object();
-        element21.setUserData("user data", userData, null);
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions2.getFormDefinition("id"));
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, "user data")).isSameAs(userData);
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, "wrong key")).isNull();
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions2.getFormDefinition("id"));
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, "user data")).isSameAs(userData);
-        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, "wrong key")).isNull();
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions2, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><element id=\"id2\"/></form>");
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions2, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions2, "repr", null, "id"));
+
+        String xml3 = "<?xml version='1.0'?>\n";
+        xml3 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml3 += "<ns1:single-element id='id' type='optional'>";
+        xml3 += "<ns1:single-element id='id' type='optional'>";
+        xml3 += "<ns1:element id='id1' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml3 += "</ns1:element>";
+        xml3 += "</ns1:single-element>";
+        xml3 += "<ns1:element id='id2' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml3 += "</ns1:element>";
+        xml3 += "</ns1:single-element>";
+        xml3 += "</ns1:form>";
+        FormDefinitions formDefinitions3 = createFormDefinitionsFromXml(xml3);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions3, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions3, "repr", null, "id"));
+
+        String xml4 = "<?xml version='1.0'?>\n";
+        xml4 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml4 += "<ns1:single-element id='id'>";
+        xml4 += "<ns1:single-element id='id'>";
+        xml4 += "<ns1:element id='id1' lookup='lookup'>";
+        xml4 += "</ns1:element>";
+        xml4 += "</ns1:single-element>";
+        xml4 += "<ns1:element id='id2' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml4 += "</ns1:element>";
+        xml4 += "</ns1:single-element>";
+        xml4 += "</ns1:form>";
+        FormDefinitions formDefinitions4 = createFormDefinitionsFromXml(xml4);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions4, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions4, "repr", null, "id"));
+
+        String xml5 = "<?xml version='1.0'?>\n";
+        xml5 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml5 += "<ns1:single-element id='id'>";
+        xml5 += "<ns2:otherNode repr='other' valid='true'>";
+        xml5 += "</ns2:otherNode>";
+        xml5 += "</ns1:single-element>";
+        xml5 += "</ns1:form>";
+        FormDefinitions formDefinitions5 = createFormDefinitionsFromXml(xml5);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions5, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions5, "repr", null, "id"));
+
+        try {
+            OtherNodeCommentInstanceBuilderImpl.setCopmatibleBuilder();
+            String xml6 = "<?xml version='1.0'?>\n";
+            xml6 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml6 += "<ns1:single-element id='id'>";
+            xml6 += "<ns2:otherNode repr='other' valid='true'>";
+            xml6 += "</ns2:otherNode>";
+            xml6 += "</ns1:single-element>";
+            xml6 += "</ns1:form>";
+            FormDefinitions formDefinitions6 = createFormDefinitionsFromXml(xml6);
+            Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions6, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions6, "repr", null, "id"));
+        } finally {
+            OtherNodeCommentInstanceBuilderImpl.clearCopmatibleBuilder();
+        }
+
+        String xml7 = "<?xml version='1.0'?>\n";
+        xml7 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml7 += "<ns1:single-element id='id'>";
+        xml7 += "<ns2:otherNode repr='insertInvalidNodeDefinition' valid='true'>";
+        xml7 += "</ns2:otherNode>";
+        xml7 += "<ns1:element id='id1' lookup='lookup'>";
+        xml7 += "</ns1:element>";
+        xml7 += "</ns1:single-element>";
+        xml7 += "</ns1:form>";
+        FormDefinitions formDefinitions7 = createFormDefinitionsFromXml(xml7);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions7, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions7, "repr", null, "id"));
+
+        try {
+            String xml8 = "<?xml version='1.0'?>\n";
+            xml8 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml8 += "<ns1:single-element id='id'>";
+            xml8 += "<ns1:element id='id1' lookup='lookup'>";
+            xml8 += "</ns1:element>";
+            xml8 += "<ns1:element id='id2' lookup='lookup'>";
+            xml8 += "</ns1:element>";
+            xml8 += "</ns1:single-element>";
+            xml8 += "</ns1:form>";
+            FormDefinitions formDefinitions8 = createFormDefinitionsFromXml(xml8);
+            getStreamedFormInstance(formDefinitions8, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Multiple single elements are present: single-element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml9 = "<?xml version='1.0'?>\n";
+            xml9 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml9 += "<ns1:single-element id='id'>";
+            xml9 += "<ns1:single-element id='id'>";
+            xml9 += "<ns1:element id='id1' lookup='lookup'>";
+            xml9 += "</ns1:element>";
+            xml9 += "</ns1:single-element>";
+            xml9 += "<ns1:element id='id2' lookup='lookup'>";
+            xml9 += "</ns1:element>";
+            xml9 += "</ns1:single-element>";
+            xml9 += "</ns1:form>";
+            FormDefinitions formDefinitions9 = createFormDefinitionsFromXml(xml9);
+            getStreamedFormInstance(formDefinitions9, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Multiple single elements are present: single-element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml10 = "<?xml version='1.0'?>\n";
+            xml10 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml10 += "<ns1:single-element id='id'>";
+            xml10 += "<ns1:single-element id='id'>";
+            xml10 += "<ns1:element id='id1' lookup='lookup'>";
+            xml10 += "</ns1:element>";
+            xml10 += "<ns1:element id='id2' lookup='lookup'>";
+            xml10 += "</ns1:element>";
+            xml10 += "</ns1:single-element>";
+            xml10 += "<ns1:element id='id3' lookup='lookup' type='optional' repr='repr' count='0'>";
+            xml10 += "</ns1:element>";
+            xml10 += "</ns1:single-element>";
+            xml10 += "</ns1:form>";
+            FormDefinitions formDefinitions10 = createFormDefinitionsFromXml(xml10);
+            getStreamedFormInstance(formDefinitions10, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Multiple single elements are present: single-element[@id]], {source}form[@:id]/single-element[@id]");
+        }
+
+        try {
+            String xml11 = "<?xml version='1.0'?>\n";
+            xml11 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml11 += "<ns1:single-element id='id'>";
+            xml11 += "<ns2:otherNode repr='other' valid='true'>";
+            xml11 += "</ns2:otherNode>";
+            xml11 += "<ns1:element id='id1' lookup='lookup'>";
+            xml11 += "</ns1:element>";
+            xml11 += "</ns1:single-element>";
+            xml11 += "</ns1:form>";
+            FormDefinitions formDefinitions11 = createFormDefinitionsFromXml(xml11);
+            getStreamedFormInstance(formDefinitions11, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Multiple single elements are present: single-element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml12 = "<?xml version='1.0'?>\n";
+            xml12 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml12 += "<ns1:single-element id='id'>";
+            xml12 += "<ns1:single-element id='id'>";
+            xml12 += "<ns2:otherNode repr='other' valid='true'>";
+            xml12 += "</ns2:otherNode>";
+            xml12 += "</ns1:single-element>";
+            xml12 += "<ns1:element id='id1' lookup='lookup'>";
+            xml12 += "</ns1:element>";
+            xml12 += "</ns1:single-element>";
+            xml12 += "</ns1:form>";
+            FormDefinitions formDefinitions12 = createFormDefinitionsFromXml(xml12);
+            getStreamedFormInstance(formDefinitions12, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Multiple single elements are present: single-element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml13 = "<?xml version='1.0'?>\n";
+            xml13 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml13 += "<ns1:single-element id='id' type='required'>";
+            xml13 += "<ns1:element id='id1' lookup='lookup' type='optional' repr='repr' count='0'>";
+            xml13 += "</ns1:element>";
+            xml13 += "</ns1:single-element>";
+            xml13 += "</ns1:form>";
+            FormDefinitions formDefinitions13 = createFormDefinitionsFromXml(xml13);
+            getStreamedFormInstance(formDefinitions13, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Required single element is not present: single-element[@id]], {source}form[@:id]");
+        }
+
+        try {
+            String xml14 = "<?xml version='1.0'?>\n";
+            xml14 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml14 += "<ns1:single-element id='id' type='prohibited'>";
+            xml14 += "<ns1:element id='id1' lookup='lookup'>";
+            xml14 += "</ns1:element>";
+            xml14 += "</ns1:single-element>";
+            xml14 += "</ns1:form>";
+            FormDefinitions formDefinitions14 = createFormDefinitionsFromXml(xml14);
+            getStreamedFormInstance(formDefinitions14, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Prohibited single element is present: single-element[@id]], {source}form[@:id]");
+        }
     }
 
-    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions) {
-        return createBinder(formDefinitions, new FormInstanceBinderImpl());
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildFormReferenceInstanceStreamTest() throws Exception {
+        String xml11 = "<?xml version='1.0'?>\n";
+        xml11 += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml11 += "<ns1:element id='id1' lookup='lookup'>";
+        xml11 += "</ns1:element>";
+        xml11 += "</ns1:form>";
+        String xml12 = "<?xml version='1.0'?>\n";
+        xml12 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml12 += "<ns1:form-reference id='id1'>";
+        xml12 += "</ns1:form-reference>";
+        xml12 += "<ns1:element id='id2' lookup='lookup'>";
+        xml12 += "</ns1:element>";
+        xml12 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml11, xml12);
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions1, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><form-reference id=\"id1\"><element id=\"id1\"/></form-reference><element id=\"id2\"/></form>");
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions1, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions1, "repr", null, "id"));
+
+        String xml21 = "<?xml version='1.0'?>\n";
+        xml21 += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml21 += "<ns1:element id='id1' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml21 += "</ns1:element>";
+        xml21 += "</ns1:form>";
+        String xml22 = "<?xml version='1.0'?>\n";
+        xml22 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml22 += "<ns1:form-reference id='id1'>";
+        xml22 += "</ns1:form-reference>";
+        xml22 += "<ns1:element id='id2' lookup='lookup'>";
+        xml22 += "</ns1:element>";
+        xml22 += "</ns1:form>";
+        FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml21, xml22);
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions2, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><element id=\"id2\"/></form>");
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions2, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions2, "repr", null, "id"));
+
+        String xml31 = "<?xml version='1.0'?>\n";
+        xml31 += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml31 += "<ns1:element id='id1' lookup='lookup' type='optional' repr='repr' count='0'>";
+        xml31 += "</ns1:element>";
+        xml31 += "</ns1:form>";
+        String xml32 = "<?xml version='1.0'?>\n";
+        xml32 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml32 += "<ns1:form-reference id='id1'>";
+        xml32 += "<ns2:otherNode repr='other' valid='true'>";
+        xml32 += "</ns2:otherNode>";
+        xml32 += "</ns1:form-reference>";
+        xml32 += "</ns1:form>";
+        FormDefinitions formDefinitions3 = createFormDefinitionsFromXml(xml31, xml32);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions3, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions3, "repr", null, "id"));
     }
 
-    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions, final FormInstanceBinderImpl formInstanceBinder) {
-        List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders = ServiceFinder.find(OtherNodeInstanceBuilder.class);
-        return new FormInstanceBuilderImpl(formDefinitions, formInstanceBinder, otherNodeInstanceBuilders);
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildOtherNodeInstanceStreamTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml1 += "<ns2:otherNode repr='other' valid='true'>";
+        xml1 += "</ns2:otherNode>";
+        xml1 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+        Assertions.assertThat(getStreamedFormInstance(formDefinitions1, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><otherNode xmlns=\"http://d-shap.ru/schema/form-instance-other-node/1.0\" repr=\"other\"/></form>");
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions1, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions1, "repr", null, "id"));
+
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml2 += "<ns2:otherNode repr='other' valid='true'>";
+        xml2 += "<ns1:element id='id' lookup='lookup' type='optional+'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns2:otherNode>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions2, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions2, "repr", null, "id"));
+
+        String xml3 = "<?xml version='1.0'?>\n";
+        xml3 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml3 += "<ns2:otherNode repr='other' valid='true'>";
+        xml3 += "<ns1:single-element id='id' type='optional+'>";
+        xml3 += "<ns1:element id='id' lookup='lookup'>";
+        xml3 += "</ns1:element>";
+        xml3 += "</ns1:single-element>";
+        xml3 += "</ns2:otherNode>";
+        xml3 += "</ns1:form>";
+        FormDefinitions formDefinitions3 = createFormDefinitionsFromXml(xml3);
+        Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions3, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions3, "repr", null, "id"));
+
+        try {
+            OtherNodeCommentInstanceBuilderImpl.setCopmatibleBuilder();
+            String xml4 = "<?xml version='1.0'?>\n";
+            xml4 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml4 += "<ns1:element id='id' lookup='lookup'>";
+            xml4 += "<ns2:otherNode repr='other' valid='true'>";
+            xml4 += "</ns2:otherNode>";
+            xml4 += "</ns1:element>";
+            xml4 += "</ns1:form>";
+            FormDefinitions formDefinitions4 = createFormDefinitionsFromXml(xml4);
+            Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions4, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions4, "repr", null, "id"));
+        } finally {
+            OtherNodeCommentInstanceBuilderImpl.clearCopmatibleBuilder();
+        }
+
+        try {
+            OtherNodeCommentInstanceBuilderImpl.setCopmatibleBuilder();
+            String xml5 = "<?xml version='1.0'?>\n";
+            xml5 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml5 += "<ns2:otherNode repr='other' valid='true'>";
+            xml5 += "</ns2:otherNode>";
+            xml5 += "</ns1:form>";
+            FormDefinitions formDefinitions5 = createFormDefinitionsFromXml(xml5);
+            Assertions.assertThat(getStreamedFormInstance(formDefinitions5, "repr", null, "id")).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"><otherNode xmlns=\"http://d-shap.ru/schema/form-instance-other-node/1.0\" repr=\"other\"/><!--COMMENT TEXT!--></form>");
+            Assertions.assertThat(getNormalizedFormInstance(getStreamedFormInstance(formDefinitions5, "repr", null, "id"))).isEqualTo(getFormInstance(formDefinitions5, "repr", null, "id"));
+        } finally {
+            OtherNodeCommentInstanceBuilderImpl.clearCopmatibleBuilder();
+        }
+
+        try {
+            String xml6 = "<?xml version='1.0'?>\n";
+            xml6 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml6 += "<ns2:otherNode repr='failOnBind' valid='true'>";
+            xml6 += "</ns2:otherNode>";
+            xml6 += "</ns1:form>";
+            FormDefinitions formDefinitions6 = createFormDefinitionsFromXml(xml6);
+            getStreamedFormInstance(formDefinitions6, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasMessage("[Fail on bind], {source}form[@:id]");
+        }
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceBatchTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+        xml += "<ns1:attribute id='ida' lookup='lookup'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:attribute id='idb' lookup='lookup' type='optional' repr='reprb' count='0'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:attribute id='idc' lookup='lookup' batch='false'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:element id='id11' lookup='lookup' repr='repr11' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id2' lookup='lookup' repr='repr2' count='1' batch='false'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:single-element id='id3' type='optional'>";
+        xml += "<ns1:element id='id31' lookup='lookup' repr='repr31' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:single-element>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "<ns1:element id='id4' lookup='lookup' type='optional+' repr='repr4' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+
+        BatchFormInstanceBinderImpl formInstanceBinder1 = new BatchFormInstanceBinderImpl();
+        FormInstanceBuilderImpl formInstanceBuilder1 = createBinder(formDefinitions, formInstanceBinder1, null);
+        Assertions.assertThat(getFormInstance(formInstanceBuilder1, formDefinitions, "repr", "group", "id")).isEqualTo(getFormInstance(formDefinitions, "repr", "group", "id"));
+        Assertions.assertThat(formInstanceBinder1.getBatchCallCount()).isEqualTo(4);
+        Assertions.assertThat(formInstanceBinder1.getSingleCallCount()).isEqualTo(4);
+
+        BatchFormInstanceBinderImpl formInstanceBinder2 = new BatchFormInstanceBinderImpl();
+        FormInstanceBuilderImpl formInstanceBuilder2 = createBinder(formDefinitions, formInstanceBinder2, null);
+        Assertions.assertThat(getStreamedFormInstance(formInstanceBuilder2, formDefinitions, "repr", "group", "id")).isEqualTo(getStreamedFormInstance(formDefinitions, "repr", "group", "id"));
+        Assertions.assertThat(formInstanceBinder2.getBatchCallCount()).isEqualTo(4);
+        Assertions.assertThat(formInstanceBinder2.getSingleCallCount()).isEqualTo(4);
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form group='group' id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='3'>";
+        xml += "<ns1:attribute id='id' lookup='lookup'>";
+        xml += "</ns1:attribute>";
+        xml += "<ns1:element id='id11' lookup='lookup' type='optional+' repr='repr11' count='2'>";
+        xml += "</ns1:element>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "<ns1:element id='id12' lookup='lookup' type='optional+' repr='repr12' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:element>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "<ns1:element id='id2' lookup='lookup' type='optional' repr='repr2' count='0'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id3' lookup='lookup' type='required+' repr='repr3' count='2'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        ConcurrentFormInstanceBinderImpl formInstanceBinder = new ConcurrentFormInstanceBinderImpl();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Document document = newDocument();
+            createBinder(formDefinitions, formInstanceBinder, executorService).buildFormInstance(new BindingSourceImpl("repr"), document, formDefinitions.getFormDefinition("group", "id"));
+            Assertions.assertThat(getNormalizedFormInstance(DocumentWriter.newInstance().getAsString(document))).isEqualTo(getFormInstance(formDefinitions, "repr", "group", "id"));
+            Assertions.assertThat(formInstanceBinder.getThreadNames()).contains(Thread.currentThread().getName());
+
+            Element element = (Element) document.getDocumentElement().getFirstChild();
+            Assertions.assertThat(element.getOwnerDocument()).isSameAs(document);
+            Assertions.assertThat(element.getUserData(FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions.getFormDefinition("group", "id"));
+            Assertions.assertThat(element.getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION)).isSameAs(formDefinitions.getFormDefinition("group", "id").getElementDefinitions().get(0));
+            Assertions.assertThat(((BindedElementImpl) element.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT)).getRepresentation()).isEqualTo("repr1");
+            Element childElement = (Element) element.getFirstChild().getNextSibling();
+            Assertions.assertThat(childElement.getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION)).isSameAs(formDefinitions.getFormDefinition("group", "id").getElementDefinitions().get(0).getElementDefinitions().get(0));
+            Element otherElement = (Element) childElement.getNextSibling().getNextSibling();
+            Assertions.assertThat(otherElement.getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION)).isInstanceOf(OtherNodeDefinitionImpl.class);
+            Assertions.assertThat(otherElement.getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT)).isNull();
+
+            try {
+                OtherNodeCommentInstanceBuilderImpl.setCopmatibleBuilder();
+                FormInstanceBuilderImpl formInstanceBuilder = createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), executorService);
+                Document commentDocument = newDocument();
+                formInstanceBuilder.buildFormInstance(new BindingSourceImpl("repr"), commentDocument, formDefinitions.getFormDefinition("group", "id"));
+                FormInstanceBuilderImpl sequentialFormInstanceBuilder = createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), null);
+                Document sequentialDocument = newDocument();
+                sequentialFormInstanceBuilder.buildFormInstance(new BindingSourceImpl("repr"), sequentialDocument, formDefinitions.getFormDefinition("group", "id"));
+                Assertions.assertThat(DocumentWriter.newInstance().getAsString(commentDocument)).isEqualTo(DocumentWriter.newInstance().getAsString(sequentialDocument));
+                Assertions.assertThat(DocumentWriter.newInstance().getAsString(commentDocument)).contains("<!--COMMENT TEXT!-->");
+            } finally {
+                OtherNodeCommentInstanceBuilderImpl.clearCopmatibleBuilder();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentSequentialTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='2'>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+        DeferredExecutor executor1 = new DeferredExecutor();
+        Document document1 = newDocument();
+        createBinder(formDefinitions1, new FormInstanceBinderImpl(), executor1).buildFormInstance(new BindingSourceImpl("repr"), document1, formDefinitions1.getFormDefinition("id"));
+        Assertions.assertThat(executor1.getTaskCount()).isEqualTo(0);
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document1)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"id1\" repr=\"repr1\"/><element count=\"2\" id=\"id1\" repr=\"repr1\"/><element count=\"2\" id=\"id2\" repr=\"repr2\"/><element count=\"2\" id=\"id2\" repr=\"repr2\"/></form>");
+
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
+        DeferredExecutor executor2 = new DeferredExecutor();
+        ConcurrentFormInstanceBinderImpl formInstanceBinder2 = new ConcurrentFormInstanceBinderImpl();
+        Document document2 = newDocument();
+        createBinder(formDefinitions2, formInstanceBinder2, executor2).buildFormInstance(new BindingSourceImpl("repr"), document2, formDefinitions2.getFormDefinition("id"));
+        Assertions.assertThat(executor2.getTaskCount()).isEqualTo(0);
+        Assertions.assertThat(formInstanceBinder2.getThreadNames()).containsExactly(Thread.currentThread().getName());
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document2)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"id1\" repr=\"repr1\"/><element count=\"2\" id=\"id1\" repr=\"repr1\"/></form>");
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentFailTest() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            try {
+                String xml1 = "<?xml version='1.0'?>\n";
+                xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+                xml1 += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+                xml1 += "</ns1:element>";
+                xml1 += "<ns1:element id='id2' lookup='lookup' type='required' repr='repr2' count='-1'>";
+                xml1 += "</ns1:element>";
+                xml1 += "<ns1:element id='id3' lookup='lookup' type='required' repr='repr3' count='2'>";
+                xml1 += "</ns1:element>";
+                xml1 += "</ns1:form>";
+                FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+                FormInstanceBuilderImpl formInstanceBuilder1 = createBinder(formDefinitions1, new ConcurrentFormInstanceBinderImpl(), executorService);
+                formInstanceBuilder1.buildFormInstance(new BindingSourceImpl("repr"), newDocument(), formDefinitions1.getFormDefinition("id"));
+                Assertions.fail("FormInstanceBuilderImpl test fail");
+            } catch (FormBindingException ex) {
+                Assertions.assertThat(ex).hasMessage("[Required element is not present: element[@id2]], {source}form[@:id]");
+            }
+
+            try {
+                String xml2 = "<?xml version='1.0'?>\n";
+                xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+                xml2 += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+                xml2 += "</ns1:element>";
+                xml2 += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='2' error='[Error on bind]'>";
+                xml2 += "</ns1:element>";
+                xml2 += "</ns1:form>";
+                FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
+                FormInstanceBuilderImpl formInstanceBuilder2 = createBinder(formDefinitions2, new ConcurrentFormInstanceBinderImpl(), executorService);
+                formInstanceBuilder2.buildFormInstance(new BindingSourceImpl("repr"), newDocument(), formDefinitions2.getFormDefinition("id"));
+                Assertions.fail("FormInstanceBuilderImpl test fail");
+            } catch (AssertionError ex) {
+                Assertions.assertThat(ex).hasMessage("[Error on bind]");
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentInterruptTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2' block='true'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='2' interrupt='true'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        CountDownLatch blockedLatch = new CountDownLatch(1);
+        CountDownLatch releasedLatch = new CountDownLatch(1);
+        ConcurrentFormInstanceBinderImpl formInstanceBinder = new ConcurrentFormInstanceBinderImpl();
+        formInstanceBinder.setBlockLatches(blockedLatch, releasedLatch);
+        FormInstanceBuilderImpl formInstanceBuilder = createBinder(formDefinitions, formInstanceBinder, new BlockedTaskExecutor(blockedLatch));
+        try {
+            formInstanceBuilder.buildFormInstance(new BindingSourceImpl("repr"), newDocument(), formDefinitions.getFormDefinition("id"));
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).toCause().isInstanceOf(InterruptedException.class);
+            Assertions.assertThat(Thread.interrupted()).isTrue();
+        } finally {
+            releasedLatch.countDown();
+        }
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentBusyExecutorTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='2'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id3' lookup='lookup' type='optional+' repr='repr3' count='2'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        DeferredExecutor executor = new DeferredExecutor();
+        ConcurrentFormInstanceBinderImpl formInstanceBinder = new ConcurrentFormInstanceBinderImpl();
+        Document document = newDocument();
+        createBinder(formDefinitions, formInstanceBinder, executor).buildFormInstance(new BindingSourceImpl("repr"), document, formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(executor.getTaskCount()).isEqualTo(2);
+        Assertions.assertThat(formInstanceBinder.getThreadNames()).containsExactly(Thread.currentThread().getName());
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo("<form id=\"id\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><element count=\"2\" id=\"id1\" repr=\"repr1\"/><element count=\"2\" id=\"id1\" repr=\"repr1\"/><element count=\"2\" id=\"id2\" repr=\"repr2\"/><element count=\"2\" id=\"id2\" repr=\"repr2\"/><element count=\"2\" id=\"id3\" repr=\"repr3\"/><element count=\"2\" id=\"id3\" repr=\"repr3\"/></form>");
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentParentElementTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='2'>";
+        xml += "</ns1:element>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='1'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id3' lookup='lookup' type='optional+' repr='repr3' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder1 = new ConcurrentFormInstanceBinderImpl();
+        Document document1 = newDocument();
+        createBinder(formDefinitions, formInstanceBinder1, null).buildFormInstance(new BindingSourceImpl("repr"), document1, formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(formInstanceBinder1.getParentChildNodes("id1")).containsExactlyInOrder("otherNode:");
+        Assertions.assertThat(formInstanceBinder1.getParentChildNodes("id2")).containsExactlyInOrder("otherNode:", "element:id1", "element:id1", "otherNode:");
+        Assertions.assertThat(formInstanceBinder1.getParentChildNodes("id3")).containsExactlyInOrder("otherNode:", "element:id1", "element:id1", "otherNode:", "element:id2");
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder2 = new ConcurrentFormInstanceBinderImpl();
+        Document document2 = newDocument();
+        createBinder(formDefinitions, formInstanceBinder2, new DeferredExecutor()).buildFormInstance(new BindingSourceImpl("repr"), document2, formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(formInstanceBinder2.getParentChildNodes("id1")).containsExactlyInOrder("otherNode:");
+        Assertions.assertThat(formInstanceBinder2.getParentChildNodes("id2")).containsExactlyInOrder("otherNode:", "otherNode:");
+        Assertions.assertThat(formInstanceBinder2.getParentChildNodes("id3")).containsExactlyInOrder("otherNode:", "otherNode:");
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document2)).isEqualTo(DocumentWriter.newInstance().getAsString(document1));
+
+        String nestedXml = "<?xml version='1.0'?>\n";
+        nestedXml += "<ns1:form id='nested' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        nestedXml += "<ns1:element id='id' lookup='lookup' type='required' repr='repr' count='1'>";
+        nestedXml += "<ns2:otherNode repr='other' valid='true'>";
+        nestedXml += "</ns2:otherNode>";
+        nestedXml += "<ns1:element id='id1' lookup='lookup' type='optional+' repr='repr1' count='1'>";
+        nestedXml += "</ns1:element>";
+        nestedXml += "<ns1:element id='id2' lookup='lookup' type='optional+' repr='repr2' count='1'>";
+        nestedXml += "</ns1:element>";
+        nestedXml += "</ns1:element>";
+        nestedXml += "</ns1:form>";
+        FormDefinitions nestedFormDefinitions = createFormDefinitionsFromXml(nestedXml);
+        ConcurrentFormInstanceBinderImpl formInstanceBinder3 = new ConcurrentFormInstanceBinderImpl();
+        Document document3 = newDocument();
+        createBinder(nestedFormDefinitions, formInstanceBinder3, new DeferredExecutor()).buildFormInstance(new BindingSourceImpl("repr"), document3, nestedFormDefinitions.getFormDefinition("nested"));
+        Assertions.assertThat(formInstanceBinder3.getParentChildNodes("id1")).containsExactlyInOrder("otherNode:");
+        Assertions.assertThat(formInstanceBinder3.getParentChildNodes("id2")).containsExactlyInOrder("otherNode:");
+        Assertions.assertThat(getNormalizedFormInstance(DocumentWriter.newInstance().getAsString(document3))).isEqualTo(getFormInstance(nestedFormDefinitions, "repr", null, "nested"));
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildFormInstanceLookupMemoTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='header' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id' lookup='header' type='optional+' repr='repr' count='2'>";
+        xml1 += "<ns1:attribute id='id' lookup='attribute'>";
+        xml1 += "</ns1:attribute>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:form-reference id='header'>";
+        xml2 += "</ns1:form-reference>";
+        xml2 += "<ns1:form-reference id='header'>";
+        xml2 += "</ns1:form-reference>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder1 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getFormInstance(createBinder(formDefinitions, formInstanceBinder1, null, 0), formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder1.getBindCallCount()).isEqualTo(9);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder2 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getFormInstance(createBinder(formDefinitions, formInstanceBinder2, null, 100), formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder2.getBindCallCount()).isEqualTo(5);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder3 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getStreamedFormInstance(createBinder(formDefinitions, formInstanceBinder3, null, 100), formDefinitions, "repr", null, "id")).isEqualTo(getStreamedFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder3.getBindCallCount()).isEqualTo(5);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder4 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getFormInstance(createBinder(formDefinitions, formInstanceBinder4, null, 1), formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder4.getBindCallCount()).isEqualTo(9);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder5 = new ConcurrentFormInstanceBinderImpl();
+        FormInstanceBuilderImpl formInstanceBuilder5 = createBinder(formDefinitions, formInstanceBinder5, null, 100);
+        Assertions.assertThat(getFormInstance(formInstanceBuilder5, formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(getFormInstance(formInstanceBuilder5, formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder5.getBindCallCount()).isEqualTo(10);
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildElementInstanceConcurrentLookupMemoTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='id1' lookup='lookup' repr='repr' count='1'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='id2' lookup='lookup' repr='repr' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder1 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getFormInstance(createBinder(formDefinitions, formInstanceBinder1, new DirectExecutor(), 100), formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder1.getBindCallCount()).isEqualTo(2);
+
+        ConcurrentFormInstanceBinderImpl formInstanceBinder2 = new ConcurrentFormInstanceBinderImpl();
+        Assertions.assertThat(getFormInstance(createBinder(formDefinitions, formInstanceBinder2, new DirectExecutor(), 0), formDefinitions, "repr", null, "id")).isEqualTo(getFormInstance(formDefinitions, "repr", null, "id"));
+        Assertions.assertThat(formInstanceBinder2.getBindCallCount()).isEqualTo(3);
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void buildFormInstanceBindingListenerTest() throws Exception {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='header' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "<ns1:element id='id' lookup='header' type='optional+' repr='repr' count='2'>";
+        xml1 += "<ns1:attribute id='id' lookup='attribute'>";
+        xml1 += "</ns1:attribute>";
+        xml1 += "</ns1:element>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:form-reference id='header'>";
+        xml2 += "</ns1:form-reference>";
+        xml2 += "<ns1:element id='empty' lookup='empty' type='optional' repr='repr'>";
+        xml2 += "</ns1:element>";
+        xml2 += "<ns1:element id='error' lookup='error' type='optional' error='error'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        String xml3 = "<?xml version='1.0'?>\n";
+        xml3 += "<ns1:form id='attribute-error' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml3 += "<ns1:element id='id' lookup='element' repr='repr' count='1'>";
+        xml3 += "<ns1:attribute id='empty' lookup='empty' type='optional' repr='repr'>";
+        xml3 += "</ns1:attribute>";
+        xml3 += "<ns1:attribute id='error' lookup='error' error='error'>";
+        xml3 += "</ns1:attribute>";
+        xml3 += "</ns1:element>";
+        xml3 += "</ns1:form>";
+        String xml4 = "<?xml version='1.0'?>\n";
+        xml4 += "<ns1:form id='form-error' error='error' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml4 += "</ns1:form>";
+        String xml5 = "<?xml version='1.0'?>\n";
+        xml5 += "<ns1:form id='reference-error' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml5 += "<ns1:form-reference id='form-error'>";
+        xml5 += "</ns1:form-reference>";
+        xml5 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2, xml3, xml4, xml5);
+
+        RecordingBindingListener bindingListener1 = new RecordingBindingListener();
+        try {
+            getFormInstance(createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), null, 0, bindingListener1), formDefinitions, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (AssertionError ex) {
+            Assertions.assertThat(ex).hasMessage("error");
+        }
+        Assertions.assertThat(bindingListener1.getEvents()).containsExactlyInOrder("started: {source}form[@:id]", "finished: {source}form[@:id], 1", "started: {source}form[@:id]/form-reference[@:header]", "finished: {source}form[@:id]/form-reference[@:header], 1", "started: {source}form[@:id]/form-reference[@:header]/element[@id]", "finished: {source}form[@:id]/form-reference[@:header]/element[@id], 2", "started: {source}form[@:id]/form-reference[@:header]/element[@id]/attribute[@id]", "finished: {source}form[@:id]/form-reference[@:header]/element[@id]/attribute[@id], 1", "started: {source}form[@:id]/form-reference[@:header]/element[@id]/attribute[@id]", "finished: {source}form[@:id]/form-reference[@:header]/element[@id]/attribute[@id], 1", "started: {source}form[@:id]/element[@empty]", "finished: {source}form[@:id]/element[@empty], 0", "started: {source}form[@:id]/element[@error]", "failed: {source}form[@:id]/element[@error]");
+
+        RecordingBindingListener bindingListener2 = new RecordingBindingListener();
+        try {
+            getStreamedFormInstance(createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), null, 0, bindingListener2), formDefinitions, "repr", null, "id");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (AssertionError ex) {
+            Assertions.assertThat(ex).hasMessage("error");
+        }
+        Assertions.assertThat(bindingListener2.getEvents()).containsExactlyInOrder(bindingListener1.getEvents());
+
+        RecordingBindingListener bindingListener3 = new RecordingBindingListener();
+        try {
+            getFormInstance(createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), null, 0, bindingListener3), formDefinitions, "repr", null, "attribute-error");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (AssertionError ex) {
+            Assertions.assertThat(ex).hasMessage("error");
+        }
+        Assertions.assertThat(bindingListener3.getEvents()).containsExactlyInOrder("started: {source}form[@:attribute-error]", "finished: {source}form[@:attribute-error], 1", "started: {source}form[@:attribute-error]/element[@id]", "finished: {source}form[@:attribute-error]/element[@id], 1", "started: {source}form[@:attribute-error]/element[@id]/attribute[@empty]", "finished: {source}form[@:attribute-error]/element[@id]/attribute[@empty], 0", "started: {source}form[@:attribute-error]/element[@id]/attribute[@error]", "failed: {source}form[@:attribute-error]/element[@id]/attribute[@error]");
+
+        RecordingBindingListener bindingListener4 = new RecordingBindingListener();
+        try {
+            getFormInstance(createBinder(formDefinitions, new ConcurrentFormInstanceBinderImpl(), null, 0, bindingListener4), formDefinitions, "repr", null, "reference-error");
+            Assertions.fail("FormInstanceBuilderImpl test fail");
+        } catch (AssertionError ex) {
+            Assertions.assertThat(ex).hasMessage("error");
+        }
+        Assertions.assertThat(bindingListener4.getEvents()).containsExactlyInOrder("started: {source}form[@:reference-error]", "finished: {source}form[@:reference-error], 1", "started: {source}form[@:reference-error]/form-reference[@:form-error]", "failed: {source}form[@:reference-error]/form-reference[@:form-error]");
+    }
+
+    /**
+     * {@link FormInstanceBuilderImpl} class test.
+     */
+    @Test
+    public void getElementUserDataTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "</ns1:form>";
+        FormDefinitions formDefinitions1 = createFormDefinitionsFromXml(xml1);
+        FormInstanceBuilderImpl formInstanceBuilder1 = createBinder(formDefinitions1);
+        Document document1 = newDocument();
+        formInstanceBuilder1.buildFormInstance(new BindingSourceImpl("source repr"), document1, formDefinitions1.getFormDefinition("id"));
+        Element element1 = document1.getDocumentElement();
+        Assertions.assertThat(formInstanceBuilder1.getElementUserData(element1, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions1.getFormDefinition("id"));
+        Assertions.assertThat(formInstanceBuilder1.getElementUserData(element1, "wrong key")).isNull();
+
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:element id='id' lookup='lookup'>";
+        xml2 += "</ns1:element>";
+        xml2 += "</ns1:form>";
+        FormDefinitions formDefinitions2 = createFormDefinitionsFromXml(xml2);
+        FormInstanceBuilderImpl formInstanceBuilder2 = createBinder(formDefinitions2);
+        Document document2 = newDocument();
+        formInstanceBuilder2.buildFormInstance(new BindingSourceImpl("source repr"), document2, formDefinitions2.getFormDefinition("id"));
+        Element element21 = document2.getDocumentElement();
+        Element element22 = (Element) element21.getFirstChild();
+        Object userData = new Object();
+        element21.setUserData("user data", userData, null);
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions2.getFormDefinition("id"));
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, "user data")).isSameAs(userData);
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element21, "wrong key")).isNull();
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions2.getFormDefinition("id"));
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, "user data")).isSameAs(userData);
+        Assertions.assertThat(formInstanceBuilder2.getElementUserData(element22, "wrong key")).isNull();
+    }
+
+    private String getFormInstance(final FormDefinitions formDefinitions, final String representation, final String group, final String id) {
+        return getFormInstance(createBinder(formDefinitions), formDefinitions, representation, group, id);
+    }
+
+    private String getFormInstance(final FormInstanceBuilderImpl formInstanceBuilder, final FormDefinitions formDefinitions, final String representation, final String group, final String id) {
+        Document document = newDocument();
+        formInstanceBuilder.buildFormInstance(new BindingSourceImpl(representation), document, formDefinitions.getFormDefinition(group, id));
+        return getNormalizedFormInstance(DocumentWriter.newInstance().getAsString(document));
+    }
+
+    private String getStreamedFormInstance(final FormDefinitions formDefinitions, final String representation, final String group, final String id) throws TransformerException {
+        return getStreamedFormInstance(createBinder(formDefinitions), formDefinitions, representation, group, id);
+    }
+
+    private String getStreamedFormInstance(final FormInstanceBuilderImpl formInstanceBuilder, final FormDefinitions formDefinitions, final String representation, final String group, final String id) throws TransformerException {
+        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler();
+        transformerHandler.getTransformer().setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        StringWriter writer = new StringWriter();
+        transformerHandler.setResult(new StreamResult(writer));
+        FormInstanceEventWriter formInstanceEventWriter = new FormInstanceEventWriter(transformerHandler);
+        formInstanceBuilder.buildFormInstance(new BindingSourceImpl(representation), newDocument(), formDefinitions.getFormDefinition(group, id), formInstanceEventWriter);
+        return writer.toString();
+    }
+
+    private String getNormalizedFormInstance(final String xml) {
+        return DocumentWriter.newInstance().getAsString(parse(xml));
+    }
+
+    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions) {
+        return createBinder(formDefinitions, new FormInstanceBinderImpl());
+    }
+
+    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions, final FormInstanceBinderImpl formInstanceBinder) {
+        List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders = ServiceFinder.find(OtherNodeInstanceBuilder.class);
+        return new FormInstanceBuilderImpl(formDefinitions, formInstanceBinder, otherNodeInstanceBuilders);
+    }
+
+    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final Executor executor) {
+        return createBinder(formDefinitions, formInstanceBinder, executor, 0);
+    }
+
+    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final Executor executor, final int lookupMemoSize) {
+        return createBinder(formDefinitions, formInstanceBinder, executor, lookupMemoSize, null);
+    }
+
+    private FormInstanceBuilderImpl createBinder(final FormDefinitions formDefinitions, final FormInstanceBinder formInstanceBinder, final Executor executor, final int lookupMemoSize, final BindingListener bindingListener) {
+        List<OtherNodeInstanceBuilder> otherNodeInstanceBuilders = ServiceFinder.find(OtherNodeInstanceBuilder.class);
+        return new FormInstanceBuilderImpl(formDefinitions, formInstanceBinder, otherNodeInstanceBuilders, executor, lookupMemoSize, bindingListener);
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class RecordingBindingListener implements BindingListener {
+
+        private final List<String> _events;
+
+        RecordingBindingListener() {
+            super();
+            _events = new ArrayList<>();
+        }
+
+        List<String> getEvents() {
+            return _events;
+        }
+
+        @Override
+        public void lookupStarted(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath) {
+            _events.add("started: " + nodePath);
+        }
+
+        @Override
+        public void lookupFinished(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath, final long elapsedTime, final int resultCount) {
+            Assertions.assertThat(elapsedTime).isGreaterThanOrEqualTo(0L);
+            _events.add("finished: " + nodePath + ", " + resultCount);
+        }
+
+        @Override
+        public void lookupFailed(final BindingSource bindingSource, final NodeDefinition nodeDefinition, final NodePath nodePath, final long elapsedTime) {
+            Assertions.assertThat(elapsedTime).isGreaterThanOrEqualTo(0L);
+            _events.add("failed: " + nodePath);
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DeferredExecutor implements Executor {
+
+        private final List<Runnable> _tasks;
+
+        DeferredExecutor() {
+            super();
+            _tasks = new ArrayList<>();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            _tasks.add(command);
+        }
+
+        int getTaskCount() {
+            return _tasks.size();
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class BlockedTaskExecutor implements Executor {
+
+        private final CountDownLatch _blockedLatch;
+
+        BlockedTaskExecutor(final CountDownLatch blockedLatch) {
+            super();
+            _blockedLatch = blockedLatch;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            new Thread(command).start();
+            try {
+                _blockedLatch.await();
+            } catch (InterruptedException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DirectExecutor implements Executor {
+
+        DirectExecutor() {
+            super();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+
     }
 
 }
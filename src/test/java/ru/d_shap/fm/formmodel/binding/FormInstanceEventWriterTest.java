@@ -0,0 +1,237 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.io.StringWriter;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.DefaultHandler;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.OutputResultException;
+
+/**
+ * Tests for {@link FormInstanceEventWriter}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormInstanceEventWriterTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormInstanceEventWriterTest() {
+        super();
+    }
+
+    /**
+     * {@link FormInstanceEventWriter} class test.
+     */
+    @Test
+    public void writeElementTest() throws Exception {
+        Document document = newDocument();
+        Element element1 = document.createElementNS("http://example.com/1", "element1");
+        element1.setAttribute("attr", "value");
+        element1.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns", "http://example.com/1");
+        Element element2 = document.createElementNS("http://example.com/1", "element2");
+        element1.appendChild(element2);
+        Element element3 = document.createElementNS("http://example.com/2", "ns2:element3");
+        element3.setAttributeNS("http://example.com/3", "ns3:attr", "value");
+        element3.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns:ns2", "http://example.com/2");
+        element1.appendChild(element3);
+        Element element4 = document.createElement("element4");
+        element1.appendChild(element4);
+
+        StringWriter writer = new StringWriter();
+        FormInstanceEventWriter formInstanceEventWriter = new FormInstanceEventWriter(createTransformerHandler(writer));
+        formInstanceEventWriter.startDocument();
+        formInstanceEventWriter.writeNode(element1);
+        formInstanceEventWriter.endDocument();
+        Assertions.assertThat(writer.toString()).isEqualTo("<element1 xmlns=\"http://example.com/1\" attr=\"value\"><element2/><ns2:element3 xmlns:ns2=\"http://example.com/2\" xmlns:ns3=\"http://example.com/3\" ns3:attr=\"value\"/><element4 xmlns=\"\"/></element1>");
+    }
+
+    /**
+     * {@link FormInstanceEventWriter} class test.
+     */
+    @Test
+    public void writeNodeTest() throws Exception {
+        Document document = newDocument();
+        Element element = document.createElementNS("http://example.com", "element");
+        element.appendChild(document.createTextNode("text"));
+        element.appendChild(document.createCDATASection("cdata"));
+        element.appendChild(document.createComment("comment"));
+        element.appendChild(document.createProcessingInstruction("target", "data"));
+        element.appendChild(document.createEntityReference("entity"));
+
+        StringWriter writer1 = new StringWriter();
+        FormInstanceEventWriter formInstanceEventWriter1 = new FormInstanceEventWriter(createTransformerHandler(writer1));
+        formInstanceEventWriter1.startDocument();
+        formInstanceEventWriter1.writeNode(element);
+        formInstanceEventWriter1.endDocument();
+        Assertions.assertThat(writer1.toString()).isEqualTo("<element xmlns=\"http://example.com\">textcdata<!--comment--><?target data?></element>");
+
+        CountContentHandler contentHandler2 = new CountContentHandler();
+        FormInstanceEventWriter formInstanceEventWriter2 = new FormInstanceEventWriter(contentHandler2);
+        formInstanceEventWriter2.startDocument();
+        formInstanceEventWriter2.writeNode(element);
+        formInstanceEventWriter2.endDocument();
+        Assertions.assertThat(contentHandler2.getCount()).isEqualTo(5);
+    }
+
+    /**
+     * {@link FormInstanceEventWriter} class test.
+     */
+    @Test
+    public void writeFailTest() {
+        Document document = newDocument();
+        Element element = document.createElementNS("http://example.com", "element");
+        FormInstanceEventWriter formInstanceEventWriter = new FormInstanceEventWriter(new FailContentHandler());
+
+        try {
+            formInstanceEventWriter.startDocument();
+            Assertions.fail("FormInstanceEventWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            formInstanceEventWriter.endDocument();
+            Assertions.fail("FormInstanceEventWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            formInstanceEventWriter.startElement(element);
+            Assertions.fail("FormInstanceEventWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            formInstanceEventWriter.endElement(element);
+            Assertions.fail("FormInstanceEventWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            formInstanceEventWriter.writeNode(document.createTextNode("text"));
+            Assertions.fail("FormInstanceEventWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+    }
+
+    private TransformerHandler createTransformerHandler(final StringWriter writer) throws Exception {
+        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler();
+        transformerHandler.getTransformer().setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformerHandler.setResult(new StreamResult(writer));
+        return transformerHandler;
+    }
+
+    /**
+     * Content handler to count the events.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class CountContentHandler extends DefaultHandler {
+
+        private int _count;
+
+        CountContentHandler() {
+            super();
+            _count = 0;
+        }
+
+        int getCount() {
+            return _count;
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes attributes) {
+            _count++;
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            _count++;
+        }
+
+        @Override
+        public void processingInstruction(final String target, final String data) {
+            _count++;
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            _count++;
+        }
+
+    }
+
+    /**
+     * Content handler to fail on every event.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FailContentHandler extends DefaultHandler2 {
+
+        FailContentHandler() {
+            super();
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttributeImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedFormImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindingSourceImpl;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+import ru.d_shap.fm.formmodel.document.DocumentLookup;
+import ru.d_shap.fm.formmodel.document.DocumentWriter;
+
+/**
+ * Tests for {@link FormInstance}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormInstanceTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormInstanceTest() {
+        super();
+    }
+
+    /**
+     * {@link FormInstance} class test.
+     */
+    @Test
+    public void getInstanceNodeTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormDefinition formDefinition = formDefinitions.getFormDefinition("id");
+        FormInstance formInstance = new FormBinder(formDefinitions, new FormInstanceBinderImpl()).bindFormInstance(new BindingSourceImpl("source"), "id");
+        Assertions.assertThat(formInstance.getName()).isEqualTo("form");
+        Assertions.assertThat(formInstance.isOtherNode()).isFalse();
+        Assertions.assertThat(formInstance.getOtherNode()).isNull();
+        Assertions.assertThat(formInstance.getAttributeNames()).containsExactly("id");
+        Assertions.assertThat(formInstance.getAttribute("id")).isEqualTo("id");
+        Assertions.assertThat(formInstance.getAttribute("wrong")).isNull();
+        Assertions.assertThat(formInstance.getFormDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(formInstance.getNodeDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(formInstance.getBindedObject()).isInstanceOf(BindedFormImpl.class);
+        Assertions.assertThat(formInstance.getChildren()).hasSize(4);
+
+        FormInstance elementFormInstance = formInstance.getChildren().get(1);
+        Assertions.assertThat(elementFormInstance.getName()).isEqualTo("element");
+        Assertions.assertThat(elementFormInstance.getAttributeNames()).containsExactly("count", "id", "repr");
+        Assertions.assertThat(elementFormInstance.getAttribute("id")).isEqualTo("el-id");
+        Assertions.assertThat(elementFormInstance.getAttribute("repr")).isEqualTo("repr1");
+        Assertions.assertThat(elementFormInstance.getFormDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(elementFormInstance.getNodeDefinition()).isInstanceOf(ElementDefinition.class);
+        Assertions.assertThat(elementFormInstance.getBindedObject()).isInstanceOf(BindedElementImpl.class);
+        Assertions.assertThat(((BindedElementImpl) elementFormInstance.getBindedObject()).getIndex()).isEqualTo(1);
+        Assertions.assertThat(elementFormInstance.getChildren()).hasSize(1);
+
+        FormInstance attributeFormInstance = elementFormInstance.getChildren().get(0);
+        Assertions.assertThat(attributeFormInstance.getName()).isEqualTo("attribute");
+        Assertions.assertThat(attributeFormInstance.getNodeDefinition()).isInstanceOf(AttributeDefinition.class);
+        Assertions.assertThat(attributeFormInstance.getBindedObject()).isInstanceOf(BindedAttributeImpl.class);
+        Assertions.assertThat(attributeFormInstance.getChildren()).isEmpty();
+
+        FormInstance singleElementFormInstance = formInstance.getChildren().get(2);
+        Assertions.assertThat(singleElementFormInstance.getName()).isEqualTo("single-element");
+        Assertions.assertThat(singleElementFormInstance.getNodeDefinition()).isInstanceOf(SingleElementDefinition.class);
+        Assertions.assertThat(singleElementFormInstance.getBindedObject()).isNull();
+        Assertions.assertThat(singleElementFormInstance.getChildren()).hasSize(1);
+    }
+
+    /**
+     * {@link FormInstance} class test.
+     */
+    @Test
+    public void getOtherNodeTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormInstance formInstance = new FormBinder(formDefinitions, new FormInstanceBinderImpl()).bindFormInstance(new BindingSourceImpl("source"), "id");
+        FormInstance otherFormInstance = formInstance.getChildren().get(3);
+        Assertions.assertThat(otherFormInstance.getName()).isEqualTo("otherNode");
+        Assertions.assertThat(otherFormInstance.isOtherNode()).isTrue();
+        Assertions.assertThat(otherFormInstance.getOtherNode()).isInstanceOf(Element.class);
+        Assertions.assertThat(((Element) otherFormInstance.getOtherNode()).getAttribute("repr")).isEqualTo("other");
+        Assertions.assertThat(otherFormInstance.getAttributeNames()).isEmpty();
+        Assertions.assertThat(otherFormInstance.getAttribute("repr")).isNull();
+        Assertions.assertThat(otherFormInstance.getFormDefinition()).isNull();
+        Assertions.assertThat(otherFormInstance.getNodeDefinition()).isNull();
+        Assertions.assertThat(otherFormInstance.getBindedObject()).isNull();
+        Assertions.assertThat(otherFormInstance.getChildren()).isEmpty();
+        Assertions.assertThat(otherFormInstance.getFormInstancesWithId("el-id")).isEmpty();
+    }
+
+    /**
+     * {@link FormInstance} class test.
+     */
+    @Test
+    public void unmodifiableTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormInstance formInstance = new FormBinder(formDefinitions, new FormInstanceBinderImpl()).bindFormInstance(new BindingSourceImpl("source"), "id");
+        try {
+            formInstance.getChildren().remove(0);
+            Assertions.fail("FormInstance test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+        try {
+            formInstance.getAttributeNames().set(0, "group");
+            Assertions.fail("FormInstance test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+        try {
+            formInstance.getChildren().get(3).getChildren().add(formInstance);
+            Assertions.fail("FormInstance test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+    }
+
+    /**
+     * {@link FormInstance} class test.
+     */
+    @Test
+    public void getFormInstancesWithIdTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormInstance formInstance = new FormBinder(formDefinitions, new FormInstanceBinderImpl()).bindFormInstance(new BindingSourceImpl("source"), "id");
+
+        List<FormInstance> formInstances1 = formInstance.getFormInstancesWithId("el-id");
+        Assertions.assertThat(formInstances1).hasSize(3);
+        Assertions.assertThat(formInstances1.get(0)).isSameAs(formInstance.getChildren().get(0));
+        Assertions.assertThat(formInstances1.get(1)).isSameAs(formInstance.getChildren().get(1));
+        Assertions.assertThat(formInstances1.get(2)).isSameAs(formInstance.getChildren().get(2).getChildren().get(0));
+
+        List<FormInstance> formInstances2 = formInstance.getFormInstancesWithId("at-id");
+        Assertions.assertThat(formInstances2).hasSize(2);
+        Assertions.assertThat(formInstances2.get(0)).isSameAs(formInstance.getChildren().get(0).getChildren().get(0));
+        Assertions.assertThat(formInstances2.get(1)).isSameAs(formInstance.getChildren().get(1).getChildren().get(0));
+
+        List<FormInstance> formInstances3 = formInstance.getFormInstancesWithId("se-id");
+        Assertions.assertThat(formInstances3).hasSize(1);
+        Assertions.assertThat(formInstances3.get(0)).isSameAs(formInstance.getChildren().get(2));
+
+        Assertions.assertThat(formInstance.getChildren().get(0).getFormInstancesWithId("at-id")).hasSize(1);
+        Assertions.assertThat(formInstance.getChildren().get(0).getFormInstancesWithId("el-id")).isEmpty();
+        Assertions.assertThat(formInstance.getFormInstancesWithId("id")).isEmpty();
+        Assertions.assertThat(formInstance.getFormInstancesWithId("other")).isEmpty();
+        Assertions.assertThat(formInstance.getFormInstancesWithId("wrong")).isEmpty();
+
+        Element otherElement = newDocument().createElementNS("http://example.com", "element");
+        otherElement.setAttribute("id", "el-id");
+        List<FormInstance> children = new ArrayList<>();
+        children.add(new FormInstance(otherElement));
+        FormInstance otherFormInstance = new FormInstance("form", new String[0], new String[0], null, null, null, children);
+        Assertions.assertThat(otherFormInstance.getFormInstancesWithId("el-id")).isEmpty();
+    }
+
+    /**
+     * {@link FormInstance} class test.
+     */
+    @Test
+    public void toDocumentTest() {
+        FormDefinitions formDefinitions = createFormDefinitions();
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        FormInstance formInstance = formBinder.bindFormInstance(new BindingSourceImpl("source"), "id");
+        Document bindedDocument = formBinder.bind(new BindingSourceImpl("source"), "id");
+
+        Document document = formInstance.toDocument();
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo(DocumentWriter.newInstance().getAsString(bindedDocument));
+        Assertions.assertThat(formInstance.toDocument()).isNotSameAs(document);
+
+        List<Element> elements = DocumentLookup.getDocumentLookup().getElementsWithId(document, "el-id");
+        Assertions.assertThat(elements).hasSize(3);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getBindedElements(elements)).hasSize(3);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getBindedAttributes(DocumentLookup.getDocumentLookup().getElementsWithId(document, "at-id"))).hasSize(2);
+        Assertions.assertThat(document.getDocumentElement().getUserData(FormInstanceBuilder.USER_DATA_FORM_DEFINITION)).isSameAs(formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(document.getDocumentElement().getUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION)).isSameAs(formDefinitions.getFormDefinition("id"));
+        Assertions.assertThat(((Element) elements.get(2).getParentNode()).getUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT)).isNull();
+
+        Document elementDocument = formInstance.getChildren().get(1).toDocument();
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(elementDocument)).isEqualTo("<element count=\"2\" id=\"el-id\" repr=\"repr1\" xmlns=\"http://d-shap.ru/schema/form-instance/1.0\"><attribute count=\"1\" id=\"at-id\" repr=\"repr2\"/></element>");
+
+        Document otherNodeDocument = formInstance.getChildren().get(3).toDocument();
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(otherNodeDocument)).isEqualTo("<otherNode repr=\"other\" xmlns=\"http://d-shap.ru/schema/form-instance-other-node/1.0\"/>");
+    }
+
+    private FormDefinitions createFormDefinitions() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns1:element id='el-id' lookup='lookup' type='required+' repr='repr1' count='2'>";
+        xml += "<ns1:attribute id='at-id' lookup='lookup' repr='repr2' count='1'>";
+        xml += "</ns1:attribute>";
+        xml += "</ns1:element>";
+        xml += "<ns1:single-element id='se-id'>";
+        xml += "<ns1:element id='el-id' lookup='lookup' repr='repr3' count='1'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:single-element>";
+        xml += "<ns2:otherNode repr='other' valid='true'>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:form>";
+        return createFormDefinitionsFromXml(xml);
+    }
+
+}
@@ -0,0 +1,177 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.io.StringWriter;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Text;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
+
+/**
+ * Tests for {@link FormInstanceTreeBuilder}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormInstanceTreeBuilderTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormInstanceTreeBuilderTest() {
+        super();
+    }
+
+    /**
+     * {@link FormInstanceTreeBuilder} class test.
+     */
+    @Test
+    public void buildTreeTest() {
+        Document document = newDocument();
+        Element element1 = createInstanceElement(document, "form", "id1");
+        Element element2 = createInstanceElement(document, "element", "id2");
+        element2.setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, new BindedElementImpl("repr", 0), null);
+        Element element3 = createInstanceElement(document, "element", "id3");
+
+        FormInstanceTreeBuilder formInstanceTreeBuilder = new FormInstanceTreeBuilder(null);
+        Assertions.assertThat(formInstanceTreeBuilder.getFormInstance()).isNull();
+        formInstanceTreeBuilder.startDocument();
+        formInstanceTreeBuilder.startElement(element1);
+        formInstanceTreeBuilder.startElement(element2);
+        formInstanceTreeBuilder.endElement(element2);
+        formInstanceTreeBuilder.startElement(element3);
+        formInstanceTreeBuilder.endElement(element3);
+        formInstanceTreeBuilder.endElement(element1);
+        formInstanceTreeBuilder.endDocument();
+
+        FormInstance formInstance = formInstanceTreeBuilder.getFormInstance();
+        Assertions.assertThat(formInstance.getName()).isEqualTo("form");
+        Assertions.assertThat(formInstance.getAttribute("id")).isEqualTo("id1");
+        Assertions.assertThat(formInstance.getBindedObject()).isNull();
+        Assertions.assertThat(formInstance.getChildren()).hasSize(2);
+        Assertions.assertThat(formInstance.getChildren().get(0).getAttribute("id")).isEqualTo("id2");
+        Assertions.assertThat(formInstance.getChildren().get(0).getBindedObject()).isInstanceOf(BindedElementImpl.class);
+        Assertions.assertThat(formInstance.getChildren().get(1).getAttribute("id")).isEqualTo("id3");
+
+        formInstanceTreeBuilder.startDocument();
+        Assertions.assertThat(formInstanceTreeBuilder.getFormInstance()).isNull();
+        formInstanceTreeBuilder.startElement(element3);
+        formInstanceTreeBuilder.endElement(element3);
+        formInstanceTreeBuilder.endDocument();
+        Assertions.assertThat(formInstanceTreeBuilder.getFormInstance().getAttribute("id")).isEqualTo("id3");
+        Assertions.assertThat(formInstanceTreeBuilder.getFormInstance().getChildren()).isEmpty();
+    }
+
+    /**
+     * {@link FormInstanceTreeBuilder} class test.
+     */
+    @Test
+    public void writeNodeTest() {
+        Document document = newDocument();
+        Element element1 = createInstanceElement(document, "form", "id1");
+        Element element2 = createInstanceElement(document, "element", "id2");
+        element2.setAttributeNS("http://www.w3.org/2000/xmlns/", "xmlns", FormInstanceBuilder.NAMESPACE);
+        Element element3 = createInstanceElement(document, "element", "id3");
+        element2.appendChild(element3);
+        Text text = document.createTextNode("text");
+        element2.appendChild(text);
+        Element element4 = document.createElementNS("http://example.com", "other");
+        element4.setUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION, new AnotherNodeDefinition(), null);
+        element2.appendChild(element4);
+        Element element5 = document.createElementNS(FormInstanceBuilder.NAMESPACE, "element");
+        element5.setUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION, new Object(), null);
+        element2.appendChild(element5);
+
+        FormInstanceTreeBuilder formInstanceTreeBuilder = new FormInstanceTreeBuilder(null);
+        formInstanceTreeBuilder.startDocument();
+        formInstanceTreeBuilder.startElement(element1);
+        formInstanceTreeBuilder.writeNode(element2);
+        formInstanceTreeBuilder.writeNode(document.createComment("comment"));
+        formInstanceTreeBuilder.endElement(element1);
+        formInstanceTreeBuilder.endDocument();
+
+        FormInstance formInstance = formInstanceTreeBuilder.getFormInstance();
+        Assertions.assertThat(formInstance.getChildren()).hasSize(2);
+        FormInstance formInstance2 = formInstance.getChildren().get(0);
+        Assertions.assertThat(formInstance2.isOtherNode()).isFalse();
+        Assertions.assertThat(formInstance2.getAttributeNames()).containsExactly("id");
+        Assertions.assertThat(formInstance2.getChildren()).hasSize(4);
+        Assertions.assertThat(formInstance2.getChildren().get(0).isOtherNode()).isFalse();
+        Assertions.assertThat(formInstance2.getChildren().get(0).getAttribute("id")).isEqualTo("id3");
+        Assertions.assertThat(formInstance2.getChildren().get(1).isOtherNode()).isTrue();
+        Assertions.assertThat(formInstance2.getChildren().get(1).getName()).isEqualTo("#text");
+        Assertions.assertThat(formInstance2.getChildren().get(2).isOtherNode()).isTrue();
+        Assertions.assertThat(formInstance2.getChildren().get(2).getName()).isEqualTo("other");
+        Assertions.assertThat(formInstance2.getChildren().get(2).getOtherNode()).isNotSameAs(element4);
+        Assertions.assertThat(formInstance2.getChildren().get(2).getOtherNode().getOwnerDocument()).isNotSameAs(document);
+        Assertions.assertThat(formInstance2.getChildren().get(2).getOtherNode().getOwnerDocument()).isSameAs(formInstance2.getChildren().get(1).getOtherNode().getOwnerDocument());
+        Assertions.assertThat(formInstance2.getChildren().get(3).isOtherNode()).isTrue();
+        Assertions.assertThat(formInstance2.getChildren().get(3).getName()).isEqualTo("element");
+        Assertions.assertThat(formInstance.getChildren().get(1).isOtherNode()).isTrue();
+        Assertions.assertThat(formInstance.getChildren().get(1).getName()).isEqualTo("#comment");
+    }
+
+    /**
+     * {@link FormInstanceTreeBuilder} class test.
+     */
+    @Test
+    public void formInstanceEventHandlerTest() throws Exception {
+        Document document = newDocument();
+        Element element1 = createInstanceElement(document, "form", "id1");
+        Element element2 = createInstanceElement(document, "element", "id2");
+
+        StringWriter writer = new StringWriter();
+        FormInstanceTreeBuilder formInstanceTreeBuilder = new FormInstanceTreeBuilder(new FormInstanceEventWriter(createTransformerHandler(writer)));
+        formInstanceTreeBuilder.startDocument();
+        formInstanceTreeBuilder.startElement(element1);
+        formInstanceTreeBuilder.writeNode(element2);
+        formInstanceTreeBuilder.endElement(element1);
+        formInstanceTreeBuilder.endDocument();
+        Assertions.assertThat(writer.toString()).isEqualTo("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id1\"><element id=\"id2\"/></form>");
+        Assertions.assertThat(formInstanceTreeBuilder.getFormInstance().getChildren()).hasSize(1);
+    }
+
+    private Element createInstanceElement(final Document document, final String name, final String id) {
+        Element element = document.createElementNS(FormInstanceBuilder.NAMESPACE, name);
+        element.setAttribute("id", id);
+        element.setUserData(FormInstanceBuilder.USER_DATA_NODE_DEFINITION, new AnotherNodeDefinition(), null);
+        return element;
+    }
+
+    private TransformerHandler createTransformerHandler(final StringWriter writer) throws Exception {
+        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler();
+        transformerHandler.getTransformer().setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformerHandler.setResult(new StreamResult(writer));
+        return transformerHandler;
+    }
+
+}
@@ -0,0 +1,122 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttribute;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttributeImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedElement;
+import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedForm;
+import ru.d_shap.fm.formmodel.binding.model.BindedFormImpl;
+
+/**
+ * Tests for {@link LookupMemo}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class LookupMemoTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public LookupMemoTest() {
+        super();
+    }
+
+    /**
+     * {@link LookupMemo} class test.
+     */
+    @Test
+    public void getAndPutTest() {
+        BindedForm bindedForm1 = new BindedFormImpl("repr");
+        BindedForm bindedForm2 = new BindedFormImpl("repr");
+        BindedElement bindedElement1 = new BindedElementImpl("repr", 0);
+        BindedElement bindedElement2 = new BindedElementImpl("repr", 0);
+        BindedAttribute bindedAttribute = new BindedAttributeImpl("repr");
+        List<BindedElement> bindedElements = new ArrayList<>();
+        bindedElements.add(bindedElement2);
+
+        LookupMemo lookupMemo = new LookupMemo(10);
+        Assertions.assertThat(lookupMemo.size()).isEqualTo(0);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement1, "lookup")).isNull();
+
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement1, "lookup", new LookupMemo.LookupValue(bindedAttribute));
+        lookupMemo.put(LookupMemo.LookupType.ELEMENT, bindedForm1, bindedElement1, "lookup", new LookupMemo.LookupValue(bindedElements));
+        lookupMemo.put(LookupMemo.LookupType.FORM, bindedForm1, null, "lookup", new LookupMemo.LookupValue(bindedForm2));
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement2, "lookup", new LookupMemo.LookupValue((BindedAttribute) null));
+        Assertions.assertThat(lookupMemo.size()).isEqualTo(4);
+
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement1, "lookup").getBindedAttribute()).isSameAs(bindedAttribute);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ELEMENT, bindedForm1, bindedElement1, "lookup").getBindedElements()).isSameAs(bindedElements);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.FORM, bindedForm1, null, "lookup").getBindedForm()).isSameAs(bindedForm2);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement2, "lookup")).isNotNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement2, "lookup").getBindedAttribute()).isNull();
+
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ELEMENT, bindedForm1, bindedElement2, "lookup")).isNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm2, bindedElement1, "lookup")).isNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, null, "lookup")).isNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm1, bindedElement1, "wrong lookup")).isNull();
+    }
+
+    /**
+     * {@link LookupMemo} class test.
+     */
+    @Test
+    public void maxSizeTest() {
+        BindedForm bindedForm = new BindedFormImpl("repr");
+        LookupMemo lookupMemo = new LookupMemo(2);
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup1", new LookupMemo.LookupValue((BindedAttribute) null));
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup2", new LookupMemo.LookupValue((BindedAttribute) null));
+        Assertions.assertThat(lookupMemo.size()).isEqualTo(2);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup1")).isNotNull();
+
+        lookupMemo.put(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup3", new LookupMemo.LookupValue((BindedAttribute) null));
+        Assertions.assertThat(lookupMemo.size()).isEqualTo(2);
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup1")).isNotNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup2")).isNull();
+        Assertions.assertThat(lookupMemo.get(LookupMemo.LookupType.ATTRIBUTE, bindedForm, null, "lookup3")).isNotNull();
+    }
+
+    /**
+     * {@link LookupMemo} class test.
+     */
+    @Test
+    public void lookupKeyTest() {
+        BindedForm bindedForm = new BindedFormImpl("repr");
+        BindedElement bindedElement = new BindedElementImpl("repr", 0);
+        LookupMemo.LookupKey lookupKey = new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, bindedForm, bindedElement, "lookup");
+        Assertions.assertThat(lookupKey).isEqualTo(lookupKey);
+        Assertions.assertThat(lookupKey).isEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, bindedForm, bindedElement, "lookup"));
+        Assertions.assertThat(lookupKey.hashCode()).isEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, bindedForm, bindedElement, "lookup").hashCode());
+        Assertions.assertThat(lookupKey).isNotEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ATTRIBUTE, bindedForm, bindedElement, "lookup"));
+        Assertions.assertThat(lookupKey).isNotEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, new BindedFormImpl("repr"), bindedElement, "lookup"));
+        Assertions.assertThat(lookupKey).isNotEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, bindedForm, new BindedElementImpl("repr", 0), "lookup"));
+        Assertions.assertThat(lookupKey).isNotEqualTo(new LookupMemo.LookupKey(LookupMemo.LookupType.ELEMENT, bindedForm, bindedElement, "wrong lookup"));
+        Assertions.assertThat((Object) lookupKey).isNotEqualTo("lookup");
+    }
+
+}
@@ -0,0 +1,194 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.NodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Tests for {@link NodeBindingPlans}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class NodeBindingPlansTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public NodeBindingPlansTest() {
+        super();
+    }
+
+    /**
+     * {@link NodeBindingPlans} class test.
+     */
+    @Test
+    public void getFormBindingPlanTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form group='group' id='id' repr='form' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns1:element id='element' lookup='lookup' type='optional+' repr=' '>";
+        xml += "<ns1:attribute id='attribute' lookup='lookup'/>";
+        xml += "</ns1:element>";
+        xml += "<ns1:single-element id='single-element'>";
+        xml += "<ns1:element lookup='lookup'/>";
+        xml += "</ns1:single-element>";
+        xml += "<ns2:otherNode repr='other' valid='true'/>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormDefinition formDefinition = formDefinitions.getFormDefinition("group", "id");
+        NodeBindingPlans nodeBindingPlans = new NodeBindingPlans(formDefinitions);
+
+        NodeBindingPlan formBindingPlan = nodeBindingPlans.getNodeBindingPlan(formDefinition);
+        Assertions.assertThat(nodeBindingPlans.getNodeBindingPlan(formDefinition)).isSameAs(formBindingPlan);
+        Assertions.assertThat(formBindingPlan.getNodeDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(formBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.FORM);
+        Assertions.assertThat(formBindingPlan.getCardinalityDefinition()).isNull();
+        Assertions.assertThat(formBindingPlan.getFormDefinition()).isSameAs(formDefinition);
+        Assertions.assertThat(formBindingPlan.getElementName()).isEqualTo(FormInstanceBuilder.FORM_INSTANCE_ELEMENT_NAME);
+        Assertions.assertThat(formBindingPlan.getAttributeCount()).isEqualTo(3);
+        Assertions.assertThat(formBindingPlan.getAttributeName(0)).isEqualTo("group");
+        Assertions.assertThat(formBindingPlan.getAttributeValue(0)).isEqualTo("group");
+        Assertions.assertThat(formBindingPlan.getAttributeName(1)).isEqualTo("id");
+        Assertions.assertThat(formBindingPlan.getAttributeValue(1)).isEqualTo("id");
+        Assertions.assertThat(formBindingPlan.getAttributeName(2)).isEqualTo("repr");
+        Assertions.assertThat(formBindingPlan.getAttributeValue(2)).isEqualTo("form");
+        List<NodeBindingPlan> childNodeBindingPlans = formBindingPlan.getChildNodeBindingPlans();
+        Assertions.assertThat(childNodeBindingPlans).hasSize(3);
+
+        NodeBindingPlan elementBindingPlan = childNodeBindingPlans.get(0);
+        Assertions.assertThat(elementBindingPlan.getNodeDefinition()).isInstanceOf(ElementDefinition.class);
+        Assertions.assertThat(elementBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.ELEMENT);
+        Assertions.assertThat(elementBindingPlan.getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL_MULTIPLE);
+        Assertions.assertThat(elementBindingPlan.getFormDefinition()).isNull();
+        Assertions.assertThat(elementBindingPlan.getElementName()).isEqualTo(FormInstanceBuilder.ELEMENT_INSTANCE_ELEMENT_NAME);
+        Assertions.assertThat(elementBindingPlan.getAttributeCount()).isEqualTo(1);
+        Assertions.assertThat(elementBindingPlan.getAttributeName(0)).isEqualTo("id");
+        Assertions.assertThat(elementBindingPlan.getAttributeValue(0)).isEqualTo("element");
+        Assertions.assertThat(elementBindingPlan.getChildNodeBindingPlans()).hasSize(1);
+        Assertions.assertThat(nodeBindingPlans.getNodeBindingPlan(elementBindingPlan.getNodeDefinition())).isSameAs(elementBindingPlan);
+
+        NodeBindingPlan attributeBindingPlan = elementBindingPlan.getChildNodeBindingPlans().get(0);
+        Assertions.assertThat(attributeBindingPlan.getNodeDefinition()).isInstanceOf(AttributeDefinition.class);
+        Assertions.assertThat(attributeBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.ATTRIBUTE);
+        Assertions.assertThat(attributeBindingPlan.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(attributeBindingPlan.getElementName()).isEqualTo(FormInstanceBuilder.ATTRIBUTE_INSTANCE_ELEMENT_NAME);
+        Assertions.assertThat(attributeBindingPlan.getAttributeCount()).isEqualTo(1);
+        Assertions.assertThat(attributeBindingPlan.getAttributeValue(0)).isEqualTo("attribute");
+        Assertions.assertThat(attributeBindingPlan.getChildNodeBindingPlans()).isEmpty();
+        Assertions.assertThat(nodeBindingPlans.getNodeBindingPlan(attributeBindingPlan.getNodeDefinition())).isSameAs(attributeBindingPlan);
+
+        NodeBindingPlan singleElementBindingPlan = childNodeBindingPlans.get(1);
+        Assertions.assertThat(singleElementBindingPlan.getNodeDefinition()).isInstanceOf(SingleElementDefinition.class);
+        Assertions.assertThat(singleElementBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.SINGLE_ELEMENT);
+        Assertions.assertThat(singleElementBindingPlan.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(singleElementBindingPlan.getElementName()).isEqualTo(FormInstanceBuilder.SINGLE_ELEMENT_INSTANCE_ELEMENT_NAME);
+        Assertions.assertThat(singleElementBindingPlan.getChildNodeBindingPlans()).hasSize(1);
+        Assertions.assertThat(singleElementBindingPlan.getChildNodeBindingPlans().get(0).getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL);
+        Assertions.assertThat(singleElementBindingPlan.getChildNodeBindingPlans().get(0).getAttributeCount()).isEqualTo(0);
+
+        NodeBindingPlan otherNodeBindingPlan = childNodeBindingPlans.get(2);
+        Assertions.assertThat(otherNodeBindingPlan.getNodeDefinition()).isInstanceOf(OtherNodeDefinition.class);
+        Assertions.assertThat(otherNodeBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.OTHER_NODE);
+        Assertions.assertThat(otherNodeBindingPlan.getCardinalityDefinition()).isNull();
+        Assertions.assertThat(otherNodeBindingPlan.getElementName()).isNull();
+        Assertions.assertThat(otherNodeBindingPlan.getAttributeCount()).isEqualTo(0);
+        Assertions.assertThat(otherNodeBindingPlan.getChildNodeBindingPlans()).isEmpty();
+    }
+
+    /**
+     * {@link NodeBindingPlans} class test.
+     */
+    @Test
+    public void getFormReferenceBindingPlanTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml1 += "<ns1:form-reference group='group' id='id2' repr='reference'>";
+        xml1 += "<ns2:otherNode repr='other' valid='true'/>";
+        xml1 += "</ns1:form-reference>";
+        xml1 += "</ns1:form>";
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form group='group' id='id2' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<ns1:form-reference id='id3'/>";
+        xml2 += "</ns1:form>";
+        String xml3 = "<?xml version='1.0'?>\n";
+        xml3 += "<ns1:form id='id3' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml3 += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml1, xml2, xml3);
+        FormDefinition formDefinition1 = formDefinitions.getFormDefinition("id1");
+        FormDefinition formDefinition2 = formDefinitions.getFormDefinition("group", "id2");
+        FormDefinition formDefinition3 = formDefinitions.getFormDefinition("id3");
+        NodeBindingPlans nodeBindingPlans = new NodeBindingPlans(formDefinitions);
+
+        NodeBindingPlan formBindingPlan1 = nodeBindingPlans.getNodeBindingPlan(formDefinition1);
+        Assertions.assertThat(formBindingPlan1.getChildNodeBindingPlans()).hasSize(1);
+        NodeBindingPlan formReferenceBindingPlan = formBindingPlan1.getChildNodeBindingPlans().get(0);
+        Assertions.assertThat(formReferenceBindingPlan.getNodeDefinition()).isInstanceOf(FormReferenceDefinition.class);
+        Assertions.assertThat(formReferenceBindingPlan.getNodeType()).isSameAs(NodeBindingPlan.NodeType.FORM_REFERENCE);
+        Assertions.assertThat(formReferenceBindingPlan.getCardinalityDefinition()).isNull();
+        Assertions.assertThat(formReferenceBindingPlan.getFormDefinition()).isSameAs(formDefinition2);
+        Assertions.assertThat(formReferenceBindingPlan.getElementName()).isEqualTo(FormInstanceBuilder.FORM_REFERENCE_INSTANCE_ELEMENT_NAME);
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeCount()).isEqualTo(3);
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeName(0)).isEqualTo("group");
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeValue(0)).isEqualTo("group");
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeName(1)).isEqualTo("id");
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeValue(1)).isEqualTo("id2");
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeName(2)).isEqualTo("repr");
+        Assertions.assertThat(formReferenceBindingPlan.getAttributeValue(2)).isEqualTo("reference");
+        Assertions.assertThat(formReferenceBindingPlan.getChildNodeBindingPlans()).hasSize(1);
+        Assertions.assertThat(formReferenceBindingPlan.getChildNodeBindingPlans().get(0).getNodeType()).isSameAs(NodeBindingPlan.NodeType.OTHER_NODE);
+
+        NodeBindingPlan formBindingPlan2 = nodeBindingPlans.getNodeBindingPlan(formDefinition2);
+        Assertions.assertThat(formBindingPlan2.getChildNodeBindingPlans()).hasSize(1);
+        Assertions.assertThat(formBindingPlan2.getChildNodeBindingPlans().get(0).getFormDefinition()).isSameAs(formDefinition3);
+    }
+
+    /**
+     * {@link NodeBindingPlans} class test.
+     */
+    @Test
+    public void skipUnknownNodeDefinitionTest() {
+        NodeDefinition nodeDefinition = new NodeDefinition() {
+
+            // Unknown node definition
+
+        };
+        FormDefinition formDefinition = new FormDefinition("", "id", createNodeDefinitions(nodeDefinition, new AnotherNodeDefinition()), createOtherAttributes("blank", "", "null", null), "source");
+        NodeBindingPlans nodeBindingPlans = new NodeBindingPlans(new FormDefinitions());
+        NodeBindingPlan formBindingPlan = nodeBindingPlans.getNodeBindingPlan(formDefinition);
+        Assertions.assertThat(formBindingPlan.getAttributeCount()).isEqualTo(1);
+        Assertions.assertThat(formBindingPlan.getAttributeName(0)).isEqualTo("id");
+        Assertions.assertThat(formBindingPlan.getChildNodeBindingPlans()).hasSize(1);
+        Assertions.assertThat(formBindingPlan.getChildNodeBindingPlans().get(0).getNodeType()).isSameAs(NodeBindingPlan.NodeType.OTHER_NODE);
+    }
+
+}
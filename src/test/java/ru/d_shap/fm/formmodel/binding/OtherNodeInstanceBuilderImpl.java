@@ -55,7 +55,7 @@ public final class OtherNodeInstanceBuilderImpl implements OtherNodeInstanceBuil
 
     @Override
     public boolean isCompatible(final Class<? extends FormInstanceBinder> clazz) {
-        return clazz == FormInstanceBinderImpl.class;
+        return clazz == FormInstanceBinderImpl.class || clazz == ConcurrentFormInstanceBinderImpl.class || clazz == BatchFormInstanceBinderImpl.class;
     }
 
     @Override
@@ -0,0 +1,310 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.io.StringWriter;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.TypeInfoProvider;
+import javax.xml.validation.ValidatorHandler;
+
+import org.junit.Test;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.LocatorImpl;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.XmlDocumentValidator;
+
+/**
+ * Tests for {@link ValidatingContentHandler}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ValidatingContentHandlerTest extends BaseFormModelTest {
+
+    private static final String NAMESPACE = "http://d-shap.ru/schema/form-instance/1.0";
+
+    /**
+     * Test class constructor.
+     */
+    public ValidatingContentHandlerTest() {
+        super();
+    }
+
+    /**
+     * {@link ValidatingContentHandler} class test.
+     */
+    @Test
+    public void validateTest() throws Exception {
+        StringWriter writer = new StringWriter();
+        ValidatorHandler validatorHandler = XmlDocumentValidator.getFormInstanceDocumentValidator().newValidatorHandler();
+        ValidatingContentHandler contentHandler = new ValidatingContentHandler(validatorHandler, createTransformerHandler(writer));
+        contentHandler.setDocumentLocator(new LocatorImpl());
+        contentHandler.startDocument();
+        contentHandler.startDTD("name", null, null);
+        contentHandler.endDTD();
+        contentHandler.startPrefixMapping("", NAMESPACE);
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "id", "id", "CDATA", "id");
+        contentHandler.startElement(NAMESPACE, "form", "form", attributes);
+        contentHandler.ignorableWhitespace(" ".toCharArray(), 0, 1);
+        contentHandler.startCDATA();
+        contentHandler.endCDATA();
+        contentHandler.startEntity("entity");
+        contentHandler.endEntity("entity");
+        contentHandler.comment("comment".toCharArray(), 0, 7);
+        contentHandler.processingInstruction("target", "data");
+        contentHandler.skippedEntity("entity");
+        contentHandler.startElement(NAMESPACE, "element", "element", attributes);
+        contentHandler.characters("".toCharArray(), 0, 0);
+        contentHandler.endElement(NAMESPACE, "element", "element");
+        contentHandler.endElement(NAMESPACE, "form", "form");
+        contentHandler.endPrefixMapping("");
+        contentHandler.endDocument();
+        Assertions.assertThat(writer.toString()).contains("<form xmlns=\"http://d-shap.ru/schema/form-instance/1.0\" id=\"id\"> <!--comment--><?target data?><element id=\"id\"/></form>");
+    }
+
+    /**
+     * {@link ValidatingContentHandler} class test.
+     */
+    @Test
+    public void validateNotLexicalTest() throws Exception {
+        ValidatorHandler validatorHandler = XmlDocumentValidator.getFormInstanceDocumentValidator().newValidatorHandler();
+        ValidatingContentHandler contentHandler = new ValidatingContentHandler(validatorHandler, new DefaultHandler());
+        contentHandler.startDocument();
+        contentHandler.startDTD("name", null, null);
+        contentHandler.endDTD();
+        contentHandler.startPrefixMapping("", NAMESPACE);
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "id", "id", "CDATA", "id");
+        contentHandler.startElement(NAMESPACE, "form", "form", attributes);
+        contentHandler.startCDATA();
+        contentHandler.endCDATA();
+        contentHandler.startEntity("entity");
+        contentHandler.endEntity("entity");
+        contentHandler.comment("comment".toCharArray(), 0, 7);
+        contentHandler.endElement(NAMESPACE, "form", "form");
+        contentHandler.endPrefixMapping("");
+        contentHandler.endDocument();
+    }
+
+    /**
+     * {@link ValidatingContentHandler} class test.
+     */
+    @Test
+    public void validateFailTest() throws Exception {
+        ValidatorHandler validatorHandler1 = XmlDocumentValidator.getFormInstanceDocumentValidator().newValidatorHandler();
+        ValidatingContentHandler contentHandler1 = new ValidatingContentHandler(validatorHandler1, new DefaultHandler());
+        contentHandler1.startDocument();
+        contentHandler1.startPrefixMapping("", NAMESPACE);
+        try {
+            contentHandler1.startElement(NAMESPACE, "wrong", "wrong", new AttributesImpl());
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+
+        ValidatingContentHandler contentHandler2 = new ValidatingContentHandler(new FailValidatorHandler(), new DefaultHandler());
+        try {
+            contentHandler2.startDocument();
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.endDocument();
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.startPrefixMapping("", NAMESPACE);
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.endPrefixMapping("");
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.startElement(NAMESPACE, "form", "form", new AttributesImpl());
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.endElement(NAMESPACE, "form", "form");
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.characters("text".toCharArray(), 0, 4);
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.ignorableWhitespace(" ".toCharArray(), 0, 1);
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.processingInstruction("target", "data");
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            contentHandler2.skippedEntity("entity");
+            Assertions.fail("ValidatingContentHandler test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+    }
+
+    private TransformerHandler createTransformerHandler(final StringWriter writer) throws Exception {
+        SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler transformerHandler = transformerFactory.newTransformerHandler();
+        transformerHandler.getTransformer().setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformerHandler.setResult(new StreamResult(writer));
+        return transformerHandler;
+    }
+
+    /**
+     * Validator handler to fail on every event.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FailValidatorHandler extends ValidatorHandler {
+
+        FailValidatorHandler() {
+            super();
+        }
+
+        @Override
+        public void setContentHandler(final ContentHandler receiver) {
+            // Ignore
+        }
+
+        @Override
+        public ContentHandler getContentHandler() {
+            return null;
+        }
+
+        @Override
+        public void setErrorHandler(final ErrorHandler errorHandler) {
+            // Ignore
+        }
+
+        @Override
+        public ErrorHandler getErrorHandler() {
+            return null;
+        }
+
+        @Override
+        public void setResourceResolver(final LSResourceResolver resourceResolver) {
+            // Ignore
+        }
+
+        @Override
+        public LSResourceResolver getResourceResolver() {
+            return null;
+        }
+
+        @Override
+        public TypeInfoProvider getTypeInfoProvider() {
+            return null;
+        }
+
+        @Override
+        public void setDocumentLocator(final Locator locator) {
+            // Ignore
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void startPrefixMapping(final String prefix, final String uri) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void endPrefixMapping(final String prefix) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes atts) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void ignorableWhitespace(final char[] ch, final int start, final int length) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void processingInstruction(final String target, final String data) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+        @Override
+        public void skippedEntity(final String name) throws SAXException {
+            throw new SAXException("fail");
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+
+/**
+ * Tests for {@link ValidationPolicies}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ValidationPoliciesTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public ValidationPoliciesTest() {
+        super();
+    }
+
+    /**
+     * {@link ValidationPolicies} class test.
+     */
+    @Test
+    public void constructorTest() {
+        Assertions.assertThat(ValidationPolicies.class).hasOnePrivateConstructor();
+    }
+
+    /**
+     * {@link ValidationPolicies} class test.
+     */
+    @Test
+    public void alwaysTest() {
+        ValidationPolicy validationPolicy = ValidationPolicies.always();
+        Assertions.assertThat(validationPolicy).isSameAs(ValidationPolicies.always());
+        Assertions.assertThat(validationPolicy.isValidationRequired()).isTrue();
+        Assertions.assertThat(validationPolicy.isValidationRequired()).isTrue();
+        validationPolicy.validate(createValidDocument());
+        try {
+            validationPolicy.validate(createInvalidDocument());
+            Assertions.fail("ValidationPolicies test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+    }
+
+    /**
+     * {@link ValidationPolicies} class test.
+     */
+    @Test
+    public void neverTest() {
+        ValidationPolicy validationPolicy = ValidationPolicies.never();
+        Assertions.assertThat(validationPolicy).isSameAs(ValidationPolicies.never());
+        Assertions.assertThat(validationPolicy.isValidationRequired()).isFalse();
+        Assertions.assertThat(validationPolicy.isValidationRequired()).isFalse();
+        validationPolicy.validate(createValidDocument());
+        validationPolicy.validate(createInvalidDocument());
+    }
+
+    /**
+     * {@link ValidationPolicies} class test.
+     */
+    @Test
+    public void sampledTest() {
+        ValidationPolicy validationPolicy1 = ValidationPolicies.sampled(1);
+        Assertions.assertThat(validationPolicy1.isValidationRequired()).isTrue();
+        Assertions.assertThat(validationPolicy1.isValidationRequired()).isTrue();
+        Assertions.assertThat(validationPolicy1.isValidationRequired()).isTrue();
+
+        ValidationPolicy validationPolicy3 = ValidationPolicies.sampled(3);
+        Assertions.assertThat(validationPolicy3).isNotSameAs(ValidationPolicies.sampled(3));
+        Assertions.assertThat(validationPolicy3.isValidationRequired()).isTrue();
+        Assertions.assertThat(validationPolicy3.isValidationRequired()).isFalse();
+        Assertions.assertThat(validationPolicy3.isValidationRequired()).isFalse();
+        Assertions.assertThat(validationPolicy3.isValidationRequired()).isTrue();
+        Assertions.assertThat(validationPolicy3.isValidationRequired()).isFalse();
+        validationPolicy3.validate(createValidDocument());
+        try {
+            validationPolicy3.validate(createInvalidDocument());
+            Assertions.fail("ValidationPolicies test fail");
+        } catch (FormBindingException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+
+        try {
+            ValidationPolicies.sampled(0);
+            Assertions.fail("ValidationPolicies test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Sampling rate must be positive: 0");
+        }
+    }
+
+    /**
+     * {@link ValidationPolicies} class test.
+     */
+    @Test
+    public void asyncTest() {
+        DeferredExecutor executor = new DeferredExecutor();
+        ValidationListenerImpl validationListener = new ValidationListenerImpl();
+        ValidationPolicy validationPolicy = ValidationPolicies.async(executor, validationListener);
+        Assertions.assertThat(validationPolicy.isValidationRequired()).isTrue();
+
+        Document validDocument = createValidDocument();
+        validationPolicy.validate(validDocument);
+        Document invalidDocument = createInvalidDocument();
+        validationPolicy.validate(invalidDocument);
+        Assertions.assertThat(validationListener._validDocuments).isEmpty();
+        Assertions.assertThat(validationListener._invalidDocuments).isEmpty();
+
+        validDocument.getDocumentElement().setAttribute("id", "changed");
+        executor.runAll();
+        Assertions.assertThat(validationListener._validDocuments).hasSize(1);
+        Assertions.assertThat(validationListener._validDocuments.get(0)).isNotSameAs(validDocument);
+        Assertions.assertThat(validationListener._validDocuments.get(0).getDocumentElement().getAttribute("id")).isEqualTo("id");
+        Assertions.assertThat(validationListener._invalidDocuments).hasSize(1);
+        Assertions.assertThat(validationListener._invalidDocuments.get(0)).isNotSameAs(invalidDocument);
+        Assertions.assertThat(validationListener._exceptions).hasSize(1);
+        Assertions.assertThat(validationListener._exceptions.get(0)).hasCause(SAXException.class);
+    }
+
+    private Document createValidDocument() {
+        Document document = newDocument();
+        Element element = document.createElementNS(FormInstanceBuilder.NAMESPACE, FormInstanceBuilder.FORM_INSTANCE_ELEMENT_NAME);
+        element.setAttribute("id", "id");
+        document.appendChild(element);
+        return document;
+    }
+
+    private Document createInvalidDocument() {
+        Document document = newDocument();
+        Element element = document.createElementNS(FormInstanceBuilder.NAMESPACE, "wrong");
+        document.appendChild(element);
+        return document;
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DeferredExecutor implements Executor {
+
+        private final List<Runnable> _tasks;
+
+        DeferredExecutor() {
+            super();
+            _tasks = new ArrayList<>();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            _tasks.add(command);
+        }
+
+        void runAll() {
+            for (Runnable task : _tasks) {
+                task.run();
+            }
+            _tasks.clear();
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ValidationListenerImpl implements ValidationListener {
+
+        private final List<Document> _validDocuments;
+
+        private final List<Document> _invalidDocuments;
+
+        private final List<FormBindingException> _exceptions;
+
+        ValidationListenerImpl() {
+            super();
+            _validDocuments = new ArrayList<>();
+            _invalidDocuments = new ArrayList<>();
+            _exceptions = new ArrayList<>();
+        }
+
+        @Override
+        public void validationSucceeded(final Document document) {
+            _validDocuments.add(document);
+        }
+
+        @Override
+        public void validationFailed(final Document document, final FormBindingException exception) {
+            _invalidDocuments.add(document);
+            _exceptions.add(exception);
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.binding;
+
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.LocatorImpl;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+
+/**
+ * Tests for {@link XmlStreamWriterContentHandler}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class XmlStreamWriterContentHandlerTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public XmlStreamWriterContentHandlerTest() {
+        super();
+    }
+
+    /**
+     * {@link XmlStreamWriterContentHandler} class test.
+     */
+    @Test
+    public void writeTest() throws Exception {
+        StringWriter writer = new StringWriter();
+        XMLStreamWriter xmlStreamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+        XmlStreamWriterContentHandler contentHandler = new XmlStreamWriterContentHandler(xmlStreamWriter);
+        contentHandler.setDocumentLocator(new LocatorImpl());
+        contentHandler.startDocument();
+        contentHandler.startDTD("name", "publicId", "systemId");
+        contentHandler.endDTD();
+        contentHandler.startPrefixMapping("", "http://example.com/1");
+        contentHandler.startPrefixMapping("ns2", "http://example.com/2");
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "attr", "attr", "CDATA", "value1");
+        attributes.addAttribute("http://example.com/2", "attr", "ns2:attr", "CDATA", "value2");
+        contentHandler.startElement("http://example.com/1", "element1", "element1", attributes);
+        contentHandler.startElement("http://example.com/2", "element2", "ns2:element2", new AttributesImpl());
+        contentHandler.startEntity("entity");
+        contentHandler.endEntity("entity");
+        contentHandler.skippedEntity("entity");
+        contentHandler.startCDATA();
+        contentHandler.characters("text".toCharArray(), 0, 4);
+        contentHandler.endCDATA();
+        contentHandler.ignorableWhitespace(" ".toCharArray(), 0, 1);
+        contentHandler.endElement("http://example.com/2", "element2", "ns2:element2");
+        contentHandler.comment("comment".toCharArray(), 0, 7);
+        contentHandler.processingInstruction("target", "data");
+        contentHandler.endElement("http://example.com/1", "element1", "element1");
+        contentHandler.endPrefixMapping("ns2");
+        contentHandler.endPrefixMapping("");
+        contentHandler.endDocument();
+        Assertions.assertThat(writer.toString()).isEqualTo("<element1 attr=\"value1\" ns2:attr=\"value2\" xmlns=\"http://example.com/1\" xmlns:ns2=\"http://example.com/2\"><ns2:element2>text </ns2:element2><!--comment--><?target data?></element1>");
+    }
+
+    /**
+     * {@link XmlStreamWriterContentHandler} class test.
+     */
+    @Test
+    public void writeFailTest() {
+        XMLStreamWriter xmlStreamWriter = (XMLStreamWriter) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{XMLStreamWriter.class}, new FailInvocationHandler());
+        XmlStreamWriterContentHandler contentHandler = new XmlStreamWriterContentHandler(xmlStreamWriter);
+
+        try {
+            contentHandler.endDocument();
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            contentHandler.startElement("http://example.com", "element", "element", new AttributesImpl());
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            contentHandler.endElement("http://example.com", "element", "element");
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            contentHandler.characters("text".toCharArray(), 0, 4);
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            contentHandler.processingInstruction("target", "data");
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            contentHandler.comment("comment".toCharArray(), 0, 7);
+            Assertions.fail("XmlStreamWriterContentHandler test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+    }
+
+    /**
+     * Invocation handler to fail on every method call.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class FailInvocationHandler implements InvocationHandler {
+
+        FailInvocationHandler() {
+            super();
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws XMLStreamException {
+            throw new XMLStreamException("fail");
+        }
+
+    }
+
+}
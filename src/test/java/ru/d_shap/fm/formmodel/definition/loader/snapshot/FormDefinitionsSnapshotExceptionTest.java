@@ -0,0 +1,75 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.Messages;
+
+/**
+ * Tests for {@link FormDefinitionsSnapshotException}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotExceptionTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormDefinitionsSnapshotExceptionTest() {
+        super();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotException} class test.
+     */
+    @Test
+    public void errorMessageTest() {
+        Assertions.assertThat(new FormDefinitionsSnapshotException((String) null)).messageIsNull();
+        Assertions.assertThat(new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage())).hasMessage("[Snapshot is not valid]");
+        Assertions.assertThat(new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage(), new IOException("io error"))).hasMessage("[Snapshot is not valid]");
+
+        Assertions.assertThat(new FormDefinitionsSnapshotException((Throwable) null)).messageIsNull();
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException())).messageIsNull();
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException(""))).hasMessage("");
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException(" "))).hasMessage(" ");
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException("io error"))).hasMessage("io error");
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotException} class test.
+     */
+    @Test
+    public void errorCauseTest() {
+        Assertions.assertThat(new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage())).causeIsNull();
+        Assertions.assertThat(new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage(), new IOException("io error"))).hasCause(IOException.class);
+        Assertions.assertThat(new FormDefinitionsSnapshotException(Messages.Snapshot.getSnapshotIsNotValidMessage(), new IOException("io error"))).hasCauseMessage("io error");
+
+        Assertions.assertThat(new FormDefinitionsSnapshotException((Throwable) null)).causeIsNull();
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException())).hasCause(IOException.class);
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException("io error"))).hasCause(IOException.class);
+        Assertions.assertThat(new FormDefinitionsSnapshotException(new IOException("io error"))).hasCauseMessage("io error");
+    }
+
+}
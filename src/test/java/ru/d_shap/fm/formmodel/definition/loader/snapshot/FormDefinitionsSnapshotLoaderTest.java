@@ -0,0 +1,390 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.definition.loader.xml.DefaultOtherNodeXmlDefinition;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Tests for {@link FormDefinitionsSnapshotLoader}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotLoaderTest extends BaseFormModelTest {
+
+    private static final byte[] SOURCE_HASH = {1, 2, 3, 4};
+
+    /**
+     * Test class constructor.
+     */
+    public FormDefinitionsSnapshotLoaderTest() {
+        super();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void loadTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        FormDefinitions formDefinitions = new FormDefinitions();
+        formDefinitionsSnapshotLoader.loadValidated(formDefinitions);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).hasSize(2);
+
+        FormDefinition formDefinition1 = formDefinitions.getFormDefinition("group", "id1");
+        Assertions.assertThat(formDefinition1.getSource()).isEqualTo("source1");
+        Assertions.assertThat(formDefinition1.getOtherAttributeNames()).containsExactly("f1", "f2");
+        Assertions.assertThat(formDefinition1.getOtherAttributeValue("f1")).isEqualTo("v1");
+        Assertions.assertThat(formDefinition1.getOtherAttributeValue("f2")).isEqualTo("v2");
+        Assertions.assertThat(formDefinition1.getAllNodeDefinitions()).hasSize(3);
+
+        ElementDefinition elementDefinition = formDefinition1.getElementDefinitions().get(0);
+        Assertions.assertThat(elementDefinition.getId()).isEqualTo("element");
+        Assertions.assertThat(elementDefinition.getLookup()).isEqualTo("lookup1");
+        Assertions.assertThat(elementDefinition.getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL);
+        Assertions.assertThat(elementDefinition.getOtherAttributeNames()).containsExactly("e");
+        Assertions.assertThat(elementDefinition.getOtherAttributeValue("e")).isEqualTo("v1");
+        Assertions.assertThat(elementDefinition.getAllNodeDefinitions()).hasSize(3);
+
+        AttributeDefinition attributeDefinition = elementDefinition.getAttributeDefinitions().get(0);
+        Assertions.assertThat(attributeDefinition.getId()).isEqualTo("attribute");
+        Assertions.assertThat(attributeDefinition.getLookup()).isEqualTo("lookup2");
+        Assertions.assertThat(attributeDefinition.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(attributeDefinition.getOtherAttributeNames()).containsExactly("a");
+        Assertions.assertThat(attributeDefinition.getOtherAttributeValue("a")).isEqualTo("v1");
+
+        SingleElementDefinition singleElementDefinition = elementDefinition.getSingleElementDefinitions().get(0);
+        Assertions.assertThat(singleElementDefinition.getId()).isEqualTo("single");
+        Assertions.assertThat(singleElementDefinition.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED_MULTIPLE);
+        Assertions.assertThat(singleElementDefinition.getElementDefinitions()).hasSize(1);
+        Assertions.assertThat(singleElementDefinition.getElementDefinitions().get(0).getId()).isEqualTo("child");
+        Assertions.assertThat(singleElementDefinition.getElementDefinitions().get(0).getLookup()).isNull();
+        Assertions.assertThat(singleElementDefinition.getElementDefinitions().get(0).getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL_MULTIPLE);
+        Assertions.assertThat(singleElementDefinition.getOtherAttributeNames()).containsExactly("s");
+
+        FormReferenceDefinition formReferenceDefinition = elementDefinition.getFormReferenceDefinitions().get(0);
+        Assertions.assertThat(formReferenceDefinition.getGroup()).isEqualTo("group");
+        Assertions.assertThat(formReferenceDefinition.getId()).isEqualTo("id2");
+        Assertions.assertThat(formReferenceDefinition.getOtherAttributeNames()).containsExactly("r");
+        Assertions.assertThat(formReferenceDefinition.getOtherAttributeValue("r")).isEqualTo("v1");
+
+        DefaultOtherNodeXmlDefinition defaultOtherNodeXmlDefinition = (DefaultOtherNodeXmlDefinition) formDefinition1.getOtherNodeDefinitions().get(0);
+        Assertions.assertThat(defaultOtherNodeXmlDefinition.getElement().getNamespaceURI()).isEqualTo("http://example.com");
+        Assertions.assertThat(defaultOtherNodeXmlDefinition.getElement().getLocalName()).isEqualTo("other");
+        Assertions.assertThat(defaultOtherNodeXmlDefinition.getElement().getAttribute("attr")).isEqualTo("value");
+        Assertions.assertThat(defaultOtherNodeXmlDefinition.getElement().getTextContent()).isEqualTo("text");
+
+        OtherNodeDefinitionImpl otherNodeDefinition = (OtherNodeDefinitionImpl) formDefinition1.getOtherNodeDefinitions().get(1);
+        Assertions.assertThat(otherNodeDefinition.getRepresentation()).isEqualTo("repr1");
+        Assertions.assertThat(otherNodeDefinition.isValid()).isTrue();
+        Assertions.assertThat(otherNodeDefinition.getAttributeDefinition().getId()).isEqualTo("otherAttribute");
+        Assertions.assertThat(otherNodeDefinition.getElementDefinition()).isNull();
+        Assertions.assertThat(otherNodeDefinition.getSingleElementDefinition()).isNull();
+        Assertions.assertThat(otherNodeDefinition.getFormReferenceDefinition()).isNull();
+        Assertions.assertThat(((OtherNodeDefinitionImpl) otherNodeDefinition.getOtherNodeDefinition()).getRepresentation()).isNull();
+        Assertions.assertThat(((OtherNodeDefinitionImpl) otherNodeDefinition.getOtherNodeDefinition()).isValid()).isFalse();
+
+        FormDefinition formDefinition2 = formDefinitions.getFormDefinition("id2");
+        Assertions.assertThat(formDefinition2.getGroup()).isEqualTo("");
+        Assertions.assertThat(formDefinition2.getSource()).isEqualTo("source2");
+        Assertions.assertThat(formDefinition2.getAllNodeDefinitions()).isEmpty();
+        Assertions.assertThat(formDefinition2.getOtherAttributeNames()).isEmpty();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void loadRepeatedTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        List<FormDefinition> formDefinitions1 = formDefinitionsSnapshotLoader.load();
+        List<FormDefinition> formDefinitions2 = formDefinitionsSnapshotLoader.load();
+        Assertions.assertThat(formDefinitions1).hasSize(2);
+        Assertions.assertThat(formDefinitions2).hasSize(2);
+        Assertions.assertThat(formDefinitions1.get(0)).isNotSameAs(formDefinitions2.get(0));
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void loadEmptyTest() {
+        byte[] snapshot = writeSnapshot(new FormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        Assertions.assertThat(formDefinitionsSnapshotLoader.load()).isEmpty();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void loadValidatedTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        FormDefinitions formDefinitions = new FormDefinitions();
+        formDefinitionsSnapshotLoader.loadValidated(formDefinitions);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).hasSize(2);
+        Assertions.assertThat(formDefinitions.getFormDefinition("group", "id1").getSource()).isEqualTo("source1");
+        Assertions.assertThat(formDefinitions.getFormDefinition("id2").getSource()).isEqualTo("source2");
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void loadFileTest() throws IOException {
+        File file = File.createTempFile("form-model", ".snapshot");
+        try {
+            new FormDefinitionsSnapshotWriter().write(createFormDefinitions(), SOURCE_HASH, file);
+            FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(file);
+            Assertions.assertThat(formDefinitionsSnapshotLoader.getSourceHash()).containsExactlyInOrder(1, 2, 3, 4);
+            Assertions.assertThat(formDefinitionsSnapshotLoader.load()).hasSize(2);
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void loadFileFailTest() {
+        try {
+            new FormDefinitionsSnapshotLoader(new File("wrong-file.snapshot"));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(NoSuchFileException.class);
+        }
+        try {
+            new FormDefinitionsSnapshotLoader(new File("invalid\u0000path.snapshot"));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(InvalidPathException.class);
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void getSourceHashTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        byte[] sourceHash = formDefinitionsSnapshotLoader.getSourceHash();
+        Assertions.assertThat(sourceHash).containsExactlyInOrder(1, 2, 3, 4);
+        sourceHash[0] = 5;
+        Assertions.assertThat(formDefinitionsSnapshotLoader.getSourceHash()).containsExactlyInOrder(1, 2, 3, 4);
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void isSourceHashMatchesTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        Assertions.assertThat(formDefinitionsSnapshotLoader.isSourceHashMatches(new byte[]{1, 2, 3, 4})).isTrue();
+        Assertions.assertThat(formDefinitionsSnapshotLoader.isSourceHashMatches(new byte[]{1, 2, 3, 5})).isFalse();
+        Assertions.assertThat(formDefinitionsSnapshotLoader.isSourceHashMatches(new byte[]{1, 2, 3})).isFalse();
+        Assertions.assertThat(formDefinitionsSnapshotLoader.isSourceHashMatches(new byte[]{})).isFalse();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void invalidHeaderFailTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+
+        byte[] invalidMagic = snapshot.clone();
+        invalidMagic[0] = 0;
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidMagic));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] invalidVersion = snapshot.clone();
+        invalidVersion[4] = 2;
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidVersion));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot version is not supported: 2]");
+        }
+
+        byte[] invalidSourceHashLength = Arrays.copyOf(snapshot, 8);
+        invalidSourceHashLength[5] = 0x7F;
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidSourceHashLength));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(Arrays.copyOf(snapshot, 3)));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+            Assertions.assertThat(ex).hasCause(BufferUnderflowException.class);
+        }
+
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(new byte[0]));
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotLoader} class test.
+     */
+    @Test
+    public void invalidBodyFailTest() {
+        byte[] snapshot = writeSnapshot(createFormDefinitions());
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(Arrays.copyOf(snapshot, snapshot.length - 1)));
+        try {
+            formDefinitionsSnapshotLoader.load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] invalidStringCount = createSnapshot(new int[]{0x7F}, new int[]{});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidStringCount)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] negativeFormCount = createSnapshot(new int[]{0}, new int[]{0xFF, 0xFF, 0xFF, 0xFF, 0x0F});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(negativeFormCount)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] invalidStringIndex = createSnapshot(new int[]{1, 1, 'a'}, new int[]{1, 2, 0, 0, 0, 0});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidStringIndex)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] negativeStringIndex = createSnapshot(new int[]{1, 1, 'a'}, new int[]{1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 0, 0, 0, 0});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(negativeStringIndex)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] invalidTag = createSnapshot(new int[]{1, 1, 'a'}, new int[]{1, 0, 1, 0, 1, 9, 0});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidTag)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Snapshot is not valid]");
+        }
+
+        byte[] invalidCodec = createSnapshot(new int[]{1, 1, 'a'}, new int[]{1, 0, 1, 0, 1, 5, 1, 0});
+        try {
+            new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(invalidCodec)).load();
+            Assertions.fail("FormDefinitionsSnapshotLoader test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Other node definition codec is not found: a]");
+        }
+    }
+
+    private FormDefinitions createFormDefinitions() {
+        Element element = parse("<ns:other xmlns:ns='http://example.com' attr='value'>text</ns:other>").getDocumentElement();
+        DefaultOtherNodeXmlDefinition defaultOtherNodeXmlDefinition = new DefaultOtherNodeXmlDefinition(element);
+        OtherNodeDefinitionImpl otherNodeDefinition = new OtherNodeDefinitionImpl("repr1", true);
+        otherNodeDefinition.setAttributeDefinition(new AttributeDefinition("otherAttribute", "lookup", CardinalityDefinition.PROHIBITED, createNodeDefinitions(), createOtherAttributes()));
+        otherNodeDefinition.setOtherNodeDefinition(new OtherNodeDefinitionImpl(null, false));
+
+        AttributeDefinition attributeDefinition = new AttributeDefinition("attribute", "lookup2", CardinalityDefinition.REQUIRED, createNodeDefinitions(), createOtherAttributes("a", "v1"));
+        ElementDefinition childElementDefinition = new ElementDefinition("child", null, CardinalityDefinition.OPTIONAL_MULTIPLE, createNodeDefinitions(), createOtherAttributes());
+        SingleElementDefinition singleElementDefinition = new SingleElementDefinition("single", CardinalityDefinition.REQUIRED_MULTIPLE, createNodeDefinitions(childElementDefinition), createOtherAttributes("s", "v1"));
+        FormReferenceDefinition formReferenceDefinition = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes("r", "v1"));
+        ElementDefinition elementDefinition = new ElementDefinition("element", "lookup1", CardinalityDefinition.OPTIONAL, createNodeDefinitions(attributeDefinition, singleElementDefinition, formReferenceDefinition), createOtherAttributes("e", "v1"));
+
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(elementDefinition, defaultOtherNodeXmlDefinition, otherNodeDefinition), createOtherAttributes("f1", "v1", "f2", "v2"), "source1");
+        FormDefinition formDefinition2 = new FormDefinition(null, "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        FormDefinitions formDefinitions = new FormDefinitions();
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+        return formDefinitions;
+    }
+
+    private byte[] writeSnapshot(final FormDefinitions formDefinitions) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new FormDefinitionsSnapshotWriter().write(formDefinitions, SOURCE_HASH, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private byte[] createSnapshot(final int[] stringTable, final int[] body) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(6 + stringTable.length + body.length);
+        byteBuffer.putInt(SnapshotFormat.MAGIC);
+        byteBuffer.put((byte) SnapshotFormat.VERSION);
+        byteBuffer.put((byte) 0);
+        for (int value : stringTable) {
+            byteBuffer.put((byte) value);
+        }
+        for (int value : body) {
+            byteBuffer.put((byte) value);
+        }
+        return byteBuffer.array();
+    }
+
+}
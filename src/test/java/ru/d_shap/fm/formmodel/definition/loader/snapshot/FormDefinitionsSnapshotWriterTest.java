@@ -0,0 +1,161 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.OutputResultException;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
+
+/**
+ * Tests for {@link FormDefinitionsSnapshotWriter}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSnapshotWriterTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormDefinitionsSnapshotWriterTest() {
+        super();
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotWriter} class test.
+     */
+    @Test
+    public void writeOutputStreamTest() {
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml("<?xml version='1.0'?>\n<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'><ns1:element id='id' lookup='lookup'/></ns1:form>");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{1, 2}, outputStream);
+        byte[] snapshot = outputStream.toByteArray();
+        Assertions.assertThat(ByteBuffer.wrap(snapshot).getInt()).isEqualTo(SnapshotFormat.MAGIC);
+        Assertions.assertThat(snapshot[4]).isEqualTo((byte) SnapshotFormat.VERSION);
+        Assertions.assertThat(snapshot[5]).isEqualTo((byte) 2);
+        Assertions.assertThat(snapshot[6]).isEqualTo((byte) 1);
+        Assertions.assertThat(snapshot[7]).isEqualTo((byte) 2);
+
+        FormDefinitionsSnapshotLoader formDefinitionsSnapshotLoader = new FormDefinitionsSnapshotLoader(ByteBuffer.wrap(snapshot));
+        FormDefinitions loadedFormDefinitions = new FormDefinitions();
+        formDefinitionsSnapshotLoader.load(loadedFormDefinitions);
+        FormDefinition formDefinition = loadedFormDefinitions.getFormDefinition("id");
+        Assertions.assertThat(formDefinition.getSource()).isEqualTo("source");
+        Assertions.assertThat(formDefinition.getElementDefinitions()).hasSize(1);
+        Assertions.assertThat(formDefinition.getElementDefinitions().get(0).getId()).isEqualTo("id");
+        Assertions.assertThat(formDefinition.getElementDefinitions().get(0).getLookup()).isEqualTo("lookup");
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotWriter} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void writeFileTest() throws IOException {
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml("<?xml version='1.0'?>\n<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'></ns1:form>");
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            File file = new File(directory.toFile(), "form.snapshot");
+            new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{1, 2}, file);
+            Assertions.assertThat(new FormDefinitionsSnapshotLoader(file).isSourceHashMatches(new byte[]{1, 2})).isTrue();
+
+            new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{3, 4}, file);
+            Assertions.assertThat(new FormDefinitionsSnapshotLoader(file).isSourceHashMatches(new byte[]{3, 4})).isTrue();
+            Assertions.assertThat(directory.toFile().list()).containsExactly("form.snapshot");
+            Files.delete(file.toPath());
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotWriter} class test.
+     */
+    @Test
+    public void writeFailTest() {
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml("<?xml version='1.0'?>\n<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'></ns1:form>");
+        try {
+            new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{1, 2}, new ErrorOutputStream());
+            Assertions.fail("FormDefinitionsSnapshotWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasMessage("write error");
+            Assertions.assertThat(ex).hasCause(IOException.class);
+        }
+        try {
+            new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{1, 2}, new File(new File("wrong-directory"), "form.snapshot"));
+            Assertions.fail("FormDefinitionsSnapshotWriter test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSnapshotWriter} class test.
+     */
+    @Test
+    public void writeOtherNodeDefinitionNotSupportedFailTest() {
+        FormDefinition formDefinition = new FormDefinition("group", "id", createNodeDefinitions(new AnotherNodeDefinition()), createOtherAttributes(), "source");
+        FormDefinitions formDefinitions = new FormDefinitions();
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition));
+        try {
+            new FormDefinitionsSnapshotWriter().write(formDefinitions, new byte[]{1, 2}, new ByteArrayOutputStream());
+            Assertions.fail("FormDefinitionsSnapshotWriter test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasMessage("[Other node definition is not supported: another]");
+        }
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ErrorOutputStream extends OutputStream {
+
+        ErrorOutputStream() {
+            super();
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            throw new IOException("write error");
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            throw new IOException("write error");
+        }
+
+    }
+
+}
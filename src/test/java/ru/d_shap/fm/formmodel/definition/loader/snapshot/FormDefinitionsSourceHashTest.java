@@ -0,0 +1,145 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.InputSourceException;
+
+/**
+ * Tests for {@link FormDefinitionsSourceHash}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormDefinitionsSourceHashTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormDefinitionsSourceHashTest() {
+        super();
+    }
+
+    /**
+     * {@link FormDefinitionsSourceHash} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void getSourceHashTest() throws IOException {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            File file1 = directory.resolve("form1.xml").toFile();
+            Files.write(file1.toPath(), "content1".getBytes(ENCODING_UTF_8));
+            File file2 = directory.resolve("form2.xml").toFile();
+            Files.write(file2.toPath(), "content2".getBytes(ENCODING_UTF_8));
+
+            byte[] hash1 = FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file2));
+            Assertions.assertThat(hash1).hasLength(32);
+            Assertions.assertThat(FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file2))).containsExactlyInOrder(hash1);
+            Assertions.assertThat(FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file2), FormDefinitionsSourceHash.DEFAULT_ALGORITHM)).containsExactlyInOrder(hash1);
+            Assertions.assertThat(FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file2), "MD5")).hasLength(16);
+            Assertions.assertThat(Arrays.equals(FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file2, file1)), hash1)).isFalse();
+            Assertions.assertThat(Arrays.equals(FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1)), hash1)).isFalse();
+            Assertions.assertThat(Arrays.equals(FormDefinitionsSourceHash.getSourceHash(Collections.<File>emptyList()), hash1)).isFalse();
+
+            Files.write(file2.toPath(), "content3".getBytes(ENCODING_UTF_8));
+            byte[] hash2 = FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file2));
+            Assertions.assertThat(Arrays.equals(hash2, hash1)).isFalse();
+
+            File file3 = directory.resolve("form3.xml").toFile();
+            Files.move(file2.toPath(), file3.toPath());
+            byte[] hash3 = FormDefinitionsSourceHash.getSourceHash(Arrays.asList(file1, file3));
+            Assertions.assertThat(Arrays.equals(hash3, hash2)).isFalse();
+
+            Files.delete(file1.toPath());
+            Files.delete(file3.toPath());
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSourceHash} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void getContentHashTest() throws IOException {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            File file1 = directory.resolve("form1.xml").toFile();
+            Files.write(file1.toPath(), "content1".getBytes(ENCODING_UTF_8));
+            File file2 = directory.resolve("form2.xml").toFile();
+            Files.write(file2.toPath(), "content1".getBytes(ENCODING_UTF_8));
+
+            byte[] hash1 = FormDefinitionsSourceHash.getContentHash(file1);
+            Assertions.assertThat(hash1).hasLength(32);
+            Assertions.assertThat(FormDefinitionsSourceHash.getContentHash(file2)).containsExactlyInOrder(hash1);
+            Assertions.assertThat(FormDefinitionsSourceHash.getContentHash(file1, FormDefinitionsSourceHash.DEFAULT_ALGORITHM)).containsExactlyInOrder(hash1);
+            Assertions.assertThat(FormDefinitionsSourceHash.getContentHash(file1, "MD5")).hasLength(16);
+
+            Files.write(file2.toPath(), "content2".getBytes(ENCODING_UTF_8));
+            Assertions.assertThat(Arrays.equals(FormDefinitionsSourceHash.getContentHash(file2), hash1)).isFalse();
+
+            Files.delete(file1.toPath());
+            Files.delete(file2.toPath());
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsSourceHash} class test.
+     */
+    @Test
+    public void getSourceHashFailTest() {
+        try {
+            FormDefinitionsSourceHash.getSourceHash(Arrays.asList(new File("wrong-file.xml")));
+            Assertions.fail("FormDefinitionsSourceHash test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(NoSuchFileException.class);
+        }
+        try {
+            FormDefinitionsSourceHash.getContentHash(new File("wrong-file.xml"));
+            Assertions.fail("FormDefinitionsSourceHash test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(NoSuchFileException.class);
+        }
+        try {
+            FormDefinitionsSourceHash.getSourceHash(Collections.<File>emptyList(), "wrong-algorithm");
+            Assertions.fail("FormDefinitionsSourceHash test fail");
+        } catch (FormDefinitionsSnapshotException ex) {
+            Assertions.assertThat(ex).hasCause(NoSuchAlgorithmException.class);
+        }
+    }
+
+}
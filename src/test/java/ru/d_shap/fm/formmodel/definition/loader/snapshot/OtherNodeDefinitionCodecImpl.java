@@ -0,0 +1,78 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormReferenceDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Test class.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class OtherNodeDefinitionCodecImpl implements OtherNodeDefinitionCodec {
+
+    /**
+     * Create new object.
+     */
+    public OtherNodeDefinitionCodecImpl() {
+        super();
+    }
+
+    @Override
+    public String getName() {
+        return OtherNodeDefinitionImpl.class.getName();
+    }
+
+    @Override
+    public boolean isSupported(final OtherNodeDefinition otherNodeDefinition) {
+        return otherNodeDefinition instanceof OtherNodeDefinitionImpl;
+    }
+
+    @Override
+    public void write(final OtherNodeDefinition otherNodeDefinition, final SnapshotOutput snapshotOutput) {
+        OtherNodeDefinitionImpl otherNodeDefinitionImpl = (OtherNodeDefinitionImpl) otherNodeDefinition;
+        snapshotOutput.writeString(otherNodeDefinitionImpl.getRepresentation());
+        snapshotOutput.writeBoolean(otherNodeDefinitionImpl.isValid());
+        snapshotOutput.writeNodeDefinition(otherNodeDefinitionImpl.getAttributeDefinition());
+        snapshotOutput.writeNodeDefinition(otherNodeDefinitionImpl.getElementDefinition());
+        snapshotOutput.writeNodeDefinition(otherNodeDefinitionImpl.getSingleElementDefinition());
+        snapshotOutput.writeNodeDefinition(otherNodeDefinitionImpl.getFormReferenceDefinition());
+        snapshotOutput.writeNodeDefinition(otherNodeDefinitionImpl.getOtherNodeDefinition());
+    }
+
+    @Override
+    public OtherNodeDefinition read(final SnapshotInput snapshotInput) {
+        String representation = snapshotInput.readString();
+        boolean valid = snapshotInput.readBoolean();
+        OtherNodeDefinitionImpl otherNodeDefinition = new OtherNodeDefinitionImpl(representation, valid);
+        otherNodeDefinition.setAttributeDefinition((AttributeDefinition) snapshotInput.readNodeDefinition());
+        otherNodeDefinition.setElementDefinition((ElementDefinition) snapshotInput.readNodeDefinition());
+        otherNodeDefinition.setSingleElementDefinition((SingleElementDefinition) snapshotInput.readNodeDefinition());
+        otherNodeDefinition.setFormReferenceDefinition((FormReferenceDefinition) snapshotInput.readNodeDefinition());
+        otherNodeDefinition.setOtherNodeDefinition((OtherNodeDefinition) snapshotInput.readNodeDefinition());
+        return otherNodeDefinition;
+    }
+
+}
@@ -0,0 +1,54 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+
+/**
+ * Tests for {@link SnapshotFormat}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SnapshotFormatTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public SnapshotFormatTest() {
+        super();
+    }
+
+    /**
+     * {@link SnapshotFormat} class test.
+     */
+    @Test
+    public void getOtherNodeDefinitionCodecsTest() {
+        List<OtherNodeDefinitionCodec> otherNodeDefinitionCodecs = SnapshotFormat.getOtherNodeDefinitionCodecs();
+        Assertions.assertThat(otherNodeDefinitionCodecs).hasSize(2);
+        Assertions.assertThat(otherNodeDefinitionCodecs.get(0)).isInstanceOf(OtherNodeDefinitionCodecImpl.class);
+        Assertions.assertThat(otherNodeDefinitionCodecs.get(1)).isInstanceOf(DefaultOtherNodeXmlDefinitionCodec.class);
+    }
+
+}
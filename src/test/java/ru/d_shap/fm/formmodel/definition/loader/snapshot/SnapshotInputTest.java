@@ -0,0 +1,153 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
+
+/**
+ * Tests for {@link SnapshotInput}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class SnapshotInputTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public SnapshotInputTest() {
+        super();
+    }
+
+    /**
+     * {@link SnapshotInput} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void readTest() throws IOException {
+        SnapshotOutput snapshotOutput = new SnapshotOutput(new ArrayList<OtherNodeDefinitionCodec>());
+        snapshotOutput.writeVarInt(0);
+        snapshotOutput.writeVarInt(127);
+        snapshotOutput.writeVarInt(128);
+        snapshotOutput.writeVarInt(Integer.MAX_VALUE);
+        snapshotOutput.writeVarInt(-1);
+        snapshotOutput.writeVarInt(Integer.MIN_VALUE);
+        snapshotOutput.writeBoolean(true);
+        snapshotOutput.writeBoolean(false);
+        snapshotOutput.writeString("value");
+        snapshotOutput.writeString(null);
+        snapshotOutput.writeString("");
+        snapshotOutput.writeString("value");
+        snapshotOutput.writeString("значение");
+        snapshotOutput.writeNodeDefinition(null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshotOutput.writeTo(new byte[0], outputStream);
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(outputStream.toByteArray());
+        SnapshotInput snapshotInput = new SnapshotInput(new ArrayList<OtherNodeDefinitionCodec>(), byteBuffer);
+        Assertions.assertThat(snapshotInput.readMagic()).isEqualTo(SnapshotFormat.MAGIC);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(SnapshotFormat.VERSION);
+        Assertions.assertThat(snapshotInput.readBytes()).hasLength(0);
+        snapshotInput.readStringTable();
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(0);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(127);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(128);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(Integer.MAX_VALUE);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(-1);
+        Assertions.assertThat(snapshotInput.readVarInt()).isEqualTo(Integer.MIN_VALUE);
+        Assertions.assertThat(snapshotInput.readBoolean()).isTrue();
+        Assertions.assertThat(snapshotInput.readBoolean()).isFalse();
+        Assertions.assertThat(snapshotInput.readString()).isEqualTo("value");
+        Assertions.assertThat(snapshotInput.readString()).isNull();
+        Assertions.assertThat(snapshotInput.readString()).isEqualTo("");
+        Assertions.assertThat(snapshotInput.readString()).isEqualTo("value");
+        Assertions.assertThat(snapshotInput.readString()).isEqualTo("значение");
+        Assertions.assertThat(snapshotInput.readNodeDefinition()).isNull();
+        Assertions.assertThat(byteBuffer.remaining()).isEqualTo(0);
+    }
+
+    /**
+     * {@link SnapshotInput} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void readOtherNodeDefinitionTest() throws IOException {
+        SnapshotOutput snapshotOutput = new SnapshotOutput(Arrays.<OtherNodeDefinitionCodec>asList(new OtherNodeDefinitionCodecImpl()));
+        snapshotOutput.writeNodeDefinition(new OtherNodeDefinitionImpl("repr", true));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshotOutput.writeTo(new byte[0], outputStream);
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(outputStream.toByteArray());
+        SnapshotInput snapshotInput = new SnapshotInput(Arrays.<OtherNodeDefinitionCodec>asList(new OtherNodeDefinitionCodecImpl(), new ErrorOtherNodeDefinitionCodec()), byteBuffer);
+        snapshotInput.readMagic();
+        snapshotInput.readVarInt();
+        snapshotInput.readBytes();
+        snapshotInput.readStringTable();
+        OtherNodeDefinitionImpl otherNodeDefinition = (OtherNodeDefinitionImpl) snapshotInput.readNodeDefinition();
+        Assertions.assertThat(otherNodeDefinition.getRepresentation()).isEqualTo("repr");
+        Assertions.assertThat(otherNodeDefinition.isValid()).isTrue();
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ErrorOtherNodeDefinitionCodec implements OtherNodeDefinitionCodec {
+
+        ErrorOtherNodeDefinitionCodec() {
+            super();
+        }
+
+        @Override
+        public String getName() {
+            return OtherNodeDefinitionImpl.class.getName();
+        }
+
+        @Override
+        public boolean isSupported(final OtherNodeDefinition otherNodeDefinition) {
+            throw new AssertionError("Error codec is used!");
+        }
+
+        @Override
+        public void write(final OtherNodeDefinition otherNodeDefinition, final SnapshotOutput snapshotOutput) {
+            throw new AssertionError("Error codec is used!");
+        }
+
+        @Override
+        public OtherNodeDefinition read(final SnapshotInput snapshotInput) {
+            throw new AssertionError("Error codec is used!");
+        }
+
+    }
+
+}
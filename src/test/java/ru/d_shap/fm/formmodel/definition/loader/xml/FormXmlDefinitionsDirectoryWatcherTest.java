@@ -0,0 +1,590 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.xml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.Watchable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
+import ru.d_shap.fm.formmodel.definition.model.ConcurrentFormDefinitions;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+
+/**
+ * Tests for {@link FormXmlDefinitionsDirectoryWatcher}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormXmlDefinitionsDirectoryWatcherTest extends BaseFormModelTest {
+
+    private static final long POLL_INTERVAL = 20L;
+
+    private static final long WAIT_TIMEOUT = 10000L;
+
+    /**
+     * Test class constructor.
+     */
+    public FormXmlDefinitionsDirectoryWatcherTest() {
+        super();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void refreshTest() throws IOException {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+            FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), concurrentFormDefinitions);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isFalse();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(0L);
+
+            Path file1 = writeForm(directory.resolve("form1.xml"), "id1", "");
+            Path file2 = writeForm(directory.resolve("form2.xml"), "id2", "<ns1:form-reference id='id1'/>");
+            Files.createDirectory(directory.resolve("subdir"));
+            Path file3 = writeForm(directory.resolve("subdir").resolve("form3.xml"), "id3", "");
+            Path file4 = directory.resolve("text.txt");
+            Files.write(file4, "text".getBytes(ENCODING_UTF_8));
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(1L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id3");
+            Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinition("id1").getSource()).isEqualTo(file1.toFile().getAbsolutePath());
+
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isFalse();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(1L);
+
+            FormDefinition formDefinition1 = concurrentFormDefinitions.getFormDefinitions().getFormDefinition("id1");
+            writeForm(file1, "id1", "");
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isFalse();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(1L);
+
+            writeForm(file3, "id4", "");
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+            Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinition("id1")).isSameAs(formDefinition1);
+
+            long lastModified = System.currentTimeMillis() - WAIT_TIMEOUT;
+            Assertions.assertThat(file1.toFile().setLastModified(lastModified)).isTrue();
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isFalse();
+            Files.write(file1, "<?xml version='1.0'?>\n<ns1:form id='id5' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'></ns1:form>".getBytes(ENCODING_UTF_8));
+            Assertions.assertThat(file1.toFile().setLastModified(lastModified)).isTrue();
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isFalse();
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+
+            writeForm(file1, "id1", "<!--comment-->");
+            Assertions.assertThat(file1.toFile().setLastModified(lastModified)).isTrue();
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(3L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+
+            Path file5 = writeForm(directory.resolve("form5.xml"), "id5", "");
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(4L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4", "id5");
+
+            Files.delete(file5);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(5L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+
+            Files.delete(file1);
+            try {
+                formXmlDefinitionsDirectoryWatcher.refresh();
+                Assertions.fail("FormXmlDefinitionsDirectoryWatcher test fail");
+            } catch (FormDefinitionValidationException ex) {
+                Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @:id1], {" + file2.toFile().getAbsolutePath() + "}form[@:id2]/form-reference[@:id1]");
+            }
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(5L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+
+            Files.delete(file2);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(6L);
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id4");
+
+            Files.delete(file3);
+            Files.delete(file4);
+            Files.delete(directory.resolve("subdir"));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void refreshFailTest() throws IOException {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+            FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), concurrentFormDefinitions, POLL_INTERVAL);
+            Path file1 = writeForm(directory.resolve("form1.xml"), "id1", "<!--INVALID!-->");
+            try {
+                formXmlDefinitionsDirectoryWatcher.refresh();
+                Assertions.fail("FormXmlDefinitionsDirectoryWatcher test fail");
+            } catch (FormDefinitionValidationException ex) {
+                Assertions.assertThat(ex).hasMessage("Invalid comment found!");
+            }
+            Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(0L);
+
+            writeForm(file1, "id1", "");
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.refresh()).isTrue();
+            Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1");
+            Files.delete(file1);
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void startTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+            ThreadExecutor threadExecutor = new ThreadExecutor();
+            Path file1 = writeForm(directory.resolve("form1.xml"), "id1", "");
+            try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), concurrentFormDefinitions, POLL_INTERVAL)) {
+                formXmlDefinitionsDirectoryWatcher.refresh();
+                formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+                Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isFalse();
+                Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1");
+
+                Path file2 = writeForm(directory.resolve("form2.xml"), "id2", "<ns1:form-reference id='id1'/>");
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id1", "id2");
+
+                Files.createDirectory(directory.resolve("subdir"));
+                Thread.sleep(POLL_INTERVAL * 5);
+                Path file3 = writeForm(directory.resolve("subdir").resolve("form3.xml"), "id3", "");
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id1", "id2", "id3");
+
+                writeForm(file3, "id4", "");
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id1", "id2", "id4");
+
+                Files.delete(file1);
+                waitForException(formXmlDefinitionsDirectoryWatcher, true);
+                Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.getLastException()).isInstanceOf(FormDefinitionValidationException.class);
+                Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly("id1", "id2", "id4");
+
+                Files.delete(file2);
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id4");
+                waitForException(formXmlDefinitionsDirectoryWatcher, false);
+
+                Files.delete(file3);
+                Files.delete(directory.resolve("subdir"));
+                waitForFormDefinitionIds(concurrentFormDefinitions);
+            }
+            threadExecutor.join();
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void startDeletedDirectoryTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        ThreadExecutor threadExecutor = new ThreadExecutor();
+        Path file1 = writeForm(directory.resolve("form1.xml"), "id1", "");
+        try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), concurrentFormDefinitions, POLL_INTERVAL)) {
+            formXmlDefinitionsDirectoryWatcher.refresh();
+            formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isFalse();
+
+            Files.delete(file1);
+            Files.delete(directory);
+            waitForPolling(formXmlDefinitionsDirectoryWatcher);
+            waitForFormDefinitionIds(concurrentFormDefinitions);
+        }
+        threadExecutor.join();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void processEventsTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        ThreadExecutor threadExecutor = new ThreadExecutor();
+        try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), new ConcurrentFormDefinitions(), POLL_INTERVAL)) {
+            formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isFalse();
+
+            Path subdirectory = Files.createDirectory(directory.resolve("subdir"));
+            Files.createDirectory(subdirectory.resolve("nested"));
+            WatchKeyImpl watchKey1 = new WatchKeyImpl(directory, true);
+            watchKey1.addWatchEvent(StandardWatchEventKinds.ENTRY_CREATE, directory.getFileSystem().getPath("subdir"));
+            watchKey1.addWatchEvent(StandardWatchEventKinds.ENTRY_CREATE, directory.getFileSystem().getPath("missing"));
+            watchKey1.addWatchEvent(StandardWatchEventKinds.ENTRY_MODIFY, directory.getFileSystem().getPath("subdir"));
+            watchKey1.addWatchEvent(StandardWatchEventKinds.OVERFLOW, null);
+            formXmlDefinitionsDirectoryWatcher.processEvents(watchKey1);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isFalse();
+
+            WatchKeyImpl watchKey2 = new WatchKeyImpl(subdirectory, false);
+            formXmlDefinitionsDirectoryWatcher.processEvents(watchKey2);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isFalse();
+
+            Files.delete(subdirectory.resolve("nested"));
+            Files.delete(subdirectory);
+            Files.delete(directory);
+            WatchKeyImpl watchKey3 = new WatchKeyImpl(directory, true);
+            watchKey3.addWatchEvent(StandardWatchEventKinds.OVERFLOW, null);
+            formXmlDefinitionsDirectoryWatcher.processEvents(watchKey3);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isTrue();
+        }
+        threadExecutor.join();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void startPollingTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+            ThreadExecutor threadExecutor = new ThreadExecutor();
+            Path file1 = writeForm(directory.resolve("form1.xml"), "id1", "");
+            try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(file1.toFile()), concurrentFormDefinitions, POLL_INTERVAL)) {
+                formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+                Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isTrue();
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id1");
+
+                writeForm(file1, "id2", "");
+                waitForFormDefinitionIds(concurrentFormDefinitions, "id2");
+
+                Files.delete(file1);
+                waitForFormDefinitionIds(concurrentFormDefinitions);
+            }
+            threadExecutor.join();
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void startInvalidPathTest() throws Exception {
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        ThreadExecutor threadExecutor = new ThreadExecutor();
+        try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(new InvalidPathDirectoryFile()), concurrentFormDefinitions, POLL_INTERVAL)) {
+            formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isTrue();
+            waitForException(formXmlDefinitionsDirectoryWatcher, true);
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.getLastException()).isInstanceOf(InputSourceException.class);
+        }
+        threadExecutor.join();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void startFailTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ThreadExecutor threadExecutor = new ThreadExecutor();
+            try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), new ConcurrentFormDefinitions(), POLL_INTERVAL)) {
+                formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+                try {
+                    formXmlDefinitionsDirectoryWatcher.start(threadExecutor);
+                    Assertions.fail("FormXmlDefinitionsDirectoryWatcher test fail");
+                } catch (IllegalStateException ex) {
+                    Assertions.assertThat(ex).hasMessage("Watcher is already started");
+                }
+            }
+            threadExecutor.join();
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void interruptTest() throws Exception {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            ThreadExecutor threadExecutor1 = new ThreadExecutor();
+            try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.toFile()), new ConcurrentFormDefinitions(), POLL_INTERVAL)) {
+                formXmlDefinitionsDirectoryWatcher.start(threadExecutor1);
+                threadExecutor1.interrupt();
+                threadExecutor1.join();
+            }
+
+            ThreadExecutor threadExecutor2 = new ThreadExecutor();
+            try (FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(directory.resolve("form.xml").toFile()), new ConcurrentFormDefinitions(), POLL_INTERVAL)) {
+                formXmlDefinitionsDirectoryWatcher.start(threadExecutor2);
+                threadExecutor2.interrupt();
+                threadExecutor2.join();
+            }
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsDirectoryWatcher} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void closeTest() throws IOException {
+        FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher = new FormXmlDefinitionsDirectoryWatcher(new FormXmlDefinitionsFileLoader(new File("wrong-directory")), new ConcurrentFormDefinitions());
+        formXmlDefinitionsDirectoryWatcher.close();
+        formXmlDefinitionsDirectoryWatcher.close();
+        Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.getLastException()).isNull();
+
+        try {
+            formXmlDefinitionsDirectoryWatcher.start(new ThreadExecutor());
+            Assertions.fail("FormXmlDefinitionsDirectoryWatcher test fail");
+        } catch (IllegalStateException ex) {
+            Assertions.assertThat(ex).hasMessage("Watcher is closed");
+        }
+    }
+
+    private Path writeForm(final Path path, final String id, final String content) throws IOException {
+        String xml = "<?xml version='1.0'?>\n<ns1:form id='" + id + "' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>" + content + "</ns1:form>";
+        Files.write(path, xml.getBytes(ENCODING_UTF_8));
+        return path;
+    }
+
+    private Set<String> getFormDefinitionIds(final ConcurrentFormDefinitions concurrentFormDefinitions) {
+        Set<String> ids = new HashSet<>();
+        for (FormDefinition formDefinition : concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()) {
+            ids.add(formDefinition.getId());
+        }
+        return ids;
+    }
+
+    private void waitForFormDefinitionIds(final ConcurrentFormDefinitions concurrentFormDefinitions, final String... ids) throws InterruptedException {
+        Set<String> expectedIds = new HashSet<>(Arrays.asList(ids));
+        long endTime = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (!expectedIds.equals(getFormDefinitionIds(concurrentFormDefinitions)) && System.currentTimeMillis() < endTime) {
+            Thread.sleep(POLL_INTERVAL);
+        }
+        Assertions.assertThat(getFormDefinitionIds(concurrentFormDefinitions)).containsExactly(expectedIds);
+    }
+
+    private void waitForException(final FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher, final boolean exception) throws InterruptedException {
+        long endTime = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while ((formXmlDefinitionsDirectoryWatcher.getLastException() != null) != exception && System.currentTimeMillis() < endTime) {
+            Thread.sleep(POLL_INTERVAL);
+        }
+        if (exception) {
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.getLastException()).isNotNull();
+        } else {
+            Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.getLastException()).isNull();
+        }
+    }
+
+    private void waitForPolling(final FormXmlDefinitionsDirectoryWatcher formXmlDefinitionsDirectoryWatcher) throws InterruptedException {
+        long endTime = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (!formXmlDefinitionsDirectoryWatcher.isPolling() && System.currentTimeMillis() < endTime) {
+            Thread.sleep(POLL_INTERVAL);
+        }
+        Assertions.assertThat(formXmlDefinitionsDirectoryWatcher.isPolling()).isTrue();
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class ThreadExecutor implements Executor {
+
+        private Thread _thread;
+
+        ThreadExecutor() {
+            super();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            _thread = new Thread(command);
+            _thread.start();
+        }
+
+        void interrupt() {
+            _thread.interrupt();
+        }
+
+        void join() throws InterruptedException {
+            _thread.join(WAIT_TIMEOUT);
+            Assertions.assertThat(_thread.isAlive()).isFalse();
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class WatchKeyImpl implements WatchKey {
+
+        private final Path _path;
+
+        private final boolean _valid;
+
+        private final List<WatchEvent<?>> _watchEvents;
+
+        WatchKeyImpl(final Path path, final boolean valid) {
+            super();
+            _path = path;
+            _valid = valid;
+            _watchEvents = new ArrayList<>();
+        }
+
+        <T> void addWatchEvent(final WatchEvent.Kind<T> kind, final T context) {
+            _watchEvents.add(new WatchEventImpl<>(kind, context));
+        }
+
+        @Override
+        public boolean isValid() {
+            return _valid;
+        }
+
+        @Override
+        public List<WatchEvent<?>> pollEvents() {
+            List<WatchEvent<?>> watchEvents = new ArrayList<>(_watchEvents);
+            _watchEvents.clear();
+            return watchEvents;
+        }
+
+        @Override
+        public boolean reset() {
+            return _valid;
+        }
+
+        @Override
+        public void cancel() {
+            // Ignore
+        }
+
+        @Override
+        public Watchable watchable() {
+            return _path;
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @param <T> the type of the context object.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class WatchEventImpl<T> implements WatchEvent<T> {
+
+        private final Kind<T> _kind;
+
+        private final T _context;
+
+        WatchEventImpl(final Kind<T> kind, final T context) {
+            super();
+            _kind = kind;
+            _context = context;
+        }
+
+        @Override
+        public Kind<T> kind() {
+            return _kind;
+        }
+
+        @Override
+        public int count() {
+            return 1;
+        }
+
+        @Override
+        public T context() {
+            return _context;
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class InvalidPathDirectoryFile extends File {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidPathDirectoryFile() {
+            super("invalid\u0000path");
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return true;
+        }
+
+    }
+
+}
@@ -21,15 +21,23 @@ package ru.d_shap.fm.formmodel.definition.loader.xml;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
 import ru.d_shap.assertions.Assertions;
 import ru.d_shap.fm.formmodel.BaseFormModelTest;
 import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
 import ru.d_shap.fm.formmodel.definition.model.FormDefinitions;
 
@@ -142,7 +150,7 @@ public final class FormXmlDefinitionsFileLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getElementDefinitions().get(0).getLookup()).isEqualTo("lookup");
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getFormReferenceDefinitions()).hasSize(1);
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getGroup()).isEqualTo("subforms");
-        Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("noFileNameForm");
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getOtherAttributeNames()).isEmpty();
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "id2").getSource()).endsWith(File.separator + "subforms" + File.separator + "form2.xml");
         Assertions.assertThat(formDefinitions21.getFormDefinition("subforms", "noFileNameForm").getGroup()).isEqualTo("subforms");
@@ -192,7 +200,7 @@ public final class FormXmlDefinitionsFileLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getElementDefinitions().get(0).getLookup()).isEqualTo("lookup");
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getFormReferenceDefinitions()).hasSize(1);
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getGroup()).isEqualTo("subforms");
-        Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("noFileNameForm");
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getOtherAttributeNames()).isEmpty();
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "id2").getSource()).endsWith(File.separator + "subforms" + File.separator + "form2.xml");
         Assertions.assertThat(formDefinitions23.getFormDefinition("subforms", "noFileNameForm").getGroup()).isEqualTo("subforms");
@@ -242,7 +250,7 @@ public final class FormXmlDefinitionsFileLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getElementDefinitions().get(0).getLookup()).isEqualTo("lookup");
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getFormReferenceDefinitions()).hasSize(1);
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getGroup()).isEqualTo("subforms");
-        Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getFormReferenceDefinitions().get(0).getId()).isEqualTo("noFileNameForm");
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getOtherAttributeNames()).isEmpty();
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "id2").getSource()).endsWith(File.separator + "subforms" + File.separator + "form2.xml");
         Assertions.assertThat(formDefinitions25.getFormDefinition("subforms", "noFileNameForm").getGroup()).isEqualTo("subforms");
@@ -286,6 +294,141 @@ public final class FormXmlDefinitionsFileLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(formDefinitions).hasSize(0);
     }
 
+    /**
+     * {@link FormXmlDefinitionsFileLoader} class test.
+     */
+    @Test
+    public void loadParallelTest() {
+        URL url = getClass().getClassLoader().getResource(ROOT_FOLDER);
+        File parentDirectory = new File(url.getFile());
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader1 = new FormXmlDefinitionsFileLoader(parentDirectory).addExecutor(executorService);
+            List<FormDefinition> formDefinitions1 = formXmlDefinitionsFileLoader1.load();
+            Assertions.assertThat(formDefinitions1).hasSize(4);
+            Assertions.assertThat(formDefinitions1.get(0).getId()).isEqualTo("id");
+            Assertions.assertThat(formDefinitions1.get(0).getSource()).endsWith(File.separator + "simpleForm.xml");
+            Assertions.assertThat(formDefinitions1.get(1).getId()).isEqualTo("noFileNameForm");
+            Assertions.assertThat(formDefinitions1.get(1).getSource()).endsWith(File.separator + "subforms" + File.separator + ".xml");
+            Assertions.assertThat(formDefinitions1.get(2).getId()).isEqualTo("id1");
+            Assertions.assertThat(formDefinitions1.get(2).getSource()).endsWith(File.separator + "subforms" + File.separator + "form1.xml");
+            Assertions.assertThat(formDefinitions1.get(3).getId()).isEqualTo("id2");
+            Assertions.assertThat(formDefinitions1.get(3).getSource()).endsWith(File.separator + "subforms" + File.separator + "form2.xml");
+
+            FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader2 = new FormXmlDefinitionsFileLoader(parentDirectory, new SkipFileFilter()).addExecutor(executorService);
+            List<FormDefinition> formDefinitions2 = formXmlDefinitionsFileLoader2.load();
+            Assertions.assertThat(formDefinitions2).hasSize(0);
+
+            FormXmlDefinitionsFileLoader formXmlDefinitionsFileLoader3 = new FormXmlDefinitionsFileLoader(new File(parentDirectory, "simpleForm.xml")).addExecutor(executorService);
+            List<FormDefinition> formDefinitions3 = formXmlDefinitionsFileLoader3.load();
+            Assertions.assertThat(formDefinitions3).hasSize(1);
+            Assertions.assertThat(formDefinitions3.get(0).getId()).isEqualTo("id");
+
+            FormDefinitions formDefinitions4 = new FormDefinitions();
+            new FormXmlDefinitionsFileLoader(parentDirectory).addExecutor(executorService).load(formDefinitions4);
+            Assertions.assertThat(formDefinitions4.getFormDefinitions()).hasSize(4);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsFileLoader} class test.
+     *
+     * @throws IOException IO exception.
+     */
+    @Test
+    public void loadParallelFailTest() throws IOException {
+        Path directory = Files.createTempDirectory("form-model");
+        try {
+            Path validFile = directory.resolve("form1.xml");
+            Files.write(validFile, "<?xml version='1.0'?>\n<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'></ns1:form>".getBytes(ENCODING_UTF_8));
+            Path invalidFile = directory.resolve("form2.xml");
+            Files.write(invalidFile, "<?xml version='1.0'?>\n<ns1:form id='id2' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'><!--INVALID!--></ns1:form>".getBytes(ENCODING_UTF_8));
+            try {
+                new FormXmlDefinitionsFileLoader(directory.toFile()).addExecutor(new DirectExecutor()).load();
+                Assertions.fail("FormXmlDefinitionsFileLoader test fail");
+            } catch (FormDefinitionValidationException ex) {
+                Assertions.assertThat(ex).hasMessage("Invalid comment found!");
+            }
+
+            Files.write(invalidFile, "<?xml version='1.0'?>\n<ns1:form id='id2' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'><!--ERROR!--></ns1:form>".getBytes(ENCODING_UTF_8));
+            try {
+                new FormXmlDefinitionsFileLoader(directory.toFile()).addExecutor(new DirectExecutor()).load();
+                Assertions.fail("FormXmlDefinitionsFileLoader test fail");
+            } catch (AssertionError ex) {
+                Assertions.assertThat(ex).hasMessage("Error comment found!");
+            }
+            Files.delete(validFile);
+            Files.delete(invalidFile);
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsFileLoader} class test.
+     */
+    @Test
+    public void loadParallelInvalidPathFailTest() {
+        try {
+            new FormXmlDefinitionsFileLoader(new EmptyDirectoryFile()).addExecutor(new DirectExecutor()).load();
+            Assertions.fail("FormXmlDefinitionsFileLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(NoSuchFileException.class);
+        }
+        try {
+            new FormXmlDefinitionsFileLoader(new InvalidPathDirectoryFile()).addExecutor(new DirectExecutor()).load();
+            Assertions.fail("FormXmlDefinitionsFileLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(InvalidPathException.class);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsFileLoader} class test.
+     */
+    @Test
+    public void loadParallelInterruptedFailTest() {
+        URL url = getClass().getClassLoader().getResource(ROOT_FOLDER);
+        File parentDirectory = new File(url.getFile());
+        Thread.currentThread().interrupt();
+        try {
+            new FormXmlDefinitionsFileLoader(parentDirectory).addExecutor(new SkipExecutor()).load();
+            Assertions.fail("FormXmlDefinitionsFileLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(InterruptedException.class);
+        }
+        Assertions.assertThat(Thread.interrupted()).isTrue();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsFileLoader} class test.
+     */
+    @Test
+    public void getSourceFilesTest() {
+        URL url = getClass().getClassLoader().getResource(ROOT_FOLDER);
+        File parentDirectory = new File(url.getFile());
+
+        List<File> files1 = new FormXmlDefinitionsFileLoader(parentDirectory).getSourceFiles();
+        Assertions.assertThat(files1).hasSize(5);
+        Assertions.assertThat(files1.get(0)).isEqualTo(new File(parentDirectory, "simpleForm.xml"));
+        Assertions.assertThat(files1.get(1)).isEqualTo(new File(parentDirectory, "skipForm.xml"));
+        Assertions.assertThat(files1.get(2)).isEqualTo(new File(new File(parentDirectory, "subforms"), ".xml"));
+        Assertions.assertThat(files1.get(3)).isEqualTo(new File(new File(parentDirectory, "subforms"), "form1.xml"));
+        Assertions.assertThat(files1.get(4)).isEqualTo(new File(new File(parentDirectory, "subforms"), "form2.xml"));
+
+        List<File> files2 = new FormXmlDefinitionsFileLoader(parentDirectory, new SkipFileFilter()).getSourceFiles();
+        Assertions.assertThat(files2).hasSize(0);
+
+        List<File> files3 = new FormXmlDefinitionsFileLoader(new File(parentDirectory, "simpleForm.xml")).getSourceFiles();
+        Assertions.assertThat(files3).hasSize(1);
+        Assertions.assertThat(files3.get(0)).isEqualTo(new File(parentDirectory, "simpleForm.xml"));
+
+        List<File> files4 = new FormXmlDefinitionsFileLoader(new File(parentDirectory, "simpleForm.xml"), new SkipFileFilter()).getSourceFiles();
+        Assertions.assertThat(files4).hasSize(0);
+    }
+
     /**
      * {@link FormXmlDefinitionsFileLoader} class test.
      */
@@ -305,4 +448,60 @@ public final class FormXmlDefinitionsFileLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(fileFilter.accept(new File(parentDirectory, "xml"))).isFalse();
     }
 
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class DirectExecutor implements Executor {
+
+        DirectExecutor() {
+            super();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class SkipExecutor implements Executor {
+
+        SkipExecutor() {
+            super();
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            // Ignore
+        }
+
+    }
+
+    /**
+     * Test class.
+     *
+     * @author Dmitry Shapovalov
+     */
+    private static final class InvalidPathDirectoryFile extends File {
+
+        private static final long serialVersionUID = 1L;
+
+        InvalidPathDirectoryFile() {
+            super("invalid\u0000path");
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return true;
+        }
+
+    }
+
 }
@@ -21,10 +21,13 @@ package ru.d_shap.fm.formmodel.definition.loader.xml;
 
 import java.io.StringReader;
 
+import javax.xml.validation.ValidatorHandler;
+
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 import ru.d_shap.assertions.Assertions;
 import ru.d_shap.fm.formmodel.BaseFormModelTest;
@@ -76,6 +79,51 @@ public final class FormXmlDefinitionsLoaderTest extends BaseFormModelTest {
         Assertions.assertThat(document3.getDocumentElement().getFirstChild().getTextContent()).isEqualTo("value");
     }
 
+    /**
+     * {@link FormXmlDefinitionsLoader} class test.
+     */
+    @Test
+    public void newDocumentTest() {
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader1 = new FormXmlDefinitionsLoaderImpl();
+        Assertions.assertThat(formXmlDefinitionsLoader1.newDocument()).isNotNull();
+        Assertions.assertThat(formXmlDefinitionsLoader1.newDocument().getDocumentElement()).isNull();
+        Assertions.assertThat(formXmlDefinitionsLoader1.newDocument()).isNotSameAs(formXmlDefinitionsLoader1.newDocument());
+
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader2 = new FormXmlDefinitionsLoaderImpl(new XmlDocumentBuilderConfiguratorImpl());
+        Assertions.assertThat(formXmlDefinitionsLoader2.newDocument()).isNotNull();
+        Assertions.assertThat(formXmlDefinitionsLoader2.newDocument().getDocumentElement()).isNull();
+
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader3 = new FormXmlDefinitionsLoaderImpl(formXmlDefinitionsLoader1);
+        Assertions.assertThat(formXmlDefinitionsLoader3.newDocument()).isNotNull();
+        Assertions.assertThat(formXmlDefinitionsLoader3.newDocument().getDocumentElement()).isNull();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsLoader} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void newValidatorHandlerTest() throws Exception {
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader = new FormXmlDefinitionsLoaderImpl();
+        ValidatorHandler validatorHandler = formXmlDefinitionsLoader.newValidatorHandler();
+        Assertions.assertThat(validatorHandler).isNotNull();
+        Assertions.assertThat(validatorHandler).isNotSameAs(formXmlDefinitionsLoader.newValidatorHandler());
+
+        validatorHandler.startDocument();
+        validatorHandler.startElement("http://d-shap.ru/schema/form-model/1.0", "form", "ns1:form", new AttributesImpl());
+        validatorHandler.endElement("http://d-shap.ru/schema/form-model/1.0", "form", "ns1:form");
+        validatorHandler.endDocument();
+
+        try {
+            validatorHandler.startDocument();
+            validatorHandler.startElement("http://d-shap.ru/schema/form-model/1.0", "formS", "ns1:formS", new AttributesImpl());
+            Assertions.fail("FormXmlDefinitionsLoader test fail");
+        } catch (SAXException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+    }
+
     /**
      * {@link FormXmlDefinitionsLoader} class test.
      */
@@ -173,6 +221,34 @@ public final class FormXmlDefinitionsLoaderTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link FormXmlDefinitionsLoader} class test.
+     */
+    @Test
+    public void validateOtherNodeTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:elemenT xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "</ns1:elemenT>";
+        Document document1 = parse(xml1);
+
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader1 = new FormXmlDefinitionsLoaderImpl();
+        formXmlDefinitionsLoader1.validateOtherNode(document1.getDocumentElement());
+
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:element xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml2 += "<!--INVALID!-->";
+        xml2 += "</ns1:element>";
+        Document document2 = parse(xml2);
+
+        FormXmlDefinitionsLoaderImpl formXmlDefinitionsLoader2 = new FormXmlDefinitionsLoaderImpl();
+        try {
+            formXmlDefinitionsLoader2.validateOtherNode(document2.getDocumentElement());
+            Assertions.fail("FormXmlDefinitionsLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("Invalid comment found!");
+        }
+    }
+
     /**
      * {@link FormXmlDefinitionsLoader} class test.
      */
@@ -0,0 +1,376 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.loader.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.assertions.mock.IsCloseable;
+import ru.d_shap.assertions.util.DataHelper;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.InputSourceException;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
+import ru.d_shap.fm.formmodel.definition.model.AttributeDefinition;
+import ru.d_shap.fm.formmodel.definition.model.CardinalityDefinition;
+import ru.d_shap.fm.formmodel.definition.model.ElementDefinition;
+import ru.d_shap.fm.formmodel.definition.model.FormDefinition;
+import ru.d_shap.fm.formmodel.definition.model.OtherNodeDefinitionImpl;
+import ru.d_shap.fm.formmodel.definition.model.SingleElementDefinition;
+
+/**
+ * Tests for {@link FormXmlDefinitionsStreamingLoader}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormXmlDefinitionsStreamingLoaderTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormXmlDefinitionsStreamingLoaderTest() {
+        super();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "</ns1:form>";
+
+        InputStream inputStream1 = new ByteArrayInputStream(xml.getBytes());
+        FormXmlDefinitionsStreamingLoader formXmlDefinitionsStreamingLoader1 = new FormXmlDefinitionsStreamingLoader(inputStream1, "source1");
+        List<FormDefinition> formDefinitions1 = formXmlDefinitionsStreamingLoader1.load();
+        Assertions.assertThat(formDefinitions1).hasSize(1);
+        Assertions.assertThat(formDefinitions1.get(0).getGroup()).isEqualTo("");
+        Assertions.assertThat(formDefinitions1.get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions1.get(0).getAllNodeDefinitions()).isEmpty();
+        Assertions.assertThat(formDefinitions1.get(0).getOtherAttributeNames()).isEmpty();
+        Assertions.assertThat(formDefinitions1.get(0).getSource()).isEqualTo("source1");
+
+        InputStream inputStream2 = new ByteArrayInputStream(xml.getBytes());
+        FormXmlDefinitionsStreamingLoader formXmlDefinitionsStreamingLoader2 = new FormXmlDefinitionsStreamingLoader(new XmlDocumentBuilderConfiguratorImpl(), inputStream2, "source2");
+        List<FormDefinition> formDefinitions2 = formXmlDefinitionsStreamingLoader2.load();
+        Assertions.assertThat(formDefinitions2).hasSize(1);
+        Assertions.assertThat(formDefinitions2.get(0).getGroup()).isEqualTo("");
+        Assertions.assertThat(formDefinitions2.get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions2.get(0).getAllNodeDefinitions()).isEmpty();
+        Assertions.assertThat(formDefinitions2.get(0).getOtherAttributeNames()).isEmpty();
+        Assertions.assertThat(formDefinitions2.get(0).getSource()).isEqualTo("source2");
+
+        InputStream inputStream3 = new ByteArrayInputStream(xml.getBytes());
+        FormXmlDefinitionsStreamingLoader formXmlDefinitionsStreamingLoader3 = new FormXmlDefinitionsStreamingLoader(formXmlDefinitionsStreamingLoader1, inputStream3, "source3");
+        List<FormDefinition> formDefinitions3 = formXmlDefinitionsStreamingLoader3.load();
+        Assertions.assertThat(formDefinitions3).hasSize(1);
+        Assertions.assertThat(formDefinitions3.get(0).getGroup()).isEqualTo("");
+        Assertions.assertThat(formDefinitions3.get(0).getId()).isEqualTo("id1");
+        Assertions.assertThat(formDefinitions3.get(0).getAllNodeDefinitions()).isEmpty();
+        Assertions.assertThat(formDefinitions3.get(0).getOtherAttributeNames()).isEmpty();
+        Assertions.assertThat(formDefinitions3.get(0).getSource()).isEqualTo("source3");
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadNotFormDefinitionTest() {
+        String xml1 = "<?xml version='1.0'?>\n";
+        xml1 += "<ns1:element id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml1 += "</ns1:element>";
+        List<FormDefinition> formDefinitions1 = new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml1.getBytes()), "source").load();
+        Assertions.assertThat(formDefinitions1).isEmpty();
+
+        String xml2 = "<?xml version='1.0'?>\n";
+        xml2 += "<ns1:form id='id1' xmlns:ns1='http://example.com'>";
+        xml2 += "</ns1:form>";
+        List<FormDefinition> formDefinitions2 = new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml2.getBytes()), "source").load();
+        Assertions.assertThat(formDefinitions2).isEmpty();
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadNodeDefinitionsTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<!--comment-->\n";
+        xml += "<ns1:form group='group' id='id' repr='repr' ns3:attr='value' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0' xmlns:ns3='http://example.com'>\n";
+        xml += "    <!--comment-->\n";
+        xml += "    <?target data?>\n";
+        xml += "    <ns1:element id='eid1' lookup='lookup1' count='1'>\n";
+        xml += "        <ns1:attribute id='aid1' lookup='alookup1' type='optional'/>\n";
+        xml += "        <ns1:attribute id='aid2' lookup='alookup2'/>\n";
+        xml += "        <ns1:element id='eid2' lookup='lookup2'/>\n";
+        xml += "    </ns1:element>\n";
+        xml += "    <ns1:single-element id='sid1' type='required'>\n";
+        xml += "        <ns1:element id='eid3' lookup='lookup3'/>\n";
+        xml += "        <ns1:element id='eid4' lookup='lookup4' type='optional+'/>\n";
+        xml += "        <ns1:single-element id='sid2'/>\n";
+        xml += "    </ns1:single-element>\n";
+        xml += "    <ns1:single-element id='sid3'/>\n";
+        xml += "    <ns1:form-reference group='rgroup' id='rid' repr='rrepr'/>\n";
+        xml += "</ns1:form>\n";
+        xml += "<!--comment-->\n";
+
+        List<FormDefinition> formDefinitions = new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+        Assertions.assertThat(formDefinitions).hasSize(1);
+        FormDefinition formDefinition = formDefinitions.get(0);
+        Assertions.assertThat(formDefinition.getGroup()).isEqualTo("group");
+        Assertions.assertThat(formDefinition.getId()).isEqualTo("id");
+        Assertions.assertThat(formDefinition.getSource()).isEqualTo("source");
+        Assertions.assertThat(formDefinition.getOtherAttributeNames()).containsExactly("repr", "{http://example.com}attr");
+        Assertions.assertThat(formDefinition.getOtherAttributeValue("repr")).isEqualTo("repr");
+        Assertions.assertThat(formDefinition.getOtherAttributeValue("{http://example.com}attr")).isEqualTo("value");
+        Assertions.assertThat(formDefinition.getAllNodeDefinitions()).hasSize(4);
+
+        Assertions.assertThat(formDefinition.getElementDefinitions()).hasSize(1);
+        ElementDefinition elementDefinition1 = formDefinition.getElementDefinitions().get(0);
+        Assertions.assertThat(elementDefinition1.getId()).isEqualTo("eid1");
+        Assertions.assertThat(elementDefinition1.getLookup()).isEqualTo("lookup1");
+        Assertions.assertThat(elementDefinition1.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(elementDefinition1.getOtherAttributeNames()).containsExactly("count");
+        Assertions.assertThat(elementDefinition1.getOtherAttributeValue("count")).isEqualTo("1");
+        Assertions.assertThat(elementDefinition1.getAttributeDefinitions()).hasSize(2);
+        AttributeDefinition attributeDefinition1 = elementDefinition1.getAttributeDefinitions().get(0);
+        Assertions.assertThat(attributeDefinition1.getId()).isEqualTo("aid1");
+        Assertions.assertThat(attributeDefinition1.getLookup()).isEqualTo("alookup1");
+        Assertions.assertThat(attributeDefinition1.getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL);
+        AttributeDefinition attributeDefinition2 = elementDefinition1.getAttributeDefinitions().get(1);
+        Assertions.assertThat(attributeDefinition2.getId()).isEqualTo("aid2");
+        Assertions.assertThat(attributeDefinition2.getLookup()).isEqualTo("alookup2");
+        Assertions.assertThat(attributeDefinition2.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(elementDefinition1.getElementDefinitions()).hasSize(1);
+        Assertions.assertThat(elementDefinition1.getElementDefinitions().get(0).getId()).isEqualTo("eid2");
+        Assertions.assertThat(elementDefinition1.getElementDefinitions().get(0).getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+
+        Assertions.assertThat(formDefinition.getSingleElementDefinitions()).hasSize(2);
+        SingleElementDefinition singleElementDefinition1 = formDefinition.getSingleElementDefinitions().get(0);
+        Assertions.assertThat(singleElementDefinition1.getId()).isEqualTo("sid1");
+        Assertions.assertThat(singleElementDefinition1.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+        Assertions.assertThat(singleElementDefinition1.getElementDefinitions()).hasSize(2);
+        Assertions.assertThat(singleElementDefinition1.getElementDefinitions().get(0).getId()).isEqualTo("eid3");
+        Assertions.assertThat(singleElementDefinition1.getElementDefinitions().get(0).getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL);
+        Assertions.assertThat(singleElementDefinition1.getElementDefinitions().get(1).getId()).isEqualTo("eid4");
+        Assertions.assertThat(singleElementDefinition1.getElementDefinitions().get(1).getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL_MULTIPLE);
+        Assertions.assertThat(singleElementDefinition1.getSingleElementDefinitions()).hasSize(1);
+        Assertions.assertThat(singleElementDefinition1.getSingleElementDefinitions().get(0).getId()).isEqualTo("sid2");
+        Assertions.assertThat(singleElementDefinition1.getSingleElementDefinitions().get(0).getCardinalityDefinition()).isSameAs(CardinalityDefinition.OPTIONAL);
+        SingleElementDefinition singleElementDefinition2 = formDefinition.getSingleElementDefinitions().get(1);
+        Assertions.assertThat(singleElementDefinition2.getId()).isEqualTo("sid3");
+        Assertions.assertThat(singleElementDefinition2.getCardinalityDefinition()).isSameAs(CardinalityDefinition.REQUIRED);
+
+        Assertions.assertThat(formDefinition.getFormReferenceDefinitions()).hasSize(1);
+        Assertions.assertThat(formDefinition.getFormReferenceDefinitions().get(0).getGroup()).isEqualTo("rgroup");
+        Assertions.assertThat(formDefinition.getFormReferenceDefinitions().get(0).getId()).isEqualTo("rid");
+        Assertions.assertThat(formDefinition.getFormReferenceDefinitions().get(0).getOtherAttributeValue("repr")).isEqualTo("rrepr");
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadOtherNodeDefinitionsTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='eid1' lookup='lookup1'>";
+        xml += "<ns2:otherNode repr='repr1' valid='true' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+        xml += "<ns1:element id='eid2' lookup='lookup2'/>";
+        xml += "<ns2:otherNode repr='repr2' valid='false'/>";
+        xml += "</ns2:otherNode>";
+        xml += "</ns1:element>";
+        xml += "<other xmlns='http://example.com' xmlns:ns3='http://example.com/ns3' attr='value' ns3:attr='value3'>";
+        xml += "<!--comment-->";
+        xml += "<?target data?>";
+        xml += "text<![CDATA[cdata]]>";
+        xml += "<child/>";
+        xml += "</other>";
+        xml += "</ns1:form>";
+
+        List<FormDefinition> formDefinitions = new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+        Assertions.assertThat(formDefinitions).hasSize(1);
+        FormDefinition formDefinition = formDefinitions.get(0);
+        Assertions.assertThat(formDefinition.getAllNodeDefinitions()).hasSize(2);
+
+        ElementDefinition elementDefinition = formDefinition.getElementDefinitions().get(0);
+        Assertions.assertThat(elementDefinition.getOtherNodeDefinitions()).hasSize(1);
+        Assertions.assertThat(elementDefinition.getOtherNodeDefinitions().get(0)).isInstanceOf(OtherNodeDefinitionImpl.class);
+        OtherNodeDefinitionImpl otherNodeDefinition = (OtherNodeDefinitionImpl) elementDefinition.getOtherNodeDefinitions().get(0);
+        Assertions.assertThat(otherNodeDefinition.getRepresentation()).isEqualTo("repr1");
+        Assertions.assertThat(otherNodeDefinition.isValid()).isTrue();
+        Assertions.assertThat(otherNodeDefinition.getElementDefinition().getId()).isEqualTo("eid2");
+        Assertions.assertThat(otherNodeDefinition.getElementDefinition().getCardinalityDefinition()).isSameAs(CardinalityDefinition.PROHIBITED);
+        Assertions.assertThat(((OtherNodeDefinitionImpl) otherNodeDefinition.getOtherNodeDefinition()).getRepresentation()).isEqualTo("repr2");
+        Assertions.assertThat(((OtherNodeDefinitionImpl) otherNodeDefinition.getOtherNodeDefinition()).isValid()).isFalse();
+
+        Assertions.assertThat(formDefinition.getOtherNodeDefinitions()).hasSize(1);
+        Assertions.assertThat(formDefinition.getOtherNodeDefinitions().get(0)).isInstanceOf(DefaultOtherNodeXmlDefinition.class);
+        Element element = ((DefaultOtherNodeXmlDefinition) formDefinition.getOtherNodeDefinitions().get(0)).getElement();
+        Assertions.assertThat(element.getNamespaceURI()).isEqualTo("http://example.com");
+        Assertions.assertThat(element.getLocalName()).isEqualTo("other");
+        Assertions.assertThat(element.getAttribute("attr")).isEqualTo("value");
+        Assertions.assertThat(element.getAttributeNS("http://example.com/ns3", "attr")).isEqualTo("value3");
+        Assertions.assertThat(element.lookupNamespaceURI("ns3")).isEqualTo("http://example.com/ns3");
+        Assertions.assertThat(element.getChildNodes().getLength()).isEqualTo(4);
+        Assertions.assertThat(element.getChildNodes().item(0).getTextContent()).isEqualTo("comment");
+        Assertions.assertThat(element.getChildNodes().item(1).getTextContent()).isEqualTo("data");
+        Assertions.assertThat(element.getChildNodes().item(2).getTextContent()).isEqualTo("textcdata");
+        Assertions.assertThat(element.getChildNodes().item(3).getNamespaceURI()).isEqualTo("http://example.com");
+        Assertions.assertThat(element.getChildNodes().item(3).getLocalName()).isEqualTo("child");
+        Assertions.assertThat(element.getParentNode().getLocalName()).isEqualTo("form");
+        Assertions.assertThat(((Element) element.getParentNode()).getAttribute("id")).isEqualTo("id");
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadValidationFailTest() {
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns1:elemenT id='eid1' lookup='lookup1'/>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns1:element id='eid1' lookup='lookup1' type='wrong'/>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns1:element id='eid1' lookup='lookup1'>text</ns1:element>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<element id='eid1' lookup='lookup1'/>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns1:single-element id='sid1'>";
+            xml += "<ns1:form-reference group='rgroup' id='rid'/>";
+            xml += "</ns1:single-element>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasCause(SAXException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns2:otherNode repr='repr1' valid='true' xmlns:ns2='http://d-shap.ru/schema/form-model-other-node/1.0'>";
+            xml += "<!--INVALID!-->";
+            xml += "</ns2:otherNode>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("Invalid comment found!");
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     */
+    @Test
+    public void loadFailTest() {
+        try {
+            InputStream inputStream = DataHelper.createInputStreamBuilder().setReadException("READ ERROR!").buildInputStream();
+            new FormXmlDefinitionsStreamingLoader(inputStream, "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "<ns1:element id='eid1' lookup='lookup1'>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "</ns1:form>";
+            xml += "<ns1:form id='id' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+            xml += "</ns1:form>";
+            new FormXmlDefinitionsStreamingLoader(new ByteArrayInputStream(xml.getBytes()), "source").load();
+            Assertions.fail("FormXmlDefinitionsStreamingLoader test fail");
+        } catch (InputSourceException ex) {
+            Assertions.assertThat(ex).hasCause(XMLStreamException.class);
+        }
+    }
+
+    /**
+     * {@link FormXmlDefinitionsStreamingLoader} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void closeTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='id1' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "</ns1:form>";
+
+        InputStream inputStream = DataHelper.createInputStreamBuilder().setContent(xml.getBytes()).buildInputStream();
+        Assertions.assertThat(((IsCloseable) inputStream).isClosed()).isFalse();
+        FormXmlDefinitionsStreamingLoader formXmlDefinitionsStreamingLoader = new FormXmlDefinitionsStreamingLoader(inputStream, "source");
+        List<FormDefinition> formDefinitions = formXmlDefinitionsStreamingLoader.load();
+        Assertions.assertThat(formDefinitions).hasSize(1);
+        formXmlDefinitionsStreamingLoader.close();
+        Assertions.assertThat(((IsCloseable) inputStream).isClosed()).isTrue();
+    }
+
+}
@@ -71,18 +71,21 @@ public final class OtherNodeXmlDefinitionBuilderImpl implements OtherNodeXmlDefi
 
     @Override
     public void validate(final Node node) throws SAXException {
-        if (hasInvalidComment(node)) {
+        if (hasComment(node, "INVALID!")) {
             throw new SAXException("Invalid comment found!");
         }
+        if (hasComment(node, "ERROR!")) {
+            throw new AssertionError("Error comment found!");
+        }
     }
 
-    private boolean hasInvalidComment(final Node node) {
+    private boolean hasComment(final Node node, final String comment) {
         if (node instanceof Comment) {
-            return "INVALID!".equals(node.getTextContent());
+            return comment.equals(node.getTextContent());
         }
         NodeList nodeList = node.getChildNodes();
         for (int i = 0; i < nodeList.getLength(); i++) {
-            if (hasInvalidComment(nodeList.item(i))) {
+            if (hasComment(nodeList.item(i), comment)) {
                 return true;
             }
         }
@@ -0,0 +1,258 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionValidationException;
+
+/**
+ * Tests for {@link ConcurrentFormDefinitions}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ConcurrentFormDefinitionsTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public ConcurrentFormDefinitionsTest() {
+        super();
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     */
+    @Test
+    public void createNewObjectTest() {
+        ConcurrentFormDefinitions concurrentFormDefinitions1 = new ConcurrentFormDefinitions();
+        Assertions.assertThat(concurrentFormDefinitions1.getVersion()).isEqualTo(0L);
+        Assertions.assertThat(concurrentFormDefinitions1.getFormDefinitions().isModifiable()).isFalse();
+        Assertions.assertThat(concurrentFormDefinitions1.getFormDefinitions().getFormDefinitions()).hasSize(0);
+
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1));
+        ConcurrentFormDefinitions concurrentFormDefinitions2 = new ConcurrentFormDefinitions(formDefinitions);
+        Assertions.assertThat(concurrentFormDefinitions2.getVersion()).isEqualTo(0L);
+        Assertions.assertThat(concurrentFormDefinitions2.getFormDefinitions().isModifiable()).isFalse();
+        Assertions.assertThat(concurrentFormDefinitions2.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition1);
+
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition2));
+        Assertions.assertThat(concurrentFormDefinitions2.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition1);
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     */
+    @Test
+    public void addFormDefinitionsTest() {
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        FormDefinitions snapshot0 = concurrentFormDefinitions.getFormDefinitions();
+
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition1));
+        FormDefinitions snapshot1 = concurrentFormDefinitions.getFormDefinitions();
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(1L);
+        Assertions.assertThat(snapshot1).isNotSameAs(snapshot0);
+        Assertions.assertThat(snapshot1.isModifiable()).isFalse();
+        Assertions.assertThat(snapshot1.getFormDefinitions()).containsExactly(formDefinition1);
+        Assertions.assertThat(snapshot0.getFormDefinitions()).hasSize(0);
+
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes())), createOtherAttributes(), "source2");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition2));
+        FormDefinitions snapshot2 = concurrentFormDefinitions.getFormDefinitions();
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(snapshot2.getFormDefinitions()).containsExactly(formDefinition1, formDefinition2);
+        Assertions.assertThat(snapshot1.getFormDefinitions()).containsExactly(formDefinition1);
+
+        try {
+            FormDefinition formDefinition3 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source3");
+            concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition3));
+            Assertions.fail("ConcurrentFormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id1, (source1), (source3)]");
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions()).isSameAs(snapshot2);
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     */
+    @Test
+    public void replaceFormDefinitionsTest() {
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes(), "source2");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2, formDefinition3));
+        FormDefinitions snapshot1 = concurrentFormDefinitions.getFormDefinitions();
+
+        FormDefinition formDefinition4 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        concurrentFormDefinitions.replaceFormDefinitions("source1", Arrays.asList(formDefinition4));
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition4, formDefinition3);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinition("group", "id1")).isSameAs(formDefinition4);
+        Assertions.assertThat(snapshot1.getFormDefinition("group", "id1")).isSameAs(formDefinition1);
+
+        try {
+            FormDefinition formDefinition5 = new FormDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes(), "source1");
+            concurrentFormDefinitions.replaceFormDefinitions("source1", Arrays.asList(formDefinition5));
+            Assertions.fail("ConcurrentFormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id3, (source2), (source1)]");
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinition("group", "id1")).isSameAs(formDefinition4);
+
+        FormReferenceDefinition formReferenceDefinition6 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition6 = new FormDefinition("group", "id3", createNodeDefinitions(formReferenceDefinition6), createOtherAttributes(), "source2");
+        concurrentFormDefinitions.replaceFormDefinitions("source2", Arrays.asList(formDefinition6));
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(3L);
+        try {
+            FormDefinition formDefinition7 = new FormDefinition("group", "id7", createNodeDefinitions(), createOtherAttributes(), "source1");
+            concurrentFormDefinitions.replaceFormDefinitions("source1", Arrays.asList(formDefinition7));
+            Assertions.fail("ConcurrentFormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id1], {source2}form[@group:id3]/form-reference[@group:id1]");
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(3L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition4, formDefinition6);
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     */
+    @Test
+    public void replaceSourceFormDefinitionsTest() {
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormReferenceDefinition formReferenceDefinition = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(formReferenceDefinition), createOtherAttributes(), "source2");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+        FormDefinitions snapshot1 = concurrentFormDefinitions.getFormDefinitions();
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions1 = new HashMap<>();
+        FormDefinition formDefinition3 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition4 = new FormDefinition("group", "id4", createNodeDefinitions(), createOtherAttributes(), "source4");
+        sourceFormDefinitions1.put("source1", Arrays.asList(formDefinition3));
+        sourceFormDefinitions1.put("source4", Arrays.asList(formDefinition4));
+        concurrentFormDefinitions.replaceFormDefinitions(sourceFormDefinitions1);
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition3, formDefinition2, formDefinition4);
+        Assertions.assertThat(snapshot1.getFormDefinition("group", "id1")).isSameAs(formDefinition1);
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions2 = new HashMap<>();
+        sourceFormDefinitions2.put("source1", new ArrayList<FormDefinition>());
+        try {
+            concurrentFormDefinitions.replaceFormDefinitions(sourceFormDefinitions2);
+            Assertions.fail("ConcurrentFormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id1], {source2}form[@group:id2]/form-reference[@group:id1]");
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinition("group", "id1")).isSameAs(formDefinition3);
+
+        sourceFormDefinitions2.put("source2", new ArrayList<FormDefinition>());
+        concurrentFormDefinitions.replaceFormDefinitions(sourceFormDefinitions2);
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(3L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition4);
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     */
+    @Test
+    public void removeFormDefinitionsTest() {
+        ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+
+        concurrentFormDefinitions.removeFormDefinitions("source1");
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(2L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition2);
+
+        concurrentFormDefinitions.removeFormDefinitions("source1");
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(3L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition2);
+
+        FormReferenceDefinition formReferenceDefinition = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(formReferenceDefinition), createOtherAttributes(), "source3");
+        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition3));
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(4L);
+        try {
+            concurrentFormDefinitions.removeFormDefinitions("source2");
+            Assertions.fail("ConcurrentFormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id2], {source3}form[@group:id3]/form-reference[@group:id2]");
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(4L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).containsExactly(formDefinition2, formDefinition3);
+    }
+
+    /**
+     * {@link ConcurrentFormDefinitions} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void concurrentAddFormDefinitionsTest() throws Exception {
+        final ConcurrentFormDefinitions concurrentFormDefinitions = new ConcurrentFormDefinitions();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[20];
+            for (int i = 0; i < futures.length; i++) {
+                final FormDefinition formDefinition = new FormDefinition("group", "id" + i, createNodeDefinitions(), createOtherAttributes(), "source" + i);
+                futures[i] = executorService.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() {
+                        concurrentFormDefinitions.addFormDefinitions(Arrays.asList(formDefinition));
+                        return null;
+                    }
+
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertThat(concurrentFormDefinitions.getVersion()).isEqualTo(20L);
+        Assertions.assertThat(concurrentFormDefinitions.getFormDefinitions().getFormDefinitions()).hasSize(20);
+    }
+
+}
@@ -19,7 +19,11 @@
 ///////////////////////////////////////////////////////////////////////////////////////////////////
 package ru.d_shap.fm.formmodel.definition.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -63,6 +67,60 @@ public final class FormDefinitionsTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void addValidatedFormDefinitionsTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(new FormReferenceDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes())), createOtherAttributes(), "source2");
+
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+        Assertions.assertThat(formDefinitions.getFormDefinition("group", "id1")).isSameAs(formDefinition1);
+        Assertions.assertThat(formDefinitions.getFormDefinition("group", "id2")).isSameAs(formDefinition2);
+
+        try {
+            FormDefinition formDefinition3 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source3");
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition3));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id1, (source1), (source3)]");
+        }
+        try {
+            FormDefinition formDefinition3 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source3");
+            formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition3));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id1, (source1), (source3)]");
+        }
+        try {
+            FormDefinition formDefinition31 = new FormDefinition("group", "id5", createNodeDefinitions(), createOtherAttributes(), "source31");
+            FormDefinition formDefinition32 = new FormDefinition("group", "id5", createNodeDefinitions(), createOtherAttributes(), "source32");
+            formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition31, formDefinition32));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id5, (source31), (source32)]");
+        }
+        try {
+            FormReferenceDefinition formReferenceDefinition3 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+            FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(formReferenceDefinition3), createOtherAttributes(), "source3");
+            formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition3));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form reference cycle is found: @group:id3 -> @group:id2 -> @group:id3]");
+        }
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition1, formDefinition2);
+
+        try {
+            FormDefinition formDefinition4 = new FormDefinition("group", "id4", createNodeDefinitions(), createOtherAttributes(), "source4");
+            formDefinitions.unmodifiableCopyOf().addValidatedFormDefinitions(Arrays.asList(formDefinition4));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).hasMessage("Form definitions container is unmodifiable");
+        }
+    }
+
     /**
      * {@link FormDefinitions} class test.
      */
@@ -93,6 +151,315 @@ public final class FormDefinitionsTest extends BaseFormModelTest {
         formDefinitionsCopy.addFormDefinitions(Arrays.asList(formDefinition5, formDefinition6));
     }
 
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void unmodifiableCopyOfTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        Assertions.assertThat(formDefinitions.isModifiable()).isTrue();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1));
+
+        FormDefinitions formDefinitionsCopy = formDefinitions.unmodifiableCopyOf();
+        Assertions.assertThat(formDefinitionsCopy.isModifiable()).isFalse();
+        Assertions.assertThat(formDefinitionsCopy.getFormDefinition("group", "id1")).isSameAs(formDefinition1);
+
+        try {
+            FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+            formDefinitionsCopy.addFormDefinitions(Arrays.asList(formDefinition2));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).hasMessage("Form definitions container is unmodifiable");
+        }
+        try {
+            formDefinitionsCopy.removeFormDefinitions("source1");
+            Assertions.fail("FormDefinitions test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).hasMessage("Form definitions container is unmodifiable");
+        }
+        Assertions.assertThat(formDefinitionsCopy.getFormDefinitions()).hasSize(1);
+
+        FormDefinitions formDefinitionsModifiableCopy = formDefinitionsCopy.copyOf();
+        Assertions.assertThat(formDefinitionsModifiableCopy.isModifiable()).isTrue();
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes(), "source3");
+        formDefinitionsModifiableCopy.addFormDefinitions(Arrays.asList(formDefinition3));
+        Assertions.assertThat(formDefinitionsModifiableCopy.getFormDefinitions()).hasSize(2);
+        Assertions.assertThat(formDefinitionsCopy.getFormDefinitions()).hasSize(1);
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void removeFormDefinitionsTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes(), "source1");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2, formDefinition3));
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).hasSize(3);
+
+        formDefinitions.removeFormDefinitions("source1");
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition2);
+
+        formDefinitions.removeFormDefinitions("wrong");
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition2);
+
+        formDefinitions.removeFormDefinitions(null);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition2);
+
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition3));
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition1, formDefinition2, formDefinition3);
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void replaceFormDefinitionsTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormReferenceDefinition formReferenceDefinition2 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(formReferenceDefinition2), createOtherAttributes(), "source2");
+        FormReferenceDefinition formReferenceDefinition3 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        ElementDefinition elementDefinition31 = new ElementDefinition("id", "lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(formReferenceDefinition3), createOtherAttributes());
+        SingleElementDefinition singleElementDefinition3 = new SingleElementDefinition("id", CardinalityDefinition.REQUIRED, createNodeDefinitions(elementDefinition31), createOtherAttributes());
+        AttributeDefinition attributeDefinition3 = new AttributeDefinition("id", "lookup", CardinalityDefinition.REQUIRED, createNodeDefinitions(), createOtherAttributes());
+        ElementDefinition elementDefinition32 = new ElementDefinition("id", "lookup", CardinalityDefinition.REQUIRED, createNodeDefinitions(attributeDefinition3, singleElementDefinition3), createOtherAttributes());
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(elementDefinition32), createOtherAttributes(), "source3");
+        FormDefinition formDefinition4 = new FormDefinition("group", "id4", createNodeDefinitions(), createOtherAttributes(), "source4");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2, formDefinition3, formDefinition4));
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions1 = new HashMap<>();
+        FormDefinition formDefinition5 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        sourceFormDefinitions1.put("source1", Arrays.asList(formDefinition5));
+        formDefinitions.replaceFormDefinitions(sourceFormDefinitions1);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition5, formDefinition2, formDefinition3, formDefinition4);
+
+        FormDefinitions copyFormDefinitions1 = formDefinitions.copyOf();
+        Map<String, List<FormDefinition>> sourceFormDefinitions2 = new HashMap<>();
+        sourceFormDefinitions2.put("source1", new ArrayList<FormDefinition>());
+        sourceFormDefinitions2.put("source2", new ArrayList<FormDefinition>());
+        try {
+            copyFormDefinitions1.replaceFormDefinitions(sourceFormDefinitions2);
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id1], {source3}form[@group:id3]/element[@id]/single-element[@id]/element[@id]/form-reference[@group:id1]");
+        }
+
+        FormDefinitions copyFormDefinitions2 = formDefinitions.copyOf();
+        Map<String, List<FormDefinition>> sourceFormDefinitions3 = new HashMap<>();
+        sourceFormDefinitions3.put("source1", new ArrayList<FormDefinition>());
+        sourceFormDefinitions3.put("source3", new ArrayList<FormDefinition>());
+        try {
+            copyFormDefinitions2.replaceFormDefinitions(sourceFormDefinitions3);
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id1], {source2}form[@group:id2]/form-reference[@group:id1]");
+        }
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions4 = new HashMap<>();
+        FormDefinition formDefinition6 = new FormDefinition("group", "id6", createNodeDefinitions(), createOtherAttributes(), "source6");
+        sourceFormDefinitions4.put("source1", new ArrayList<FormDefinition>());
+        sourceFormDefinitions4.put("source2", new ArrayList<FormDefinition>());
+        sourceFormDefinitions4.put("source3", new ArrayList<FormDefinition>());
+        sourceFormDefinitions4.put("source6", Arrays.asList(formDefinition6));
+        formDefinitions.replaceFormDefinitions(sourceFormDefinitions4);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition4, formDefinition6);
+
+        try {
+            formDefinitions.unmodifiableCopyOf().replaceFormDefinitions(sourceFormDefinitions4);
+            Assertions.fail("FormDefinitions test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).hasMessage("Form definitions container is unmodifiable");
+        }
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void addFormDefinitionsInBatchesTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        for (int i = 0; i < 100; i++) {
+            FormReferenceDefinition formReferenceDefinition1 = new FormReferenceDefinition("group", "id" + i + "b", createNodeDefinitions(), createOtherAttributes());
+            FormDefinition formDefinition1 = new FormDefinition("group", "id" + i + "a", createNodeDefinitions(formReferenceDefinition1), createOtherAttributes(), "source" + i);
+            List<NodeDefinition> nodeDefinitions2 = createNodeDefinitions();
+            if (i > 0) {
+                nodeDefinitions2 = createNodeDefinitions(new FormReferenceDefinition("group", "id" + i / 2 + "b", createNodeDefinitions(), createOtherAttributes()));
+            }
+            FormDefinition formDefinition2 = new FormDefinition("group", "id" + i + "b", nodeDefinitions2, createOtherAttributes(), "source" + i);
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+        }
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).hasSize(200);
+
+        try {
+            FormReferenceDefinition formReferenceDefinition = new FormReferenceDefinition("group", "id100a", createNodeDefinitions(), createOtherAttributes());
+            FormDefinition formDefinition = new FormDefinition("group", "id100b", createNodeDefinitions(formReferenceDefinition), createOtherAttributes(), "source100");
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @group:id100a], {source100}form[@group:id100b]/form-reference[@group:id100a]");
+        }
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).hasSize(200);
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void replaceDependentFormDefinitionsTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        FormReferenceDefinition formReferenceDefinition31 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormReferenceDefinition formReferenceDefinition32 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(formReferenceDefinition31, formReferenceDefinition32), createOtherAttributes(), "source3");
+        FormReferenceDefinition formReferenceDefinition4 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition4 = new FormDefinition("group", "id4", createNodeDefinitions(formReferenceDefinition4), createOtherAttributes(), "source4");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2, formDefinition3, formDefinition4));
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions1 = new HashMap<>();
+        FormDefinition formDefinition5 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormDefinition formDefinition6 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source2");
+        FormReferenceDefinition formReferenceDefinition7 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition7 = new FormDefinition("group", "id4", createNodeDefinitions(formReferenceDefinition7), createOtherAttributes(), "source4");
+        sourceFormDefinitions1.put("source1", Arrays.asList(formDefinition5));
+        sourceFormDefinitions1.put("source2", Arrays.asList(formDefinition6));
+        sourceFormDefinitions1.put("source4", Arrays.asList(formDefinition7));
+        formDefinitions.replaceFormDefinitions(sourceFormDefinitions1);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition5, formDefinition6, formDefinition3, formDefinition7);
+
+        FormReferenceDefinition formReferenceDefinition9 = new FormReferenceDefinition("group", "id9", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition9 = new FormDefinition("group", "id8", createNodeDefinitions(formReferenceDefinition9), createOtherAttributes(), "source8");
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition9));
+
+        Map<String, List<FormDefinition>> sourceFormDefinitions2 = new HashMap<>();
+        sourceFormDefinitions2.put("source3", new ArrayList<FormDefinition>());
+        formDefinitions.replaceFormDefinitions(sourceFormDefinitions2);
+        Map<String, List<FormDefinition>> sourceFormDefinitions3 = new HashMap<>();
+        sourceFormDefinitions3.put("source1", new ArrayList<FormDefinition>());
+        formDefinitions.replaceFormDefinitions(sourceFormDefinitions3);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition6, formDefinition7, formDefinition9);
+
+        formDefinitions.removeFormDefinitions("source2");
+        FormReferenceDefinition formReferenceDefinition10 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition10 = new FormDefinition("group", "id10", createNodeDefinitions(formReferenceDefinition10), createOtherAttributes(), "source10");
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition10));
+        FormDefinitions copyFormDefinitions = formDefinitions.copyOf();
+        Map<String, List<FormDefinition>> sourceFormDefinitions4 = new HashMap<>();
+        sourceFormDefinitions4.put("source2", Arrays.asList(formDefinition6));
+        copyFormDefinitions.replaceFormDefinitions(sourceFormDefinitions4);
+        Assertions.assertThat(copyFormDefinitions.getFormDefinitions()).containsExactly(formDefinition6, formDefinition7, formDefinition9, formDefinition10);
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition7, formDefinition9, formDefinition10);
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void addFormDefinitionsCycleTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1));
+
+        try {
+            FormReferenceDefinition formReferenceDefinition2 = new FormReferenceDefinition("group", "id3", createNodeDefinitions(), createOtherAttributes());
+            ElementDefinition elementDefinition2 = new ElementDefinition("id", "lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(formReferenceDefinition2), createOtherAttributes());
+            FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(elementDefinition2), createOtherAttributes(), "source2");
+            FormReferenceDefinition formReferenceDefinition31 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+            FormReferenceDefinition formReferenceDefinition32 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+            FormDefinition formDefinition3 = new FormDefinition("group", "id3", createNodeDefinitions(formReferenceDefinition31, formReferenceDefinition32), createOtherAttributes(), "source3");
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition2, formDefinition3));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex.getMessage()).startsWith("[Form reference cycle is found: ");
+            Assertions.assertThat(ex.getMessage()).contains("@group:id2 -> @group:id3");
+            Assertions.assertThat(ex.getMessage()).doesNotContain("@group:id1");
+        }
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition1);
+
+        FormReferenceDefinition formReferenceDefinition4 = new FormReferenceDefinition("group", "id5", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition4 = new FormDefinition("group", "id4", createNodeDefinitions(formReferenceDefinition4), createOtherAttributes(), "source4");
+        FormReferenceDefinition formReferenceDefinition5 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition5 = new FormDefinition("group", "id5", createNodeDefinitions(formReferenceDefinition5), createOtherAttributes(), "source5");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition4, formDefinition5));
+        formDefinitions.removeFormDefinitions("source5");
+
+        try {
+            FormReferenceDefinition formReferenceDefinition6 = new FormReferenceDefinition("group", "id4", createNodeDefinitions(), createOtherAttributes());
+            FormDefinition formDefinition6 = new FormDefinition("group", "id5", createNodeDefinitions(formReferenceDefinition6), createOtherAttributes(), "source6");
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition6));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form reference cycle is found: @group:id5 -> @group:id4 -> @group:id5]");
+        }
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition5));
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).containsExactly(formDefinition1, formDefinition4, formDefinition5);
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void addFormDefinitionsOtherNodeCycleTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormReferenceDefinition formReferenceDefinition1 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        OtherNodeDefinitionImpl otherNodeDefinition1 = new OtherNodeDefinitionImpl("other", true);
+        otherNodeDefinition1.setFormReferenceDefinition(formReferenceDefinition1);
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(otherNodeDefinition1), createOtherAttributes(), "source1");
+        FormReferenceDefinition formReferenceDefinition2 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(formReferenceDefinition2), createOtherAttributes(), "source2");
+
+        try {
+            formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex.getMessage()).startsWith("[Form reference cycle is found: ");
+        }
+        Assertions.assertThat(formDefinitions.getFormDefinitions()).isEmpty();
+
+        FormDefinition formDefinition3 = new FormDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes(), "source3");
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition1, formDefinition3));
+        Assertions.assertThat(formDefinitions.getFormReferenceGraph().getReferencedFormDefinitionKeys(new FormDefinitionKey("group", "id1"))).containsExactly(new FormDefinitionKey("group", "id2"));
+    }
+
+    /**
+     * {@link FormDefinitions} class test.
+     */
+    @Test
+    public void getFormReferenceGraphTest() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+        FormReferenceDefinition formReferenceDefinition2 = new FormReferenceDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition2 = new FormDefinition("group", "id2", createNodeDefinitions(formReferenceDefinition2), createOtherAttributes(), "source2");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition1, formDefinition2));
+
+        FormReferenceGraph formReferenceGraph1 = formDefinitions.getFormReferenceGraph();
+        Assertions.assertThat(formDefinitions.getFormReferenceGraph()).isSameAs(formReferenceGraph1);
+        Assertions.assertThat(formDefinitions.copyOf().getFormReferenceGraph()).isSameAs(formReferenceGraph1);
+        Assertions.assertThat(formReferenceGraph1.getTopologicalOrder()).containsExactlyInOrder(new FormDefinitionKey("group", "id1"), new FormDefinitionKey("group", "id2"));
+        Assertions.assertThat(formReferenceGraph1.getMaxDepth(new FormDefinitionKey("group", "id2"))).isEqualTo(1);
+
+        formDefinitions.removeFormDefinitions("source1");
+        FormReferenceGraph formReferenceGraph2 = formDefinitions.getFormReferenceGraph();
+        Assertions.assertThat(formReferenceGraph2).isNotSameAs(formReferenceGraph1);
+        Assertions.assertThat(formReferenceGraph2.getTopologicalOrder()).containsExactlyInOrder(new FormDefinitionKey("group", "id2"));
+        Assertions.assertThat(formReferenceGraph2.getReferencedFormDefinitionKeys(new FormDefinitionKey("group", "id2"))).isEmpty();
+        Assertions.assertThat(formReferenceGraph2.getMaxDepth(new FormDefinitionKey("group", "id2"))).isEqualTo(0);
+
+        FormReferenceDefinition formReferenceDefinition3 = new FormReferenceDefinition("group", "id2", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition3 = new FormDefinition("group", "id1", createNodeDefinitions(formReferenceDefinition3), createOtherAttributes(), "source3");
+        try {
+            formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition3));
+            Assertions.fail("FormDefinitions test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex.getMessage()).startsWith("[Form reference cycle is found: ");
+        }
+        Assertions.assertThat(formDefinitions.getFormReferenceGraph()).isSameAs(formReferenceGraph2);
+    }
+
     /**
      * {@link FormDefinitions} class test.
      */
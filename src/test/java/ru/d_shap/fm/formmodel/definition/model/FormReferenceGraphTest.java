@@ -0,0 +1,170 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.definition.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.definition.FormDefinitionNotFoundException;
+
+/**
+ * Tests for {@link FormReferenceGraph}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class FormReferenceGraphTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public FormReferenceGraphTest() {
+        super();
+    }
+
+    /**
+     * {@link FormReferenceGraph} class test.
+     */
+    @Test
+    public void getTopologicalOrderTest() {
+        FormReferenceGraph formReferenceGraph = createFormReferenceGraph();
+        List<FormDefinitionKey> topologicalOrder = formReferenceGraph.getTopologicalOrder();
+        Assertions.assertThat(topologicalOrder).containsExactly(new FormDefinitionKey("id1"), new FormDefinitionKey("id2"), new FormDefinitionKey("id3"), new FormDefinitionKey("id4"), new FormDefinitionKey("group", "id5"));
+        Assertions.assertThat(topologicalOrder.indexOf(new FormDefinitionKey("id1"))).isLessThan(topologicalOrder.indexOf(new FormDefinitionKey("id2")));
+        Assertions.assertThat(topologicalOrder.indexOf(new FormDefinitionKey("id1"))).isLessThan(topologicalOrder.indexOf(new FormDefinitionKey("id3")));
+        Assertions.assertThat(topologicalOrder.indexOf(new FormDefinitionKey("id2"))).isLessThan(topologicalOrder.indexOf(new FormDefinitionKey("id4")));
+        Assertions.assertThat(topologicalOrder.indexOf(new FormDefinitionKey("id3"))).isLessThan(topologicalOrder.indexOf(new FormDefinitionKey("id4")));
+        Assertions.assertThat(topologicalOrder.indexOf(new FormDefinitionKey("id1"))).isLessThan(topologicalOrder.indexOf(new FormDefinitionKey("group", "id5")));
+
+        try {
+            topologicalOrder.clear();
+            Assertions.fail("FormReferenceGraph test fail");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertThat(ex).isNotNull();
+        }
+    }
+
+    /**
+     * {@link FormReferenceGraph} class test.
+     */
+    @Test
+    public void getReferencedFormDefinitionKeysTest() {
+        FormReferenceGraph formReferenceGraph = createFormReferenceGraph();
+        Assertions.assertThat(formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("id1"))).isEmpty();
+        Assertions.assertThat(formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("id2"))).containsExactly(new FormDefinitionKey("id1"));
+        Assertions.assertThat(formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("id3"))).containsExactly(new FormDefinitionKey("id1"));
+        Assertions.assertThat(formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("id4"))).containsExactly(new FormDefinitionKey("id2"), new FormDefinitionKey("id3"));
+        Assertions.assertThat(formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("group", "id5"))).containsExactly(new FormDefinitionKey("id1"));
+
+        try {
+            formReferenceGraph.getReferencedFormDefinitionKeys(new FormDefinitionKey("wrong"));
+            Assertions.fail("FormReferenceGraph test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong]");
+        }
+    }
+
+    /**
+     * {@link FormReferenceGraph} class test.
+     */
+    @Test
+    public void getReachableFormDefinitionKeysTest() {
+        FormReferenceGraph formReferenceGraph = createFormReferenceGraph();
+        Assertions.assertThat(formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("id1"))).isEmpty();
+        Assertions.assertThat(formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("id2"))).containsExactly(new FormDefinitionKey("id1"));
+        Assertions.assertThat(formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("id3"))).containsExactly(new FormDefinitionKey("id1"));
+        Assertions.assertThat(formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("id4"))).containsExactly(new FormDefinitionKey("id1"), new FormDefinitionKey("id2"), new FormDefinitionKey("id3"));
+        Assertions.assertThat(formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("group", "id5"))).containsExactly(new FormDefinitionKey("id1"));
+
+        try {
+            formReferenceGraph.getReachableFormDefinitionKeys(new FormDefinitionKey("wrong"));
+            Assertions.fail("FormReferenceGraph test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong]");
+        }
+    }
+
+    /**
+     * {@link FormReferenceGraph} class test.
+     */
+    @Test
+    public void isReachableTest() {
+        FormReferenceGraph formReferenceGraph = createFormReferenceGraph();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id4"), new FormDefinitionKey("id1"))).isTrue();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id4"), new FormDefinitionKey("id2"))).isTrue();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id4"), new FormDefinitionKey("id4"))).isFalse();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id1"), new FormDefinitionKey("id4"))).isFalse();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id2"), new FormDefinitionKey("id3"))).isFalse();
+        Assertions.assertThat(formReferenceGraph.isReachable(new FormDefinitionKey("id2"), new FormDefinitionKey("wrong"))).isFalse();
+
+        try {
+            formReferenceGraph.isReachable(new FormDefinitionKey("wrong"), new FormDefinitionKey("id1"));
+            Assertions.fail("FormReferenceGraph test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong]");
+        }
+    }
+
+    /**
+     * {@link FormReferenceGraph} class test.
+     */
+    @Test
+    public void getMaxDepthTest() {
+        FormReferenceGraph formReferenceGraph = createFormReferenceGraph();
+        Assertions.assertThat(formReferenceGraph.getMaxDepth(new FormDefinitionKey("id1"))).isEqualTo(0);
+        Assertions.assertThat(formReferenceGraph.getMaxDepth(new FormDefinitionKey("id2"))).isEqualTo(1);
+        Assertions.assertThat(formReferenceGraph.getMaxDepth(new FormDefinitionKey("id3"))).isEqualTo(1);
+        Assertions.assertThat(formReferenceGraph.getMaxDepth(new FormDefinitionKey("id4"))).isEqualTo(2);
+        Assertions.assertThat(formReferenceGraph.getMaxDepth(new FormDefinitionKey("group", "id5"))).isEqualTo(1);
+
+        try {
+            formReferenceGraph.getMaxDepth(new FormDefinitionKey("wrong"));
+            Assertions.fail("FormReferenceGraph test fail");
+        } catch (FormDefinitionNotFoundException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition was not found: @:wrong]");
+        }
+    }
+
+    private FormReferenceGraph createFormReferenceGraph() {
+        FormDefinitions formDefinitions = new FormDefinitions();
+        FormDefinition formDefinition1 = new FormDefinition(null, "id1", createNodeDefinitions(), createOtherAttributes(), "source");
+        FormReferenceDefinition formReferenceDefinition2 = new FormReferenceDefinition(null, "id1", createNodeDefinitions(), createOtherAttributes());
+        FormDefinition formDefinition2 = new FormDefinition(null, "id2", createNodeDefinitions(formReferenceDefinition2), createOtherAttributes(), "source");
+        FormReferenceDefinition formReferenceDefinition3 = new FormReferenceDefinition(null, "id1", createNodeDefinitions(), createOtherAttributes());
+        ElementDefinition elementDefinition3 = new ElementDefinition("id", "lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(formReferenceDefinition3), createOtherAttributes());
+        SingleElementDefinition singleElementDefinition3 = new SingleElementDefinition("id", CardinalityDefinition.REQUIRED, createNodeDefinitions(elementDefinition3), createOtherAttributes());
+        FormDefinition formDefinition3 = new FormDefinition(null, "id3", createNodeDefinitions(singleElementDefinition3), createOtherAttributes(), "source");
+        FormReferenceDefinition formReferenceDefinition41 = new FormReferenceDefinition(null, "id2", createNodeDefinitions(), createOtherAttributes());
+        FormReferenceDefinition formReferenceDefinition42 = new FormReferenceDefinition(null, "id3", createNodeDefinitions(), createOtherAttributes());
+        ElementDefinition elementDefinition4 = new ElementDefinition("id", "lookup", CardinalityDefinition.OPTIONAL, createNodeDefinitions(formReferenceDefinition42), createOtherAttributes());
+        FormDefinition formDefinition4 = new FormDefinition(null, "id4", createNodeDefinitions(formReferenceDefinition41, elementDefinition4), createOtherAttributes(), "source");
+        FormReferenceDefinition formReferenceDefinition5 = new FormReferenceDefinition(null, "id1", createNodeDefinitions(), createOtherAttributes());
+        OtherNodeDefinitionImpl otherNodeDefinition5 = new OtherNodeDefinitionImpl("other", true);
+        otherNodeDefinition5.setFormReferenceDefinition(formReferenceDefinition5);
+        FormDefinition formDefinition5 = new FormDefinition("group", "id5", createNodeDefinitions(otherNodeDefinition5), createOtherAttributes(), "source");
+        formDefinitions.addFormDefinitions(Arrays.asList(formDefinition4, formDefinition3, formDefinition2, formDefinition1));
+        formDefinitions.addValidatedFormDefinitions(Arrays.asList(formDefinition5));
+        return formDefinitions.getFormReferenceGraph();
+    }
+
+}
@@ -126,4 +126,20 @@ public final class NodePathTest extends BaseFormModelTest {
         Assertions.assertThat(new NodePath(parent6, new ElementDefinition("id", "lookup", CardinalityDefinition.REQUIRED, createNodeDefinitions(), createOtherAttributes()))).hasToString("parent//element[@id]");
     }
 
+    /**
+     * {@link NodePath} class test.
+     */
+    @Test
+    public void toStringWithSharedParentTest() {
+        NodePath parent = new NodePath(new NodePath(new NodePath(), "root"), "parent");
+        NodePath child1 = new NodePath(parent, "child1");
+        NodePath child2 = new NodePath(parent, new ElementDefinition("id", "lookup", CardinalityDefinition.REQUIRED, createNodeDefinitions(), createOtherAttributes()));
+        NodePath grandChild = new NodePath(child1, "");
+        Assertions.assertThat(parent).hasToString("root/parent");
+        Assertions.assertThat(child1).hasToString("root/parent/child1");
+        Assertions.assertThat(child2).hasToString("root/parent/element[@id]");
+        Assertions.assertThat(grandChild).hasToString("root/parent/child1/");
+        Assertions.assertThat(new NodePath(grandChild, (String) null)).hasToString("root/parent/child1//");
+    }
+
 }
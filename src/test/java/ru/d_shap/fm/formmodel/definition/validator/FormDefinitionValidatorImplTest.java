@@ -1631,7 +1631,7 @@ public final class FormDefinitionValidatorImplTest extends BaseFormModelTest {
             formDefinitionKeys.add(formDefinitionKey);
         }
         List<OtherNodeDefinitionValidator> otherNodeDefinitionValidators = ServiceFinder.find(OtherNodeDefinitionValidator.class);
-        return new FormDefinitionValidatorImpl(formDefinitionKeys, otherNodeDefinitionValidators);
+        return new FormDefinitionValidatorImpl(formDefinitionKeys, new HashSet<FormDefinitionKey>(), otherNodeDefinitionValidators);
     }
 
 }
@@ -20,6 +20,8 @@
 package ru.d_shap.fm.formmodel.definition.validator;
 
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -109,6 +111,54 @@ public final class FormDefinitionsValidatorTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link FormDefinitionsValidator} class test.
+     */
+    @Test
+    public void validateDuplicateNullSourceFormDefinitionsTest() {
+        FormDefinitionsValidator formDefinitionsValidator = new FormDefinitionsValidator();
+        try {
+            Map<FormDefinitionKey, String> formSources = new HashMap<>();
+            formSources.put(new FormDefinitionKey("group", "id1"), null);
+            FormDefinition formDefinition = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source1");
+            formDefinitionsValidator.validate(formSources, createFormDefinitionList(formDefinition));
+            Assertions.fail("FormDefinitionsValidator test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id1, (null), (source1)]");
+        }
+        try {
+            FormDefinition formDefinition1 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), null);
+            FormDefinition formDefinition2 = new FormDefinition("group", "id1", createNodeDefinitions(), createOtherAttributes(), "source2");
+            formDefinitionsValidator.validate(new HashMap<FormDefinitionKey, String>(), createFormDefinitionList(formDefinition1, formDefinition2));
+            Assertions.fail("FormDefinitionsValidator test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition is not unique: @group:id1, (null), (source2)]");
+        }
+    }
+
+    /**
+     * {@link FormDefinitionsValidator} class test.
+     */
+    @Test
+    public void validateAndGetReferencedFormDefinitionKeysTest() {
+        FormDefinitionsValidator formDefinitionsValidator = new FormDefinitionsValidator();
+        Map<FormDefinitionKey, String> formSources = new HashMap<>();
+        formSources.put(new FormDefinitionKey(null, "id1"), "source1");
+        FormDefinition formDefinition2 = new FormDefinition(null, "id2", createNodeDefinitions(new FormReferenceDefinition(null, "id1", createNodeDefinitions(), createOtherAttributes())), createOtherAttributes(), "source2");
+        FormDefinition formDefinition3 = new FormDefinition(null, "id3", createNodeDefinitions(), createOtherAttributes(), "source3");
+        Map<FormDefinitionKey, Set<FormDefinitionKey>> referencedFormDefinitionKeys = formDefinitionsValidator.validateAndGetReferencedFormDefinitionKeys(formSources, createFormDefinitionList(formDefinition2, formDefinition3));
+        Assertions.assertThat(referencedFormDefinitionKeys.get(new FormDefinitionKey(null, "id2"))).containsExactly(new FormDefinitionKey(null, "id1"));
+        Assertions.assertThat(referencedFormDefinitionKeys.get(new FormDefinitionKey(null, "id3"))).isEmpty();
+
+        try {
+            FormDefinition formDefinition4 = new FormDefinition(null, "id4", createNodeDefinitions(new FormReferenceDefinition(null, "id", createNodeDefinitions(), createOtherAttributes())), createOtherAttributes(), "source4");
+            formDefinitionsValidator.validateAndGetReferencedFormDefinitionKeys(formSources, createFormDefinitionList(formDefinition4));
+            Assertions.fail("FormDefinitionsValidator test fail");
+        } catch (FormDefinitionValidationException ex) {
+            Assertions.assertThat(ex).hasMessage("[Form definition key is not valid: @:id], {source4}form[@:id4]/form-reference[@:id]");
+        }
+    }
+
     /**
      * {@link FormDefinitionsValidator} class test.
      */
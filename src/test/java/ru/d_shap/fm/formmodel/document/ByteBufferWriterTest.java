@@ -0,0 +1,107 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.document;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+
+/**
+ * Tests for {@link ByteBufferWriter}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class ByteBufferWriterTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public ByteBufferWriterTest() {
+        super();
+    }
+
+    /**
+     * {@link ByteBufferWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToByteBufferTest() throws Exception {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(10);
+        ByteBufferWriter byteBufferWriter = new ByteBufferWriter(Charset.forName(ENCODING_UTF_8).newEncoder(), byteBuffer, null);
+        byteBufferWriter.write("value");
+        byteBufferWriter.finish();
+        byteBufferWriter.close();
+        Assertions.assertThat(byteBufferWriter.getByteBuffer()).isSameAs(byteBuffer);
+        Assertions.assertThat(byteBuffer.position()).isEqualTo(5);
+        Assertions.assertThat(new String(byteBuffer.array(), 0, 5, ENCODING_UTF_8)).isEqualTo("value");
+
+        try {
+            new ByteBufferWriter(Charset.forName(ENCODING_UTF_8).newEncoder(), ByteBuffer.allocate(10), null).write("value value");
+            Assertions.fail("ByteBufferWriterTest test fail");
+        } catch (IOException ex) {
+            Assertions.assertThat(ex).hasCause(BufferOverflowException.class);
+        }
+    }
+
+    /**
+     * {@link ByteBufferWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToGrowableByteBufferTest() throws Exception {
+        ByteBufferWriter byteBufferWriter = new ByteBufferWriter(Charset.forName(ENCODING_UTF_8).newEncoder(), 1);
+        for (int i = 0; i < 1000; i++) {
+            byteBufferWriter.write("value");
+        }
+        byteBufferWriter.finish();
+        ByteBuffer byteBuffer = byteBufferWriter.getByteBuffer();
+        Assertions.assertThat(byteBuffer.position()).isEqualTo(5000);
+        Assertions.assertThat(byteBuffer.capacity()).isEqualTo(8192);
+    }
+
+    /**
+     * {@link ByteBufferWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToChannelTest() throws Exception {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        ByteBufferWriter byteBufferWriter = new ByteBufferWriter(Charset.forName(ENCODING_UTF_8).newEncoder(), ByteBuffer.allocate(3), Channels.newChannel(byteArrayOutputStream));
+        byteBufferWriter.write("value");
+        Assertions.assertThat(byteArrayOutputStream.toByteArray()).hasLength(3);
+        byteBufferWriter.flush();
+        Assertions.assertThat(byteArrayOutputStream.toByteArray()).hasLength(5);
+        byteBufferWriter.write("中");
+        byteBufferWriter.finish();
+        Assertions.assertThat(new String(byteArrayOutputStream.toByteArray(), ENCODING_UTF_8)).isEqualTo("value中");
+    }
+
+}
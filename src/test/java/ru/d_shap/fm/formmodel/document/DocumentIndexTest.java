@@ -0,0 +1,269 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.document;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import ru.d_shap.assertions.Assertions;
+import ru.d_shap.fm.formmodel.BaseFormModelTest;
+import ru.d_shap.fm.formmodel.binding.FormInstanceBuilder;
+import ru.d_shap.fm.formmodel.binding.model.BindedAttributeImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedElementImpl;
+import ru.d_shap.fm.formmodel.binding.model.BindedObject;
+
+/**
+ * Tests for {@link DocumentIndex}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class DocumentIndexTest extends BaseFormModelTest {
+
+    /**
+     * Test class constructor.
+     */
+    public DocumentIndexTest() {
+        super();
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void addDocumentIndexTest() {
+        Document document = newDocument();
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNull();
+        DocumentIndex.addDocumentIndex(document);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(document);
+        Assertions.assertThat(documentIndex).isNotNull();
+        DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNotNull();
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNotSameAs(documentIndex);
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void removeDocumentIndexTest() {
+        Document document = newDocument();
+        DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNotNull();
+        DocumentIndex.removeDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNull();
+        DocumentIndex.removeDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNull();
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getDocumentIndexTest() {
+        Document document = parse("<?xml version='1.0'?>\n<ns1:form xmlns:ns1='http://d-shap.ru/schema/form-instance/1.0'><ns1:element id='id'/></ns1:form>");
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNull();
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document.getDocumentElement())).isNull();
+        DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isNotNull();
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document.getDocumentElement())).isSameAs(DocumentIndex.getDocumentIndex(document));
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getElementsWithIdTest() {
+        Document document = parse(createXml());
+        List<Element> xpathElements1 = DocumentLookup.getDocumentLookup().getElementsWithId(document, "id1");
+        List<Element> xpathElements2 = DocumentLookup.getDocumentLookup().getElementsWithId(document, "id2");
+        DocumentIndex.addDocumentIndex(document);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(document);
+
+        List<Element> elements1 = documentIndex.getElementsWithId(document, "id1");
+        Assertions.assertThat(elements1).containsExactlyInOrder(xpathElements1);
+        Assertions.assertThat(elements1).hasSize(3);
+        Assertions.assertThat(elements1.get(0).getAttribute("repr")).isEqualTo("repr1");
+        Assertions.assertThat(elements1.get(1).getAttribute("repr")).isEqualTo("repr2");
+        Assertions.assertThat(elements1.get(2).getAttribute("repr")).isEqualTo("repr4");
+
+        List<Element> elements2 = documentIndex.getElementsWithId(document, "id2");
+        Assertions.assertThat(elements2).containsExactlyInOrder(xpathElements2);
+        Assertions.assertThat(elements2).hasSize(1);
+        Assertions.assertThat(elements2.get(0).getAttribute("repr")).isEqualTo("repr3");
+
+        List<Element> elements3 = documentIndex.getElementsWithId(document, "fid");
+        Assertions.assertThat(elements3).hasSize(0);
+        List<Element> elements4 = documentIndex.getElementsWithId(document, "oid");
+        Assertions.assertThat(elements4).hasSize(0);
+        List<Element> elements5 = documentIndex.getElementsWithId(document, "wrong");
+        Assertions.assertThat(elements5).hasSize(0);
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getElementsWithIdFromElementTest() {
+        Document document = parse(createXml());
+        Element element = elementWithRepr(document, "repr2");
+        List<Element> xpathElements = DocumentLookup.getDocumentLookup().getElementsWithId(element, "id1");
+        DocumentIndex.addDocumentIndex(document);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(document);
+
+        List<Element> elements1 = documentIndex.getElementsWithId(element, "id1");
+        Assertions.assertThat(elements1).containsExactlyInOrder(xpathElements);
+        Assertions.assertThat(elements1).hasSize(1);
+        Assertions.assertThat(elements1.get(0).getAttribute("repr")).isEqualTo("repr4");
+
+        List<Element> elements2 = documentIndex.getElementsWithId(element, "id2");
+        Assertions.assertThat(elements2).hasSize(1);
+        Assertions.assertThat(elements2.get(0).getAttribute("repr")).isEqualTo("repr3");
+
+        List<Element> elements3 = documentIndex.getElementsWithId(elements2.get(0), "id1");
+        Assertions.assertThat(elements3).hasSize(0);
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getElementsWithAttributeTest() {
+        Document document = parse(createXml());
+        List<Element> xpathElements1 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "addVal");
+        List<Element> xpathElements2 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "xmlns:ns2", "http://d-shap.ru/schema/other/1.0");
+        DocumentIndex.addDocumentIndex(document);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(document);
+
+        List<Element> elements1 = documentIndex.getElementsWithAttribute(document, "addAttr", "addVal");
+        Assertions.assertThat(elements1).containsExactlyInOrder(xpathElements1);
+        Assertions.assertThat(elements1).hasSize(2);
+        Assertions.assertThat(elements1.get(0).getAttribute("repr")).isEqualTo("repr1");
+        Assertions.assertThat(elements1.get(1).getAttribute("repr")).isEqualTo("repr3");
+
+        List<Element> elements2 = documentIndex.getElementsWithAttribute(document, "xmlns:ns2", "http://d-shap.ru/schema/other/1.0");
+        Assertions.assertThat(elements2).containsExactlyInOrder(xpathElements2);
+        Assertions.assertThat(elements2).hasSize(0);
+
+        List<Element> elements3 = documentIndex.getElementsWithAttribute(document, "addAttr", "wrong");
+        Assertions.assertThat(elements3).hasSize(0);
+        List<Element> elements4 = documentIndex.getElementsWithAttribute(document, "wrong", "addVal");
+        Assertions.assertThat(elements4).hasSize(0);
+        List<Element> elements5 = documentIndex.getElementsWithAttribute(document, "otherAttr", "otherVal");
+        Assertions.assertThat(elements5).hasSize(0);
+
+        List<Element> elements6 = documentIndex.getElementsWithAttribute(elementWithRepr(document, "repr2"), "addAttr", "addVal");
+        Assertions.assertThat(elements6).hasSize(1);
+        Assertions.assertThat(elements6.get(0).getAttribute("repr")).isEqualTo("repr3");
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getElementsFromEmptyDocumentTest() {
+        Document document = newDocument();
+        DocumentIndex.addDocumentIndex(document);
+        DocumentIndex documentIndex = DocumentIndex.getDocumentIndex(document);
+        Assertions.assertThat(documentIndex.getElementsWithId(document, "id")).hasSize(0);
+        Assertions.assertThat(documentIndex.getElementsWithAttribute(document, "id", "id")).hasSize(0);
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getElementsFromModifiedDocumentTest() {
+        Document document = parse(createXml());
+        DocumentIndex documentIndex1 = DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentIndex.getDocumentIndex(document)).isSameAs(documentIndex1);
+        Assertions.assertThat(documentIndex1.getElementsWithId(document, "id1")).hasSize(3);
+        Assertions.assertThat(documentIndex1.getElementsWithAttribute(document, "addAttr", "addVal")).hasSize(2);
+
+        Element element = document.createElementNS("http://d-shap.ru/schema/form-instance/1.0", "ns1:element");
+        element.setAttribute("id", "id1");
+        element.setAttribute("addAttr", "addVal");
+        document.getDocumentElement().appendChild(element);
+        Assertions.assertThat(documentIndex1.getElementsWithId(document, "id1")).hasSize(3);
+        Assertions.assertThat(documentIndex1.getElementsWithAttribute(document, "addAttr", "addVal")).hasSize(2);
+
+        DocumentIndex documentIndex2 = DocumentIndex.addDocumentIndex(document);
+        List<Element> elements1 = documentIndex2.getElementsWithId(document, "id1");
+        Assertions.assertThat(elements1).hasSize(4);
+        Assertions.assertThat(elements1.get(3)).isSameAs(element);
+        List<Element> elements2 = documentIndex2.getElementsWithAttribute(document, "addAttr", "addVal");
+        Assertions.assertThat(elements2).hasSize(3);
+        Assertions.assertThat(elements2.get(2)).isSameAs(element);
+
+        document.getDocumentElement().removeChild(element);
+        Assertions.assertThat(documentIndex2.getElementsWithId(document, "id1")).hasSize(3);
+        Assertions.assertThat(documentIndex2.getElementsWithAttribute(document, "addAttr", "addVal")).hasSize(2);
+    }
+
+    /**
+     * {@link DocumentIndex} class test.
+     */
+    @Test
+    public void getBindedObjectsTest() {
+        Document document = parse(createXml());
+        BindedObject bindedObject1 = new BindedElementImpl("repr1", 0);
+        BindedObject bindedObject2 = new BindedAttributeImpl("repr3");
+        BindedObject bindedObject3 = new BindedElementImpl("repr4", 0);
+        elementWithRepr(document, "repr1").setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, bindedObject1, null);
+        elementWithRepr(document, "repr3").setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, bindedObject2, null);
+        elementWithRepr(document, "repr4").setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, bindedObject3, null);
+        elementWithRepr(document, "repr2").setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, "not binded object", null);
+        DocumentIndex documentIndex = DocumentIndex.addDocumentIndex(document);
+
+        Assertions.assertThat(documentIndex.getBindedObjectsWithId(document, "id1")).containsExactlyInOrder(bindedObject1, bindedObject3);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithId(elementWithRepr(document, "repr2"), "id1")).containsExactlyInOrder(bindedObject3);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithId(document, "id2")).containsExactlyInOrder(bindedObject2);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithId(document, "wrong")).hasSize(0);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithAttribute(document, "addAttr", "addVal")).containsExactlyInOrder(bindedObject1, bindedObject2);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithAttribute(document, "repr", "repr5")).hasSize(0);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithAttribute(document, "wrong", "addVal")).hasSize(0);
+
+        elementWithRepr(document, "repr1").setUserData(FormInstanceBuilder.USER_DATA_BINDED_OBJECT, null, null);
+        Assertions.assertThat(documentIndex.getBindedObjectsWithId(document, "id1")).containsExactlyInOrder(bindedObject1, bindedObject3);
+    }
+
+    private String createXml() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='fid' xmlns:ns1='http://d-shap.ru/schema/form-instance/1.0'>";
+        xml += "<ns1:element id='id1' repr='repr1' addAttr='addVal'/>";
+        xml += "<ns1:single-element id='id1' repr='repr2'>";
+        xml += "<ns1:element repr='repr5'/>";
+        xml += "<!--comment-->";
+        xml += "<ns1:attribute id='id2' repr='repr3' addAttr='addVal' xmlns:ns2='http://d-shap.ru/schema/other/1.0'/>";
+        xml += "<ns1:element id='id1' repr='repr4'/>";
+        xml += "</ns1:single-element>";
+        xml += "<other id='oid' otherAttr='otherVal'/>";
+        xml += "<ns3:element id='id1' repr='repr6' addAttr='addVal' xmlns:ns3='http://d-shap.ru/schema/other/1.0'/>";
+        xml += "</ns1:form>";
+        return xml;
+    }
+
+    private Element elementWithRepr(final Document document, final String repr) {
+        return DocumentLookup.getDocumentLookup().getElements(document, "//*[@repr='" + repr + "']").get(0);
+    }
+
+}
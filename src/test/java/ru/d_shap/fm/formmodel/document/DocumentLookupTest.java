@@ -20,7 +20,9 @@
 package ru.d_shap.fm.formmodel.document;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 
 import org.junit.Test;
@@ -135,6 +137,62 @@ public final class DocumentLookupTest extends BaseFormModelTest {
         }
     }
 
+    /**
+     * {@link DocumentLookup} class test.
+     */
+    @Test
+    public void getElementsUnresolvedVariableFailTest() {
+        try {
+            String xml = "<?xml version='1.0'?>\n";
+            xml += "<document>";
+            xml += "<element>value</element>";
+            xml += "</document>";
+            Document document = parse(xml);
+            DocumentLookup.getDocumentLookup().getElements(document, "//element[text() = $value]");
+            Assertions.fail("DocumentLookup test fail");
+        } catch (DocumentLookupException ex) {
+            Assertions.assertThat(ex).hasCause(XPathExpressionException.class);
+        }
+    }
+
+    /**
+     * {@link DocumentLookup} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void getXPathExpressionTest() throws Exception {
+        XPathExpression xPathExpression = DocumentLookup.getXPathExpression("//element");
+        Assertions.assertThat(xPathExpression).isNotNull();
+        Assertions.assertThat(DocumentLookup.getXPathExpression("//element")).isSameAs(xPathExpression);
+        Assertions.assertThat(DocumentLookup.getXPathExpression("/document")).isNotSameAs(xPathExpression);
+
+        for (int i = 0; i < DocumentLookup.XPATH_EXPRESSION_CACHE_SIZE; i++) {
+            DocumentLookup.getXPathExpression("//element" + i);
+        }
+        Assertions.assertThat(DocumentLookup.getXPathExpression("//element")).isNotSameAs(xPathExpression);
+
+        final XPathExpression currentThreadXPathExpression = DocumentLookup.getXPathExpression("//element");
+        final AtomicReference<XPathExpression> otherThreadXPathExpression = new AtomicReference<>();
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    otherThreadXPathExpression.set(DocumentLookup.getXPathExpression("//element"));
+                } catch (XPathExpressionException ex) {
+                    throw new AssertionError(ex);
+                }
+            }
+
+        };
+        thread.start();
+        thread.join();
+        Assertions.assertThat(otherThreadXPathExpression.get()).isNotNull();
+        Assertions.assertThat(otherThreadXPathExpression.get()).isNotSameAs(currentThreadXPathExpression);
+        Assertions.assertThat(DocumentLookup.getXPathExpression("//element")).isSameAs(currentThreadXPathExpression);
+    }
+
     /**
      * {@link DocumentLookup} class test.
      */
@@ -237,6 +295,96 @@ public final class DocumentLookupTest extends BaseFormModelTest {
         Assertions.assertThat(elements23).hasSize(0);
     }
 
+    /**
+     * {@link DocumentLookup} class test.
+     */
+    @Test
+    public void getElementsWithQuotedAttributeTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='fid' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:element id='eid1' lookup='lookup' repr='repr1' count='1' addAttr=\"it's\">";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='eid2' lookup='lookup' repr='repr2' count='1' addAttr='it\"s'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        Document document = formBinder.bind(new BindingSourceImpl("source"), "fid");
+        List<Element> elements1 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "it's");
+        Assertions.assertThat(elements1).hasSize(1);
+        Assertions.assertThat(elements1.get(0).getAttribute("repr")).isEqualTo("repr1");
+        List<Element> elements2 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "it\"s");
+        Assertions.assertThat(elements2).hasSize(1);
+        Assertions.assertThat(elements2.get(0).getAttribute("repr")).isEqualTo("repr2");
+        List<Element> elements3 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "it");
+        Assertions.assertThat(elements3).hasSize(0);
+    }
+
+    /**
+     * {@link DocumentLookup} class test.
+     */
+    @Test
+    public void getElementsWithIdWithoutDocumentIndexTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='fid' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:single-element id='seid' type='required' addSAttr='addSVal'>";
+        xml += "<ns1:element id='eid1' lookup='lookup' type='optional+' repr='repr1' count='3' addAttr='addVal'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='eid2' lookup='lookup' type='optional+' repr='repr2' count='0'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:single-element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        Document document = formBinder.bind(new BindingSourceImpl("source"), "fid");
+        Assertions.assertThat(document.getUserData(DocumentIndex.USER_DATA_DOCUMENT_INDEX)).isNull();
+        List<Element> elements1 = DocumentLookup.getDocumentLookup().getElementsWithId(document, "eid1");
+        Assertions.assertThat(elements1).hasSize(3);
+        Assertions.assertThat(elements1.get(0).getAttribute("addAttr")).isEqualTo("addVal");
+        Assertions.assertThat(elements1.get(1).getAttribute("addAttr")).isEqualTo("addVal");
+        Assertions.assertThat(elements1.get(2).getAttribute("addAttr")).isEqualTo("addVal");
+        List<Element> elements2 = DocumentLookup.getDocumentLookup().getElementsWithId(document, "seid");
+        Assertions.assertThat(elements2).hasSize(1);
+        Assertions.assertThat(elements2.get(0).getAttribute("addSAttr")).isEqualTo("addSVal");
+        List<Element> elements3 = DocumentLookup.getDocumentLookup().getElementsWithId(document, "eid2");
+        Assertions.assertThat(elements3).hasSize(0);
+        DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getElementsWithId(document, "eid1")).containsExactlyInOrder(elements1);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getElementsWithId(document, "seid")).containsExactlyInOrder(elements2);
+    }
+
+    /**
+     * {@link DocumentLookup} class test.
+     */
+    @Test
+    public void getElementsWithAttributeWithoutDocumentIndexTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:form id='fid' xmlns:ns1='http://d-shap.ru/schema/form-model/1.0'>";
+        xml += "<ns1:single-element id='seid' type='required' addSAttr='addSVal'>";
+        xml += "<ns1:element id='eid1' lookup='lookup' type='optional+' repr='repr1' count='3' addAttr='addVal'>";
+        xml += "</ns1:element>";
+        xml += "<ns1:element id='eid2' lookup='lookup' type='optional+' repr='repr2' count='0'>";
+        xml += "</ns1:element>";
+        xml += "</ns1:single-element>";
+        xml += "</ns1:form>";
+        FormDefinitions formDefinitions = createFormDefinitionsFromXml(xml);
+        FormBinder formBinder = new FormBinder(formDefinitions, new FormInstanceBinderImpl());
+        Document document = formBinder.bind(new BindingSourceImpl("source"), "fid");
+        List<Element> elements1 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "addVal");
+        Assertions.assertThat(elements1).hasSize(3);
+        Assertions.assertThat(elements1.get(0).getAttribute("addAttr")).isEqualTo("addVal");
+        Assertions.assertThat(elements1.get(1).getAttribute("addAttr")).isEqualTo("addVal");
+        Assertions.assertThat(elements1.get(2).getAttribute("addAttr")).isEqualTo("addVal");
+        List<Element> elements2 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addSAttr", "addSVal");
+        Assertions.assertThat(elements2).hasSize(1);
+        Assertions.assertThat(elements2.get(0).getAttribute("addSAttr")).isEqualTo("addSVal");
+        List<Element> elements3 = DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addSAttr", "addVal");
+        Assertions.assertThat(elements3).hasSize(0);
+        DocumentIndex.addDocumentIndex(document);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addAttr", "addVal")).containsExactlyInOrder(elements1);
+        Assertions.assertThat(DocumentLookup.getDocumentLookup().getElementsWithAttribute(document, "addSAttr", "addSVal")).containsExactlyInOrder(elements2);
+    }
+
     /**
      * {@link DocumentLookup} class test.
      */
@@ -20,15 +20,26 @@
 package ru.d_shap.fm.formmodel.document;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 
+import javax.xml.XMLConstants;
 import javax.xml.transform.TransformerException;
 
 import org.junit.Test;
 import org.w3c.dom.Document;
+import org.w3c.dom.DocumentFragment;
+import org.w3c.dom.Element;
+import org.w3c.dom.Text;
 
 import ru.d_shap.assertions.Assertions;
 import ru.d_shap.assertions.mock.IsCloseable;
@@ -492,6 +503,491 @@ public final class DocumentWriterTest extends BaseFormModelTest {
         Assertions.assertThat(DocumentWriter.newInstance().addIndent().addStandalone().getAsString(document2)).isEqualTo("<document xmlns:ns1=\"http://example.com\">" + SEPARATOR + "<ns1:element>value</ns1:element>" + SEPARATOR + "</document>" + SEPARATOR);
     }
 
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void writeToWriterCachedTransformerTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+        document.setXmlStandalone(true);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo("<document><element>value</element></document>");
+            Assertions.assertThat(DocumentWriter.newInstance().addXmlDeclaration().getAsString(document)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><document><element>value</element></document>");
+            Assertions.assertThat(DocumentWriter.newInstance().addXmlDeclaration().addEncoding(ENCODING_UTF_16).getAsString(document)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-16\" standalone=\"no\"?><document><element>value</element></document>");
+        }
+        try {
+            Writer writer = DataHelper.createWriterBuilder().setWriteException("WRITE ERROR!").buildWriter();
+            DocumentWriter.newInstance().writeTo(document, writer);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(TransformerException.class);
+        }
+        Assertions.assertThat(DocumentWriter.newInstance().getAsString(document)).isEqualTo("<document><element>value</element></document>");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void addDirectSerializationTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+        document.setXmlStandalone(true);
+
+        StringWriter stringWriter = new StringWriter();
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, stringWriter);
+        Assertions.assertThat(stringWriter.getBuffer()).isEqualTo("<document><element>value</element></document>");
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().addXmlDeclaration().getAsString(document)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?><document><element>value</element></document>");
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().addXmlDeclaration().addEncoding(ENCODING_UTF_16).getAsString(document)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-16\" standalone=\"no\"?><document><element>value</element></document>");
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().addXmlDeclaration().addStandalone().getAsString(document)).isEqualTo(DocumentWriter.newInstance().addXmlDeclaration().addStandalone().getAsString(document));
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().addIndent().getAsString(document)).isEqualTo("<document>" + SEPARATOR + "<element>value</element>" + SEPARATOR + "</document>" + SEPARATOR);
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, byteArrayOutputStream, ENCODING_UTF_16);
+        byte[] bytes = byteArrayOutputStream.toByteArray();
+        Assertions.assertThat(bytes).hasLength(92);
+        Assertions.assertThat(new String(bytes, ENCODING_UTF_16)).isEqualTo("<document><element>value</element></document>");
+
+        Writer writer = DataHelper.createWriterBuilder().buildWriter();
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, writer);
+        Assertions.assertThat(((IsCloseable) writer).isClosed()).isFalse();
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationFailTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+        try {
+            Writer writer = DataHelper.createWriterBuilder().setWriteException("WRITE ERROR!").buildWriter();
+            DocumentWriter.newInstance().addDirectSerialization().writeTo(document, writer);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+            Assertions.assertThat(ex).toCause().hasMessage("WRITE ERROR!");
+        }
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationCompareTest() {
+        Document document = newDocument();
+        Element rootElement = document.createElementNS("urn:a", "p:root");
+        document.appendChild(rootElement);
+        rootElement.setAttribute("z", "a&b<c>d\"e'f\ng\th\rié中😀");
+        rootElement.setAttributeNS("urn:b", "q:attr", "v");
+        rootElement.setAttributeNS(XMLConstants.XML_NS_URI, "xml:lang", "en");
+        rootElement.appendChild(document.createTextNode("a&b<c>d\"e'f\ng\th\rié中😀]]>"));
+        rootElement.appendChild(document.createCDATASection("x<y]]>z"));
+        rootElement.appendChild(document.createComment("c--c"));
+        rootElement.appendChild(document.createProcessingInstruction("pi", "data"));
+        Element childElement1 = document.createElementNS("urn:a", "p:child");
+        childElement1.setAttributeNS("urn:b", "q:attr", "v");
+        rootElement.appendChild(childElement1);
+        Element childElement2 = document.createElementNS(null, "nons");
+        rootElement.appendChild(childElement2);
+        Element childElement3 = document.createElementNS("urn:c", "dflt");
+        childElement3.setAttribute("attr", "value");
+        childElement2.appendChild(childElement3);
+        Element childElement4 = document.createElement("dom1");
+        childElement3.appendChild(childElement4);
+        Element childElement5 = document.createElementNS("urn:c", "dflt");
+        childElement3.appendChild(childElement5);
+
+        String[] encodings = {null, ENCODING_UTF_8, "ISO-8859-1", "US-ASCII"};
+        for (String encoding : encodings) {
+            DocumentWriter documentWriter = DocumentWriter.newInstance().addXmlDeclaration().addEncoding(encoding);
+            Assertions.assertThat(documentWriter.addDirectSerialization().getAsString(document)).isEqualTo(documentWriter.getAsString(document));
+            Assertions.assertThat(documentWriter.addDirectSerialization().getAsString(childElement3)).isEqualTo(documentWriter.getAsString(childElement3));
+        }
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().getAsString(document)).isEqualTo("<p:root xmlns:q=\"urn:b\" q:attr=\"v\" xml:lang=\"en\" z=\"a&amp;b&lt;c&gt;d&quot;e'f&#10;g&#9;h&#13;ié中&#128512;\" xmlns:p=\"urn:a\">a&amp;b&lt;c&gt;d\"e'f\ng\th&#13;ié中&#128512;]]&gt;<![CDATA[x<y]]]]><![CDATA[>z]]><!--c- -c--><?pi data?><p:child q:attr=\"v\"/><nons><dflt attr=\"value\" xmlns=\"urn:c\"><dom1/><dflt/></dflt></nons></p:root>");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationAttributePrefixTest() {
+        Document document = newDocument();
+        Element rootElement = document.createElementNS("urn:a", "p:root");
+        document.appendChild(rootElement);
+        rootElement.setAttributeNS("urn:a", "p:a1", "1");
+        rootElement.setAttributeNS("urn:b", "p:a2", "2");
+        rootElement.setAttributeNS("urn:c", "a3", "3");
+        rootElement.setAttributeNS("urn:a", "a4", "4");
+        rootElement.setAttributeNS("urn:b", "a5", "5");
+        rootElement.setAttributeNS(XMLConstants.XML_NS_URI, "lang", "en");
+        Element childElement1 = document.createElementNS("urn:d", "child");
+        childElement1.setAttributeNS("urn:d", "b1", "1");
+        rootElement.appendChild(childElement1);
+        Element innerElement = document.createElementNS("urn:d", "inner");
+        innerElement.setAttributeNS("urn:d", "b5", "5");
+        childElement1.appendChild(innerElement);
+        Element childElement2 = document.createElement("dom1");
+        childElement2.setAttributeNS("urn:c", "ns0:b2", "2");
+        childElement2.setAttributeNS("urn:e", "p:b3", "3");
+        rootElement.appendChild(childElement2);
+        Element childElement3 = document.createElementNS("urn:x", "p:child");
+        childElement3.setAttributeNS("urn:a", "p:b4", "4");
+        rootElement.appendChild(childElement3);
+
+        String xml = DocumentWriter.newInstance().addDirectSerialization().getAsString(document);
+        Assertions.assertThat(xml).isEqualTo("<p:root xmlns:ns0=\"urn:c\" ns0:a3=\"3\" xmlns:p=\"urn:a\" p:a4=\"4\" xmlns:ns1=\"urn:b\" ns1:a5=\"5\" xml:lang=\"en\" p:a1=\"1\" ns1:a2=\"2\"><child xmlns:ns2=\"urn:d\" ns2:b1=\"1\" xmlns=\"urn:d\"><inner ns2:b5=\"5\"/></child><dom1 ns0:b2=\"2\" xmlns:ns2=\"urn:e\" ns2:b3=\"3\"/><p:child xmlns:ns2=\"urn:a\" ns2:b4=\"4\" xmlns:p=\"urn:x\"/></p:root>");
+
+        Element parsedRootElement = parse(xml).getDocumentElement();
+        Assertions.assertThat(parsedRootElement.getAttributeNS("urn:a", "a1")).isEqualTo("1");
+        Assertions.assertThat(parsedRootElement.getAttributeNS("urn:b", "a2")).isEqualTo("2");
+        Assertions.assertThat(parsedRootElement.getAttributeNS("urn:c", "a3")).isEqualTo("3");
+        Assertions.assertThat(parsedRootElement.getAttributeNS("urn:a", "a4")).isEqualTo("4");
+        Assertions.assertThat(parsedRootElement.getAttributeNS("urn:b", "a5")).isEqualTo("5");
+        Assertions.assertThat(parsedRootElement.getAttributeNS(XMLConstants.XML_NS_URI, "lang")).isEqualTo("en");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(0)).getAttributeNS("urn:d", "b1")).isEqualTo("1");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(0).getFirstChild()).getAttributeNS("urn:d", "b5")).isEqualTo("5");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(1)).getAttributeNS("urn:c", "b2")).isEqualTo("2");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(1)).getAttributeNS("urn:e", "b3")).isEqualTo("3");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(2)).getNamespaceURI()).isEqualTo("urn:x");
+        Assertions.assertThat(((Element) parsedRootElement.getChildNodes().item(2)).getAttributeNS("urn:a", "b4")).isEqualTo("4");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationParsedDocumentTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:document xmlns:ns1='http://d-shap.ru/schema/form-instance/1.0' xmlns:ns2='urn:b' ns2:attr='value'>";
+        xml += "<ns1:element ns2:attr='value'>value &amp; value</ns1:element>";
+        xml += "<element xmlns='urn:c'><child/></element>";
+        xml += "<!-- comment -->";
+        xml += "<?pi?>";
+        xml += "</ns1:document>";
+        Document document = parse(xml);
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().getAsString(document)).isEqualTo(DocumentWriter.newInstance().getAsString(document));
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().getAsString(document.getDocumentElement().getFirstChild())).isEqualTo(DocumentWriter.newInstance().getAsString(document.getDocumentElement().getFirstChild()));
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationNodeTypesTest() {
+        Document document = newDocument();
+        Element element = document.createElement("element");
+        element.setAttribute("xmlns", "urn:a");
+        element.setAttribute("xmlns:p", "urn:b");
+        element.setAttribute("attr", "value");
+        DocumentFragment documentFragment = document.createDocumentFragment();
+        documentFragment.appendChild(element);
+        documentFragment.appendChild(document.createTextNode("text"));
+        documentFragment.appendChild(document.createEntityReference("entity"));
+        documentFragment.appendChild(document.createComment("comment-"));
+        DocumentWriter documentWriter = DocumentWriter.newInstance().addDirectSerialization();
+        Assertions.assertThat(documentWriter.getAsString(documentFragment)).isEqualTo("<element xmlns=\"urn:a\" xmlns:p=\"urn:b\" attr=\"value\"/>text<!--comment- -->");
+        Assertions.assertThat(documentWriter.getAsString(element.getAttributeNode("attr"))).isEqualTo("");
+        Assertions.assertThat(documentWriter.getAsString(document.createTextNode("a😀b\ud83dc\ud83d"))).isEqualTo("a&#128512;b\ud83dc\ud83d");
+        Assertions.assertThat(documentWriter.addEncoding("US-ASCII").getAsString(document.createCDATASection("aé😀b"))).isEqualTo("<![CDATA[a]]>&#233;<![CDATA[]]>&#128512;<![CDATA[b]]>");
+        Assertions.assertThat(documentWriter.addEncoding("wrong encoding").getAsString(document.createTextNode("aé"))).isEqualTo("aé");
+        Assertions.assertThat(documentWriter.addEncoding("UNKNOWN").getAsString(document.createTextNode("aé"))).isEqualTo("aé");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void addDirectSerializationLargeDocumentTest() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            value.append((char) ('a' + i % 26));
+        }
+        Document document = newDocument();
+        Element rootElement = document.createElement("document");
+        document.appendChild(rootElement);
+        for (int i = 0; i < 1000; i++) {
+            Element element = document.createElement("element");
+            element.setAttribute("id", "id" + i);
+            element.appendChild(document.createTextNode("value & " + i));
+            rootElement.appendChild(element);
+        }
+        rootElement.setAttribute("value", value.toString());
+        Assertions.assertThat(DocumentWriter.newInstance().addDirectSerialization().getAsString(document)).isEqualTo(DocumentWriter.newInstance().getAsString(document));
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToChannelTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+
+        ByteArrayOutputStream byteArrayOutputStream1 = new ByteArrayOutputStream();
+        DocumentWriter.newInstance().writeTo(document, Channels.newChannel(byteArrayOutputStream1));
+        Assertions.assertThat(new String(byteArrayOutputStream1.toByteArray(), ENCODING_UTF_8)).isEqualTo("<document><element>value</element></document>");
+
+        ByteArrayOutputStream byteArrayOutputStream2 = new ByteArrayOutputStream();
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, Channels.newChannel(byteArrayOutputStream2));
+        Assertions.assertThat(new String(byteArrayOutputStream2.toByteArray(), ENCODING_UTF_8)).isEqualTo("<document><element>value</element></document>");
+
+        ByteArrayOutputStream byteArrayOutputStream3 = new ByteArrayOutputStream();
+        DocumentWriter.newInstance().addXmlDeclaration().addEncoding(ENCODING_UTF_16).writeTo(document, Channels.newChannel(byteArrayOutputStream3));
+        Assertions.assertThat(new String(byteArrayOutputStream3.toByteArray(), ENCODING_UTF_16)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-16\" standalone=\"no\"?><document><element>value</element></document>");
+
+        ByteArrayOutputStream byteArrayOutputStream4 = new ByteArrayOutputStream();
+        DocumentWriter.newInstance().addDirectSerialization().addXmlDeclaration().addEncoding(ENCODING_UTF_16).writeTo(document, Channels.newChannel(byteArrayOutputStream4));
+        Assertions.assertThat(new String(byteArrayOutputStream4.toByteArray(), ENCODING_UTF_16)).isEqualTo("<?xml version=\"1.0\" encoding=\"UTF-16\" standalone=\"no\"?><document><element>value</element></document>");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToChannelLargeDocumentTest() throws Exception {
+        Document document = createLargeDocument();
+        String[] encodings = {null, ENCODING_UTF_8, ENCODING_UTF_16};
+        for (String encoding : encodings) {
+            DocumentWriter documentWriter = DocumentWriter.newInstance().addXmlDeclaration().addEncoding(encoding);
+            String charsetName = ENCODING_UTF_8;
+            if (encoding != null) {
+                charsetName = encoding;
+            }
+            byte[] expectedBytes = documentWriter.getAsString(document).getBytes(charsetName);
+            Assertions.assertThat(expectedBytes.length).isGreaterThan(8192);
+
+            ByteArrayOutputStream byteArrayOutputStream1 = new ByteArrayOutputStream();
+            documentWriter.writeTo(document, Channels.newChannel(byteArrayOutputStream1));
+            Assertions.assertThat(byteArrayOutputStream1.toByteArray()).containsExactlyInOrder(expectedBytes);
+
+            ByteArrayOutputStream byteArrayOutputStream2 = new ByteArrayOutputStream();
+            documentWriter.addDirectSerialization().writeTo(document, Channels.newChannel(byteArrayOutputStream2));
+            Assertions.assertThat(byteArrayOutputStream2.toByteArray()).containsExactlyInOrder(expectedBytes);
+        }
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void writeToChannelFailTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+        try {
+            DocumentWriter.newInstance().addEncoding("wrong encoding").writeTo(document, Channels.newChannel(new ByteArrayOutputStream()));
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IllegalCharsetNameException.class);
+        }
+        try {
+            DocumentWriter.newInstance().addEncoding("UNKNOWN").writeTo(document, Channels.newChannel(new ByteArrayOutputStream()));
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(UnsupportedCharsetException.class);
+        }
+        try {
+            OutputStream outputStream = DataHelper.createOutputStreamBuilder().setWriteException("WRITE ERROR!").buildOutputStream();
+            DocumentWriter.newInstance().addDirectSerialization().writeTo(document, Channels.newChannel(outputStream));
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+            Assertions.assertThat(ex).toCause().hasMessage("WRITE ERROR!");
+        }
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void writeToByteBufferTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+
+        ByteBuffer byteBuffer1 = ByteBuffer.allocate(100);
+        byteBuffer1.position(3);
+        DocumentWriter.newInstance().writeTo(document, byteBuffer1);
+        Assertions.assertThat(byteBuffer1.position()).isEqualTo(48);
+        Assertions.assertThat(new String(byteBuffer1.array(), 3, 45, ENCODING_UTF_8)).isEqualTo("<document><element>value</element></document>");
+
+        ByteBuffer byteBuffer2 = ByteBuffer.allocateDirect(100);
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, byteBuffer2);
+        DocumentWriter.newInstance().addDirectSerialization().writeTo(document, byteBuffer2);
+        Assertions.assertThat(byteBuffer2.position()).isEqualTo(90);
+        byteBuffer2.flip();
+        byte[] bytes2 = new byte[byteBuffer2.remaining()];
+        byteBuffer2.get(bytes2);
+        Assertions.assertThat(new String(bytes2, ENCODING_UTF_8)).isEqualTo("<document><element>value</element></document><document><element>value</element></document>");
+
+        ByteBuffer byteBuffer3 = ByteBuffer.allocate(100);
+        DocumentWriter.newInstance().addEncoding(ENCODING_UTF_16).writeTo(document, byteBuffer3);
+        Assertions.assertThat(byteBuffer3.position()).isEqualTo(92);
+        Assertions.assertThat(new String(byteBuffer3.array(), 0, 92, ENCODING_UTF_16)).isEqualTo("<document><element>value</element></document>");
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void writeToByteBufferFailTest() {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<document>";
+        xml += "<element>value</element>";
+        xml += "</document>";
+        Document document = parse(xml);
+
+        ByteBuffer byteBuffer1 = ByteBuffer.allocate(30);
+        byteBuffer1.position(5);
+        try {
+            DocumentWriter.newInstance().writeTo(document, byteBuffer1);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(TransformerException.class);
+            Assertions.assertThat(byteBuffer1.position()).isEqualTo(5);
+        }
+
+        ByteBuffer byteBuffer2 = ByteBuffer.allocate(45);
+        byteBuffer2.position(1);
+        try {
+            DocumentWriter.newInstance().addDirectSerialization().writeTo(document, byteBuffer2);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+            Assertions.assertThat(ex).toCause().hasCause(BufferOverflowException.class);
+            Assertions.assertThat(byteBuffer2.position()).isEqualTo(1);
+        }
+
+        ByteBuffer byteBuffer3 = ByteBuffer.allocate(6);
+        try {
+            DocumentWriter.newInstance().addDirectSerialization().addEncoding("ISO-2022-JP").writeTo(document.createTextNode("a中"), byteBuffer3);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IOException.class);
+            Assertions.assertThat(ex).toCause().hasCause(BufferOverflowException.class);
+            Assertions.assertThat(byteBuffer3.position()).isEqualTo(0);
+        }
+
+        ByteBuffer byteBuffer4 = ByteBuffer.allocate(100);
+        try {
+            DocumentWriter.newInstance().addEncoding("UNKNOWN").writeTo(document, byteBuffer4);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(UnsupportedCharsetException.class);
+            Assertions.assertThat(byteBuffer4.position()).isEqualTo(0);
+        }
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     *
+     * @throws Exception exception in test.
+     */
+    @Test
+    public void getAsByteBufferTest() throws Exception {
+        String xml = "<?xml version='1.0'?>\n";
+        xml += "<ns1:document xmlns:ns1='http://d-shap.ru/schema/form-instance/1.0' xmlns:ns2='urn:b' ns2:attr='a&amp;b&lt;c&gt;d&quot;e&#10;f&#9;g&#13;h'>";
+        xml += "<ns1:element>value &amp; value</ns1:element>";
+        xml += "<element xmlns='urn:c'><child/></element>";
+        xml += "<![CDATA[x<y]]>";
+        xml += "<!-- comment -->";
+        xml += "<?pi data?>";
+        xml += "</ns1:document>";
+        Document document = parse(xml);
+        DocumentFragment documentFragment = document.createDocumentFragment();
+        documentFragment.appendChild(document.createElement("element"));
+        documentFragment.appendChild(document.createEntityReference("entity"));
+
+        String[] encodings = {null, ENCODING_UTF_8, ENCODING_UTF_16, "ISO-8859-1"};
+        for (String encoding : encodings) {
+            String charsetName = ENCODING_UTF_8;
+            if (encoding != null) {
+                charsetName = encoding;
+            }
+            DocumentWriter documentWriter1 = DocumentWriter.newInstance().addEncoding(encoding);
+            DocumentWriter documentWriter2 = DocumentWriter.newInstance().addXmlDeclaration().addEncoding(encoding).addDirectSerialization();
+            Assertions.assertThat(getBytes(documentWriter1.getAsByteBuffer(document))).containsExactlyInOrder(documentWriter1.getAsString(document).getBytes(charsetName));
+            Assertions.assertThat(getBytes(documentWriter2.getAsByteBuffer(document))).containsExactlyInOrder(documentWriter2.getAsString(document).getBytes(charsetName));
+            Assertions.assertThat(getBytes(documentWriter2.getAsByteBuffer(documentFragment))).containsExactlyInOrder(documentWriter2.getAsString(documentFragment).getBytes(charsetName));
+            Assertions.assertThat(getBytes(documentWriter2.getAsByteBuffer(document.getDocumentElement().getAttributeNode("ns2:attr")))).containsExactlyInOrder(documentWriter2.getAsString(document.getDocumentElement().getAttributeNode("ns2:attr")).getBytes(charsetName));
+        }
+
+        Document largeDocument = createLargeDocument();
+        ByteBuffer byteBuffer = DocumentWriter.newInstance().getAsByteBuffer(largeDocument);
+        Assertions.assertThat(byteBuffer.position()).isEqualTo(0);
+        Assertions.assertThat(getBytes(byteBuffer)).containsExactlyInOrder(DocumentWriter.newInstance().getAsString(largeDocument).getBytes(ENCODING_UTF_8));
+
+        Document escapedDocument = newDocument();
+        escapedDocument.appendChild(escapedDocument.createElement("element"));
+        escapedDocument.getDocumentElement().appendChild(escapedDocument.createTextNode("中中中中中中中中中中中中中中中中中中中中中中中中中中中中中中"));
+        DocumentWriter documentWriter = DocumentWriter.newInstance().addEncoding("US-ASCII").addDirectSerialization();
+        Assertions.assertThat(getBytes(documentWriter.getAsByteBuffer(escapedDocument))).containsExactlyInOrder(documentWriter.getAsString(escapedDocument).getBytes("US-ASCII"));
+
+        Text text = escapedDocument.createTextNode("中");
+        DocumentWriter statefulDocumentWriter = DocumentWriter.newInstance().addEncoding("ISO-2022-JP").addDirectSerialization();
+        Assertions.assertThat(getBytes(statefulDocumentWriter.getAsByteBuffer(text))).containsExactlyInOrder(statefulDocumentWriter.getAsString(text).getBytes("ISO-2022-JP"));
+    }
+
+    /**
+     * {@link DocumentWriter} class test.
+     */
+    @Test
+    public void getAsByteBufferFailTest() {
+        Document document = newDocument();
+        document.appendChild(document.createElement("document"));
+        try {
+            DocumentWriter.newInstance().addEncoding("wrong encoding").getAsByteBuffer(document);
+            Assertions.fail("DocumentWriterTest test fail");
+        } catch (OutputResultException ex) {
+            Assertions.assertThat(ex).hasCause(IllegalCharsetNameException.class);
+        }
+    }
+
+    private Document createLargeDocument() {
+        Document document = newDocument();
+        Element rootElement = document.createElement("document");
+        document.appendChild(rootElement);
+        for (int i = 0; i < 1000; i++) {
+            Element element = document.createElement("element");
+            element.setAttribute("id", "id" + i);
+            element.appendChild(document.createTextNode("value & " + i + " é中"));
+            rootElement.appendChild(element);
+        }
+        return document;
+    }
+
+    private byte[] getBytes(final ByteBuffer byteBuffer) {
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.get(bytes);
+        return bytes;
+    }
+
     /**
      * {@link DocumentWriter} class test.
      *
@@ -0,0 +1,118 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.utils;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+
+/**
+ * Tests for {@link IdentityCollector}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class IdentityCollectorTest {
+
+    /**
+     * Test class constructor.
+     */
+    public IdentityCollectorTest() {
+        super();
+    }
+
+    /**
+     * {@link IdentityCollector} class test.
+     */
+    @Test
+    public void addTest() {
+        Integer val1 = 100000;
+        Integer val2 = 100000;
+        Integer val3 = 200000;
+        IdentityCollector<Integer> identityCollector = new IdentityCollector<>();
+        Assertions.assertThat(identityCollector.add(val1)).isTrue();
+        Assertions.assertThat(identityCollector.add(val1)).isFalse();
+        Assertions.assertThat(identityCollector.add(val2)).isTrue();
+        Assertions.assertThat(identityCollector.add(val3)).isTrue();
+        Assertions.assertThat(identityCollector.add(val2)).isFalse();
+        Assertions.assertThat(identityCollector.size()).isEqualTo(3);
+    }
+
+    /**
+     * {@link IdentityCollector} class test.
+     */
+    @Test
+    public void containsTest() {
+        Integer val1 = 100000;
+        Integer val2 = 100000;
+        IdentityCollector<Integer> identityCollector = new IdentityCollector<>();
+        identityCollector.add(val1);
+
+        Assertions.assertThat(val2).isEqualTo(val1);
+        Assertions.assertThat(val2).isNotSameAs(val1);
+        Assertions.assertThat(identityCollector.contains(val1)).isTrue();
+        Assertions.assertThat(identityCollector.contains(val2)).isFalse();
+    }
+
+    /**
+     * {@link IdentityCollector} class test.
+     */
+    @Test
+    public void sizeTest() {
+        IdentityCollector<String> identityCollector = new IdentityCollector<>();
+        Assertions.assertThat(identityCollector.size()).isEqualTo(0);
+        Assertions.assertThat(identityCollector.isEmpty()).isTrue();
+        identityCollector.add("value");
+        Assertions.assertThat(identityCollector.size()).isEqualTo(1);
+        Assertions.assertThat(identityCollector.isEmpty()).isFalse();
+        identityCollector.add("value");
+        Assertions.assertThat(identityCollector.size()).isEqualTo(1);
+        Assertions.assertThat(identityCollector.isEmpty()).isFalse();
+    }
+
+    /**
+     * {@link IdentityCollector} class test.
+     */
+    @Test
+    public void toListTest() {
+        Integer val1 = 100000;
+        Integer val2 = 100000;
+        Integer val3 = 300000;
+        IdentityCollector<Integer> identityCollector = new IdentityCollector<>();
+        identityCollector.add(val3);
+        identityCollector.add(val1);
+        identityCollector.add(val3);
+        identityCollector.add(val2);
+        identityCollector.add(val1);
+
+        List<Integer> list1 = identityCollector.toList();
+        Assertions.assertThat(list1).hasSize(3);
+        Assertions.assertThat(list1.get(0)).isSameAs(val3);
+        Assertions.assertThat(list1.get(1)).isSameAs(val1);
+        Assertions.assertThat(list1.get(2)).isSameAs(val2);
+
+        list1.clear();
+        List<Integer> list2 = identityCollector.toList();
+        Assertions.assertThat(list2).hasSize(3);
+        Assertions.assertThat(list2).isNotSameAs(list1);
+    }
+
+}
@@ -0,0 +1,106 @@
+///////////////////////////////////////////////////////////////////////////////////////////////////
+// Form model library is a form definition API and a form binding API.
+// Copyright (C) 2018 Dmitry Shapovalov.
+//
+// This file is part of form model library.
+//
+// Form model library is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// Form model library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with this program. If not, see <http://www.gnu.org/licenses/>.
+///////////////////////////////////////////////////////////////////////////////////////////////////
+package ru.d_shap.fm.formmodel.utils;
+
+import org.junit.Test;
+
+import ru.d_shap.assertions.Assertions;
+
+/**
+ * Tests for {@link LruCache}.
+ *
+ * @author Dmitry Shapovalov
+ */
+public final class LruCacheTest {
+
+    /**
+     * Test class constructor.
+     */
+    public LruCacheTest() {
+        super();
+    }
+
+    /**
+     * {@link LruCache} class test.
+     */
+    @Test
+    public void createNewObjectTest() {
+        Assertions.assertThat(new LruCache<String, String>(1).getMaximumSize()).isEqualTo(1);
+        Assertions.assertThat(new LruCache<String, String>(10).getMaximumSize()).isEqualTo(10);
+        Assertions.assertThat(new LruCache<String, String>(10).size()).isEqualTo(0);
+    }
+
+    /**
+     * {@link LruCache} class test.
+     */
+    @Test
+    public void createNewObjectWrongSizeFailTest() {
+        try {
+            new LruCache<String, String>(0);
+            Assertions.fail("LruCache test fail");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertThat(ex).hasMessage("Maximum size must be positive: 0");
+        }
+    }
+
+    /**
+     * {@link LruCache} class test.
+     */
+    @Test
+    public void putIfAbsentTest() {
+        LruCache<String, String> lruCache = new LruCache<>(10);
+        Assertions.assertThat(lruCache.get("key")).isNull();
+        Assertions.assertThat(lruCache.putIfAbsent("key", "value1")).isEqualTo("value1");
+        Assertions.assertThat(lruCache.putIfAbsent("key", "value2")).isEqualTo("value1");
+        Assertions.assertThat(lruCache.get("key")).isEqualTo("value1");
+        Assertions.assertThat(lruCache.size()).isEqualTo(1);
+    }
+
+    /**
+     * {@link LruCache} class test.
+     */
+    @Test
+    public void evictionTest() {
+        LruCache<String, String> lruCache = new LruCache<>(2);
+        lruCache.putIfAbsent("key1", "value1");
+        lruCache.putIfAbsent("key2", "value2");
+        Assertions.assertThat(lruCache.get("key1")).isEqualTo("value1");
+        lruCache.putIfAbsent("key3", "value3");
+        Assertions.assertThat(lruCache.size()).isEqualTo(2);
+        Assertions.assertThat(lruCache.get("key1")).isEqualTo("value1");
+        Assertions.assertThat(lruCache.get("key2")).isNull();
+        Assertions.assertThat(lruCache.get("key3")).isEqualTo("value3");
+    }
+
+    /**
+     * {@link LruCache} class test.
+     */
+    @Test
+    public void clearTest() {
+        LruCache<String, String> lruCache = new LruCache<>(2);
+        lruCache.putIfAbsent("key1", "value1");
+        lruCache.putIfAbsent("key2", "value2");
+        Assertions.assertThat(lruCache.size()).isEqualTo(2);
+        lruCache.clear();
+        Assertions.assertThat(lruCache.size()).isEqualTo(0);
+        Assertions.assertThat(lruCache.get("key1")).isNull();
+    }
+
+}